@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.utils.RequestUtil;
+
+/**
+ * The data shared by the benchmarks.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class BenchmarkData {
+
+	/**
+	 * Default private empty constructor
+	 */
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Sets test credentials in the PayU static configuration
+	 */
+	public static void setCredentials() {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+	}
+
+	/**
+	 * @return the parameters of a credit card authorization and capture
+	 */
+	public static Map<String, String> authorizationParameters() {
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.ACCOUNT_ID, "512321");
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "benchmark-order");
+		parameters.put(PayU.PARAMETERS.DESCRIPTION, "Benchmark payment");
+		parameters.put(PayU.PARAMETERS.LANGUAGE, "es");
+		parameters.put(PayU.PARAMETERS.VALUE, "20000");
+		parameters.put(PayU.PARAMETERS.CURRENCY, Currency.COP.name());
+		parameters.put(PayU.PARAMETERS.BUYER_EMAIL, "buyer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.PAYER_EMAIL, "payer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_DNI, "5415668464654");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_NUMBER, "4097440000000004");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE, "2030/12");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, "321");
+		parameters.put(PayU.PARAMETERS.PAYMENT_METHOD, "VISA");
+		parameters.put(PayU.PARAMETERS.INSTALLMENTS_NUMBER, "1");
+		parameters.put(PayU.PARAMETERS.COUNTRY, PaymentCountry.CO.name());
+		parameters.put(PayU.PARAMETERS.DEVICE_SESSION_ID, "vghs6tvkcle931686k1900o6e1");
+		parameters.put(PayU.PARAMETERS.IP_ADDRESS, "127.0.0.1");
+		parameters.put(PayU.PARAMETERS.COOKIE, "pt1t38347bs6jc9ruv2ecpv7o2");
+		parameters.put(PayU.PARAMETERS.USER_AGENT, "Mozilla/5.0");
+		return parameters;
+	}
+
+	/**
+	 * @return a credit card authorization and capture request
+	 * @throws InvalidParametersException
+	 */
+	public static PaymentRequest authorizationRequest() throws InvalidParametersException {
+
+		setCredentials();
+		return (PaymentRequest) RequestUtil.buildPaymentRequest(authorizationParameters(),
+				TransactionType.AUTHORIZATION_AND_CAPTURE);
+	}
+}
@@ -0,0 +1,171 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.model.Order;
+import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.payments.model.PaymentResponse;
+import com.payu.sdk.reporting.model.ReportingResponse;
+import com.payu.sdk.utils.CommonRequestUtil;
+import com.payu.sdk.utils.RequestUtil;
+import com.payu.sdk.utils.SignUtil;
+
+/**
+ * The baseline of the hot paths of a payment: building the transaction from
+ * the parameters, validating them, signing, serializing the request and
+ * parsing the responses. Its results are kept in
+ * <code>src/benchmark/baseline</code>, so a regression shows in the review.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=HotPathBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(2)
+public class HotPathBenchmark {
+
+	/** The required parameters of a credit card payment */
+	private static final String[] REQUIRED = { PayU.PARAMETERS.REFERENCE_CODE,
+			PayU.PARAMETERS.DESCRIPTION, PayU.PARAMETERS.CURRENCY, PayU.PARAMETERS.VALUE,
+			PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYER_DNI,
+			PayU.PARAMETERS.PAYMENT_METHOD, PayU.PARAMETERS.CREDIT_CARD_NUMBER,
+			PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE,
+			PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, PayU.PARAMETERS.INSTALLMENTS_NUMBER };
+
+	/** The number of transactions of the order detail */
+	private static final int ORDER_TRANSACTIONS = 10;
+
+	private Map<String, String> parameters;
+
+	private Transaction transaction;
+
+	private PaymentRequest request;
+
+	private String paymentResponse;
+
+	private byte[] orderDetail;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		BenchmarkData.setCredentials();
+		parameters = BenchmarkData.authorizationParameters();
+		request = BenchmarkData.authorizationRequest();
+		transaction = request.getTransaction();
+
+		paymentResponse = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+				+ "<paymentResponse><code>SUCCESS</code><error></error><transactionResponse>"
+				+ "<orderId>844122487</orderId>"
+				+ "<transactionId>3e16d3a5-4cdd-4a3c-8d0e-4c7e0e2b7c11</transactionId>"
+				+ "<state>APPROVED</state><paymentNetworkResponseCode>81</paymentNetworkResponseCode>"
+				+ "<trazabilityCode>CRED - 666039677</trazabilityCode>"
+				+ "<authorizationCode>123238</authorizationCode><responseCode>APPROVED</responseCode>"
+				+ "<operationDate>2026-10-18T10:15:30</operationDate><extraParameters><entry>"
+				+ "<string>BANK_REFERENCED_CODE</string><string>CREDIT</string></entry>"
+				+ "</extraParameters></transactionResponse></paymentResponse>";
+
+		StringBuilder builder = new StringBuilder("<reportingResponse><code>SUCCESS</code>"
+				+ "<result><payload class=\"order\"><id>844122487</id>"
+				+ "<accountId>500538</accountId><status>CAPTURED</status>"
+				+ "<referenceCode>order-2026-10-18</referenceCode>"
+				+ "<description>Benchmark order</description><transactions>");
+		for (int i = 0; i < ORDER_TRANSACTIONS; i++) {
+			builder.append("<transaction><id>3e16d3a5-4cdd-4a3c-8d0e-").append(i)
+					.append("</id><type>AUTHORIZATION_AND_CAPTURE</type>")
+					.append("<paymentMethod>VISA</paymentMethod><source>WEB</source>")
+					.append("<paymentCountry>CO</paymentCountry><transactionResponse>")
+					.append("<state>APPROVED</state><responseCode>APPROVED</responseCode>")
+					.append("<operationDate>2026-10-18T10:15:30</operationDate>")
+					.append("</transactionResponse></transaction>");
+		}
+		orderDetail = builder.append("</transactions></payload></result></reportingResponse>")
+				.toString().getBytes(Charset.forName("UTF-8"));
+	}
+
+	@Benchmark
+	public Transaction buildTransaction() throws Exception {
+
+		return RequestUtil.buildTransaction(parameters, TransactionType.AUTHORIZATION_AND_CAPTURE);
+	}
+
+	@Benchmark
+	public Map<String, String> validateParameters() throws Exception {
+
+		CommonRequestUtil.validateParameters(parameters, REQUIRED);
+		return parameters;
+	}
+
+	@Benchmark
+	public String createSignature() {
+
+		return SignUtil.createSignature(transaction);
+	}
+
+	@Benchmark
+	public String requestToXml() throws Exception {
+
+		return request.toXml();
+	}
+
+	@Benchmark
+	public PaymentResponse paymentResponseFromXml() throws Exception {
+
+		return PaymentResponse.fromXml(paymentResponse);
+	}
+
+	@Benchmark
+	@Warmup(iterations = 15, time = 2)
+	public Order reportingResponseFromXml() throws Exception {
+
+		return (Order) ReportingResponse.fromXml(new ByteArrayInputStream(orderDetail))
+				.getResult().getPayload();
+	}
+}
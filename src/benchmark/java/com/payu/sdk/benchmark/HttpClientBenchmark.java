@@ -0,0 +1,141 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.helper.ConnectionPoolSettings;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.HttpClientPool;
+import com.payu.sdk.helper.WebClientDevWrapper;
+import com.payu.sdk.model.request.Request;
+import com.payu.sdk.utils.RequestUtil;
+
+/**
+ * Compares a payments ping sent through a {@link HttpClientPool} against the
+ * former client per request, which paid a TCP and TLS handshake on every
+ * call. Both send the same xml, so the difference is the connection handling.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=HttpClientBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpClientBenchmark {
+
+	private StubServer server;
+
+	private HttpClientPool pool;
+
+	private String url;
+
+	private String xml;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		server = new StubServer(StubServer.PING_RESPONSE);
+		PayU.paymentsUrl = server.getBaseUrl() + "/payments-api/";
+
+		Request request = RequestUtil.buildPaymentsPingRequest();
+		url = request.getRequestUrl(RequestMethod.POST);
+		xml = request.toXml();
+
+		pool = new HttpClientPool(new ConnectionPoolSettings(),
+				ConnectionPoolSettings.DEFAULT_PAYMENTS_MAX_PER_ROUTE, true);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+
+		pool.close();
+		server.stop();
+	}
+
+	@Benchmark
+	public String pooledClient() throws Exception {
+
+		CloseableHttpResponse response = pool.execute(newPost(), HttpClientHelper.SOCKET_TIMEOUT);
+		try {
+			return EntityUtils.toString(response.getEntity());
+		}
+		finally {
+			response.close();
+		}
+	}
+
+	@Benchmark
+	public String clientPerRequest() throws Exception {
+
+		HttpClient httpClient = WebClientDevWrapper.wrapClient(new DefaultHttpClient());
+		try {
+			HttpResponse response = httpClient.execute(newPost());
+			return EntityUtils.toString(response.getEntity());
+		}
+		finally {
+			httpClient.getConnectionManager().shutdown();
+		}
+	}
+
+	/**
+	 * @return a new post with the ping xml
+	 * @throws Exception
+	 */
+	private HttpPost newPost() throws Exception {
+
+		HttpPost post = new HttpPost(url);
+		post.setEntity(new StringEntity(xml, "UTF-8"));
+		return post;
+	}
+}
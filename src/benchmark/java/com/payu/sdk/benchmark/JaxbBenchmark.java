@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.payments.model.PaymentResponse;
+import com.payu.sdk.utils.JaxbUtil;
+import com.payu.sdk.utils.RequestUtil;
+
+/**
+ * Compares the per call cost of the JAXB conversions with a new context per
+ * call, as {@link JaxbUtil} used to do, against the shared contexts and
+ * pooled marshallers.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=JaxbBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JaxbBenchmark {
+
+	static final String RESPONSE = "<paymentResponse><code>SUCCESS</code><transactionResponse>"
+			+ "<orderId>844182345</orderId>"
+			+ "<transactionId>b8a7e7b5-3e62-4a4b-8a80-0d5a6a8c1e33</transactionId>"
+			+ "<state>APPROVED</state><paymentNetworkResponseCode>00</paymentNetworkResponseCode>"
+			+ "<trazabilityCode>CRED - 666039677</trazabilityCode>"
+			+ "<authorizationCode>123238</authorizationCode>"
+			+ "<responseCode>APPROVED</responseCode><responseMessage>Approved</responseMessage>"
+			+ "<operationDate>2026-10-18T10:15:00</operationDate>"
+			+ "</transactionResponse></paymentResponse>";
+
+	private PaymentRequest request;
+
+	@Setup
+	public void setUp() {
+
+		request = RequestUtil.buildPaymentsPingRequest();
+		request.setApiLogin("apiLogin");
+		request.setApiKey("apiKey");
+	}
+
+	@Benchmark
+	public String marshalNewContext() throws Exception {
+
+		Marshaller marshaller = JAXBContext.newInstance(PaymentRequest.class).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		StringWriter writer = new StringWriter();
+		marshaller.marshal(request, writer);
+		return writer.toString();
+	}
+
+	@Benchmark
+	public String marshalRegistry() {
+
+		return JaxbUtil.convertJavaToXml(request, true);
+	}
+
+	@Benchmark
+	public Object unmarshalNewContext() throws Exception {
+
+		return JAXBContext.newInstance(PaymentResponse.class).createUnmarshaller()
+				.unmarshal(new StringReader(RESPONSE));
+	}
+
+	@Benchmark
+	public Object unmarshalRegistry() throws Exception {
+
+		return JaxbUtil.convertXmlToJava(PaymentResponse.class, RESPONSE);
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.notification.ConfirmationNotification;
+import com.payu.sdk.notification.NotificationHandler;
+import com.payu.sdk.notification.NotificationIngestor;
+import com.payu.sdk.notification.NotificationIngestor.Result;
+import com.payu.sdk.notification.NotificationParser;
+import com.payu.sdk.notification.NotificationVerifier;
+
+/**
+ * Measures the notifications a single thread parses, verifies and ingests per
+ * second. The bodies are distinct and outnumber the deduplication capacity, so
+ * none of them is dropped as a duplicate.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=NotificationBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class NotificationBenchmark {
+
+	/** The distinct notification bodies */
+	private static final int BODIES = 4096;
+
+	private static final String KEY = "4Vj8eK4rloUd272L48hsrarnUA";
+
+	private byte[][] bodies;
+
+	private ConfirmationNotification[] notifications;
+
+	private NotificationVerifier verifier;
+
+	private NotificationIngestor ingestor;
+
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		Charset utf8 = Charset.forName("UTF-8");
+		bodies = new byte[BODIES][];
+		notifications = new ConfirmationNotification[BODIES];
+		for (int i = 0; i < BODIES; i++) {
+			String reference = "order-" + i;
+			String value = (100 + i) + ".00";
+			String sign = DigestUtils.md5Hex(KEY + "~508029~" + reference + "~" + (100 + i)
+					+ ".0~COP~4");
+			bodies[i] = ("merchant_id=508029&state_pol=4&response_code_pol=1&reference_sale="
+					+ reference + "&reference_pol=" + (844122487 + i) + "&transaction_id="
+					+ "a9b8c7d6-0000-4000-8000-" + (100000000000L + i) + "&value=" + value
+					+ "&currency=COP&payment_method_name=VISA&email_buyer=buyer%40test.com"
+					+ "&description=Pago+de+prueba&test=1&sign=" + sign).getBytes(utf8);
+			notifications[i] = new ConfirmationNotification(NotificationParser.parse(bodies[i]));
+		}
+
+		verifier = new NotificationVerifier(KEY);
+		ingestor = NotificationIngestor.builder().apiKey(KEY).deduplicationCapacity(BODIES / 4)
+				.offerTimeout(1, TimeUnit.SECONDS).handler(new NotificationHandler() {
+
+					@Override
+					public void onNotification(ConfirmationNotification notification) {
+						// Nothing to do
+					}
+				}).build();
+	}
+
+	@TearDown
+	public void tearDown() {
+
+		ingestor.close();
+		if (ingestor.getCount(Result.ACCEPTED) != ingestor.getReceived()) {
+			throw new IllegalStateException("Not every notification was accepted: "
+					+ ingestor.getCount(Result.ACCEPTED) + " of " + ingestor.getReceived());
+		}
+	}
+
+	@Benchmark
+	public Map<String, String> parse() {
+
+		return NotificationParser.parse(bodies[next++ & (BODIES - 1)]);
+	}
+
+	@Benchmark
+	public boolean verify() {
+
+		return verifier.verify(notifications[next++ & (BODIES - 1)]);
+	}
+
+	@Benchmark
+	public Result ingest() {
+
+		return ingestor.ingest(bodies[next++ & (BODIES - 1)]);
+	}
+}
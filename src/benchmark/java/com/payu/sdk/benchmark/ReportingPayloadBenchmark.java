@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.model.Order;
+import com.payu.sdk.reporting.model.ReportingResponse;
+
+/**
+ * Measures reading an order detail reporting stream, whose order payload
+ * is bound from its DOM node by the
+ * {@link com.payu.sdk.utils.xml.PayloadAdapter}, for orders with a growing
+ * number of transactions.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=ReportingPayloadBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportingPayloadBenchmark {
+
+	@Param({ "1", "40" })
+	private int transactions;
+
+	private byte[] xml;
+
+	@Setup
+	public void setUp() {
+
+		StringBuilder builder = new StringBuilder("<reportingResponse><code>SUCCESS</code>"
+				+ "<result><payload class=\"order\"><id>844122487</id>"
+				+ "<accountId>500538</accountId><status>CAPTURED</status>"
+				+ "<referenceCode>order-2026-10-18</referenceCode>"
+				+ "<description>Benchmark order</description><transactions>");
+		for (int i = 0; i < transactions; i++) {
+			builder.append("<transaction><id>3e16d3a5-4cdd-4a3c-8d0e-").append(i)
+					.append("</id><type>AUTHORIZATION_AND_CAPTURE</type>")
+					.append("<paymentMethod>VISA</paymentMethod><source>WEB</source>")
+					.append("<paymentCountry>CO</paymentCountry><transactionResponse>")
+					.append("<state>APPROVED</state><responseCode>APPROVED</responseCode>")
+					.append("<trazabilityCode>CRED - 666039677</trazabilityCode>")
+					.append("<authorizationCode>123238</authorizationCode>")
+					.append("<operationDate>2026-10-18T10:15:30</operationDate>")
+					.append("</transactionResponse></transaction>");
+		}
+		xml = builder.append("</transactions></payload></result></reportingResponse>").toString()
+				.getBytes(Charset.forName("UTF-8"));
+	}
+
+	@Benchmark
+	public Order orderDetail() throws Exception {
+
+		return (Order) ReportingResponse.fromXml(new ByteArrayInputStream(xml)).getResult()
+				.getPayload();
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.entity.StringEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.helper.XmlRequestEntity;
+import com.payu.sdk.payments.model.PaymentRequest;
+
+/**
+ * Compares writing an authorization request as a formatted String copied
+ * into a {@link StringEntity} against the {@link XmlRequestEntity}, which
+ * marshals it compact into a buffer reused by the thread. The gc profiler
+ * of the benchmarks profile reports the allocation per request.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=RequestEntityBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestEntityBenchmark {
+
+	private PaymentRequest request;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		request = BenchmarkData.authorizationRequest();
+	}
+
+	@Benchmark
+	public long stringEntity() throws Exception {
+
+		CountingOutputStream out = new CountingOutputStream();
+		new StringEntity(request.toXml(), "UTF-8").writeTo(out);
+		return out.count;
+	}
+
+	@Benchmark
+	public long streamingEntity() throws Exception {
+
+		CountingOutputStream out = new CountingOutputStream();
+		new XmlRequestEntity(request).writeTo(out);
+		return out.count;
+	}
+
+	/**
+	 * Discards the written bytes, only counting them
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.helper.SignatureEngine;
+import com.payu.sdk.helper.SignatureHelper;
+import com.payu.sdk.model.AdditionalValue;
+import com.payu.sdk.model.Order;
+
+/**
+ * Compares the order signature built with a new {@link DecimalFormat} and
+ * <code>DigestUtils</code> on every call against the {@link SignatureEngine},
+ * one order at a time and in a batch.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=SignatureBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+
+	/** The orders of a batch */
+	private static final int BATCH = 100;
+
+	private static final String KEY = "4Vj8eK4rloUd272L48hsrarnUA";
+
+	private static final Integer MERCHANT_ID = 508029;
+
+	private Order order;
+
+	private List<Order> batch;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		order = BenchmarkData.authorizationRequest().getTransaction().getOrder();
+		batch = new ArrayList<Order>(BATCH);
+		for (int i = 0; i < BATCH; i++) {
+			batch.add(order);
+		}
+	}
+
+	@Benchmark
+	public String legacy() {
+
+		DecimalFormat df = (DecimalFormat) NumberFormat.getInstance(Locale.US);
+		df.applyPattern(SignatureHelper.DECIMAL_FORMAT_3);
+		AdditionalValue txValue = order.getAdditionalValue(SignatureHelper.TX_VALUE);
+
+		StringBuilder message = new StringBuilder();
+		message.append(KEY).append("~").append(MERCHANT_ID).append("~")
+				.append(order.getReferenceCode()).append("~")
+				.append(df.format(txValue.getValue().doubleValue())).append("~")
+				.append(txValue.getCurrency().toString());
+		return DigestUtils.md5Hex(message.toString());
+	}
+
+	@Benchmark
+	public String engine() {
+
+		return SignatureEngine.sign(order, MERCHANT_ID, KEY, SignatureHelper.DECIMAL_FORMAT_3,
+				SignatureHelper.MD5_ALGORITHM);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public String[] engineBatch() {
+
+		return SignatureEngine.signAll(batch, MERCHANT_ID, KEY, SignatureHelper.DECIMAL_FORMAT_3,
+				SignatureHelper.MD5_ALGORITHM);
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.protocol.BasicHttpContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.helper.SslSocketFactories;
+
+/**
+ * Measures the cost of opening a new TLS connection, as done after an idle
+ * connection is evicted from the pool. The former code built a new SSL
+ * context and socket factory for every client, so each connection paid the
+ * context initialization and a full handshake. The shared factory resumes the
+ * cached TLS session instead.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=SslHandshakeBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SslHandshakeBenchmark {
+
+	private StubServer server;
+
+	private HttpHost host;
+
+	private InetSocketAddress address;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		server = new StubServer(StubServer.PING_RESPONSE);
+		address = new InetSocketAddress("localhost", server.getPort());
+		host = new HttpHost("localhost", address.getPort(), "https");
+	}
+
+	@TearDown
+	public void tearDown() {
+
+		server.stop();
+	}
+
+	@Benchmark
+	public boolean newFactoryPerConnection() throws Exception {
+
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(null, new TrustManager[] { new TrustAllManager() }, null);
+
+		return connect(new SSLConnectionSocketFactory(context,
+				new String[] { "TLSv1", "TLSv1.1", "TLSv1.2" }, null,
+				NoopHostnameVerifier.INSTANCE));
+	}
+
+	@Benchmark
+	public boolean sharedFactory() throws Exception {
+
+		return connect(SslSocketFactories.getSocketFactory(true));
+	}
+
+	/**
+	 * Opens a connection, completing the TLS handshake, and closes it
+	 *
+	 * @param factory
+	 *            The socket factory
+	 * @return whether the socket was connected
+	 * @throws Exception
+	 */
+	private boolean connect(SSLConnectionSocketFactory factory) throws Exception {
+
+		Socket socket = factory.connectSocket(10000, null, host, address, null,
+				new BasicHttpContext());
+		try {
+			return socket.isConnected();
+		}
+		finally {
+			socket.close();
+		}
+	}
+
+	/**
+	 * Trusts every certificate, as the former dev wrapper did
+	 */
+	private static final class TrustAllManager implements X509TrustManager {
+
+		@Override
+		public void checkClientTrusted(X509Certificate[] chain, String authType) {
+		}
+
+		@Override
+		public void checkServerTrusted(X509Certificate[] chain, String authType) {
+		}
+
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return new X509Certificate[0];
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * A local HTTPS server that answers every request with a fixed payments API
+ * response. It uses a self signed certificate, so the SDK talks to it through
+ * the trust all connections of the non productive environments.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class StubServer {
+
+	/** The keystore with the self signed certificate */
+	private static final String KEYSTORE = "/stub-keystore.jks";
+
+	/** The keystore password */
+	private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+
+	/** The ping response */
+	public static final String PING_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code></paymentResponse>";
+
+	/** The server */
+	private final HttpServer server;
+
+	/** The server threads */
+	private final ExecutorService executor;
+
+	/** The response body */
+	private final byte[] body;
+
+	/**
+	 * Starts a new server in a random port
+	 *
+	 * @param response
+	 *            The xml every request is answered with
+	 * @throws Exception
+	 */
+	public StubServer(String response) throws Exception {
+
+		body = response.getBytes("UTF-8");
+
+		// Without it the small responses wait for the delayed ACK of the client
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+
+		HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+		httpsServer.setHttpsConfigurator(new HttpsConfigurator(buildSslContext()));
+		httpsServer.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				InputStream in = exchange.getRequestBody();
+				while (in.read() != -1) {
+					// Drains the request
+				}
+				exchange.getResponseHeaders().add("Content-Type", "application/xml");
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(body);
+				out.close();
+			}
+		});
+
+		executor = Executors.newFixedThreadPool(16);
+		httpsServer.setExecutor(executor);
+		httpsServer.start();
+
+		server = httpsServer;
+	}
+
+	/**
+	 * @return the base url of the server, e.g. https://localhost:12345
+	 */
+	public String getBaseUrl() {
+
+		return "https://localhost:" + getPort();
+	}
+
+	/**
+	 * @return the port the server listens to
+	 */
+	public int getPort() {
+
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops the server
+	 */
+	public void stop() {
+
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Builds the server SSL context from the bundled keystore
+	 *
+	 * @return the SSL context
+	 * @throws Exception
+	 */
+	private static SSLContext buildSslContext() throws Exception {
+
+		KeyStore keyStore = KeyStore.getInstance("JKS");
+		InputStream in = StubServer.class.getResourceAsStream(KEYSTORE);
+		try {
+			keyStore.load(in, KEYSTORE_PASSWORD);
+		}
+		finally {
+			in.close();
+		}
+
+		KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		kmf.init(keyStore, KEYSTORE_PASSWORD);
+
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(kmf.getKeyManagers(), null, null);
+		return sslContext;
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodType;
+import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.payments.builder.CreditCardBuilder;
+import com.payu.sdk.payments.builder.PayerBuilder;
+import com.payu.sdk.payments.builder.TransactionBuilder;
+import com.payu.sdk.utils.PaymentValidationSchemas;
+import com.payu.sdk.utils.RequestUtil;
+
+/**
+ * Compares building a validated credit card transaction from typed values
+ * through a parameters map against the {@link TransactionBuilder}.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=TransactionBuilderBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBuilderBenchmark {
+
+	private Integer accountId = Integer.valueOf(512321);
+
+	private BigDecimal value = new BigDecimal("20000");
+
+	private int installments = 1;
+
+	@Setup
+	public void setUp() {
+
+		BenchmarkData.setCredentials();
+	}
+
+	@Benchmark
+	public Transaction parametersMap() throws Exception {
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.ACCOUNT_ID, accountId.toString());
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "benchmark-order");
+		parameters.put(PayU.PARAMETERS.DESCRIPTION, "Benchmark payment");
+		parameters.put(PayU.PARAMETERS.VALUE, value.toPlainString());
+		parameters.put(PayU.PARAMETERS.CURRENCY, Currency.COP.name());
+		parameters.put(PayU.PARAMETERS.BUYER_EMAIL, "buyer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.PAYER_EMAIL, "payer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_DNI, "5415668464654");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_NUMBER, "4097440000000004");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE, "2030/12");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, "321");
+		parameters.put(PayU.PARAMETERS.PAYMENT_METHOD, "VISA");
+		parameters.put(PayU.PARAMETERS.INSTALLMENTS_NUMBER, String.valueOf(installments));
+		parameters.put(PayU.PARAMETERS.COUNTRY, PaymentCountry.CO.name());
+		parameters.put(PayU.PARAMETERS.DEVICE_SESSION_ID, "vghs6tvkcle931686k1900o6e1");
+		parameters.put(PayU.PARAMETERS.IP_ADDRESS, "127.0.0.1");
+		parameters.put(PayU.PARAMETERS.COOKIE, "pt1t38347bs6jc9ruv2ecpv7o2");
+		parameters.put(PayU.PARAMETERS.USER_AGENT, "Mozilla/5.0");
+
+		PaymentValidationSchemas.forPaymentMethod("VISA", PaymentMethodType.CREDIT_CARD)
+				.validate(parameters);
+		return RequestUtil.buildTransaction(parameters, TransactionType.AUTHORIZATION_AND_CAPTURE);
+	}
+
+	@Benchmark
+	public Transaction typedBuilder() throws Exception {
+
+		return TransactionBuilder.authorizationAndCapture().accountId(accountId)
+				.order("benchmark-order", "Benchmark payment").value(Currency.COP, value)
+				.paymentCountry(PaymentCountry.CO).paymentMethod("VISA", PaymentMethodType.CREDIT_CARD).installments(installments)
+				.device("vghs6tvkcle931686k1900o6e1", "127.0.0.1", "pt1t38347bs6jc9ruv2ecpv7o2",
+						"Mozilla/5.0")
+				.payer(new PayerBuilder().fullName("APPROVED").emailAddress("payer_test@test.com")
+						.dni(null, "5415668464654"))
+				.creditCard(new CreditCardBuilder().number("4097440000000004")
+						.expirationDate("2030/12").securityCode("321"))
+				.build();
+	}
+}
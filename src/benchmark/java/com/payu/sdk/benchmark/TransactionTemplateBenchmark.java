@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.helper.XmlRequestEntity;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.payments.builder.PayerBuilder;
+import com.payu.sdk.payments.builder.TransactionBuilder;
+import com.payu.sdk.payments.builder.TransactionTemplate;
+
+/**
+ * Compares building and writing a token payment with the
+ * {@link TransactionBuilder} against a {@link TransactionTemplate} filled
+ * with the same per payment values.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=TransactionTemplateBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionTemplateBenchmark {
+
+	private BigDecimal value = new BigDecimal("20000");
+
+	private TransactionTemplate template;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		BenchmarkData.setCredentials();
+		template = transaction().tokenId("template").template();
+	}
+
+	@Benchmark
+	public long builder() throws Exception {
+
+		CountingOutputStream out = new CountingOutputStream();
+		new XmlRequestEntity(transaction().order("benchmark-order", "Monthly charge")
+				.value(Currency.COP, value).tokenId("benchmark-token").buildRequest())
+				.writeTo(out);
+		return out.count;
+	}
+
+	@Benchmark
+	public long template() throws Exception {
+
+		CountingOutputStream out = new CountingOutputStream();
+		new XmlRequestEntity(template.newRequest("benchmark-order", value, "benchmark-token"))
+				.writeTo(out);
+		return out.count;
+	}
+
+	/**
+	 * @return the token payment with its constant values
+	 */
+	private static TransactionBuilder transaction() {
+
+		return TransactionBuilder.authorizationAndCapture().accountId(512321)
+				.order(null, "Monthly charge").currency(Currency.COP).installments(1)
+				.paymentCountry(PaymentCountry.CO).paymentMethod("VISA")
+				.device("vghs6tvkcle931686k1900o6e1", "127.0.0.1", "pt1t38347bs6jc9ruv2ecpv7o2",
+						"Mozilla/5.0")
+				.payer(new PayerBuilder().fullName("APPROVED").emailAddress("payer_test@test.com")
+						.dni(null, "5415668464654"));
+	}
+
+	/**
+	 * Discards the written bytes, only counting them
+	 */
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+
+			count += len;
+		}
+	}
+}
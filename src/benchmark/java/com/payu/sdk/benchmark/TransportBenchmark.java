@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.PayUClient;
+import com.payu.sdk.helper.LoopbackTransport;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.UrlConnectionTransport;
+
+/**
+ * Compares a payments ping sent through each {@link PayUTransport}. The
+ * loopback transport does not touch the network, so its time is the cost of
+ * the SDK alone: building, serializing and parsing.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=TransportBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+	private StubServer server;
+
+	private PayUClient apacheClient;
+
+	private PayUClient urlConnectionClient;
+
+	private PayUClient loopbackClient;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		server = new StubServer(StubServer.PING_RESPONSE);
+
+		apacheClient = client(null);
+		urlConnectionClient = client(new UrlConnectionTransport());
+		loopbackClient = client(new LoopbackTransport(StubServer.PING_RESPONSE));
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+
+		apacheClient.close();
+		urlConnectionClient.close();
+		loopbackClient.close();
+		server.stop();
+	}
+
+	@Benchmark
+	public boolean apache() throws Exception {
+
+		return apacheClient.payments().doPing();
+	}
+
+	@Benchmark
+	public boolean urlConnection() throws Exception {
+
+		return urlConnectionClient.payments().doPing();
+	}
+
+	@Benchmark
+	public boolean loopback() throws Exception {
+
+		return loopbackClient.payments().doPing();
+	}
+
+	/**
+	 * @param transport the transport, null for the pooled Apache one
+	 * @return a client of the stub server
+	 */
+	private PayUClient client(PayUTransport transport) {
+
+		return PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl(server.getBaseUrl() + "/payments-api/")
+				.transport(transport).build();
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.utils.ValidationSchema;
+
+/**
+ * Compares the validation of a credit card payment with a required parameters
+ * list built on every call against a compiled {@link ValidationSchema}.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=ValidationBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+	private static final ValidationSchema CREDIT_CARD = ValidationSchema.builder()
+			.required(PayU.PARAMETERS.REFERENCE_CODE, PayU.PARAMETERS.DESCRIPTION,
+					PayU.PARAMETERS.CURRENCY, PayU.PARAMETERS.VALUE, PayU.PARAMETERS.PAYER_NAME,
+					PayU.PARAMETERS.PAYMENT_METHOD, PayU.PARAMETERS.INSTALLMENTS_NUMBER,
+					PayU.PARAMETERS.CREDIT_CARD_NUMBER,
+					PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE)
+			.requiredUnless(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE,
+					PayU.PARAMETERS.PROCESS_WITHOUT_CVV2).build();
+
+	private Map<String, String> parameters;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		parameters = BenchmarkData.authorizationParameters();
+	}
+
+	@Benchmark
+	public Map<String, String> requiredList() throws Exception {
+
+		List<String> required = new ArrayList<String>();
+		required.add(PayU.PARAMETERS.REFERENCE_CODE);
+		required.add(PayU.PARAMETERS.DESCRIPTION);
+		required.add(PayU.PARAMETERS.CURRENCY);
+		required.add(PayU.PARAMETERS.VALUE);
+		boolean optionalSecurityCode = parameters.containsKey(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2)
+				&& Boolean.TRUE.toString().equalsIgnoreCase(
+						parameters.get(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2));
+		required.add(PayU.PARAMETERS.PAYER_NAME);
+		required.add(PayU.PARAMETERS.PAYMENT_METHOD);
+		required.add(PayU.PARAMETERS.INSTALLMENTS_NUMBER);
+		required.add(PayU.PARAMETERS.CREDIT_CARD_NUMBER);
+		required.add(PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE);
+		if (!optionalSecurityCode) {
+			required.add(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE);
+		}
+
+		StringBuilder errorMessage = new StringBuilder();
+		boolean isError = false;
+		for (String r : required.toArray(new String[required.size()])) {
+			if (!parameters.keySet().contains(r) || parameters.get(r) == null
+					|| parameters.get(r).trim().isEmpty()) {
+				errorMessage.append("Parameter [").append(r).append("] is required.")
+						.append(Constants.LINE_SEPARATOR);
+				isError = true;
+			}
+		}
+		if (isError) {
+			throw new InvalidParametersException(errorMessage.toString());
+		}
+		return parameters;
+	}
+
+	@Benchmark
+	public Map<String, String> schema() throws Exception {
+
+		CREDIT_CARD.validate(parameters);
+		return parameters;
+	}
+}
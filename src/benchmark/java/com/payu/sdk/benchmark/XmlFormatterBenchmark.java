@@ -0,0 +1,103 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.benchmark;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.payu.sdk.utils.xml.XmlFormatter;
+
+/**
+ * Compares the ways of formatting a response for the debug log: a transformer
+ * and factory created on every call, as the response logging used to do, a
+ * transformer created from the cached factory, and the single pass indenter.
+ *
+ * <pre>
+ * mvn -Pbenchmarks clean test-compile exec:exec -Dbenchmark=XmlFormatterBenchmark
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlFormatterBenchmark {
+
+	private static final String RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+			+ "<paymentResponse><code>SUCCESS</code><error></error><transactionResponse>"
+			+ "<orderId>844122487</orderId><transactionId>3e16d3a5-4cdd-4a3c-8d0e-4c7e0e2b7c11</transactionId>"
+			+ "<state>APPROVED</state><paymentNetworkResponseCode>81</paymentNetworkResponseCode>"
+			+ "<paymentNetworkResponseErrorMessage></paymentNetworkResponseErrorMessage>"
+			+ "<trazabilityCode>CRED - 666039677</trazabilityCode><authorizationCode>123238</authorizationCode>"
+			+ "<responseCode>APPROVED</responseCode><responseMessage>Approved by the merchant</responseMessage>"
+			+ "<operationDate>2026-10-18T10:15:30</operationDate><extraParameters>"
+			+ "<entry><string>BANK_REFERENCED_CODE</string><string>CREDIT</string></entry>"
+			+ "</extraParameters></transactionResponse></paymentResponse>";
+
+	@Benchmark
+	public String transformerPerCall() throws Exception {
+
+		Transformer transformer = TransformerFactory.newInstance().newTransformer();
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+		StringWriter writer = new StringWriter();
+		transformer.transform(new StreamSource(new StringReader(RESPONSE)),
+				new StreamResult(writer));
+		return writer.toString();
+	}
+
+	@Benchmark
+	public String cachedFactory() throws Exception {
+
+		return XmlFormatter.prettyFormat(RESPONSE);
+	}
+
+	@Benchmark
+	public String indenter() {
+
+		return XmlFormatter.indent(RESPONSE);
+	}
+}
@@ -0,0 +1,748 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionState;
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * Runs a stream of payments as asynchronous calls, up to a number of calls at
+ * the same time and under a max rate. The items are read from their iterator
+ * only when a call can be made, so the caller consuming the results slowly
+ * holds back the input and at most the concurrency items are held at a time.
+ * <p>
+ * Each item gives a {@link Result} with its response or its error, a failing
+ * item does not stop the run. The results come in the order of the items, or
+ * in the order the calls end for an {@link #unordered()} run. A run is
+ * iterated once.
+ * <p>
+ * The calls are made with the {@link PayUClient} given to the run, on
+ * its {@link com.payu.sdk.helper.AsyncRequestExecutor}: a concurrency above
+ * the calls in flight of the executor waits in its queue. The calls of the
+ * items read but not consumed go on if the iteration is left.
+ *
+ * <pre>
+ * BulkAuthorization&lt;Transaction&gt; run = PayUPayments.submitTransactionsBulk(transactions, 30000)
+ * 		.withConcurrency(16).withMaxPerSecond(50).unordered();
+ * for (BulkAuthorization.Result&lt;Transaction&gt; result : run) {
+ * 	...
+ * }
+ * run.getStats();
+ * </pre>
+ *
+ * @param <I> the item type
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class BulkAuthorization<I> implements Iterable<BulkAuthorization.Result<I>> {
+
+	/** The number of calls at the same time when none is given */
+	public static final int DEFAULT_CONCURRENCY = 8;
+
+	/** The call making the payment of an item */
+	private final ItemPayment<I> payment;
+
+	/** The items */
+	private final Iterator<? extends I> items;
+
+	/** The client making the calls */
+	private final PayUClient client;
+
+	/** The max number of calls at the same time */
+	private int concurrency = DEFAULT_CONCURRENCY;
+
+	/** The max number of calls started per second, 0 for no limit */
+	private double maxPerSecond;
+
+	/** Whether the results come in the order of the items */
+	private boolean ordered = true;
+
+	/** Whether the run was iterated */
+	private boolean started;
+
+	/** The time in nanoseconds the run started */
+	private long startTime;
+
+	/** The time in nanoseconds the run ended, 0 while it runs */
+	private long endTime;
+
+	/** The number of items read */
+	private long submitted;
+
+	/** The number of results with a response */
+	private long succeeded;
+
+	/** The number of results with an error */
+	private long failed;
+
+	/** The number of approved transactions */
+	private long approved;
+
+	/** The sum of the call times in nanoseconds */
+	private long totalLatency;
+
+	/** The longest call time in nanoseconds */
+	private long maxLatency;
+
+	/**
+	 * Creates a run
+	 *
+	 * @param client the client making the calls
+	 * @param payment the call making the payment of an item
+	 * @param items the items, read as the run goes
+	 */
+	BulkAuthorization(PayUClient client, ItemPayment<I> payment, Iterator<? extends I> items) {
+
+		if (items == null) {
+			throw new IllegalArgumentException("The items can not be null");
+		}
+		this.payment = payment;
+		this.items = items;
+		this.client = client;
+	}
+
+	/**
+	 * Sets the max number of calls at the same time
+	 *
+	 * @param concurrency the max number of calls, {@link #DEFAULT_CONCURRENCY}
+	 *            by default
+	 * @return the run
+	 */
+	public synchronized BulkAuthorization<I> withConcurrency(int concurrency) {
+
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("The concurrency must be positive");
+		}
+		checkNotStarted();
+		this.concurrency = concurrency;
+		return this;
+	}
+
+	/**
+	 * Sets the max number of calls started per second
+	 *
+	 * @param maxPerSecond the max rate, 0 by default for no limit
+	 * @return the run
+	 */
+	public synchronized BulkAuthorization<I> withMaxPerSecond(double maxPerSecond) {
+
+		if (maxPerSecond < 0 || Double.isNaN(maxPerSecond)) {
+			throw new IllegalArgumentException("The max rate can not be negative");
+		}
+		checkNotStarted();
+		this.maxPerSecond = maxPerSecond;
+		return this;
+	}
+
+	/**
+	 * Gives the results in the order the calls end, not in the order of the
+	 * items
+	 *
+	 * @return the run
+	 */
+	public synchronized BulkAuthorization<I> unordered() {
+
+		checkNotStarted();
+		this.ordered = false;
+		return this;
+	}
+
+	/**
+	 * @return the max number of calls at the same time
+	 */
+	public synchronized int getConcurrency() {
+
+		return concurrency;
+	}
+
+	/**
+	 * @return the max number of calls started per second, 0 for no limit
+	 */
+	public synchronized double getMaxPerSecond() {
+
+		return maxPerSecond;
+	}
+
+	/**
+	 * @return whether the results come in the order of the items
+	 */
+	public synchronized boolean isOrdered() {
+
+		return ordered;
+	}
+
+	/**
+	 * Starts the run
+	 *
+	 * @return the iterator of the results
+	 * @throws IllegalStateException if the run was already iterated
+	 */
+	@Override
+	public synchronized Iterator<Result<I>> iterator() {
+
+		checkNotStarted();
+		started = true;
+		startTime = System.nanoTime();
+		return new ResultIterator(concurrency, maxPerSecond, ordered);
+	}
+
+	/**
+	 * Gets the stats of the run so far, or of the whole run once its results
+	 * are consumed
+	 *
+	 * @return the stats
+	 */
+	public synchronized Stats getStats() {
+
+		long elapsed = !started ? 0 : (endTime != 0 ? endTime : System.nanoTime()) - startTime;
+		return new Stats(submitted, succeeded, failed, approved, elapsed, totalLatency,
+				maxLatency);
+	}
+
+	/**
+	 * @throws IllegalStateException if the run was iterated
+	 */
+	private void checkNotStarted() {
+
+		if (started) {
+			throw new IllegalStateException("The bulk run was already started");
+		}
+	}
+
+	/**
+	 * Counts an item read
+	 */
+	private synchronized void countSubmitted() {
+
+		submitted++;
+	}
+
+	/**
+	 * Counts a result given to the caller
+	 *
+	 * @param result the result
+	 */
+	private synchronized void count(Result<I> result) {
+
+		if (result.isSuccess()) {
+			succeeded++;
+			if (result.getResponse() != null
+					&& result.getResponse().getState() == TransactionState.APPROVED) {
+				approved++;
+			}
+		} else {
+			failed++;
+		}
+		totalLatency += result.latency;
+		maxLatency = Math.max(maxLatency, result.latency);
+	}
+
+	/**
+	 * Ends the run, logging its stats
+	 */
+	private void end() {
+
+		synchronized (this) {
+			if (endTime != 0) {
+				return;
+			}
+			endTime = System.nanoTime();
+		}
+		LoggerUtil.info("Bulk authorization ended: {0}", getStats());
+	}
+
+	/**
+	 * Makes the payment of an item
+	 *
+	 * @param <I> the item type
+	 */
+	interface ItemPayment<I> {
+
+		/**
+		 * @param item the item
+		 * @return the transaction response
+		 * @throws Exception if the payment fails
+		 */
+		TransactionResponse pay(I item) throws Exception;
+	}
+
+	/**
+	 * The outcome of an item
+	 *
+	 * @param <I> the item type
+	 */
+	public static final class Result<I> {
+
+		/** The position of the item, from 0 */
+		private final long index;
+
+		/** The item */
+		private final I item;
+
+		/** The response, null if the call failed */
+		private final TransactionResponse response;
+
+		/** The error, null if the call succeeded */
+		private final Exception error;
+
+		/** The call time in nanoseconds */
+		private final long latency;
+
+		/**
+		 * @param index the position of the item
+		 * @param item the item
+		 * @param response the response
+		 * @param error the error
+		 * @param latency the call time in nanoseconds
+		 */
+		private Result(long index, I item, TransactionResponse response, Exception error,
+				long latency) {
+
+			this.index = index;
+			this.item = item;
+			this.response = response;
+			this.error = error;
+			this.latency = latency;
+		}
+
+		/**
+		 * @return the position of the item in the input, from 0
+		 */
+		public long getIndex() {
+
+			return index;
+		}
+
+		/**
+		 * @return the item
+		 */
+		public I getItem() {
+
+			return item;
+		}
+
+		/**
+		 * @return the transaction response, null if the call failed
+		 */
+		public TransactionResponse getResponse() {
+
+			return response;
+		}
+
+		/**
+		 * @return the error of the call, such as a
+		 *         {@link com.payu.sdk.exceptions.PayUException}, null if it
+		 *         succeeded
+		 */
+		public Exception getError() {
+
+			return error;
+		}
+
+		/**
+		 * @return whether the call got a response, whatever its state
+		 */
+		public boolean isSuccess() {
+
+			return error == null;
+		}
+
+		/**
+		 * @return the call time in milliseconds
+		 */
+		public long getLatencyMillis() {
+
+			return TimeUnit.NANOSECONDS.toMillis(latency);
+		}
+
+		@Override
+		public String toString() {
+
+			return "Result [index=" + index + (error == null ? ", state="
+					+ (response != null ? response.getState() : null) : ", error=" + error)
+					+ "]";
+		}
+	}
+
+	/**
+	 * The throughput of a run
+	 */
+	public static final class Stats {
+
+		/** The number of items read */
+		private final long submitted;
+
+		/** The number of results with a response */
+		private final long succeeded;
+
+		/** The number of results with an error */
+		private final long failed;
+
+		/** The number of approved transactions */
+		private final long approved;
+
+		/** The run time in nanoseconds */
+		private final long elapsed;
+
+		/** The sum of the call times in nanoseconds */
+		private final long totalLatency;
+
+		/** The longest call time in nanoseconds */
+		private final long maxLatency;
+
+		/**
+		 * @param submitted the number of items read
+		 * @param succeeded the number of results with a response
+		 * @param failed the number of results with an error
+		 * @param approved the number of approved transactions
+		 * @param elapsed the run time in nanoseconds
+		 * @param totalLatency the sum of the call times in nanoseconds
+		 * @param maxLatency the longest call time in nanoseconds
+		 */
+		private Stats(long submitted, long succeeded, long failed, long approved, long elapsed,
+				long totalLatency, long maxLatency) {
+
+			this.submitted = submitted;
+			this.succeeded = succeeded;
+			this.failed = failed;
+			this.approved = approved;
+			this.elapsed = elapsed;
+			this.totalLatency = totalLatency;
+			this.maxLatency = maxLatency;
+		}
+
+		/**
+		 * @return the number of items read
+		 */
+		public long getSubmitted() {
+
+			return submitted;
+		}
+
+		/**
+		 * @return the number of results given
+		 */
+		public long getCompleted() {
+
+			return succeeded + failed;
+		}
+
+		/**
+		 * @return the number of results with a response
+		 */
+		public long getSucceeded() {
+
+			return succeeded;
+		}
+
+		/**
+		 * @return the number of results with an error
+		 */
+		public long getFailed() {
+
+			return failed;
+		}
+
+		/**
+		 * @return the number of approved transactions
+		 */
+		public long getApproved() {
+
+			return approved;
+		}
+
+		/**
+		 * @return the run time in milliseconds
+		 */
+		public long getElapsedMillis() {
+
+			return TimeUnit.NANOSECONDS.toMillis(elapsed);
+		}
+
+		/**
+		 * @return the results given per second
+		 */
+		public double getThroughput() {
+
+			return elapsed > 0 ? getCompleted() * 1e9 / elapsed : 0;
+		}
+
+		/**
+		 * @return the mean call time in milliseconds
+		 */
+		public double getMeanLatencyMillis() {
+
+			long completed = getCompleted();
+			return completed > 0 ? totalLatency / 1e6 / completed : 0;
+		}
+
+		/**
+		 * @return the longest call time in milliseconds
+		 */
+		public long getMaxLatencyMillis() {
+
+			return TimeUnit.NANOSECONDS.toMillis(maxLatency);
+		}
+
+		@Override
+		public String toString() {
+
+			return String.format("%d submitted, %d succeeded (%d approved), %d failed in %d ms:"
+					+ " %.1f/s, mean latency %.1f ms, max latency %d ms", submitted, succeeded,
+					approved, failed, getElapsedMillis(), getThroughput(),
+					getMeanLatencyMillis(), getMaxLatencyMillis());
+		}
+	}
+
+	/**
+	 * The asynchronous payment of an item
+	 */
+	private final class ItemCall implements Callable<Result<I>> {
+
+		/** The position of the item */
+		private final long index;
+
+		/** The item */
+		private final I item;
+
+		/** The queue the call is added to when it ends, null if none */
+		private final BlockingQueue<ItemCall> completed;
+
+		/** The future result, null if the call was made by the caller */
+		private Future<Result<I>> future;
+
+		/** The result of a call made by the caller */
+		private Result<I> result;
+
+		/**
+		 * @param index the position of the item
+		 * @param item the item
+		 * @param completed the queue the call is added to when it ends
+		 */
+		private ItemCall(long index, I item, BlockingQueue<ItemCall> completed) {
+
+			this.index = index;
+			this.item = item;
+			this.completed = completed;
+		}
+
+		@Override
+		public Result<I> call() {
+
+			long start = System.nanoTime();
+			try {
+				TransactionResponse response = payment.pay(item);
+				return new Result<I>(index, item, response, null, System.nanoTime() - start);
+			} catch (Exception e) {
+				return new Result<I>(index, item, null, e, System.nanoTime() - start);
+			} finally {
+				if (completed != null) {
+					completed.add(this);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the items as calls end and gives their results
+	 */
+	private final class ResultIterator implements Iterator<Result<I>> {
+
+		/** The calls whose results were not given yet, in the order of the items */
+		private final Deque<ItemCall> pending = new ArrayDeque<ItemCall>();
+
+		/** The ended calls, in the order they ended, for unordered runs */
+		private final BlockingQueue<ItemCall> completed;
+
+		/** The max number of calls at the same time */
+		private final int concurrency;
+
+		/** The time in nanoseconds between two call starts, 0 for no limit */
+		private final long interval;
+
+		/** The earliest time in nanoseconds the next call can start */
+		private long nextStart = System.nanoTime();
+
+		/** The position of the next item */
+		private long nextIndex;
+
+		/** The next result, null if it was not taken yet */
+		private Result<I> next;
+
+		/**
+		 * @param concurrency the max number of calls at the same time
+		 * @param maxPerSecond the max number of calls started per second
+		 * @param ordered whether the results come in the order of the items
+		 */
+		private ResultIterator(int concurrency, double maxPerSecond, boolean ordered) {
+
+			this.concurrency = concurrency;
+			this.interval = maxPerSecond > 0 ? (long) (1e9 / maxPerSecond) : 0;
+			this.completed = ordered ? null : new LinkedBlockingQueue<ItemCall>();
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (next != null) {
+				return true;
+			}
+
+			submit();
+			if (pending.isEmpty()) {
+				end();
+				return false;
+			}
+
+			ItemCall call = completed == null || pending.peekFirst().future == null ? pending
+					.peekFirst() : takeCompleted();
+			next = await(call);
+			pending.remove(call);
+			count(next);
+			submit();
+			return true;
+		}
+
+		@Override
+		public Result<I> next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Result<I> result = next;
+			next = null;
+			return result;
+		}
+
+		@Override
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Reads the items and submits their calls up to the concurrency,
+		 * waiting for the max rate
+		 */
+		private void submit() {
+
+			while (pending.size() < concurrency && items.hasNext()) {
+				pace();
+				ItemCall call = new ItemCall(nextIndex++, items.next(), completed);
+				countSubmitted();
+				try {
+					call.future = PayU.submitAsync(client, call);
+				} catch (RejectedExecutionException e) {
+					// Made by the caller when the executor is full
+					call.result = call.call();
+				}
+				pending.addLast(call);
+			}
+		}
+
+		/**
+		 * Waits until the next call can start under the max rate
+		 */
+		private void pace() {
+
+			if (interval == 0) {
+				return;
+			}
+			long wait = nextStart - System.nanoTime();
+			if (wait > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for the max rate",
+							e);
+				}
+			}
+			nextStart = Math.max(nextStart, System.nanoTime() - interval) + interval;
+		}
+
+		/**
+		 * Takes the next ended call among the pending ones
+		 *
+		 * @return the call
+		 */
+		private ItemCall takeCompleted() {
+
+			try {
+				ItemCall call;
+				do {
+					call = completed.take();
+				} while (!pending.contains(call));
+				return call;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a payment", e);
+			}
+		}
+
+		/**
+		 * Waits for the result of a call
+		 *
+		 * @param call the call
+		 * @return the result
+		 */
+		private Result<I> await(ItemCall call) {
+
+			if (call.future == null) {
+				return call.result;
+			}
+			try {
+				return call.future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a payment", e);
+			} catch (CancellationException e) {
+				return new Result<I>(call.index, call.item, null, new ConnectionException(
+						"The payment was cancelled", e), 0);
+			} catch (ExecutionException e) {
+				// The calls catch their exceptions
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				return new Result<I>(call.index, call.item, null, new ConnectionException(e), 0);
+			}
+		}
+	}
+}
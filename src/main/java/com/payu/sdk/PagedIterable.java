@@ -0,0 +1,518 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PageFetchException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException;
+import com.payu.sdk.utils.PagingParameters;
+
+/**
+ * A lazy view over the results of a list endpoint. Each iterator fetches the
+ * pages on demand with the {@link PayU.PARAMETERS#LIMIT} and
+ * {@link PayU.PARAMETERS#OFFSET} parameters. The first page is fetched by
+ * the caller and, while a page is consumed, the following ones are fetched
+ * as asynchronous calls: one by default, up to the parallelism of the view
+ * for bulk crawls. At most the parallelism plus one pages are held at a
+ * time.
+ * <p>
+ * The elements come in the order of the pages, or in the order the pages
+ * arrive for an {@link #unordered()} view. A page shorter than the limit is
+ * the last one, the fetches of the pages after it are cancelled.
+ * <p>
+ * The calls are made with the {@link PayUClient} that created the view. The
+ * pages failing with a {@link ConnectionException} are fetched again up to
+ * the retries of the view, then the iterator fails with a
+ * {@link PageFetchException}.
+ *
+ * <pre>
+ * for (RecurringBill bill : PayURecurringBill.iterate(parameters).withParallelism(8)
+ * 		.withRetries(2)) {
+ * 	...
+ * }
+ * </pre>
+ *
+ * @param <T> the element type
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PagedIterable<T> implements Iterable<T> {
+
+	/** The time in milliseconds waited before each retry, per attempt */
+	static final long RETRY_DELAY = 100;
+
+	/** The call fetching a page */
+	private final PageSource<T> source;
+
+	/** The parameters of the calls */
+	private final Map<String, String> parameters;
+
+	/** The number of elements per page */
+	private final int pageSize;
+
+	/** The offset of the first page */
+	private final int offset;
+
+	/** Whether the endpoint pages its results, otherwise it is called once */
+	private final boolean paged;
+
+	/** The client making the calls */
+	private final PayUClient client;
+
+	/** The max number of pages fetched ahead of the consumed one */
+	private final int parallelism;
+
+	/** Whether the elements come in the order of the pages */
+	private final boolean ordered;
+
+	/** The number of times a page failing to connect is fetched again */
+	private final int retries;
+
+	/**
+	 * Creates the view over an endpoint
+	 *
+	 * @param client the client making the calls
+	 * @param source the call fetching a page
+	 * @param parameters the parameters of the calls, the limit is the page size
+	 * @param paged whether the endpoint pages its results
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	PagedIterable(PayUClient client, PageSource<T> source, Map<String, String> parameters,
+			boolean paged) throws InvalidParametersException {
+
+		this.source = source;
+		this.parameters = new HashMap<String, String>(parameters);
+		this.pageSize = PagingParameters.getLimit(parameters);
+		this.offset = PagingParameters.getOffset(parameters);
+		this.paged = paged;
+		this.client = client;
+		this.parallelism = 1;
+		this.ordered = true;
+		this.retries = 0;
+	}
+
+	/**
+	 * Copies a view with other crawl settings
+	 *
+	 * @param view the view
+	 * @param parallelism the max number of pages fetched ahead
+	 * @param ordered whether the elements come in the order of the pages
+	 * @param retries the number of times a page is fetched again
+	 */
+	private PagedIterable(PagedIterable<T> view, int parallelism, boolean ordered, int retries) {
+
+		this.source = view.source;
+		this.parameters = view.parameters;
+		this.pageSize = view.pageSize;
+		this.offset = view.offset;
+		this.paged = view.paged;
+		this.client = view.client;
+		this.parallelism = parallelism;
+		this.ordered = ordered;
+		this.retries = retries;
+	}
+
+	/**
+	 * Returns a view fetching up to the given number of pages at the same
+	 * time, ahead of the consumed one
+	 *
+	 * @param parallelism the max number of pages fetched ahead, 1 by default
+	 * @return the view
+	 */
+	public PagedIterable<T> withParallelism(int parallelism) {
+
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("The parallelism must be positive");
+		}
+		return new PagedIterable<T>(this, parallelism, ordered, retries);
+	}
+
+	/**
+	 * Returns a view giving the elements of each page as soon as it arrives,
+	 * not in the order of the pages
+	 *
+	 * @return the view
+	 */
+	public PagedIterable<T> unordered() {
+
+		return new PagedIterable<T>(this, parallelism, false, retries);
+	}
+
+	/**
+	 * Returns a view fetching again the pages failing to connect
+	 *
+	 * @param retries the number of times a page is fetched again, 0 by
+	 *            default
+	 * @return the view
+	 */
+	public PagedIterable<T> withRetries(int retries) {
+
+		if (retries < 0) {
+			throw new IllegalArgumentException("The retries can not be negative");
+		}
+		return new PagedIterable<T>(this, parallelism, ordered, retries);
+	}
+
+	/**
+	 * @return the number of elements per page
+	 */
+	public int getPageSize() {
+
+		return pageSize;
+	}
+
+	/**
+	 * @return the max number of pages fetched ahead of the consumed one
+	 */
+	public int getParallelism() {
+
+		return parallelism;
+	}
+
+	/**
+	 * @return whether the elements come in the order of the pages
+	 */
+	public boolean isOrdered() {
+
+		return ordered;
+	}
+
+	/**
+	 * @return the number of times a page failing to connect is fetched again
+	 */
+	public int getRetries() {
+
+		return retries;
+	}
+
+	/**
+	 * Returns a new iterator, starting from the first page
+	 *
+	 * @return the iterator
+	 */
+	@Override
+	public Iterator<T> iterator() {
+
+		return new PageIterator();
+	}
+
+	/**
+	 * Fetches the page starting at the given offset, again when it fails to
+	 * connect up to the retries of the view
+	 *
+	 * @param pageOffset the offset of the page
+	 * @return the page elements
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	private List<T> fetch(int pageOffset) throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		Map<String, String> pageParameters = parameters;
+		if (paged) {
+			pageParameters = new HashMap<String, String>(parameters);
+			pageParameters.put(PayU.PARAMETERS.LIMIT, String.valueOf(pageSize));
+			pageParameters.put(PayU.PARAMETERS.OFFSET, String.valueOf(pageOffset));
+		}
+
+		for (int attempt = 0;; attempt++) {
+			try {
+				List<T> page = source.find(pageParameters);
+				return page != null ? page : Collections.<T> emptyList();
+			} catch (ConnectionException e) {
+				if (attempt >= retries) {
+					throw e;
+				}
+			}
+			try {
+				Thread.sleep(RETRY_DELAY * (attempt + 1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ConnectionException("Interrupted while fetching a page", e);
+			}
+		}
+	}
+
+	/**
+	 * Fetches a page of an endpoint
+	 *
+	 * @param <T> the element type
+	 */
+	interface PageSource<T> {
+
+		/**
+		 * @param parameters the parameters of the page
+		 * @return the page elements
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 */
+		List<T> find(Map<String, String> parameters) throws PayUException,
+				InvalidParametersException, ConnectionException;
+	}
+
+	/**
+	 * The asynchronous fetch of a page
+	 */
+	private final class PageCall implements Callable<List<T>> {
+
+		/** The offset of the page */
+		private final int pageOffset;
+
+		/** The queue the call is added to when it ends, null if none */
+		private final BlockingQueue<PageCall> completed;
+
+		/** The future page */
+		private Future<List<T>> future;
+
+		/**
+		 * @param pageOffset the offset of the page
+		 * @param completed the queue the call is added to when it ends
+		 */
+		private PageCall(int pageOffset, BlockingQueue<PageCall> completed) {
+
+			this.pageOffset = pageOffset;
+			this.completed = completed;
+		}
+
+		@Override
+		public List<T> call() throws Exception {
+
+			try {
+				return fetch(pageOffset);
+			} finally {
+				if (completed != null) {
+					completed.add(this);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Iterates the pages, fetching the following ones while the current one
+	 * is consumed
+	 */
+	private final class PageIterator implements Iterator<T> {
+
+		/** The submitted pages not consumed yet, by offset */
+		private final Deque<PageCall> pending = new ArrayDeque<PageCall>();
+
+		/** The ended calls, in the order they ended, for unordered views */
+		private final BlockingQueue<PageCall> completed = ordered ? null
+				: new LinkedBlockingQueue<PageCall>();
+
+		/** The page being consumed */
+		private List<T> page = Collections.emptyList();
+
+		/** The index of the next element of the page */
+		private int index;
+
+		/** The offset of the next page to fetch */
+		private int nextOffset = offset;
+
+		/** The offset of the last page, once known */
+		private int endOffset = Integer.MAX_VALUE;
+
+		/** Whether a page failed, ending the iteration */
+		private boolean failed;
+
+		@Override
+		public boolean hasNext() {
+
+			while (index >= page.size()) {
+				if (failed || pending.isEmpty() && nextOffset > endOffset) {
+					return false;
+				}
+				advance();
+			}
+			return true;
+		}
+
+		@Override
+		public T next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return page.get(index++);
+		}
+
+		@Override
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Moves to the next page and submits the fetch of the following ones
+		 */
+		private void advance() {
+
+			int pageOffset;
+			List<T> current;
+			try {
+				if (pending.isEmpty()) {
+					pageOffset = nextOffset;
+					nextOffset += pageSize;
+					current = fetch(pageOffset);
+				} else {
+					PageCall call = ordered ? pending.peekFirst() : takeCompleted();
+					pageOffset = call.pageOffset;
+					current = await(call.future);
+					pending.remove(call);
+				}
+			} catch (SDKException e) {
+				fail();
+				throw new PageFetchException(e);
+			} catch (RuntimeException e) {
+				fail();
+				throw e;
+			}
+
+			page = current;
+			index = 0;
+			if (!paged || current.size() < pageSize) {
+				end(pageOffset);
+			}
+			submit();
+		}
+
+		/**
+		 * Marks the page at the given offset as the last one, cancelling the
+		 * fetch of the following pages
+		 *
+		 * @param lastOffset the offset of the last page
+		 */
+		private void end(int lastOffset) {
+
+			endOffset = Math.min(endOffset, lastOffset);
+			for (Iterator<PageCall> calls = pending.iterator(); calls.hasNext();) {
+				PageCall call = calls.next();
+				if (call.pageOffset > endOffset) {
+					call.future.cancel(true);
+					calls.remove();
+				}
+			}
+		}
+
+		/**
+		 * Submits the fetch of the following pages up to the parallelism
+		 */
+		private void submit() {
+
+			while (pending.size() < parallelism && nextOffset <= endOffset) {
+				PageCall call = new PageCall(nextOffset, completed);
+				try {
+					call.future = PayU.submitAsync(client, call);
+				} catch (RejectedExecutionException e) {
+					// Fetched by the caller once the pending pages are consumed
+					return;
+				}
+				pending.addLast(call);
+				nextOffset += pageSize;
+			}
+		}
+
+		/**
+		 * Takes the next ended call among the pending ones
+		 *
+		 * @return the call
+		 */
+		private PageCall takeCompleted() {
+
+			try {
+				PageCall call;
+				do {
+					call = completed.take();
+				} while (!pending.contains(call));
+				return call;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PageFetchException(new ConnectionException(
+						"Interrupted while fetching a page", e));
+			}
+		}
+
+		/**
+		 * Ends the iteration after a failure, cancelling the pending pages
+		 */
+		private void fail() {
+
+			failed = true;
+			for (PageCall call : pending) {
+				call.future.cancel(true);
+			}
+			pending.clear();
+			page = Collections.emptyList();
+		}
+
+		/**
+		 * Waits for a fetched page
+		 *
+		 * @param future the future page
+		 * @return the page elements
+		 * @throws SDKException if the call failed
+		 */
+		private List<T> await(Future<List<T>> future) throws SDKException {
+
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ConnectionException("Interrupted while fetching a page", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SDKException) {
+					throw (SDKException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new ConnectionException(e);
+			}
+		}
+	}
+}
@@ -24,7 +24,22 @@
 
 package com.payu.sdk;
 
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
+
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.helper.AsyncRequestExecutor.AsyncCall;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.ResponseBodyHandler;
 import com.payu.sdk.model.Language;
+import com.payu.sdk.model.request.Request;
 
 /**
  * Holds basic request information
@@ -80,6 +95,164 @@ public abstract class PayU {
 	 */
 	public static Language language = Language.es;
 
+	/**
+	 * Submits an asynchronous call to the executor of the given client
+	 *
+	 * @param <T> the result type
+	 * @param client the client making the call
+	 * @param task the call
+	 * @return the future result, cancelling it aborts the call
+	 */
+	static <T> Future<T> submitAsync(PayUClient client, Callable<T> task) {
+
+		return client.getAsyncExecutor().submit(task);
+	}
+
+	/**
+	 * A call to the API, split in the building of its request and the reading
+	 * of its result, so it can be sent without holding a thread while its
+	 * response is awaited
+	 *
+	 * @param <R> the response type
+	 * @param <T> the result type
+	 */
+	abstract static class ApiCall<R extends Serializable, T> {
+
+		/** The response type, null if the handler reads the response */
+		private final Class<R> responseType;
+
+		/** The reader of the response body, null if it is unmarshalled */
+		private final ResponseBodyHandler<R> handler;
+
+		/** The request method */
+		private final RequestMethod requestMethod;
+
+		/** The socket time out, null for the default one */
+		private final Integer socketTimeOut;
+
+		/**
+		 * Creates a call whose response is unmarshalled into the given type
+		 *
+		 * @param responseType the response type
+		 * @param requestMethod the request method
+		 * @param socketTimeOut the socket time out, null for the default one
+		 */
+		ApiCall(Class<R> responseType, RequestMethod requestMethod, Integer socketTimeOut) {
+
+			this.responseType = responseType;
+			this.handler = null;
+			this.requestMethod = requestMethod;
+			this.socketTimeOut = socketTimeOut;
+		}
+
+		/**
+		 * Creates a call whose response is read by the given handler
+		 *
+		 * @param handler the reader of the response body
+		 * @param requestMethod the request method
+		 */
+		ApiCall(ResponseBodyHandler<R> handler, RequestMethod requestMethod) {
+
+			this.responseType = null;
+			this.handler = handler;
+			this.requestMethod = requestMethod;
+			this.socketTimeOut = null;
+		}
+
+		/**
+		 * Validates the parameters and builds the request
+		 *
+		 * @return the request
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 */
+		abstract Request request() throws PayUException, InvalidParametersException,
+				ConnectionException;
+
+		/**
+		 * Gives the result of the response
+		 *
+		 * @param response the response, null if its body is empty
+		 * @return the result
+		 */
+		abstract T result(R response);
+
+		/**
+		 * Sends the call and waits for its result
+		 *
+		 * @param client the client making the call
+		 * @return the result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 */
+		final T send(PayUClient client) throws PayUException, InvalidParametersException,
+				ConnectionException {
+
+			Request request = request();
+			return result(handler != null
+					? HttpClientHelper.sendRequest(client, request, requestMethod, handler)
+					: HttpClientHelper.sendRequest(client, request, requestMethod,
+							socketTimeOut, responseType));
+		}
+
+		/**
+		 * Submits the call to the executor of the given client. Its request
+		 * is built on a thread of the executor, which is freed while the
+		 * response is awaited when the transport of the client is an
+		 * {@link com.payu.sdk.helper.AsyncPayUTransport}
+		 *
+		 * @param client the client making the call
+		 * @return the future result, cancelling it aborts the call
+		 */
+		final Future<T> sendAsync(final PayUClient client) {
+
+			return client.getAsyncExecutor().submit(new AsyncCall<T>() {
+
+				@Override
+				public Cancellable start(final FutureCallback<T> callback) throws Exception {
+
+					FutureCallback<R> responseCallback = new FutureCallback<R>() {
+
+						@Override
+						public void completed(R response) {
+
+							T result;
+							try {
+								result = result(response);
+							}
+							catch (RuntimeException e) {
+								callback.failed(e);
+								return;
+							}
+							callback.completed(result);
+						}
+
+						@Override
+						public void failed(Exception e) {
+
+							callback.failed(e);
+						}
+
+						@Override
+						public void cancelled() {
+
+							callback.cancelled();
+						}
+					};
+
+					Request request = request();
+					return handler != null
+							? HttpClientHelper.sendRequestAsync(client, request, requestMethod,
+									socketTimeOut, handler, responseCallback)
+							: HttpClientHelper.sendRequestAsync(client, request, requestMethod,
+									socketTimeOut, responseType, responseCallback);
+				}
+			});
+		}
+	}
+
 	/**
 	 * API invocation parameters to be used as key when putting items into the
 	 * parameters Map.
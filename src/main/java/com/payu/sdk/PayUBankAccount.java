@@ -73,11 +73,9 @@ public class PayUBankAccount extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildBankAccountRequest(parameters),
-				RequestMethod.POST);
-
-		return BankAccount.fromXml(res);
+				RequestMethod.POST, BankAccount.class);
 	}
 
 	/**
@@ -96,11 +94,9 @@ public class PayUBankAccount extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildBankAccountRequest(parameters),
-				RequestMethod.GET);
-
-		return BankAccount.fromXml(res);
+				RequestMethod.GET, BankAccount.class);
 	}
 
 	/**
@@ -126,11 +122,9 @@ public class PayUBankAccount extends PayU {
 
 		PaymentPlanRequestUtil.validateNotAllowedParameters(parameters.keySet(), notAllowed);
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildBankAccountRequest(parameters),
-				RequestMethod.PUT);
-
-		return BankAccount.fromXml(res);
+				RequestMethod.PUT, BankAccount.class);
 	}
 
 	/**
@@ -173,14 +167,35 @@ public class PayUBankAccount extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(
+		BankAccountListResponse response = HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildBankAccountListRequest(parameters),
-				RequestMethod.GET);
-
-		BankAccountListResponse response = BankAccountListResponse
-				.fromXml(res);
+				RequestMethod.GET, BankAccountListResponse.class);
 
 		return response.getBankAccountList();
 	}
 
+	/**
+	 * Iterates the bank accounts of a customer, see {@link #findList(Map)}.
+	 * The endpoint does not page its results, so they are fetched in a
+	 * single call when the iteration starts
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy bank accounts list
+	 * @throws InvalidParametersException if the customer id is missing
+	 */
+	public static PagedIterable<BankAccount> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		PaymentPlanRequestUtil.validateParameters(parameters, PayU.PARAMETERS.CUSTOMER_ID);
+
+		return new PagedIterable<BankAccount>(PayUClient.getDefault(), new PagedIterable.PageSource<BankAccount>() {
+
+			@Override
+			public List<BankAccount> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, false);
+	}
+
 }
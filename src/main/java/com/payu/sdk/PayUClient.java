@@ -0,0 +1,1265 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import com.payu.sdk.PayUPayments.PaymentMethodCaches;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.helper.ApacheTransport;
+import com.payu.sdk.helper.AsyncRequestExecutor;
+import com.payu.sdk.helper.ClientMetrics;
+import com.payu.sdk.helper.ConnectionPoolSettings;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.HttpClientPools;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.model.Bank;
+import com.payu.sdk.model.CreditCardToken;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.Order;
+import com.payu.sdk.model.PaymentMethodApi;
+import com.payu.sdk.model.PaymentMethodComplete;
+import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.paymentplan.model.SubscriptionPlan;
+import com.payu.sdk.payments.model.PaymentAttemptRequest;
+import com.payu.sdk.utils.PaymentMethodCatalog;
+
+/**
+ * A PayU client with its own merchant configuration, connection pools, caches
+ * and metrics. Clients are immutable and built with a {@link Builder}, so
+ * several merchants can transact from the same JVM at the same time without
+ * sharing the static configuration of {@link PayU}.
+ * <p>
+ * The operations are the ones of the static facades, which are made with the
+ * {@link #getDefault() default client}: the one reading the static
+ * configuration of {@link PayU} on each call.
+ *
+ * <pre>
+ * PayUClient client = PayUClient.builder().apiKey(apiKey).apiLogin(apiLogin)
+ * 		.merchantId(merchantId).build();
+ * TransactionResponse response = client.payments().doAuthorizationAndCapture(parameters);
+ * </pre>
+ * <p>
+ * Its asynchronous calls hold no thread while they wait for their responses
+ * when its transport is an {@link com.payu.sdk.helper.AsyncPayUTransport}:
+ *
+ * <pre>
+ * PayUClient client = PayUClient.builder().apiKey(apiKey).apiLogin(apiLogin)
+ * 		.merchantId(merchantId).transport(new ApacheAsyncTransport(settings))
+ * 		.asyncExecutor(new AsyncRequestExecutor(4, 1000, 10000)).build();
+ * Future&lt;TransactionResponse&gt; response = client.payments().doAuthorizationAndCaptureAsync(parameters);
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PayUClient implements Closeable {
+
+	/** The client of the static facades */
+	private static final PayUClient DEFAULT = new PayUClient();
+
+	/** Whether the configuration is the static one of {@link PayU} */
+	private final boolean statics;
+
+	/** The merchant API key */
+	private final String apiKey;
+
+	/** The merchant API login */
+	private final String apiLogin;
+
+	/** The merchant id */
+	private final String merchantId;
+
+	/** The custom Payments-API URL, null for the default one */
+	private final String paymentsUrl;
+
+	/** The custom Reports-API URL, null for the default one */
+	private final String reportsUrl;
+
+	/** The request language */
+	private final Language language;
+
+	/** Whether the calls are test */
+	private final boolean test;
+
+	/** The connection pools of the client, null for the static ones */
+	private final HttpClientPools connectionPools;
+
+	/** The transport of the calls, null for the static one */
+	private final PayUTransport transport;
+
+	/** The executor of the asynchronous calls, null for the default one */
+	private final AsyncRequestExecutor asyncExecutor;
+
+	/** The metrics of the calls */
+	private final ClientMetrics metrics = new ClientMetrics();
+
+	/** The payment methods caches of the client */
+	private final PaymentMethodCaches paymentMethodCaches;
+
+	/** The payments operations */
+	private final Payments payments = new Payments();
+
+	/** The credit card tokens operations */
+	private final Tokens tokens = new Tokens();
+
+	/** The reports operations */
+	private final Reports reports = new Reports();
+
+	/** The subscription plans operations */
+	private final Plans plans = new Plans();
+
+	/**
+	 * Creates the default client
+	 */
+	private PayUClient() {
+
+		statics = true;
+		apiKey = null;
+		apiLogin = null;
+		merchantId = null;
+		paymentsUrl = null;
+		reportsUrl = null;
+		language = null;
+		test = false;
+		connectionPools = null;
+		transport = null;
+		asyncExecutor = null;
+		paymentMethodCaches = new PaymentMethodCaches(this);
+	}
+
+	/**
+	 * Creates a client from its builder
+	 *
+	 * @param builder the builder
+	 */
+	private PayUClient(Builder builder) {
+
+		statics = false;
+		apiKey = builder.apiKey;
+		apiLogin = builder.apiLogin;
+		merchantId = builder.merchantId;
+		paymentsUrl = builder.paymentsUrl;
+		reportsUrl = builder.reportsUrl;
+		language = builder.language;
+		test = builder.test;
+		connectionPools = new HttpClientPools(builder.connectionPoolSettings);
+		transport = builder.transport != null ? builder.transport
+				: new ApacheTransport(connectionPools);
+		asyncExecutor = builder.asyncExecutor;
+		paymentMethodCaches = new PaymentMethodCaches(this);
+	}
+
+	/**
+	 * @return a new client builder
+	 */
+	public static Builder builder() {
+
+		return new Builder();
+	}
+
+	/**
+	 * Returns the client of the static facades. Its configuration is the
+	 * static one of {@link PayU}, read on each call, and its connection pools
+	 * and transport are the ones of
+	 * {@link com.payu.sdk.helper.HttpClientHelper}
+	 *
+	 * @return the default client
+	 */
+	public static PayUClient getDefault() {
+
+		return DEFAULT;
+	}
+
+	/**
+	 * @return the payments operations
+	 */
+	public Payments payments() {
+
+		return payments;
+	}
+
+	/**
+	 * @return the credit card tokens operations
+	 */
+	public Tokens tokens() {
+
+		return tokens;
+	}
+
+	/**
+	 * @return the reports operations
+	 */
+	public Reports reports() {
+
+		return reports;
+	}
+
+	/**
+	 * @return the subscription plans operations
+	 */
+	public Plans plans() {
+
+		return plans;
+	}
+
+	/**
+	 * @return the merchant API key
+	 */
+	public String getApiKey() {
+
+		return statics ? PayU.apiKey : apiKey;
+	}
+
+	/**
+	 * @return the merchant API login
+	 */
+	public String getApiLogin() {
+
+		return statics ? PayU.apiLogin : apiLogin;
+	}
+
+	/**
+	 * @return the merchant id
+	 */
+	public String getMerchantId() {
+
+		return statics ? PayU.merchantId : merchantId;
+	}
+
+	/**
+	 * @return the custom Payments-API URL, null for the default one
+	 */
+	public String getPaymentsUrl() {
+
+		return statics ? PayU.paymentsUrl : paymentsUrl;
+	}
+
+	/**
+	 * @return the custom Reports-API URL, null for the default one
+	 */
+	public String getReportsUrl() {
+
+		return statics ? PayU.reportsUrl : reportsUrl;
+	}
+
+	/**
+	 * @return the request language
+	 */
+	public Language getLanguage() {
+
+		return statics ? PayU.language : language;
+	}
+
+	/**
+	 * @return whether the calls are test
+	 */
+	public boolean isTest() {
+
+		return statics ? PayU.isTest : test;
+	}
+
+	/**
+	 * @return the connection pools of the client, with their statistics
+	 */
+	public HttpClientPools getConnectionPools() {
+
+		return statics ? HttpClientHelper.getConnectionPools() : connectionPools;
+	}
+
+	/**
+	 * @return the transport of the calls of the client
+	 */
+	public PayUTransport getTransport() {
+
+		return statics ? HttpClientHelper.getTransport() : transport;
+	}
+
+	/**
+	 * @return the executor of the asynchronous calls of the client
+	 */
+	public AsyncRequestExecutor getAsyncExecutor() {
+
+		return asyncExecutor != null ? asyncExecutor : AsyncRequestExecutor.getDefault();
+	}
+
+	/**
+	 * @return the metrics of the calls of the client
+	 */
+	public ClientMetrics getMetrics() {
+
+		return metrics;
+	}
+
+	/**
+	 * @return the payment methods caches of the client
+	 */
+	PaymentMethodCaches getPaymentMethodCaches() {
+
+		return paymentMethodCaches;
+	}
+
+	/**
+	 * Closes the pooled connections of the client. They are opened again if
+	 * the client is used afterwards
+	 */
+	@Override
+	public void close() {
+
+		getConnectionPools().close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * The api key is left out on purpose, this is logged
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("PayUClient [apiLogin=%s, merchantId=%s, test=%s]",
+				getApiLogin(), getMerchantId(), isTest());
+	}
+
+	/**
+	 * The payments operations of a {@link PayUClient}
+	 */
+	public final class Payments {
+
+		/**
+		 * Private constructor
+		 */
+		private Payments() {
+		}
+
+		/**
+		 * Makes a ping petition
+		 *
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doPing()
+		 */
+		public boolean doPing()
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.doPing(PayUClient.this);
+		}
+
+		/**
+		 * Makes a get payment methods petition
+		 *
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#getPaymentMethods()
+		 */
+		public List<PaymentMethodComplete> getPaymentMethods()
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.getPaymentMethods(PayUClient.this);
+		}
+
+		/**
+		 * Gets a payment method availability
+		 *
+		 * @param paymentMethod
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#getPaymentMethodAvailability(String)
+		 */
+		public PaymentMethodApi getPaymentMethodAvailability(String paymentMethod)
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.getPaymentMethodAvailability(PayUClient.this, paymentMethod);
+		}
+
+		/**
+		 * Gets a payment method availability, with the given credentials if
+		 * the client has none
+		 *
+		 * @param paymentMethod
+		 * @param apiKey
+		 * @param apiLogin
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#getPaymentMethodAvailability(String, String, String)
+		 */
+		public PaymentMethodApi getPaymentMethodAvailability(String paymentMethod, String apiKey,
+				String apiLogin) throws PayUException, ConnectionException {
+
+			return PayUPayments.getPaymentMethodAvailability(PayUClient.this, paymentMethod,
+					apiKey, apiLogin);
+		}
+
+		/**
+		 * Gets the payment methods catalog of the merchant
+		 *
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#getPaymentMethodCatalog()
+		 */
+		public PaymentMethodCatalog getPaymentMethodCatalog()
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.getPaymentMethodCatalog(PayUClient.this);
+		}
+
+		/**
+		 * Loads the payment methods catalog of the merchant, so the payments
+		 * made afterwards make a single request
+		 *
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#warmUp()
+		 */
+		public void warmUp() throws PayUException, ConnectionException {
+
+			PayUPayments.warmUp(PayUClient.this);
+		}
+
+		/**
+		 * Discards the cached payment methods availability and catalogs
+		 *
+		 * @see PayUPayments#clearPaymentMethodAvailabilityCache()
+		 */
+		public void clearPaymentMethodAvailabilityCache() {
+
+			PayUPayments.clearPaymentMethodAvailabilityCache(PayUClient.this);
+		}
+
+		/**
+		 * Makes a get PSE banks petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#getPSEBanks(Map)
+		 */
+		public List<Bank> getPSEBanks(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.getPSEBanks(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes an authorization petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doAuthorization(Map)
+		 */
+		public TransactionResponse doAuthorization(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doAuthorization(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doAuthorization(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doAuthorizationAsync(Map)
+		 */
+		public Future<TransactionResponse> doAuthorizationAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doAuthorizationAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes a capture petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doCapture(Map)
+		 */
+		public TransactionResponse doCapture(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doCapture(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doCapture(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doCaptureAsync(Map)
+		 */
+		public Future<TransactionResponse> doCaptureAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doCaptureAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes an authorization and capture petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doAuthorizationAndCapture(Map)
+		 */
+		public TransactionResponse doAuthorizationAndCapture(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doAuthorizationAndCapture(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doAuthorizationAndCapture(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doAuthorizationAndCaptureAsync(Map)
+		 */
+		public Future<TransactionResponse> doAuthorizationAndCaptureAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doAuthorizationAndCaptureAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes an authorization and capture petition with the given socket time out
+		 *
+		 * @param parameters
+		 * @param socketTimeOut
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doAuthorizationAndCapture(Map,Integer)
+		 */
+		public TransactionResponse doAuthorizationAndCapture(Map<String, String> parameters, Integer socketTimeOut)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doAuthorizationAndCapture(PayUClient.this, parameters, socketTimeOut);
+		}
+
+		/**
+		 * Makes a void petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doVoid(Map)
+		 */
+		public TransactionResponse doVoid(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doVoid(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doVoid(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doVoidAsync(Map)
+		 */
+		public Future<TransactionResponse> doVoidAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doVoidAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes a refund petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doRefund(Map)
+		 */
+		public TransactionResponse doRefund(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doRefund(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doRefund(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doRefundAsync(Map)
+		 */
+		public Future<TransactionResponse> doRefundAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doRefundAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes a refund petition with extra headers
+		 *
+		 * @param parameters
+		 * @param headers
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doRefundWithRequestHeaders(Map,Map)
+		 */
+		public TransactionResponse doRefundWithRequestHeaders(Map<String, String> parameters, Map<String, String> headers)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doRefundWithRequestHeaders(PayUClient.this, parameters, headers);
+		}
+
+		/**
+		 * Makes a partial refund petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doPartialRefund(Map)
+		 */
+		public TransactionResponse doPartialRefund(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doPartialRefund(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #doPartialRefund(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUPayments#doPartialRefundAsync(Map)
+		 */
+		public Future<TransactionResponse> doPartialRefundAsync(Map<String, String> parameters) {
+
+			return PayUPayments.doPartialRefundAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes a partial refund petition with extra headers
+		 *
+		 * @param parameters
+		 * @param headers
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#doPartialRefundWithRequestHeaders(Map,Map)
+		 */
+		public TransactionResponse doPartialRefundWithRequestHeaders(Map<String, String> parameters, Map<String, String> headers)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.doPartialRefundWithRequestHeaders(PayUClient.this, parameters, headers);
+		}
+
+		/**
+		 * Builds a transaction from the parameters map
+		 *
+		 * @param parameters
+		 * @param transactionType
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPayments#fromParametersMapToTransaction(Map,TransactionType)
+		 */
+		public Transaction fromParametersMapToTransaction(Map<String, String> parameters, TransactionType transactionType)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPayments.fromParametersMapToTransaction(PayUClient.this, parameters, transactionType);
+		}
+
+		/**
+		 * Submits a transaction
+		 *
+		 * @param transaction
+		 * @param timeoutMs
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#submitTransaction(Transaction,Integer)
+		 */
+		public TransactionResponse submitTransaction(Transaction transaction, Integer timeoutMs)
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.submitTransaction(PayUClient.this, transaction, timeoutMs);
+		}
+
+		/**
+		 * Sends the confirmation page petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @throws InvalidParametersException
+		 * @see PayUPayments#sendConfirmationPage(Map)
+		 */
+		public boolean sendConfirmationPage(Map<String, String> parameters)
+				throws PayUException, ConnectionException, InvalidParametersException {
+
+			return PayUPayments.sendConfirmationPage(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Creates a transaction from a payment attempt request
+		 *
+		 * @param paymentRequest
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUPayments#createTransactionFromPaymentRequest(PaymentAttemptRequest)
+		 */
+		public TransactionResponse createTransactionFromPaymentRequest(PaymentAttemptRequest paymentRequest)
+				throws PayUException, ConnectionException {
+
+			return PayUPayments.createTransactionFromPaymentRequest(PayUClient.this, paymentRequest);
+		}
+	}
+
+	/**
+	 * The credit card tokens operations of a {@link PayUClient}
+	 */
+	public final class Tokens {
+
+		/**
+		 * Private constructor
+		 */
+		private Tokens() {
+		}
+
+		/**
+		 * Creates a credit card token
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUTokens#create(Map)
+		 */
+		public CreditCardToken create(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUTokens.create(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #create(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUTokens#createAsync(Map)
+		 */
+		public Future<CreditCardToken> createAsync(Map<String, String> parameters) {
+
+			return PayUTokens.createAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Finds credit card tokens
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUTokens#find(Map)
+		 */
+		public List<CreditCardToken> find(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUTokens.find(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #find(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUTokens#findAsync(Map)
+		 */
+		public Future<List<CreditCardToken>> findAsync(Map<String, String> parameters) {
+
+			return PayUTokens.findAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Removes a credit card token
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUTokens#remove(Map)
+		 */
+		public CreditCardToken remove(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUTokens.remove(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #remove(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUTokens#removeAsync(Map)
+		 */
+		public Future<CreditCardToken> removeAsync(Map<String, String> parameters) {
+
+			return PayUTokens.removeAsync(PayUClient.this, parameters);
+		}
+	}
+
+	/**
+	 * The reports operations of a {@link PayUClient}
+	 */
+	public final class Reports {
+
+		/**
+		 * Private constructor
+		 */
+		private Reports() {
+		}
+
+		/**
+		 * Makes a ping petition
+		 *
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @see PayUReports#doPing()
+		 */
+		public boolean doPing()
+				throws PayUException, ConnectionException {
+
+			return PayUReports.doPing(PayUClient.this);
+		}
+
+		/**
+		 * Makes an order details reporting petition by the id
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @throws InvalidParametersException
+		 * @see PayUReports#getOrderDetail(Map)
+		 */
+		public Order getOrderDetail(Map<String, String> parameters)
+				throws PayUException, ConnectionException, InvalidParametersException {
+
+			return PayUReports.getOrderDetail(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #getOrderDetail(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUReports#getOrderDetailAsync(Map)
+		 */
+		public Future<Order> getOrderDetailAsync(Map<String, String> parameters) {
+
+			return PayUReports.getOrderDetailAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes an order details reporting petition by the reference code
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @throws InvalidParametersException
+		 * @see PayUReports#getOrderDetailByReferenceCode(Map)
+		 */
+		public List<Order> getOrderDetailByReferenceCode(Map<String, String> parameters)
+				throws PayUException, ConnectionException, InvalidParametersException {
+
+			return PayUReports.getOrderDetailByReferenceCode(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #getOrderDetailByReferenceCode(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUReports#getOrderDetailByReferenceCodeAsync(Map)
+		 */
+		public Future<List<Order>> getOrderDetailByReferenceCodeAsync(Map<String, String> parameters) {
+
+			return PayUReports.getOrderDetailByReferenceCodeAsync(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes a transaction response reporting petition
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws ConnectionException
+		 * @throws InvalidParametersException
+		 * @see PayUReports#getTransactionResponse(Map)
+		 */
+		public TransactionResponse getTransactionResponse(Map<String, String> parameters)
+				throws PayUException, ConnectionException, InvalidParametersException {
+
+			return PayUReports.getTransactionResponse(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Makes the petition of {@link #getTransactionResponse(Map)} without blocking the
+		 * caller, on the executor of the client
+		 *
+		 * @param parameters
+		 * @return the future result, cancelling it aborts the request
+		 * @see PayUReports#getTransactionResponseAsync(Map)
+		 */
+		public Future<TransactionResponse> getTransactionResponseAsync(Map<String, String> parameters) {
+
+			return PayUReports.getTransactionResponseAsync(PayUClient.this, parameters);
+		}
+	}
+
+	/**
+	 * The subscription plans operations of a {@link PayUClient}
+	 */
+	public final class Plans {
+
+		/**
+		 * Private constructor
+		 */
+		private Plans() {
+		}
+
+		/**
+		 * Creates a subscription plan
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPlans#create(Map)
+		 */
+		public SubscriptionPlan create(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPlans.create(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Finds a subscription plan
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPlans#find(Map)
+		 */
+		public SubscriptionPlan find(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPlans.find(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Updates a subscription plan
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPlans#update(Map)
+		 */
+		public SubscriptionPlan update(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPlans.update(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Deletes a subscription plan
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @throws PayUException
+		 * @see PayUPlans#delete(Map)
+		 */
+		public boolean delete(Map<String, String> parameters)
+				throws InvalidParametersException, ConnectionException, PayUException {
+
+			return PayUPlans.delete(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Finds the subscription plans
+		 *
+		 * @param parameters
+		 * @return the petition result
+		 * @throws PayUException
+		 * @throws InvalidParametersException
+		 * @throws ConnectionException
+		 * @see PayUPlans#findList(Map)
+		 */
+		public List<SubscriptionPlan> findList(Map<String, String> parameters)
+				throws PayUException, InvalidParametersException, ConnectionException {
+
+			return PayUPlans.findList(PayUClient.this, parameters);
+		}
+
+		/**
+		 * Iterates the subscription plans, the pages are fetched with this
+		 * client
+		 *
+		 * @param parameters
+		 * @return the lazy subscription plans list
+		 * @throws InvalidParametersException
+		 * @see PayUPlans#iterate(Map)
+		 */
+		public PagedIterable<SubscriptionPlan> iterate(Map<String, String> parameters)
+				throws InvalidParametersException {
+
+			return PayUPlans.iterate(PayUClient.this, parameters);
+		}
+	}
+
+	/**
+	 * Builds {@link PayUClient} instances. The API key and API login are
+	 * required
+	 */
+	public static final class Builder {
+
+		/** The merchant API key */
+		private String apiKey;
+
+		/** The merchant API login */
+		private String apiLogin;
+
+		/** The merchant id */
+		private String merchantId;
+
+		/** The custom Payments-API URL */
+		private String paymentsUrl;
+
+		/** The custom Reports-API URL */
+		private String reportsUrl;
+
+		/** The request language */
+		private Language language = Language.es;
+
+		/** Whether the calls are test */
+		private boolean test;
+
+		/** The connection pool settings */
+		private ConnectionPoolSettings connectionPoolSettings = new ConnectionPoolSettings();
+
+		/** The transport of the calls */
+		private PayUTransport transport;
+
+		/** The executor of the asynchronous calls */
+		private AsyncRequestExecutor asyncExecutor;
+
+		/**
+		 * Private constructor, see {@link PayUClient#builder()}
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * @param apiKey the merchant API key
+		 * @return this builder
+		 */
+		public Builder apiKey(String apiKey) {
+
+			this.apiKey = apiKey;
+			return this;
+		}
+
+		/**
+		 * @param apiLogin the merchant API login
+		 * @return this builder
+		 */
+		public Builder apiLogin(String apiLogin) {
+
+			this.apiLogin = apiLogin;
+			return this;
+		}
+
+		/**
+		 * @param merchantId the merchant id
+		 * @return this builder
+		 */
+		public Builder merchantId(String merchantId) {
+
+			this.merchantId = merchantId;
+			return this;
+		}
+
+		/**
+		 * @param paymentsUrl the custom Payments-API URL, null for the default one
+		 * @return this builder
+		 */
+		public Builder paymentsUrl(String paymentsUrl) {
+
+			this.paymentsUrl = paymentsUrl;
+			return this;
+		}
+
+		/**
+		 * @param reportsUrl the custom Reports-API URL, null for the default one
+		 * @return this builder
+		 */
+		public Builder reportsUrl(String reportsUrl) {
+
+			this.reportsUrl = reportsUrl;
+			return this;
+		}
+
+		/**
+		 * @param language the request language
+		 * @return this builder
+		 */
+		public Builder language(Language language) {
+
+			this.language = language;
+			return this;
+		}
+
+		/**
+		 * @param test whether the calls are test
+		 * @return this builder
+		 */
+		public Builder test(boolean test) {
+
+			this.test = test;
+			return this;
+		}
+
+		/**
+		 * @param connectionPoolSettings the connection pool settings, copied
+		 *            when the client is built
+		 * @return this builder
+		 */
+		public Builder connectionPoolSettings(ConnectionPoolSettings connectionPoolSettings) {
+
+			this.connectionPoolSettings = connectionPoolSettings;
+			return this;
+		}
+
+		/**
+		 * @param transport the transport of the calls, null for the pooled
+		 *            Apache http clients of the client. It is not closed with
+		 *            the client
+		 * @return this builder
+		 */
+		public Builder transport(PayUTransport transport) {
+
+			this.transport = transport;
+			return this;
+		}
+
+		/**
+		 * @param asyncExecutor the executor of the asynchronous calls, null
+		 *            for {@link AsyncRequestExecutor#getDefault()}. It is not
+		 *            closed with the client
+		 * @return this builder
+		 */
+		public Builder asyncExecutor(AsyncRequestExecutor asyncExecutor) {
+
+			this.asyncExecutor = asyncExecutor;
+			return this;
+		}
+
+		/**
+		 * Builds the client
+		 *
+		 * @return the client
+		 * @throws IllegalStateException if the API key or login are missing
+		 * @throws IllegalArgumentException if the language or the connection
+		 *             pool settings are null
+		 */
+		public PayUClient build() {
+
+			if (isBlank(apiKey) || isBlank(apiLogin)) {
+				throw new IllegalStateException("The api key and the api login are required");
+			}
+			if (language == null) {
+				throw new IllegalArgumentException("The language can not be null");
+			}
+			if (connectionPoolSettings == null) {
+				throw new IllegalArgumentException("The connection pool settings can not be null");
+			}
+			return new PayUClient(this);
+		}
+
+		/**
+		 * @param value a value
+		 * @return true if the value is null or blank
+		 */
+		private static boolean isBlank(String value) {
+
+			return value == null || value.trim().length() == 0;
+		}
+	}
+}
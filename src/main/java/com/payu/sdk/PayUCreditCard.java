@@ -69,10 +69,8 @@ public final class PayUCreditCard extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
-				RequestMethod.POST);
-
-		return PaymentPlanCreditCard.fromXml(res);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
+				RequestMethod.POST, PaymentPlanCreditCard.class);
 	}
 
 	/**
@@ -92,10 +90,8 @@ public final class PayUCreditCard extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
-				RequestMethod.GET);
-
-		return PaymentPlanCreditCard.fromXml(res);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
+				RequestMethod.GET, PaymentPlanCreditCard.class);
 	}
 
 	/**
@@ -120,10 +116,8 @@ public final class PayUCreditCard extends PayU {
 
 		PaymentPlanRequestUtil.validateNotAllowedParameters(parameters.keySet(), notAllowed);
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
-				RequestMethod.PUT);
-
-		return PaymentPlanCreditCard.fromXml(res);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardRequest(parameters),
+				RequestMethod.PUT, PaymentPlanCreditCard.class);
 	}
 
 	/**
@@ -165,10 +159,33 @@ public final class PayUCreditCard extends PayU {
 		String[] required = new String[] { PayU.PARAMETERS.CUSTOMER_ID };
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardListRequest(parameters),
-				RequestMethod.GET);
-		PaymentPlanCreditCardListResponse response = PaymentPlanCreditCardListResponse.fromXml(res);
+		PaymentPlanCreditCardListResponse response = HttpClientHelper.sendRequest(PaymentPlanRequestUtil.buildCreditCardListRequest(parameters),
+				RequestMethod.GET, PaymentPlanCreditCardListResponse.class);
 
 		return response.getCreditCards();
 	}
+
+	/**
+	 * Iterates the credit cards of a customer, see {@link #findList(Map)}.
+	 * The endpoint does not page its results, so they are fetched in a
+	 * single call when the iteration starts
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy credit cards list
+	 * @throws InvalidParametersException if the customer id is missing
+	 */
+	public static PagedIterable<PaymentPlanCreditCard> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		PaymentPlanRequestUtil.validateParameters(parameters, PayU.PARAMETERS.CUSTOMER_ID);
+
+		return new PagedIterable<PaymentPlanCreditCard>(PayUClient.getDefault(), new PagedIterable.PageSource<PaymentPlanCreditCard>() {
+
+			@Override
+			public List<PaymentPlanCreditCard> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, false);
+	}
 }
@@ -74,11 +74,9 @@ public final class PayUCustomers extends PayU {
 					"You must register the [customerName] or [customerEmail]");
 		}
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildCustomerRequest(parameters),
-				RequestMethod.POST);
-
-		return Customer.fromXml(res);
+				RequestMethod.POST, Customer.class);
 	}
 
 	/**
@@ -99,11 +97,9 @@ public final class PayUCustomers extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildCustomerRequest(parameters),
-				RequestMethod.GET);
-
-		return Customer.fromXml(res);
+				RequestMethod.GET, Customer.class);
 	}
 
 	/**
@@ -120,11 +116,31 @@ public final class PayUCustomers extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildCustomerListRequest(parameters),
-				RequestMethod.GET);
+				RequestMethod.GET, CustomerListResponse.class).getCustomerList();
+	}
 
-		return CustomerListResponse.fromXml(res).getCustomerList();
+	/**
+	 * Iterates the customers matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy customers list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	public static PagedIterable<Customer> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return new PagedIterable<Customer>(PayUClient.getDefault(), new PagedIterable.PageSource<Customer>() {
+
+			@Override
+			public List<Customer> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, true);
 	}
 	/**
 	 * Creates a Customer with a CreditCard
@@ -150,11 +166,9 @@ public final class PayUCustomers extends PayU {
 		parameters.put(PayU.PARAMETERS.CUSTOMER_NAME,
 				parameters.get(PayU.PARAMETERS.PAYER_NAME));
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
 				.buildCustomerWithCreditCardRequest(parameters),
-				RequestMethod.POST);
-
-		return Customer.fromXml(res);
+				RequestMethod.POST, Customer.class);
 	}
 
 
@@ -173,11 +187,9 @@ public final class PayUCustomers extends PayU {
 			InvalidParametersException, ConnectionException {
 
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
 				.buildCustomerWithBankAccountRequest(parameters),
-				RequestMethod.POST);
-
-		return Customer.fromXml(res);
+				RequestMethod.POST, Customer.class);
 	}
 
 
@@ -204,11 +216,9 @@ public final class PayUCustomers extends PayU {
 					"You must register the [customerName] or [customerEmail]");
 		}
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildCustomerRequest(parameters),
-				RequestMethod.PUT);
-
-		return Customer.fromXml(res);
+				RequestMethod.PUT, Customer.class);
 	}
 
 	/**
@@ -24,13 +24,25 @@
 package com.payu.sdk;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.ConnectionException;
 import com.payu.sdk.exceptions.InvalidParametersException;
 import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException;
 import com.payu.sdk.exceptions.SDKException.ErrorCode;
 import com.payu.sdk.helper.HttpClientHelper;
 import com.payu.sdk.model.Bank;
@@ -42,6 +54,7 @@ import com.payu.sdk.model.Transaction;
 import com.payu.sdk.model.TransactionResponse;
 import com.payu.sdk.model.TransactionType;
 import com.payu.sdk.model.request.Command;
+import com.payu.sdk.model.request.Request;
 import com.payu.sdk.model.response.ResponseCode;
 import com.payu.sdk.payments.model.BankListResponse;
 import com.payu.sdk.payments.model.PaymentAttemptRequest;
@@ -50,9 +63,14 @@ import com.payu.sdk.payments.model.PaymentMethodResponse;
 import com.payu.sdk.payments.model.PaymentRequest;
 import com.payu.sdk.payments.model.PaymentResponse;
 import com.payu.sdk.utils.CommonRequestUtil;
+import com.payu.sdk.utils.LoadingCache;
+import com.payu.sdk.utils.LoggerUtil;
+import com.payu.sdk.utils.PaymentMethodCatalog;
 import com.payu.sdk.utils.PaymentMethodMap;
 import com.payu.sdk.utils.PaymentPlanRequestUtil;
+import com.payu.sdk.utils.PaymentValidationSchemas;
 import com.payu.sdk.utils.RequestUtil;
+import com.payu.sdk.utils.ValidationSchema;
 
 /**
  * Manages all PayU payments operations
@@ -62,9 +80,24 @@ import com.payu.sdk.utils.RequestUtil;
  * @version 1.0.0, 21/08/2013
  */
 public final class PayUPayments extends PayU {
-	
-	/** Payment method CODENSA */
-	private final static String PAYMENT_METHOD_CODENSA = "CODENSA";
+
+	/** The time in ms a payment method availability is cached */
+	private static final long PAYMENT_METHOD_TIME_TO_LIVE = 10 * 60 * 1000L;
+
+	/** The age in ms after which a read payment method availability is reloaded */
+	private static final long PAYMENT_METHOD_REFRESH_AFTER = 8 * 60 * 1000L;
+
+	/** The max number of cached payment method availabilities */
+	private static final int PAYMENT_METHOD_MAX_ENTRIES = 1000;
+
+	/** The max number of cached payment method catalogs */
+	private static final int PAYMENT_METHOD_CATALOG_MAX_ENTRIES = 100;
+
+	/**
+	 * Runs the reloads ahead of the cached payment methods, on a single daemon
+	 * thread which ends when it is idle
+	 */
+	private static final Executor PAYMENT_METHOD_REFRESH_EXECUTOR = newRefreshExecutor();
 
 	/**
 	 * Private constructor
@@ -80,10 +113,24 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException
 	 */
 	public static boolean doPing() throws PayUException, ConnectionException {
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildPaymentsPingRequest(), RequestMethod.POST);
 
-		PaymentResponse response = PaymentResponse.fromXml(res);
+		return doPing(PayUClient.getDefault());
+	}
+
+	/**
+	 * Makes a ping petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return true if the ping is done successfully
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static boolean doPing(PayUClient client) throws PayUException, ConnectionException {
+		PaymentResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildPaymentsPingRequest(client,
+						Collections.<String, String> emptyMap()), RequestMethod.POST,
+				PaymentResponse.class);
 
 		return ResponseCode.SUCCESS.equals(response.getCode());
 	}
@@ -97,12 +144,25 @@ public final class PayUPayments extends PayU {
 	 */
 	public static List<PaymentMethodComplete> getPaymentMethods()
 			throws PayUException, ConnectionException {
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildPaymentMethodsListRequest(),
-				RequestMethod.POST);
 
-		PaymentMethodListResponse response = PaymentMethodListResponse
-				.fromXml(res);
+		return getPaymentMethods(PayUClient.getDefault());
+	}
+
+	/**
+	 * Makes a get payment methods petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return The payment method list
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static List<PaymentMethodComplete> getPaymentMethods(PayUClient client)
+			throws PayUException, ConnectionException {
+		PaymentMethodListResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildPaymentMethodsListRequest(client,
+						Collections.<String, String> emptyMap()),
+				RequestMethod.POST, PaymentMethodListResponse.class);
 
 		return response.getPaymentMethods();
 
@@ -118,9 +178,25 @@ public final class PayUPayments extends PayU {
 	 */
 	public static PaymentMethodApi getPaymentMethodAvailability(String paymentMethod)
 			throws PayUException, ConnectionException {
+
+		return getPaymentMethodAvailability(PayUClient.getDefault(), paymentMethod);
+	}
+
+	/**
+	 * Get payment method availability
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param paymentMethod
+	 * @return the payment method list
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static PaymentMethodApi getPaymentMethodAvailability(PayUClient client, String paymentMethod)
+			throws PayUException, ConnectionException {
 		
 		// The api key and api login are not needed
-		return getPaymentMethodAvailabilityLogic(paymentMethod, null, null);
+		return getPaymentMethodAvailabilityLogic(client, paymentMethod, null, null);
 	}
 	
 	/**
@@ -135,8 +211,26 @@ public final class PayUPayments extends PayU {
 	 */
 	public static PaymentMethodApi getPaymentMethodAvailability(String paymentMethod, String apiKey, String apiLogin)
 			throws PayUException, ConnectionException {
+
+		return getPaymentMethodAvailability(PayUClient.getDefault(), paymentMethod, apiKey, apiLogin);
+	}
+
+	/**
+	 * Get payment method availability
+	 * 
+	 * @param client
+	 *            The client making the call
+	 * @param paymentMethod
+	 * @param apiKey
+	 * @param apiLogin
+	 * @return the payment method
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static PaymentMethodApi getPaymentMethodAvailability(PayUClient client, String paymentMethod, String apiKey, String apiLogin)
+			throws PayUException, ConnectionException {
 		
-		return getPaymentMethodAvailabilityLogic(paymentMethod, apiKey, apiLogin);
+		return getPaymentMethodAvailabilityLogic(client, paymentMethod, apiKey, apiLogin);
 	}
 	
 	/**
@@ -144,6 +238,8 @@ public final class PayUPayments extends PayU {
 	 * {@link PayUPayments#getPaymentMethodAvailability(String)} and
 	 * {@link PayUPayments#getPaymentMethodAvailability(String,String,String)}
 	 * 
+	 * @param client
+	 *            The client making the call
 	 * @param paymentMethod
 	 * @param apiKey
 	 * @param apiLogin
@@ -151,27 +247,221 @@ public final class PayUPayments extends PayU {
 	 * @throws PayUException
 	 * @throws ConnectionException
 	 */
-	private static PaymentMethodApi getPaymentMethodAvailabilityLogic(String paymentMethod, String apiKey, String apiLogin)
+	private static PaymentMethodApi getPaymentMethodAvailabilityLogic(PayUClient client, String paymentMethod, String apiKey, String apiLogin)
 			throws PayUException, ConnectionException {
 		
-		// Finds the PaymentMethod object in the map
-		PaymentMethodApi paymentMethodApi = PaymentMethodMap.getInstance().getPaymentMethod(paymentMethod);
-		if (paymentMethodApi == null) {
-			
-			if (apiKey != null && !apiKey.trim().equals("") && apiLogin != null && !apiLogin.trim().equals("")) {
-				// Makes a get payment method availability request in the API using api key and api login sent by user as parameters
-				paymentMethodApi = getPaymentMethodAvailabilityFromAPI(paymentMethod, apiKey, apiLogin);
-			} else {
-				// Makes a get payment method Availability request in the API
-				paymentMethodApi = getPaymentMethodAvailabilityFromAPI(paymentMethod);
+		// The credentials of the client have priority over the given ones
+		String merchantApiKey = client.getApiKey();
+		String merchantApiLogin = client.getApiLogin();
+		if (merchantApiKey == null) {
+			merchantApiKey = apiKey;
+		}
+		if (merchantApiLogin == null) {
+			merchantApiLogin = apiLogin;
+		}
+
+		try {
+			// A catalog loaded beforehand answers its payment methods, it is
+			// not loaded here so a cold lookup makes a single request
+			PaymentMethodCaches caches = client.getPaymentMethodCaches();
+			PaymentMethodKey catalogKey = new PaymentMethodKey(null, merchantApiKey,
+					merchantApiLogin);
+
+			if (caches.catalogs.getIfPresent(catalogKey) != null) {
+				// Read through the cache so the catalog is reloaded ahead
+				PaymentMethodApi paymentMethodApi = caches.catalogs.get(catalogKey)
+						.getPaymentMethod(paymentMethod);
+				if (paymentMethodApi != null) {
+					return paymentMethodApi;
+				}
 			}
-			
-			// If obtains the paymentMethod object, adds this to the map
-			if (paymentMethodApi != null){
-				PaymentMethodMap.getInstance().putPaymentMethod(paymentMethodApi);
+			return caches.availability.get(new PaymentMethodKey(paymentMethod,
+					merchantApiKey, merchantApiLogin));
+		} catch (PayUException e) {
+			throw e;
+		} catch (ConnectionException e) {
+			throw e;
+		} catch (SDKException e) {
+			throw new ConnectionException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Loads the payment methods catalog of the merchant, see
+	 * {@link #getPaymentMethodCatalog()}, so the payments made afterwards with
+	 * its payment methods make a single request. Without it the first payment
+	 * with each payment method makes two: the payment method availability and
+	 * the transaction. It is meant to be called at startup, off the request
+	 * path
+	 *
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	public static void warmUp() throws PayUException, ConnectionException {
+
+		warmUp(PayUClient.getDefault());
+	}
+
+	/**
+	 * Loads the payment methods catalog of the merchant, see
+	 * {@link #getPaymentMethodCatalog()}, so the payments made afterwards with
+	 * its payment methods make a single request. Without it the first payment
+	 * with each payment method makes two: the payment method availability and
+	 * the transaction. It is meant to be called at startup, off the request
+	 * path
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static void warmUp(PayUClient client) throws PayUException, ConnectionException {
+
+		getPaymentMethodCatalog(client);
+	}
+
+	/**
+	 * Gets the payment methods catalog of the merchant, which is loaded once
+	 * and reloaded in the background before it expires. Loading it asks the
+	 * API for the payment methods list and for the availability of each listed
+	 * payment method
+	 *
+	 * @return the payment methods catalog
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	public static PaymentMethodCatalog getPaymentMethodCatalog()
+			throws PayUException, ConnectionException {
+
+		return getPaymentMethodCatalog(PayUClient.getDefault());
+	}
+
+	/**
+	 * Gets the payment methods catalog of the merchant, which is loaded once
+	 * and reloaded in the background before it expires. Loading it asks the
+	 * API for the payment methods list and for the availability of each listed
+	 * payment method
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return the payment methods catalog
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static PaymentMethodCatalog getPaymentMethodCatalog(PayUClient client)
+			throws PayUException, ConnectionException {
+
+		try {
+			return client.getPaymentMethodCaches().catalogs.get(new PaymentMethodKey(null,
+					client.getApiKey(), client.getApiLogin()));
+		} catch (PayUException e) {
+			throw e;
+		} catch (ConnectionException e) {
+			throw e;
+		} catch (SDKException e) {
+			throw new ConnectionException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Discards the cached payment methods availability and catalogs, so the
+	 * next lookups are made against the API
+	 */
+	public static void clearPaymentMethodAvailabilityCache() {
+
+		clearPaymentMethodAvailabilityCache(PayUClient.getDefault());
+	}
+
+	/**
+	 * Discards the cached payment methods availability and catalogs, so the
+	 * next lookups are made against the API
+	 *
+	 * @param client
+	 *            The client making the call
+	 */
+	static void clearPaymentMethodAvailabilityCache(PayUClient client) {
+
+		client.getPaymentMethodCaches().clear();
+	}
+
+	/**
+	 * Makes a get payment methods request and indexes its payment methods,
+	 * with the cached availability of each one. If the API rejects the list
+	 * request an empty catalog is returned, and a payment method whose
+	 * availability can not be read is left out of the catalog, so their
+	 * availability is asked when they are used
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param apiKey the merchant api key, null to use the one of the client
+	 * @param apiLogin the merchant api login, null to use the one of the client
+	 * @return the payment methods catalog
+	 * @throws ConnectionException
+	 */
+	private static PaymentMethodCatalog getPaymentMethodCatalogFromAPI(PayUClient client, String apiKey,
+			String apiLogin) throws ConnectionException {
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		if (apiKey != null) {
+			parameters.put(PayU.PARAMETERS.API_KEY, apiKey);
+		}
+		if (apiLogin != null) {
+			parameters.put(PayU.PARAMETERS.API_LOGIN, apiLogin);
+		}
+
+		PaymentMethodListResponse response;
+		try {
+			response = HttpClientHelper.sendRequest(client,
+					RequestUtil.buildPaymentMethodsListRequest(client, parameters),
+					RequestMethod.POST, PaymentMethodListResponse.class);
+		} catch (PayUException e) {
+			LoggerUtil.warning("Could not get the payment methods catalog: {0}",
+					e.getMessage());
+			return PaymentMethodCatalog.EMPTY;
+		}
+
+		List<PaymentMethodComplete> paymentMethods = response.getPaymentMethods();
+		List<PaymentMethodApi> availability = new ArrayList<PaymentMethodApi>();
+		Set<String> names = new HashSet<String>();
+
+		if (paymentMethods != null) {
+			for (PaymentMethodComplete paymentMethod : paymentMethods) {
+
+				String name = paymentMethod.getDescription();
+				if (name == null || !names.add(name)) {
+					continue;
+				}
+				try {
+					availability.add(client.getPaymentMethodCaches().availability.get(
+							new PaymentMethodKey(name, apiKey, apiLogin)));
+				} catch (SDKException e) {
+					LoggerUtil.warning("Could not get the availability of {0}: {1}", name,
+							e.getMessage());
+				}
 			}
 		}
-		return paymentMethodApi;
+		return new PaymentMethodCatalog(paymentMethods, availability);
+	}
+
+	/**
+	 * Creates the executor of the reloads ahead of the cached payment methods
+	 *
+	 * @return the executor
+	 */
+	private static Executor newRefreshExecutor() {
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "payu-payment-methods-refresh");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	/**
@@ -219,12 +509,30 @@ public final class PayUPayments extends PayU {
 	 */
 	protected static PaymentMethodApi getPaymentMethodAvailabilityFromAPILogic(String paymentMethod, String apiKey, String apiLogin)
 			throws PayUException, ConnectionException {
-		
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildPaymentMethodAvailability(paymentMethod, apiKey, apiLogin),
-				RequestMethod.POST);
 
-		PaymentMethodResponse response = PaymentMethodResponse.fromXml(res);
+		return getPaymentMethodAvailabilityFromAPILogic(PayUClient.getDefault(), paymentMethod, apiKey, apiLogin);
+	}
+
+	/**
+	 * Contains the bussiness logic for
+	 * {@link PayUPayments#getPaymentMethodAvailabilityFromAPI(String)} and
+	 * {@link PayUPayments#getPaymentMethodAvailabilityFromAPI(String,String,String)}.
+	 * 
+	 * @param client
+	 *            The client making the call
+	 * @param paymentMethod
+	 * @param apiKey
+	 * @param apiLogin
+	 * @return
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static PaymentMethodApi getPaymentMethodAvailabilityFromAPILogic(PayUClient client, String paymentMethod, String apiKey, String apiLogin)
+			throws PayUException, ConnectionException {
+		
+		PaymentMethodResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildPaymentMethodAvailability(client, paymentMethod, apiKey, apiLogin),
+				RequestMethod.POST, PaymentMethodResponse.class);
 
 		return response.getPaymentMethod();
 	}
@@ -243,16 +551,33 @@ public final class PayUPayments extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
+		return getPSEBanks(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a get PSE Banks petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The bank list information
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static List<Bank> getPSEBanks(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
 		RequestUtil.validateParameters(parameters, PayU.PARAMETERS.COUNTRY);
 
 		PaymentCountry paymentCountry = PaymentCountry.valueOf(parameters
 				.get(PayU.PARAMETERS.COUNTRY));
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildBankListRequest(paymentCountry),
-				RequestMethod.POST);
-
-		BankListResponse response = BankListResponse.fromXml(res);
+		BankListResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildBankListRequest(client, paymentCountry),
+				RequestMethod.POST, BankListResponse.class);
 
 		return response.getBanks();
 
@@ -272,12 +597,272 @@ public final class PayUPayments extends PayU {
 			Map<String, String> parameters) throws PayUException,
 			InvalidParametersException, ConnectionException {
 
-		return doPayment(parameters, TransactionType.AUTHORIZATION);
+		return doAuthorization(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Do an authorization transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse doAuthorization(PayUClient client,
+			Map<String, String> parameters) throws PayUException,
+			InvalidParametersException, ConnectionException {
+
+		return doPayment(client, parameters, TransactionType.AUTHORIZATION);
+	}
+
+	/**
+	 * Makes an authorization petition without blocking the caller, see
+	 * {@link #doAuthorization(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doAuthorization(Map)}
+	 */
+	public static Future<TransactionResponse> doAuthorizationAsync(
+			final Map<String, String> parameters) {
+
+		return doAuthorizationAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes an authorization petition without blocking the caller, see
+	 * {@link #doAuthorization(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doAuthorization(Map)}
+	 */
+	static Future<TransactionResponse> doAuthorizationAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return paymentCall(client, parameters, TransactionType.AUTHORIZATION,
+				HttpClientHelper.SOCKET_TIMEOUT).sendAsync(client);
+	}
+
+	/**
+	 * Do a capture transaction
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	public static TransactionResponse doCapture(Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return doCapture(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Do a capture transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse doCapture(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return processTransaction(client, parameters, TransactionType.CAPTURE);
+	}
+
+	/**
+	 * Makes a capture petition without blocking the caller, see
+	 * {@link #doCapture(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doCapture(Map)}
+	 */
+	public static Future<TransactionResponse> doCaptureAsync(
+			final Map<String, String> parameters) {
+
+		return doCaptureAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a capture petition without blocking the caller, see
+	 * {@link #doCapture(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doCapture(Map)}
+	 */
+	static Future<TransactionResponse> doCaptureAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return transactionCall(client, parameters, TransactionType.CAPTURE).sendAsync(client);
+	}
+
+	/**
+	 * Do an authorization and capture transaction
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	public static TransactionResponse doAuthorizationAndCapture(
+			Map<String, String> parameters) throws PayUException,
+			InvalidParametersException, ConnectionException {
+
+		return doAuthorizationAndCapture(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Do an authorization and capture transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse doAuthorizationAndCapture(PayUClient client,
+			Map<String, String> parameters) throws PayUException,
+			InvalidParametersException, ConnectionException {
+
+		return doPayment(client, parameters, TransactionType.AUTHORIZATION_AND_CAPTURE, HttpClientHelper.SOCKET_TIMEOUT);
+	}
+
+	/**
+	 * Makes an authorization and capture petition without blocking the caller, see
+	 * {@link #doAuthorizationAndCapture(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doAuthorizationAndCapture(Map)}
+	 */
+	public static Future<TransactionResponse> doAuthorizationAndCaptureAsync(
+			final Map<String, String> parameters) {
+
+		return doAuthorizationAndCaptureAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes an authorization and capture petition without blocking the caller, see
+	 * {@link #doAuthorizationAndCapture(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doAuthorizationAndCapture(Map)}
+	 */
+	static Future<TransactionResponse> doAuthorizationAndCaptureAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return paymentCall(client, parameters,
+				TransactionType.AUTHORIZATION_AND_CAPTURE, HttpClientHelper.SOCKET_TIMEOUT).sendAsync(client);
+	}
+
+
+	/**
+	 * Do an authorization and capture transaction
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @param the socket time out.
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	public static TransactionResponse doAuthorizationAndCapture(
+			Map<String, String> parameters, Integer socketTimeOut) throws PayUException,
+			InvalidParametersException, ConnectionException {
+
+		return doAuthorizationAndCapture(PayUClient.getDefault(), parameters, socketTimeOut);
+	}
+
+	/**
+	 * Do an authorization and capture transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @param the socket time out.
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse doAuthorizationAndCapture(PayUClient client,
+			Map<String, String> parameters, Integer socketTimeOut) throws PayUException,
+			InvalidParametersException, ConnectionException {
+
+		return doPayment(client, parameters, TransactionType.AUTHORIZATION_AND_CAPTURE, socketTimeOut);
+	}
+
+
+	/**
+	 * Do a void (Cancel) transaction
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	public static TransactionResponse doVoid(Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return doVoid(PayUClient.getDefault(), parameters);
 	}
 
 	/**
-	 * Do a capture transaction
+	 * Do a void (Cancel) transaction
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 *            The parameters to be sent to the server
 	 * @return The transaction response to the request sent
@@ -285,52 +870,51 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException
 	 * @throws InvalidParametersException
 	 */
-	public static TransactionResponse doCapture(Map<String, String> parameters)
+	static TransactionResponse doVoid(PayUClient client, Map<String, String> parameters)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		return processTransaction(parameters, TransactionType.CAPTURE);
+		return processTransaction(client, parameters, TransactionType.VOID);
 	}
 
 	/**
-	 * Do an authorization and capture transaction
+	 * Makes a void petition without blocking the caller, see
+	 * {@link #doVoid(Map)}. Cancelling the returned future aborts the
+	 * request
 	 *
 	 * @param parameters
-	 *            The parameters to be sent to the server
-	 * @return The transaction response to the request sent
-	 * @throws PayUException
-	 * @throws ConnectionException
-	 * @throws InvalidParametersException
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doVoid(Map)}
 	 */
-	public static TransactionResponse doAuthorizationAndCapture(
-			Map<String, String> parameters) throws PayUException,
-			InvalidParametersException, ConnectionException {
+	public static Future<TransactionResponse> doVoidAsync(
+			final Map<String, String> parameters) {
 
-		return doPayment(parameters, TransactionType.AUTHORIZATION_AND_CAPTURE, HttpClientHelper.SOCKET_TIMEOUT);
+		return doVoidAsync(PayUClient.getDefault(), parameters);
 	}
 
-
 	/**
-	 * Do an authorization and capture transaction
+	 * Makes a void petition without blocking the caller, see
+	 * {@link #doVoid(Map)}. Cancelling the returned future aborts the
+	 * request
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
-	 *            The parameters to be sent to the server
-	 * @param the socket time out.
-	 * @return The transaction response to the request sent
-	 * @throws PayUException
-	 * @throws ConnectionException
-	 * @throws InvalidParametersException
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doVoid(Map)}
 	 */
-	public static TransactionResponse doAuthorizationAndCapture(
-			Map<String, String> parameters, Integer socketTimeOut) throws PayUException,
-			InvalidParametersException, ConnectionException {
+	static Future<TransactionResponse> doVoidAsync(final PayUClient client,
+			final Map<String, String> parameters) {
 
-		return doPayment(parameters, TransactionType.AUTHORIZATION_AND_CAPTURE, socketTimeOut);
+		return transactionCall(client, parameters, TransactionType.VOID).sendAsync(client);
 	}
 
-
 	/**
-	 * Do a void (Cancel) transaction
+	 * Do a refund transaction
 	 *
 	 * @param parameters
 	 *            The parameters to be sent to the server
@@ -339,16 +923,18 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException
 	 * @throws InvalidParametersException
 	 */
-	public static TransactionResponse doVoid(Map<String, String> parameters)
+	public static TransactionResponse doRefund(Map<String, String> parameters)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		return processTransaction(parameters, TransactionType.VOID);
+		return doRefund(PayUClient.getDefault(), parameters);
 	}
 
 	/**
 	 * Do a refund transaction
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 *            The parameters to be sent to the server
 	 * @return The transaction response to the request sent
@@ -356,11 +942,47 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException
 	 * @throws InvalidParametersException
 	 */
-	public static TransactionResponse doRefund(Map<String, String> parameters)
+	static TransactionResponse doRefund(PayUClient client, Map<String, String> parameters)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		return processTransaction(parameters, TransactionType.REFUND);
+		return processTransaction(client, parameters, TransactionType.REFUND);
+	}
+
+	/**
+	 * Makes a refund petition without blocking the caller, see
+	 * {@link #doRefund(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doRefund(Map)}
+	 */
+	public static Future<TransactionResponse> doRefundAsync(
+			final Map<String, String> parameters) {
+
+		return doRefundAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a refund petition without blocking the caller, see
+	 * {@link #doRefund(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doRefund(Map)}
+	 */
+	static Future<TransactionResponse> doRefundAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return transactionCall(client, parameters, TransactionType.REFUND).sendAsync(client);
 	}
 	
 	/**
@@ -377,7 +999,26 @@ public final class PayUPayments extends PayU {
 			Map<String, String> headers)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
-		return processTransactionWithRequestHeaders(parameters, headers, TransactionType.REFUND);
+		return doRefundWithRequestHeaders(PayUClient.getDefault(), parameters, headers);
+	}
+
+	/**
+	 * Do refund with request headers.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters the parameters
+	 * @param headers the headers
+	 * @return the transaction response
+	 * @throws PayUException the pay U exception
+	 * @throws InvalidParametersException the invalid parameters exception
+	 * @throws ConnectionException the connection exception
+	 */
+	static TransactionResponse doRefundWithRequestHeaders(PayUClient client, Map<String, String> parameters,
+			Map<String, String> headers)
+			throws PayUException, InvalidParametersException, ConnectionException {
+
+		return processTransactionWithRequestHeaders(client, parameters, headers, TransactionType.REFUND);
 	}
 
 	/**
@@ -394,7 +1035,62 @@ public final class PayUPayments extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		return processTransaction(parameters, TransactionType.PARTIAL_REFUND);
+		return doPartialRefund(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Do a partial refund transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse doPartialRefund(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return processTransaction(client, parameters, TransactionType.PARTIAL_REFUND);
+	}
+
+	/**
+	 * Makes a partial refund petition without blocking the caller, see
+	 * {@link #doPartialRefund(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doPartialRefund(Map)}
+	 */
+	public static Future<TransactionResponse> doPartialRefundAsync(
+			final Map<String, String> parameters) {
+
+		return doPartialRefundAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a partial refund petition without blocking the caller, see
+	 * {@link #doPartialRefund(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #doPartialRefund(Map)}
+	 */
+	static Future<TransactionResponse> doPartialRefundAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return transactionCall(client, parameters, TransactionType.PARTIAL_REFUND).sendAsync(client);
 	}
 	
 	/**
@@ -411,13 +1107,34 @@ public final class PayUPayments extends PayU {
 			Map<String, String> parameters, Map<String, String> headers)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
-		return processTransactionWithRequestHeaders(parameters, headers,
+		return doPartialRefundWithRequestHeaders(PayUClient.getDefault(), parameters, headers);
+	}
+
+	/**
+	 * Do partial refund with request headers.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters the parameters
+	 * @param headers the headers
+	 * @return the transaction response
+	 * @throws PayUException the pay U exception
+	 * @throws InvalidParametersException the invalid parameters exception
+	 * @throws ConnectionException the connection exception
+	 */
+	static TransactionResponse doPartialRefundWithRequestHeaders(PayUClient client,
+			Map<String, String> parameters, Map<String, String> headers)
+			throws PayUException, InvalidParametersException, ConnectionException {
+
+		return processTransactionWithRequestHeaders(client, parameters, headers,
 				TransactionType.PARTIAL_REFUND);
 	}
 	
 	/**
 	 * Makes payment petition
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 *            The parameters to be sent to the server
 	 * @param transactionType
@@ -427,18 +1144,20 @@ public final class PayUPayments extends PayU {
 	 * @throws InvalidParametersException
 	 * @throws ConnectionException
 	 */
-	private static TransactionResponse doPayment(
+	private static TransactionResponse doPayment(PayUClient client,
 			Map<String, String> parameters, TransactionType transactionType)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		return doPayment(parameters, transactionType, HttpClientHelper.SOCKET_TIMEOUT);
+		return doPayment(client, parameters, transactionType, HttpClientHelper.SOCKET_TIMEOUT);
 	}
 
 
 	/**
 	 * Makes payment petition
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 *            The parameters to be sent to the server
 	 * @param transactionType
@@ -449,22 +1168,49 @@ public final class PayUPayments extends PayU {
 	 * @throws InvalidParametersException
 	 * @throws ConnectionException
 	 */
-	private static TransactionResponse doPayment(
+	private static TransactionResponse doPayment(PayUClient client,
 			Map<String, String> parameters, TransactionType transactionType, Integer socketTimeOut)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String[] required = getRequiredParameters(parameters);
+		return paymentCall(client, parameters, transactionType, socketTimeOut).send(client);
+	}
 
-		RequestUtil.validateParameters(parameters, required);
+	/**
+	 * Creates the call of a payment petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @param transactionType
+	 *            The type of the payment transaction
+	 * @param socketTimeOut
+	 *            The socket time out
+	 * @return The call
+	 */
+	private static ApiCall<PaymentResponse, TransactionResponse> paymentCall(
+			final PayUClient client, final Map<String, String> parameters,
+			final TransactionType transactionType, Integer socketTimeOut) {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildPaymentRequest(parameters, transactionType),
-				RequestMethod.POST, socketTimeOut);
+		return new ApiCall<PaymentResponse, TransactionResponse>(PaymentResponse.class,
+				RequestMethod.POST, socketTimeOut) {
 
-		PaymentResponse response = PaymentResponse.fromXml(res);
+			@Override
+			Request request() throws PayUException, InvalidParametersException,
+					ConnectionException {
 
-		return response.getTransactionResponse();
+				getValidationSchema(client, parameters).validate(parameters);
+
+				return RequestUtil.buildPaymentRequest(client, parameters, transactionType);
+			}
+
+			@Override
+			TransactionResponse result(PaymentResponse response) {
+
+				return response.getTransactionResponse();
+			}
+		};
 	}
 	
 	/**
@@ -478,12 +1224,27 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException the connection exception
 	 */
 	public static Transaction fromParametersMapToTransaction(Map<String, String> parameters, TransactionType transactionType) throws PayUException, InvalidParametersException, ConnectionException {
-		
-		String[] required = getRequiredParameters(parameters);
 
-		RequestUtil.validateParameters(parameters, required);
+		return fromParametersMapToTransaction(PayUClient.getDefault(), parameters, transactionType);
+	}
+
+	/**
+	 * From parameters map to transaction.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters the parameters
+	 * @param transactionType the transaction type
+	 * @return the transaction
+	 * @throws PayUException the pay u exception
+	 * @throws InvalidParametersException the invalid parameters exception
+	 * @throws ConnectionException the connection exception
+	 */
+	static Transaction fromParametersMapToTransaction(PayUClient client, Map<String, String> parameters, TransactionType transactionType) throws PayUException, InvalidParametersException, ConnectionException {
+		
+		getValidationSchema(client, parameters).validate(parameters);
 		
-		return RequestUtil.buildTransaction(parameters, transactionType);
+		return RequestUtil.buildTransaction(client, parameters, transactionType);
 	}
 	
 	/**
@@ -496,26 +1257,104 @@ public final class PayUPayments extends PayU {
 	 * @throws ConnectionException the connection exception
 	 */
 	public static TransactionResponse submitTransaction(Transaction transaction, Integer timeoutMs) throws PayUException, ConnectionException {
+
+		return submitTransaction(PayUClient.getDefault(), transaction, timeoutMs);
+	}
+
+	/**
+	 * Submit transaction.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param transaction the transaction
+	 * @param timeoutMs the timeout milliseconds
+	 * @return the transaction response
+	 * @throws PayUException the pay u exception
+	 * @throws ConnectionException the connection exception
+	 */
+	static TransactionResponse submitTransaction(PayUClient client, Transaction transaction, Integer timeoutMs) throws PayUException, ConnectionException {
 		
 		Merchant merchant = new Merchant();
-		merchant.setApiKey(PayU.apiKey);
-		merchant.setApiLogin(PayU.apiLogin);
+		merchant.setApiKey(client.getApiKey());
+		merchant.setApiLogin(client.getApiLogin());
 		
 		PaymentRequest request = new PaymentRequest();
-		request.setLanguage(PayU.language);
-		request.setTest(PayU.isTest);
+		request.setLanguage(client.getLanguage());
+		request.setTest(client.isTest());
 		request.setCommand(Command.SUBMIT_TRANSACTION);
 		
 		request.setMerchant(merchant);
 		request.setTransaction(transaction);
 		
-		String res = HttpClientHelper.sendRequest(request, RequestMethod.POST, timeoutMs);
-		
-		PaymentResponse response = PaymentResponse.fromXml(res);
+		PaymentResponse response = HttpClientHelper.sendRequest(client, request, RequestMethod.POST, timeoutMs,
+				PaymentResponse.class);
+
+		return response.getTransactionResponse();
+	}
+
+	/**
+	 * Submits a payment request built beforehand, such as the ones of a
+	 * {@link com.payu.sdk.payments.builder.TransactionTemplate}
+	 *
+	 * @param request the payment request
+	 * @param timeoutMs the timeout milliseconds
+	 * @return the transaction response
+	 * @throws PayUException the pay u exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static TransactionResponse submitTransaction(PaymentRequest request, Integer timeoutMs)
+			throws PayUException, ConnectionException {
+
+		PaymentResponse response = HttpClientHelper.sendRequest(request, RequestMethod.POST,
+				timeoutMs, PaymentResponse.class);
 
 		return response.getTransactionResponse();
 	}
 
+	/**
+	 * Creates a bulk run of authorization and capture transactions, see
+	 * {@link #doAuthorizationAndCapture(Map)}. The calls start when the run is
+	 * iterated
+	 *
+	 * @param parameters the parameters of each transaction, read as the run
+	 *            goes
+	 * @return the run, giving a result per transaction
+	 */
+	public static BulkAuthorization<Map<String, String>> doAuthorizationAndCaptureBulk(
+			Iterator<? extends Map<String, String>> parameters) {
+
+		return new BulkAuthorization<Map<String, String>>(PayUClient.getDefault(),
+				new BulkAuthorization.ItemPayment<Map<String, String>>() {
+
+					@Override
+					public TransactionResponse pay(Map<String, String> item) throws Exception {
+						return doAuthorizationAndCapture(item);
+					}
+				}, parameters);
+	}
+
+	/**
+	 * Creates a bulk run submitting transactions, see
+	 * {@link #submitTransaction(Transaction, Integer)}. The calls start when
+	 * the run is iterated
+	 *
+	 * @param transactions the transactions, read as the run goes
+	 * @param timeoutMs the timeout milliseconds of each call
+	 * @return the run, giving a result per transaction
+	 */
+	public static BulkAuthorization<Transaction> submitTransactionsBulk(
+			Iterator<? extends Transaction> transactions, final Integer timeoutMs) {
+
+		return new BulkAuthorization<Transaction>(PayUClient.getDefault(),
+				new BulkAuthorization.ItemPayment<Transaction>() {
+
+					@Override
+					public TransactionResponse pay(Transaction item) throws Exception {
+						return submitTransaction(item, timeoutMs);
+					}
+				}, transactions);
+	}
+
 	/**
 	 * Submit transaction.
 	 *
@@ -527,10 +1366,26 @@ public final class PayUPayments extends PayU {
 	public static boolean sendConfirmationPage(final Map<String, String> parameters)
 			throws PayUException, ConnectionException, InvalidParametersException {
 
+		return sendConfirmationPage(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Submit transaction.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters the parameters map
+	 * @return the transaction response
+	 * @throws PayUException       the pay u exception
+	 * @throws ConnectionException the connection exception
+	 */
+	static boolean sendConfirmationPage(PayUClient client, final Map<String, String> parameters)
+			throws PayUException, ConnectionException, InvalidParametersException {
+
 		String[] requiredParams = { PARAMETERS.TRANSACTION_ID };
 		PaymentPlanRequestUtil.validateParameters(parameters, requiredParams);
 
-		String res = HttpClientHelper.sendRequest(
+		String res = HttpClientHelper.sendRequest(client,
 				RequestUtil.buildConfirmationPageRequest(parameters), RequestMethod.POST);
 		return res.contains("true");
 	}
@@ -538,11 +1393,13 @@ public final class PayUPayments extends PayU {
 	/**
 	 * Gets the PaymentMethod value parameter from the parameters map.
 	 * If the parameter is not null find the Payment method in the map, but if not found then make request to API
+	 * @param client
+	 *            The client making the call
 	 * @param parameters The parameters to be sent to the server
 	 * @param paramName  the parameter to get
 	 * @return the PaymentMethod value or null
 	 */
-	private static PaymentMethodApi getPaymentMethodParameter(Map<String, String> parameters, String paramName)
+	private static PaymentMethodApi getPaymentMethodParameter(PayUClient client, Map<String, String> parameters, String paramName)
 			throws PayUException, InvalidParametersException, ConnectionException{
 		PaymentMethodApi paymentMethod = null;
 		String parameter = CommonRequestUtil.getParameter(parameters, paramName);
@@ -553,10 +1410,10 @@ public final class PayUPayments extends PayU {
 			
 			if (apiKey != null && !apiKey.trim().equals("") && apiLogin != null && !apiLogin.trim().equals("")) {
 				// Finds the payment method using api key and api login sent by user as parameters
-				paymentMethod = getPaymentMethodAvailability(parameter, apiKey, apiLogin);
+				paymentMethod = getPaymentMethodAvailability(client, parameter, apiKey, apiLogin);
 			} else {
 				// Find the PaymentMethod object in the map
-				paymentMethod = getPaymentMethodAvailability(parameter);
+				paymentMethod = getPaymentMethodAvailability(client, parameter);
 			}
 		}
 		return paymentMethod;
@@ -564,117 +1421,44 @@ public final class PayUPayments extends PayU {
 
 	/**
 	 *
-	 * Returns the required parameters based on the payment method
+	 * Returns the validation schema based on the payment method
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 * @return
 	 * @throws PayUException
 	 * @throws InvalidParametersException
 	 */
-	private static String[] getRequiredParameters(Map<String, String> parameters)
+	private static ValidationSchema getValidationSchema(PayUClient client, Map<String, String> parameters)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
-		//Initialize the list with default parameters
-		List<String> requiredParameters= new ArrayList<String>();
-		requiredParameters.add(PayU.PARAMETERS.REFERENCE_CODE);
-		requiredParameters.add(PayU.PARAMETERS.DESCRIPTION);
-		requiredParameters.add(PayU.PARAMETERS.CURRENCY);
-		requiredParameters.add(PayU.PARAMETERS.VALUE);
-
 		/* Token methods */
 		if (parameters.containsKey(PayU.PARAMETERS.TOKEN_ID)) {
-			requiredParameters.add(PayU.PARAMETERS.INSTALLMENTS_NUMBER);
-			requiredParameters.add(PayU.PARAMETERS.TOKEN_ID);
-			return requiredParameters.toArray(new String[requiredParameters.size()]);
+			return PaymentValidationSchemas.TOKEN;
 		}
 
-		RequestUtil.validateParameters(parameters, PayU.PARAMETERS.PAYMENT_METHOD);
+		PaymentValidationSchemas.PAYMENT_METHOD.validate(parameters);
 
 		//Obtains the payment method. If the parameter is a value that doesn't available this return null and continue
-		PaymentMethodApi paymentMethod = getPaymentMethodParameter(parameters,PayU.PARAMETERS.PAYMENT_METHOD);
-
-		if (paymentMethod != null){
-			if ("BOLETO_BANCARIO".equals(paymentMethod.getName())) {
-				requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_DNI);
-				requiredParameters.add(PayU.PARAMETERS.PAYMENT_METHOD);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_STREET);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_STREET_2);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_CITY);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_STATE);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_POSTAL_CODE);
-
-			}else if (PAYMENT_METHOD_CODENSA.equals(paymentMethod.getName())) {
-				
-				requiredParameters.add(PayU.PARAMETERS.PAYER_DNI_TYPE);
-				requiredParameters.add(PayU.PARAMETERS.PAYER_DNI);
-		   }
-			else if (paymentMethod.getType() != null){
-				switch (paymentMethod.getType()) {
-				case CASH:
-					requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-					requiredParameters.add(PayU.PARAMETERS.PAYMENT_METHOD);
-					break;
-				case REFERENCED:
-					requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-					requiredParameters.add(PayU.PARAMETERS.PAYMENT_METHOD);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_DNI);
-					break;
-				case PSE:
-					requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-					requiredParameters.add(PayU.PARAMETERS.PAYMENT_METHOD);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_DOCUMENT_TYPE);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_DNI);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_EMAIL);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_CONTACT_PHONE);
-					requiredParameters.add(PayU.PARAMETERS.PSE_FINANCIAL_INSTITUTION_CODE);
-					requiredParameters.add(PayU.PARAMETERS.PAYER_PERSON_TYPE);
-					requiredParameters.add(PayU.PARAMETERS.IP_ADDRESS);
-					requiredParameters.add(PayU.PARAMETERS.COOKIE);
-					requiredParameters.add(PayU.PARAMETERS.USER_AGENT);
-					break;
-				case CREDIT_CARD:
-
-					boolean optionalSecurityCode = (parameters.containsKey(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2) &&
-							Boolean.TRUE.toString().equalsIgnoreCase(parameters.get(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2)));
-
-					requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-					requiredParameters.add(PayU.PARAMETERS.PAYMENT_METHOD);
-					requiredParameters.add(PayU.PARAMETERS.INSTALLMENTS_NUMBER);
-					requiredParameters.add(PayU.PARAMETERS.CREDIT_CARD_NUMBER);
-					requiredParameters.add(PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE);
-					if (!optionalSecurityCode) {
-						requiredParameters.add(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE);
-					}
-					break;
+		PaymentMethodApi paymentMethod = getPaymentMethodParameter(client, parameters, PayU.PARAMETERS.PAYMENT_METHOD);
 
-				case BANK_TRANSFER:
-
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_NAME);
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_STREET);
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_STREET_2);
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_CITY);
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_STATE);
-                    requiredParameters.add(PayU.PARAMETERS.PAYER_POSTAL_CODE);
-                    break;
-
-				case BANK_REFERENCED:
-
-					break;
-						
-				default:
-					throw new PayUException(ErrorCode.API_ERROR,"Unsupported payment method");
-				}
-			}
-		}else{
+		ValidationSchema schema = null;
+		if (paymentMethod != null) {
+			schema = PaymentValidationSchemas.forPaymentMethod(paymentMethod.getName(),
+					paymentMethod.getType());
+		}
+		if (schema == null) {
 			throw new PayUException(ErrorCode.API_ERROR, "Unsupported payment method");
 		}
-		return requiredParameters.toArray(new String[requiredParameters.size()]);
+		return schema;
 	}
 
 	/**
 	 * Makes a transaction dependent petition
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters
 	 *            The parameters to be sent to the server
 	 * @param transactionType
@@ -684,28 +1468,57 @@ public final class PayUPayments extends PayU {
 	 * @throws InvalidParametersException
 	 * @throws ConnectionException
 	 */
-	private static TransactionResponse processTransaction(
+	private static TransactionResponse processTransaction(PayUClient client,
 			Map<String, String> parameters, TransactionType transactionType)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String[] required = new String[] { PayU.PARAMETERS.ORDER_ID,
-				PayU.PARAMETERS.TRANSACTION_ID };
+		return transactionCall(client, parameters, transactionType).send(client);
+	}
 
-		RequestUtil.validateParameters(parameters, required);
+	/**
+	 * Creates the call of a petition over an existing transaction
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @param transactionType
+	 *            The transaction type
+	 * @return The call
+	 */
+	private static ApiCall<PaymentResponse, TransactionResponse> transactionCall(
+			final PayUClient client, final Map<String, String> parameters,
+			final TransactionType transactionType) {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildPaymentRequest(parameters, transactionType),
-				RequestMethod.POST);
+		return new ApiCall<PaymentResponse, TransactionResponse>(PaymentResponse.class,
+				RequestMethod.POST, HttpClientHelper.SOCKET_TIMEOUT) {
 
-		PaymentResponse response = PaymentResponse.fromXml(res);
+			@Override
+			Request request() throws PayUException, InvalidParametersException,
+					ConnectionException {
 
-		return response.getTransactionResponse();
+				String[] required = new String[] { PayU.PARAMETERS.ORDER_ID,
+						PayU.PARAMETERS.TRANSACTION_ID };
+
+				RequestUtil.validateParameters(parameters, required);
+
+				return RequestUtil.buildPaymentRequest(client, parameters, transactionType);
+			}
+
+			@Override
+			TransactionResponse result(PaymentResponse response) {
+
+				return response.getTransactionResponse();
+			}
+		};
 	}
 	
 	/**
 	 * Process transaction with request headers.
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param parameters the parameters
 	 * @param headers the headers
 	 * @param transactionType the transaction type
@@ -714,7 +1527,7 @@ public final class PayUPayments extends PayU {
 	 * @throws InvalidParametersException the invalid parameters exception
 	 * @throws ConnectionException the connection exception
 	 */
-	private static TransactionResponse processTransactionWithRequestHeaders(
+	private static TransactionResponse processTransactionWithRequestHeaders(PayUClient client,
 			Map<String, String> parameters, Map<String, String> headers, TransactionType transactionType)
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
@@ -724,11 +1537,9 @@ public final class PayUPayments extends PayU {
 
 		RequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequestWithExtraHeaders(
-				RequestUtil.buildPaymentRequest(parameters, transactionType), headers,
-				RequestMethod.POST);
-
-		PaymentResponse response = PaymentResponse.fromXml(res);
+		PaymentResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildPaymentRequest(client, parameters, transactionType), headers,
+				RequestMethod.POST, null, PaymentResponse.class);
 
 		return response.getTransactionResponse();
 	}
@@ -744,8 +1555,168 @@ public final class PayUPayments extends PayU {
 	public static TransactionResponse createTransactionFromPaymentRequest(final PaymentAttemptRequest paymentRequest)
 			throws PayUException, ConnectionException {
 
-		return PaymentResponse.fromXml(HttpClientHelper.sendRequest(paymentRequest, RequestMethod.POST))
+		return createTransactionFromPaymentRequest(PayUClient.getDefault(), paymentRequest);
+	}
+
+	/**
+	 * Creates a transaction using a payment request.
+	 * 
+	 * @param client
+	 *            The client making the call
+	 * @param paymentRequest the payment request to create a transaction.
+	 * @return a transaction response.
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 */
+	static TransactionResponse createTransactionFromPaymentRequest(PayUClient client, final PaymentAttemptRequest paymentRequest)
+			throws PayUException, ConnectionException {
+
+		return HttpClientHelper.sendRequest(client, paymentRequest, RequestMethod.POST, PaymentResponse.class)
 				.getTransactionResponse();
 	}
 
+	/**
+	 * The cached payment methods availability and catalogs. The values are
+	 * loaded, and reloaded ahead, with the configuration of their owner client
+	 */
+	static final class PaymentMethodCaches {
+
+		/** The payment methods availability, by merchant and payment method */
+		private final LoadingCache<PaymentMethodKey, PaymentMethodApi> availability;
+
+		/** The payment methods catalog, by merchant. The keys have no payment method */
+		private final LoadingCache<PaymentMethodKey, PaymentMethodCatalog> catalogs;
+
+		/**
+		 * Creates the caches of a client
+		 *
+		 * @param client the owner client
+		 */
+		PaymentMethodCaches(final PayUClient client) {
+
+			availability = new LoadingCache<PaymentMethodKey, PaymentMethodApi>(
+					new LoadingCache.Loader<PaymentMethodKey, PaymentMethodApi>() {
+
+						@Override
+						public PaymentMethodApi load(PaymentMethodKey key)
+								throws PayUException, ConnectionException {
+
+							PaymentMethodApi paymentMethodApi = getPaymentMethodAvailabilityFromAPILogic(
+									client, key.paymentMethod, key.apiKey, key.apiLogin);
+
+							// Keeps the map by name up to date
+							if (paymentMethodApi != null) {
+								PaymentMethodMap.getInstance().putPaymentMethod(paymentMethodApi);
+							}
+							return paymentMethodApi;
+						}
+					}, PAYMENT_METHOD_TIME_TO_LIVE, PAYMENT_METHOD_REFRESH_AFTER,
+					PAYMENT_METHOD_MAX_ENTRIES, PAYMENT_METHOD_REFRESH_EXECUTOR);
+
+			catalogs = new LoadingCache<PaymentMethodKey, PaymentMethodCatalog>(
+					new LoadingCache.Loader<PaymentMethodKey, PaymentMethodCatalog>() {
+
+						@Override
+						public PaymentMethodCatalog load(PaymentMethodKey key)
+								throws ConnectionException {
+
+							return getPaymentMethodCatalogFromAPI(client, key.apiKey, key.apiLogin);
+						}
+					}, PAYMENT_METHOD_TIME_TO_LIVE, PAYMENT_METHOD_REFRESH_AFTER,
+					PAYMENT_METHOD_CATALOG_MAX_ENTRIES, PAYMENT_METHOD_REFRESH_EXECUTOR);
+		}
+
+		/**
+		 * Discards every cached value
+		 */
+		void clear() {
+
+			catalogs.invalidateAll();
+			availability.invalidateAll();
+		}
+	}
+
+	/**
+	 * The key of a payment method availability: the payment method and the
+	 * credentials of the merchant asking for it. The key of a catalog has no
+	 * payment method
+	 */
+	private static final class PaymentMethodKey {
+
+		/** The payment method name, null for a catalog */
+		private final String paymentMethod;
+
+		/** The merchant api key, null if it is not set */
+		private final String apiKey;
+
+		/** The merchant api login, null if it is not set */
+		private final String apiLogin;
+
+		/**
+		 * Constructor. Blank credentials are taken as not set
+		 *
+		 * @param paymentMethod the payment method name
+		 * @param apiKey the merchant api key
+		 * @param apiLogin the merchant api login
+		 */
+		private PaymentMethodKey(String paymentMethod, String apiKey, String apiLogin) {
+
+			this.paymentMethod = paymentMethod;
+			this.apiKey = apiKey != null && apiKey.trim().length() > 0 ? apiKey : null;
+			this.apiLogin = apiLogin != null && apiLogin.trim().length() > 0 ? apiLogin : null;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = paymentMethod != null ? paymentMethod.hashCode() : 0;
+			result = 31 * result + (apiKey != null ? apiKey.hashCode() : 0);
+			return 31 * result + (apiLogin != null ? apiLogin.hashCode() : 0);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof PaymentMethodKey)) {
+				return false;
+			}
+			PaymentMethodKey other = (PaymentMethodKey) obj;
+			return equal(paymentMethod, other.paymentMethod)
+					&& equal(apiKey, other.apiKey)
+					&& equal(apiLogin, other.apiLogin);
+		}
+
+		/* (non-Javadoc)
+		 * The api key is left out on purpose, this is logged
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+
+			return (paymentMethod != null ? paymentMethod : "catalog") + " [apiLogin="
+					+ apiLogin + "]";
+		}
+
+		/**
+		 * Null safe equality
+		 *
+		 * @param first the first value
+		 * @param second the second value
+		 * @return true if both are null or equal
+		 */
+		private static boolean equal(String first, String second) {
+
+			return first == null ? second == null : first.equals(second);
+		}
+	}
+
 }
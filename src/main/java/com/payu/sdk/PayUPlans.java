@@ -64,6 +64,25 @@ public final class PayUPlans extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
+		return create(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Creates a subscription plan with the specified parameters values
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The created subscription plan
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static SubscriptionPlan create(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
 		String[] required = new String[] { PayU.PARAMETERS.PLAN_INTERVAL,
 				PayU.PARAMETERS.PLAN_CODE, PayU.PARAMETERS.PLAN_INTERVAL_COUNT,
 				PayU.PARAMETERS.PLAN_CURRENCY, PayU.PARAMETERS.PLAN_VALUE,
@@ -74,12 +93,9 @@ public final class PayUPlans extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper
-				.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(client, PaymentPlanRequestUtil
 						.buildSubscriptionPlanRequest(parameters),
-						RequestMethod.POST);
-
-		return SubscriptionPlan.fromXml(res);
+						RequestMethod.POST, SubscriptionPlan.class);
 	}
 
 	/**
@@ -95,16 +111,31 @@ public final class PayUPlans extends PayU {
 	public static SubscriptionPlan find(Map<String, String> parameters)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
+		return find(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Finds a subscription plan based on its plan code
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return the found subscription plan
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static SubscriptionPlan find(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException, ConnectionException {
+
 		String[] required = new String[] { PayU.PARAMETERS.PLAN_CODE };
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper
-				.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(client, PaymentPlanRequestUtil
 						.buildSubscriptionPlanRequest(parameters),
-						RequestMethod.GET);
-
-		return SubscriptionPlan.fromXml(res);
+						RequestMethod.GET, SubscriptionPlan.class);
 	}
 
 	/**
@@ -121,6 +152,25 @@ public final class PayUPlans extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
+		return update(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Updates a subscription plan with the specified parameters values
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return the updated subscription plan
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static SubscriptionPlan update(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
 		String[] required = new String[] { PayU.PARAMETERS.PLAN_CODE };
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
@@ -131,12 +181,9 @@ public final class PayUPlans extends PayU {
 		PaymentPlanRequestUtil.validateNotAllowedParameters(
 				parameters.keySet(), notAllowed);
 
-		String res = HttpClientHelper
-				.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(client, PaymentPlanRequestUtil
 						.buildSubscriptionPlanRequest(parameters),
-						RequestMethod.PUT);
-
-		return SubscriptionPlan.fromXml(res);
+						RequestMethod.PUT, SubscriptionPlan.class);
 	}
 
 	/**
@@ -153,12 +200,31 @@ public final class PayUPlans extends PayU {
 			throws InvalidParametersException, ConnectionException,
 			PayUException {
 
+		return delete(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Delete a subscription plan based on its plan code
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return true if the plan was deleted
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 * @throws PayUException
+	 */
+	static boolean delete(PayUClient client, Map<String, String> parameters)
+			throws InvalidParametersException, ConnectionException,
+			PayUException {
+
 		String[] required = new String[] { PayU.PARAMETERS.PLAN_CODE };
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
 		HttpClientHelper
-				.sendRequest(PaymentPlanRequestUtil
+				.sendRequest(client, PaymentPlanRequestUtil
 						.buildSubscriptionPlanRequest(parameters),
 						RequestMethod.DELETE);
 
@@ -176,12 +242,65 @@ public final class PayUPlans extends PayU {
 	public static List<SubscriptionPlan> findList(Map<String, String> parameters)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildSubscriptionPlanListRequest(parameters), RequestMethod.GET);
+		return findList(PayUClient.getDefault(), parameters);
+	}
 
-		SubscriptionPlanListResponse response = SubscriptionPlanListResponse.fromXml(res);
+	/**
+	 * Finds all subscription plans based on its merchant
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return the subscription plan list
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static List<SubscriptionPlan> findList(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException, ConnectionException {
+
+		SubscriptionPlanListResponse response = HttpClientHelper.sendRequest(client, PaymentPlanRequestUtil
+				.buildSubscriptionPlanListRequest(parameters), RequestMethod.GET, SubscriptionPlanListResponse.class);
 
 		return response.getSubscriptionPlanList();
 	}
 
+	/**
+	 * Iterates the subscription plans matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy subscription plans list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	public static PagedIterable<SubscriptionPlan> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return iterate(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Iterates the subscription plans matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy subscription plans list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	static PagedIterable<SubscriptionPlan> iterate(final PayUClient client, Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return new PagedIterable<SubscriptionPlan>(client, new PagedIterable.PageSource<SubscriptionPlan>() {
+
+			@Override
+			public List<SubscriptionPlan> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(client, page);
+			}
+		}, parameters, true);
+	}
+
 }
@@ -25,12 +25,14 @@ package com.payu.sdk;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.ConnectionException;
 import com.payu.sdk.exceptions.InvalidParametersException;
 import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.model.request.Request;
 import com.payu.sdk.paymentplan.model.RecurringBill;
 import com.payu.sdk.payments.model.RecurringBillListResponse;
 import com.payu.sdk.utils.PaymentPlanRequestUtil;
@@ -66,10 +68,8 @@ public class PayURecurringBill extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, requiredParams);
 
-		String xml = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildRecurringBillRequest(parameters), RequestMethod.GET);
-
-		return RecurringBill.fromXml(xml);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+				.buildRecurringBillRequest(parameters), RequestMethod.GET, RecurringBill.class);
 	}
 
 	/**
@@ -84,12 +84,75 @@ public class PayURecurringBill extends PayU {
 	public static List<RecurringBill> findList(Map<String, String> parameters)
 			throws PayUException, InvalidParametersException, ConnectionException {
 
-		PaymentPlanRequestUtil.validateParameters(parameters);
+		return findListCall(parameters).send(PayUClient.getDefault());
+	}
+
+	/**
+	 * Finds a recurring bill list without blocking the caller, see
+	 * {@link #findList(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #findList(Map)}
+	 */
+	public static Future<List<RecurringBill>> findListAsync(
+			final Map<String, String> parameters) {
+
+		return findListCall(parameters).sendAsync(PayUClient.getDefault());
+	}
+
+	/**
+	 * Creates the call of a recurring bill list petition
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<RecurringBillListResponse, List<RecurringBill>> findListCall(
+			final Map<String, String> parameters) {
+
+		return new ApiCall<RecurringBillListResponse, List<RecurringBill>>(
+				RecurringBillListResponse.class, RequestMethod.GET,
+				HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws PayUException, InvalidParametersException {
+
+				PaymentPlanRequestUtil.validateParameters(parameters);
+
+				return PaymentPlanRequestUtil.buildRecurringBillListRequest(parameters);
+			}
+
+			@Override
+			List<RecurringBill> result(RecurringBillListResponse response) {
+
+				return response.getRecurringBills();
+			}
+		};
+	}
+
+	/**
+	 * Iterates the recurring bills matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy recurring bills list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	public static PagedIterable<RecurringBill> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
 
-		String xml = HttpClientHelper.sendRequest(
-				PaymentPlanRequestUtil.buildRecurringBillListRequest(parameters), RequestMethod.GET);
+		return new PagedIterable<RecurringBill>(PayUClient.getDefault(), new PagedIterable.PageSource<RecurringBill>() {
 
-		return RecurringBillListResponse.fromXml(xml).getRecurringBills();
+			@Override
+			public List<RecurringBill> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, true);
 	}
 	
 	/**
@@ -73,10 +73,8 @@ public final class PayURecurringBillItem extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, params);
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildRecurringBillItemRequest(parameters), RequestMethod.POST);
-
-		return RecurringBillItem.fromXml(res);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+				.buildRecurringBillItemRequest(parameters), RequestMethod.POST, RecurringBillItem.class);
 	}
 
 	/**
@@ -97,10 +95,8 @@ public final class PayURecurringBillItem extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, params);
 
-		String xml = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildRecurringBillItemRequest(parameters), RequestMethod.GET);
-
-		return RecurringBillItem.fromXml(xml);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+				.buildRecurringBillItemRequest(parameters), RequestMethod.GET, RecurringBillItem.class);
 
 	}
 
@@ -125,10 +121,8 @@ public final class PayURecurringBillItem extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, params);
 
-		String res = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildRecurringBillItemRequest(parameters), RequestMethod.PUT);
-
-		return RecurringBillItem.fromXml(res);
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+				.buildRecurringBillItemRequest(parameters), RequestMethod.PUT, RecurringBillItem.class);
 	}
 
 	/**
@@ -174,10 +168,31 @@ public final class PayURecurringBillItem extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String xml = HttpClientHelper.sendRequest(PaymentPlanRequestUtil
-				.buildRecurringBillItemListRequest(parameters), RequestMethod.GET);
-		return RecurringBillItemListResponse.fromXml(xml)
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
+				.buildRecurringBillItemListRequest(parameters), RequestMethod.GET, RecurringBillItemListResponse.class)
 				.getRecurringBillItems();
 	}
 
+	/**
+	 * Iterates the recurring bill items matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy recurring bill items list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	public static PagedIterable<RecurringBillItem> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return new PagedIterable<RecurringBillItem>(PayUClient.getDefault(), new PagedIterable.PageSource<RecurringBillItem>() {
+
+			@Override
+			public List<RecurringBillItem> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, true);
+	}
+
 }
@@ -23,16 +23,21 @@
  */
 package com.payu.sdk;
 
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.ConnectionException;
 import com.payu.sdk.exceptions.InvalidParametersException;
 import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.ResponseBodyHandler;
 import com.payu.sdk.model.Order;
 import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.request.Request;
 import com.payu.sdk.model.response.ResponseCode;
 import com.payu.sdk.reporting.model.ReportingResponse;
 import com.payu.sdk.reporting.model.ReportingResponseOrderList;
@@ -47,6 +52,17 @@ import com.payu.sdk.utils.RequestUtil;
  */
 public final class PayUReports extends PayU {
 
+	/** Reads the order list of the reference code petitions, not failing on their error codes */
+	private static final ResponseBodyHandler<ReportingResponseOrderList> ORDER_LIST_HANDLER =
+			new ResponseBodyHandler<ReportingResponseOrderList>() {
+
+				@Override
+				public ReportingResponseOrderList handle(InputStream body) throws PayUException {
+
+					return body != null ? ReportingResponseOrderList.fromXml(body) : null;
+				}
+			};
+
 	/**
 	 * Private constructor
 	 */
@@ -63,9 +79,25 @@ public final class PayUReports extends PayU {
 	 */
 	public static boolean doPing() throws PayUException, ConnectionException {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildReportingPingRequest(), RequestMethod.POST);
-		ReportingResponse response = ReportingResponse.fromXml(res);
+		return doPing(PayUClient.getDefault());
+	}
+
+	/**
+	 * Makes a ping petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return true if the ping is done successfully
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 *
+	 */
+	static boolean doPing(PayUClient client) throws PayUException, ConnectionException {
+
+		ReportingResponse response = HttpClientHelper.sendRequest(client,
+				RequestUtil.buildReportingPingRequest(client,
+						Collections.<String, String> emptyMap()), RequestMethod.POST,
+				ReportingResponse.class);
 
 		return ResponseCode.SUCCESS.equals(response.getCode());
 
@@ -85,19 +117,97 @@ public final class PayUReports extends PayU {
 			throws PayUException, ConnectionException,
 			InvalidParametersException {
 
-		RequestUtil.validateParameters(parameters, PayU.PARAMETERS.ORDER_ID);
+		return getOrderDetail(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes an order details reporting petition by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The found order
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static Order getOrderDetail(PayUClient client, Map<String, String> parameters)
+			throws PayUException, ConnectionException,
+			InvalidParametersException {
+
+		return orderDetailCall(client, parameters).send(client);
+	}
+
+	/**
+	 * Creates the call of an order details reporting petition by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<ReportingResponse, Order> orderDetailCall(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return new ApiCall<ReportingResponse, Order>(ReportingResponse.class,
+				RequestMethod.POST, HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws InvalidParametersException {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildOrderReportingDetails(parameters),
-				RequestMethod.POST);
+				RequestUtil.validateParameters(parameters, PayU.PARAMETERS.ORDER_ID);
 
-		ReportingResponse response = ReportingResponse.fromXml(res);
+				return RequestUtil.buildOrderReportingDetails(client, parameters);
+			}
 
-		if (response.getResult() != null) {
-			return (Order) response.getResult().getPayload();
-		}
+			@Override
+			Order result(ReportingResponse response) {
 
-		return null;
+				if (response.getResult() != null) {
+					return (Order) response.getResult().getPayload();
+				}
+
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Makes an order details reporting petition by the id without blocking the caller, see
+	 * {@link #getOrderDetail(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getOrderDetail(Map)}
+	 */
+	public static Future<Order> getOrderDetailAsync(
+			final Map<String, String> parameters) {
+
+		return getOrderDetailAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes an order details reporting petition by the id without blocking the caller, see
+	 * {@link #getOrderDetail(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getOrderDetail(Map)}
+	 */
+	static Future<Order> getOrderDetailAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return orderDetailCall(client, parameters).sendAsync(client);
 	}
 
 	/**
@@ -114,21 +224,99 @@ public final class PayUReports extends PayU {
 			Map<String, String> parameters) throws PayUException,
 			ConnectionException, InvalidParametersException {
 
-		RequestUtil.validateParameters(parameters,
-				PayU.PARAMETERS.REFERENCE_CODE);
+		return getOrderDetailByReferenceCode(PayUClient.getDefault(), parameters);
+	}
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildOrderReportingByReferenceCode(parameters),
-				RequestMethod.POST);
+	/**
+	 * Makes an order details reporting petition by reference code
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The order list corresponding whit the given reference code
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static List<Order> getOrderDetailByReferenceCode(PayUClient client,
+			Map<String, String> parameters) throws PayUException,
+			ConnectionException, InvalidParametersException {
 
-		ReportingResponseOrderList response = ReportingResponseOrderList
-				.fromXml(res);
+		return orderDetailByReferenceCodeCall(client, parameters).send(client);
+	}
+
+	/**
+	 * Creates the call of an order details reporting petition by reference
+	 * code
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<ReportingResponseOrderList, List<Order>> orderDetailByReferenceCodeCall(
+			final PayUClient client, final Map<String, String> parameters) {
+
+		return new ApiCall<ReportingResponseOrderList, List<Order>>(ORDER_LIST_HANDLER,
+				RequestMethod.POST) {
+
+			@Override
+			Request request() throws InvalidParametersException {
 
-		if (response != null && response.getResult() != null) {
-			return response.getResult().getPayload();
-		}
+				RequestUtil.validateParameters(parameters,
+						PayU.PARAMETERS.REFERENCE_CODE);
 
-		return null;
+				return RequestUtil.buildOrderReportingByReferenceCode(client, parameters);
+			}
+
+			@Override
+			List<Order> result(ReportingResponseOrderList response) {
+
+				if (response != null && response.getResult() != null) {
+					return response.getResult().getPayload();
+				}
+
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Makes an order details reporting petition by reference code without blocking the caller, see
+	 * {@link #getOrderDetailByReferenceCode(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getOrderDetailByReferenceCode(Map)}
+	 */
+	public static Future<List<Order>> getOrderDetailByReferenceCodeAsync(
+			final Map<String, String> parameters) {
+
+		return getOrderDetailByReferenceCodeAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes an order details reporting petition by reference code without blocking the caller, see
+	 * {@link #getOrderDetailByReferenceCode(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getOrderDetailByReferenceCode(Map)}
+	 */
+	static Future<List<Order>> getOrderDetailByReferenceCodeAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return orderDetailByReferenceCodeCall(client, parameters).sendAsync(client);
 	}
 
 	/**
@@ -145,20 +333,98 @@ public final class PayUReports extends PayU {
 			Map<String, String> parameters) throws PayUException,
 			ConnectionException, InvalidParametersException {
 
-		RequestUtil.validateParameters(parameters,
-				PayU.PARAMETERS.TRANSACTION_ID);
+		return getTransactionResponse(PayUClient.getDefault(), parameters);
+	}
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildTransactionResponse(parameters),
-				RequestMethod.POST);
+	/**
+	 * Makes a transaction reporting petition by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The transaction response to the request sent
+	 * @throws PayUException
+	 * @throws ConnectionException
+	 * @throws InvalidParametersException
+	 */
+	static TransactionResponse getTransactionResponse(PayUClient client,
+			Map<String, String> parameters) throws PayUException,
+			ConnectionException, InvalidParametersException {
+
+		return transactionResponseCall(client, parameters).send(client);
+	}
+
+	/**
+	 * Creates the call of a transaction reporting petition by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<ReportingResponse, TransactionResponse> transactionResponseCall(
+			final PayUClient client, final Map<String, String> parameters) {
+
+		return new ApiCall<ReportingResponse, TransactionResponse>(ReportingResponse.class,
+				RequestMethod.POST, HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws InvalidParametersException {
 
-		ReportingResponse response = ReportingResponse.fromXml(res);
+				RequestUtil.validateParameters(parameters,
+						PayU.PARAMETERS.TRANSACTION_ID);
 
-		if (response != null && response.getResult() != null) {
-			return (TransactionResponse) response.getResult().getPayload();
-		}
+				return RequestUtil.buildTransactionResponse(client, parameters);
+			}
+
+			@Override
+			TransactionResponse result(ReportingResponse response) {
+
+				if (response != null && response.getResult() != null) {
+					return (TransactionResponse) response.getResult().getPayload();
+				}
+
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Makes a transaction reporting petition by the id without blocking the caller, see
+	 * {@link #getTransactionResponse(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getTransactionResponse(Map)}
+	 */
+	public static Future<TransactionResponse> getTransactionResponseAsync(
+			final Map<String, String> parameters) {
+
+		return getTransactionResponseAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a transaction reporting petition by the id without blocking the caller, see
+	 * {@link #getTransactionResponse(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #getTransactionResponse(Map)}
+	 */
+	static Future<TransactionResponse> getTransactionResponseAsync(final PayUClient client,
+			final Map<String, String> parameters) {
 
-		return null;
+		return transactionResponseCall(client, parameters).sendAsync(client);
 	}
 
 }
@@ -157,11 +157,9 @@ public final class PayUSubscription extends PayU {
 		}
 
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildSubscriptionRequest(parameters),
-				RequestMethod.POST);
-
-		return Subscription.fromXml(res);
+				RequestMethod.POST, Subscription.class);
 	}
 
 	/**
@@ -210,11 +208,9 @@ public final class PayUSubscription extends PayU {
 		PaymentPlanRequestUtil.validateParameters(parameters, params);
 
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildSubscriptionUpdateRequest(parameters),
-				RequestMethod.PUT);
-
-		return Subscription.fromXml(res);
+				RequestMethod.PUT, Subscription.class);
 
 	}
 
@@ -236,11 +232,9 @@ public final class PayUSubscription extends PayU {
 
 		PaymentPlanRequestUtil.validateParameters(parameters, required);
 
-		String res = HttpClientHelper.sendRequest(
+		return HttpClientHelper.sendRequest(
 				PaymentPlanRequestUtil.buildSubscriptionRequest(parameters),
-				RequestMethod.GET);
-
-		return Subscription.fromXml(res);
+				RequestMethod.GET, Subscription.class);
 
 	}
 
@@ -258,12 +252,31 @@ public final class PayUSubscription extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String res = HttpClientHelper
-				.sendRequest(PaymentPlanRequestUtil
+		return HttpClientHelper.sendRequest(PaymentPlanRequestUtil
 						.buildSubscriptionListRequest(parameters),
-						RequestMethod.GET);
+						RequestMethod.GET, SubscriptionListResponse.class).getSubscriptionList();
+
+	}
+
+	/**
+	 * Iterates the subscriptions matching some parameters, see
+	 * {@link #findList(Map)}. They are fetched lazily by pages of the given
+	 * limit, the next page being fetched while the current one is consumed
+	 *
+	 * @param parameters The parameters to be sent to the server
+	 * @return The lazy subscriptions list
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	public static PagedIterable<Subscription> iterate(Map<String, String> parameters)
+			throws InvalidParametersException {
 
-		return SubscriptionListResponse.fromXml(res).getSubscriptionList();
+		return new PagedIterable<Subscription>(PayUClient.getDefault(), new PagedIterable.PageSource<Subscription>() {
 
+			@Override
+			public List<Subscription> find(Map<String, String> page) throws PayUException,
+					InvalidParametersException, ConnectionException {
+				return findList(page);
+			}
+		}, parameters, true);
 	}
 }
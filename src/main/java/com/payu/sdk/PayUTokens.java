@@ -25,6 +25,7 @@ package com.payu.sdk;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.ConnectionException;
@@ -32,6 +33,7 @@ import com.payu.sdk.exceptions.InvalidParametersException;
 import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.helper.HttpClientHelper;
 import com.payu.sdk.model.CreditCardToken;
+import com.payu.sdk.model.request.Request;
 import com.payu.sdk.payments.model.CreditCardTokenListResponse;
 import com.payu.sdk.payments.model.CreditCardTokenResponse;
 import com.payu.sdk.utils.RequestUtil;
@@ -66,20 +68,100 @@ public final class PayUTokens extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String[] required = new String[] { PayU.PARAMETERS.CREDIT_CARD_NUMBER,
-				PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD,
-				PayU.PARAMETERS.PAYER_ID,
-				PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE };
+		return create(PayUClient.getDefault(), parameters);
+	}
 
-		RequestUtil.validateParameters(parameters, required);
+	/**
+	 *
+	 * Creates a credit card token
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The created credit card token
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static CreditCardToken create(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildCreateTokenRequest(parameters),
-				RequestMethod.POST);
+		return createCall(client, parameters).send(client);
+	}
 
-		CreditCardTokenResponse response = CreditCardTokenResponse.fromXml(res);
+	/**
+	 * Creates the call of a credit card token creation petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<CreditCardTokenResponse, CreditCardToken> createCall(
+			final PayUClient client, final Map<String, String> parameters) {
+
+		return new ApiCall<CreditCardTokenResponse, CreditCardToken>(
+				CreditCardTokenResponse.class, RequestMethod.POST,
+				HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws InvalidParametersException {
+
+				String[] required = new String[] { PayU.PARAMETERS.CREDIT_CARD_NUMBER,
+						PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD,
+						PayU.PARAMETERS.PAYER_ID,
+						PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE };
+
+				RequestUtil.validateParameters(parameters, required);
 
-		return response.getCreditCardToken();
+				return RequestUtil.buildCreateTokenRequest(client, parameters);
+			}
+
+			@Override
+			CreditCardToken result(CreditCardTokenResponse response) {
+
+				return response.getCreditCardToken();
+			}
+		};
+	}
+
+	/**
+	 * Makes a credit card token creation petition without blocking the caller, see
+	 * {@link #create(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #create(Map)}
+	 */
+	public static Future<CreditCardToken> createAsync(
+			final Map<String, String> parameters) {
+
+		return createAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a credit card token creation petition without blocking the caller, see
+	 * {@link #create(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #create(Map)}
+	 */
+	static Future<CreditCardToken> createAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return createCall(client, parameters).sendAsync(client);
 	}
 
 	/**
@@ -97,22 +179,103 @@ public final class PayUTokens extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String[] required = new String[] {};
+		return find(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 *
+	 * Finds a credit card token
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The result credit card token list
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static List<CreditCardToken> find(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return findCall(client, parameters).send(client);
+	}
+
+	/**
+	 * Creates the call of a credit card tokens search petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<CreditCardTokenListResponse, List<CreditCardToken>> findCall(
+			final PayUClient client, final Map<String, String> parameters) {
+
+		return new ApiCall<CreditCardTokenListResponse, List<CreditCardToken>>(
+				CreditCardTokenListResponse.class, RequestMethod.POST,
+				HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws InvalidParametersException {
+
+				String[] required = new String[] {};
+
+				if (parameters.get(PayU.PARAMETERS.TOKEN_ID) == null
+						&& parameters.get(PayU.PARAMETERS.PAYER_ID) == null) {
+					required = new String[] { PayU.PARAMETERS.START_DATE,
+							PayU.PARAMETERS.END_DATE };
+				}
+
+				RequestUtil.validateParameters(parameters, required);
+
+				return RequestUtil.buildGetCreditCardTokensRequest(client, parameters);
+			}
 
-		if (parameters.get(PayU.PARAMETERS.TOKEN_ID) == null
-				&& parameters.get(PayU.PARAMETERS.PAYER_ID) == null) {
-			required = new String[] { PayU.PARAMETERS.START_DATE,
-					PayU.PARAMETERS.END_DATE };
-		}
+			@Override
+			List<CreditCardToken> result(CreditCardTokenListResponse response) {
 
-		RequestUtil.validateParameters(parameters, required);
+				return response.getCreditCardTokenList();
+			}
+		};
+	}
+
+	/**
+	 * Makes a credit card tokens search petition without blocking the caller, see
+	 * {@link #find(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #find(Map)}
+	 */
+	public static Future<List<CreditCardToken>> findAsync(
+			final Map<String, String> parameters) {
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildGetCreditCardTokensRequest(parameters),
-				RequestMethod.POST);
-		CreditCardTokenListResponse response = CreditCardTokenListResponse
-				.fromXml(res);
-		return response.getCreditCardTokenList();
+		return findAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a credit card tokens search petition without blocking the caller, see
+	 * {@link #find(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #find(Map)}
+	 */
+	static Future<List<CreditCardToken>> findAsync(final PayUClient client,
+			final Map<String, String> parameters) {
+
+		return findCall(client, parameters).sendAsync(client);
 	}
 
 	/**
@@ -130,18 +293,98 @@ public final class PayUTokens extends PayU {
 			throws PayUException, InvalidParametersException,
 			ConnectionException {
 
-		String[] required = new String[] { PayU.PARAMETERS.PAYER_ID,
-				PayU.PARAMETERS.TOKEN_ID };
+		return remove(PayUClient.getDefault(), parameters);
+	}
 
-		RequestUtil.validateParameters(parameters, required);
+	/**
+	 *
+	 * Removes a credit card token
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The removed credit card token
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	static CreditCardToken remove(PayUClient client, Map<String, String> parameters)
+			throws PayUException, InvalidParametersException,
+			ConnectionException {
+
+		return removeCall(client, parameters).send(client);
+	}
+
+	/**
+	 * Creates the call of a credit card token removal petition
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The call
+	 */
+	private static ApiCall<CreditCardTokenResponse, CreditCardToken> removeCall(
+			final PayUClient client, final Map<String, String> parameters) {
+
+		return new ApiCall<CreditCardTokenResponse, CreditCardToken>(
+				CreditCardTokenResponse.class, RequestMethod.POST,
+				HttpClientHelper.SOCKET_TIMEOUT) {
+
+			@Override
+			Request request() throws InvalidParametersException {
+
+				String[] required = new String[] { PayU.PARAMETERS.PAYER_ID,
+						PayU.PARAMETERS.TOKEN_ID };
 
-		String res = HttpClientHelper.sendRequest(
-				RequestUtil.buildRemoveTokenRequest(parameters),
-				RequestMethod.POST);
+				RequestUtil.validateParameters(parameters, required);
 
-		CreditCardTokenResponse response = CreditCardTokenResponse.fromXml(res);
+				return RequestUtil.buildRemoveTokenRequest(client, parameters);
+			}
+
+			@Override
+			CreditCardToken result(CreditCardTokenResponse response) {
+
+				return response.getCreditCardToken();
+			}
+		};
+	}
+
+	/**
+	 * Makes a credit card token removal petition without blocking the caller, see
+	 * {@link #remove(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #remove(Map)}
+	 */
+	public static Future<CreditCardToken> removeAsync(
+			final Map<String, String> parameters) {
+
+		return removeAsync(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Makes a credit card token removal petition without blocking the caller, see
+	 * {@link #remove(Map)}. Cancelling the returned future aborts the
+	 * request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server, they must not be
+	 *            changed until the call ends
+	 * @return The future result, its exceptions are the ones of
+	 *         {@link #remove(Map)}
+	 */
+	static Future<CreditCardToken> removeAsync(final PayUClient client,
+			final Map<String, String> parameters) {
 
-		return response.getCreditCardToken();
+		return removeCall(client, parameters).sendAsync(client);
 	}
 
 }
@@ -0,0 +1,165 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Encodes lines as UTF-8 into a buffer written to a file channel when full.
+ * The char and byte buffers are reused for every line.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+final class ChannelSink {
+
+	/** The size of the byte buffer */
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The charset of the files */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The file channel */
+	private final FileChannel channel;
+
+	/** The encoder of the lines */
+	private final CharsetEncoder encoder = UTF_8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	/** The encoded bytes not written yet */
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/** The chars of the line being encoded */
+	private char[] chars = new char[1024];
+
+	/** The buffer over the chars */
+	private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+	/** The error writing the channel, null if there was none */
+	private IOException failure;
+
+	/**
+	 * @param channel the file channel, positioned where the lines go
+	 */
+	ChannelSink(FileChannel channel) {
+
+		this.channel = channel;
+	}
+
+	/**
+	 * Writes a line
+	 *
+	 * @param line the line
+	 * @throws IOException if the channel can not be written
+	 */
+	void write(StringBuilder line) throws IOException {
+
+		int length = line.length();
+		if (length > chars.length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+			charBuffer = CharBuffer.wrap(chars);
+		}
+		line.getChars(0, length, chars, 0);
+		// Called on Buffer, the covariant overrides of Java 9 are not on older runtimes
+		((Buffer) charBuffer).clear();
+		((Buffer) charBuffer).limit(length);
+
+		CoderResult result;
+		do {
+			result = encoder.encode(charBuffer, buffer, true);
+			if (result.isOverflow()) {
+				drain();
+			}
+		} while (result.isOverflow());
+		while (encoder.flush(buffer).isOverflow()) {
+			drain();
+		}
+		encoder.reset();
+	}
+
+	/**
+	 * Writes the buffered bytes to the channel
+	 *
+	 * @throws IOException if the channel can not be written
+	 */
+	void flush() throws IOException {
+
+		drain();
+	}
+
+	/**
+	 * Discards the buffered bytes
+	 */
+	void discard() {
+
+		((Buffer) buffer).clear();
+	}
+
+	/**
+	 * @return the position in the file after the written lines
+	 * @throws IOException
+	 */
+	long position() throws IOException {
+
+		return channel.position() + buffer.position();
+	}
+
+	/**
+	 * @return the error writing the channel, null if there was none
+	 */
+	IOException getFailure() {
+
+		return failure;
+	}
+
+	/**
+	 * Writes the buffer to the channel
+	 *
+	 * @throws IOException if the channel can not be written
+	 */
+	private void drain() throws IOException {
+
+		((Buffer) buffer).flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			failure = e;
+			throw e;
+		} finally {
+			((Buffer) buffer).clear();
+		}
+	}
+}
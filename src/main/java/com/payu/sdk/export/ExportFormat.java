@@ -0,0 +1,181 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+/**
+ * The line formats of the exported records
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public enum ExportFormat {
+
+	/**
+	 * One JSON object per line, with the present columns as string members
+	 */
+	NDJSON {
+
+		@Override
+		void appendHeader(String[] columns, StringBuilder line) {
+			// No header
+		}
+
+		@Override
+		void appendRecord(String[] columns, StringBuilder[] values, boolean[] present,
+				StringBuilder line) {
+
+			line.append('{');
+			boolean first = true;
+			for (int i = 0; i < columns.length; i++) {
+				if (present[i]) {
+					if (!first) {
+						line.append(',');
+					}
+					first = false;
+					appendJsonString(columns[i], line);
+					line.append(':');
+					appendJsonString(values[i], line);
+				}
+			}
+			line.append('}').append('\n');
+		}
+	},
+
+	/**
+	 * RFC 4180 comma separated values, with a header line. The missing
+	 * columns are empty
+	 */
+	CSV {
+
+		@Override
+		void appendHeader(String[] columns, StringBuilder line) {
+
+			for (int i = 0; i < columns.length; i++) {
+				if (i > 0) {
+					line.append(',');
+				}
+				appendCsvField(columns[i], line);
+			}
+			line.append('\r').append('\n');
+		}
+
+		@Override
+		void appendRecord(String[] columns, StringBuilder[] values, boolean[] present,
+				StringBuilder line) {
+
+			for (int i = 0; i < columns.length; i++) {
+				if (i > 0) {
+					line.append(',');
+				}
+				if (present[i]) {
+					appendCsvField(values[i], line);
+				}
+			}
+			line.append('\r').append('\n');
+		}
+	};
+
+	/** The hexadecimal digits of the JSON escapes */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Appends the header line of a file
+	 *
+	 * @param columns the column names
+	 * @param line the line
+	 */
+	abstract void appendHeader(String[] columns, StringBuilder line);
+
+	/**
+	 * Appends the line of a record
+	 *
+	 * @param columns the column names
+	 * @param values the column values
+	 * @param present whether each column is in the record
+	 * @param line the line
+	 */
+	abstract void appendRecord(String[] columns, StringBuilder[] values, boolean[] present,
+			StringBuilder line);
+
+	/**
+	 * Appends a quoted and escaped JSON string
+	 *
+	 * @param value the value
+	 * @param line the line
+	 */
+	private static void appendJsonString(CharSequence value, StringBuilder line) {
+
+		line.append('"');
+		for (int i = 0, length = value.length(); i < length; i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				line.append('\\').append(c);
+			} else if (c == '\n') {
+				line.append('\\').append('n');
+			} else if (c == '\r') {
+				line.append('\\').append('r');
+			} else if (c == '\t') {
+				line.append('\\').append('t');
+			} else if (c < 0x20) {
+				line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+			} else {
+				line.append(c);
+			}
+		}
+		line.append('"');
+	}
+
+	/**
+	 * Appends a CSV field, quoted when it has a separator, a quote or a line
+	 * break
+	 *
+	 * @param value the value
+	 * @param line the line
+	 */
+	private static void appendCsvField(CharSequence value, StringBuilder line) {
+
+		int length = value.length();
+		boolean quoted = false;
+		for (int i = 0; i < length && !quoted; i++) {
+			char c = value.charAt(i);
+			quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+
+		if (!quoted) {
+			line.append(value);
+			return;
+		}
+
+		line.append('"');
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				line.append('"');
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+}
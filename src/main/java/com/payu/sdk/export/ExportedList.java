@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+import java.util.Map;
+
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.model.request.Request;
+import com.payu.sdk.utils.PaymentPlanRequestUtil;
+
+/**
+ * The list endpoints that can be exported, with the XML element of their
+ * records and their default columns. The columns of nested elements are
+ * named by their path, like <code>customer.id</code>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public enum ExportedList {
+
+	/** The subscriptions, see {@link com.payu.sdk.PayUSubscription#findList(Map)} */
+	SUBSCRIPTIONS("subscription", "id", "trialDays", "quantity", "installments",
+			"currentPeriodStart", "currentPeriodEnd", "customer.id", "customer.fullName",
+			"customer.email", "plan.id", "plan.planCode", "creditCardToken", "bankAccountId",
+			"termsAndConditionsAcepted", "immediatePayment", "notifyUrl", "sourceReference",
+			"extra1", "extra2", "sourceId", "description", "sourceBuyerIp",
+			"sourceNumberOfPayments", "sourceNextPaymentNumber", "creationSource") {
+
+		@Override
+		Request buildRequest(Map<String, String> parameters) throws PayUException,
+				InvalidParametersException {
+
+			return PaymentPlanRequestUtil.buildSubscriptionListRequest(parameters);
+		}
+	},
+
+	/** The recurring bills, see {@link com.payu.sdk.PayURecurringBill#findList(Map)} */
+	RECURRING_BILLS("recurringBill", "id", "orderId", "paymentMethod", "creditCard.token",
+			"bankAccount.id", "planId", "planCode", "subscriptionId", "customerId", "state",
+			"amount", "currency", "dateCharge") {
+
+		@Override
+		Request buildRequest(Map<String, String> parameters) throws PayUException,
+				InvalidParametersException {
+
+			return PaymentPlanRequestUtil.buildRecurringBillListRequest(parameters);
+		}
+	};
+
+	/** The XML element of the records */
+	private final String recordElement;
+
+	/** The default columns */
+	private final String[] columns;
+
+	/**
+	 * @param recordElement the XML element of the records
+	 * @param columns the default columns
+	 */
+	private ExportedList(String recordElement, String... columns) {
+
+		this.recordElement = recordElement;
+		this.columns = columns;
+	}
+
+	/**
+	 * @return the XML element of the records
+	 */
+	String getRecordElement() {
+
+		return recordElement;
+	}
+
+	/**
+	 * @return the default columns
+	 */
+	public String[] getColumns() {
+
+		return columns.clone();
+	}
+
+	/**
+	 * Builds the request of a page
+	 *
+	 * @param parameters the parameters of the page
+	 * @return the request
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 */
+	abstract Request buildRequest(Map<String, String> parameters) throws PayUException,
+			InvalidParametersException;
+}
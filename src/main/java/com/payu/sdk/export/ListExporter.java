@@ -0,0 +1,403 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.ResponseBodyHandler;
+import com.payu.sdk.utils.PagingParameters;
+import com.payu.sdk.utils.PropertiesFiles;
+
+/**
+ * Exports every record of a list endpoint to a NDJSON or CSV file. The list
+ * responses are read page by page with StAX straight into a buffered file
+ * channel, so the heap used does not grow with the number of records.
+ * <p>
+ * After each page the file is forced to disk and a checkpoint file is
+ * written with the offset of the next page. An export that fails is resumed
+ * from its checkpoint by running it again: the output is truncated to the
+ * last complete page and the following pages are fetched. Once the export is
+ * complete, running it again does nothing until the checkpoint is deleted.
+ *
+ * <pre>
+ * ListExporter exporter = ListExporter.builder(ExportedList.RECURRING_BILLS)
+ * 		.format(ExportFormat.CSV).output(new File("bills.csv")).build();
+ * long records = exporter.export();
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ListExporter {
+
+	/** The checkpoint keys */
+	private static final String LIST = "list";
+	private static final String FORMAT = "format";
+	private static final String OFFSET = "offset";
+	private static final String POSITION = "position";
+	private static final String RECORDS = "records";
+	private static final String COMPLETE = "complete";
+
+	/** The exported list */
+	private final ExportedList list;
+
+	/** The parameters of the calls */
+	private final Map<String, String> parameters;
+
+	/** The line format */
+	private final ExportFormat format;
+
+	/** The column names */
+	private final String[] columns;
+
+	/** The output file */
+	private final File output;
+
+	/** The checkpoint file */
+	private final File checkpoint;
+
+	/** The number of records per page */
+	private final int pageSize;
+
+	/** The offset of the first page */
+	private final int offset;
+
+	/**
+	 * Creates an exporter from its builder
+	 *
+	 * @param builder the builder
+	 * @throws InvalidParametersException if the limit or offset are invalid
+	 */
+	private ListExporter(Builder builder) throws InvalidParametersException {
+
+		list = builder.list;
+		parameters = new HashMap<String, String>(builder.parameters);
+		format = builder.format;
+		columns = builder.columns;
+		output = builder.output;
+		checkpoint = builder.checkpoint != null ? builder.checkpoint
+				: new File(builder.output.getPath() + ".checkpoint");
+		pageSize = PagingParameters.getLimit(parameters);
+		offset = PagingParameters.getOffset(parameters);
+	}
+
+	/**
+	 * @param list the list to export
+	 * @return a new exporter builder
+	 */
+	public static Builder builder(ExportedList list) {
+
+		return new Builder(list);
+	}
+
+	/**
+	 * @return the checkpoint file
+	 */
+	public File getCheckpoint() {
+
+		return checkpoint;
+	}
+
+	/**
+	 * Exports the records not exported yet, from the checkpoint if there is
+	 * one
+	 *
+	 * @return the number of records in the output file
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 * @throws IOException if the files can not be read or written, or the
+	 *             checkpoint is of another export
+	 */
+	public long export() throws PayUException, InvalidParametersException,
+			ConnectionException, IOException {
+
+		Properties state = readCheckpoint();
+		if (state != null && Boolean.parseBoolean(state.getProperty(COMPLETE))) {
+			return Long.parseLong(state.getProperty(RECORDS));
+		}
+
+		RandomAccessFile file = new RandomAccessFile(output, "rw");
+		try {
+			FileChannel channel = file.getChannel();
+			final ChannelSink sink = new ChannelSink(channel);
+			final RecordReader reader = new RecordReader(list.getRecordElement(), columns,
+					format);
+
+			int pageOffset;
+			long records;
+			long position;
+
+			if (state == null) {
+				channel.truncate(0);
+				reader.writeHeader(sink);
+				sink.flush();
+				pageOffset = offset;
+				records = 0;
+			} else {
+				position = Long.parseLong(state.getProperty(POSITION));
+				if (channel.size() < position) {
+					throw new IOException("The output file is shorter than its checkpoint");
+				}
+				channel.truncate(position);
+				channel.position(position);
+				pageOffset = Integer.parseInt(state.getProperty(OFFSET));
+				records = Long.parseLong(state.getProperty(RECORDS));
+			}
+
+			Map<String, String> pageParameters = new HashMap<String, String>(parameters);
+			pageParameters.put(PayU.PARAMETERS.LIMIT, String.valueOf(pageSize));
+
+			ResponseBodyHandler<Integer> handler = new ResponseBodyHandler<Integer>() {
+
+				@Override
+				public Integer handle(InputStream body) throws PayUException, IOException {
+
+					return reader.read(body, sink);
+				}
+			};
+
+			boolean complete;
+			do {
+				position = channel.position();
+				pageParameters.put(PayU.PARAMETERS.OFFSET, String.valueOf(pageOffset));
+
+				int pageRecords;
+				try {
+					pageRecords = HttpClientHelper.sendRequest(
+							list.buildRequest(pageParameters), RequestMethod.GET, handler);
+					sink.flush();
+				} catch (PayUException e) {
+					if (e.getErrorCode() != ErrorCode.NO_RESULTS_FOUND) {
+						rollback(channel, sink, position);
+						throw e;
+					}
+					pageRecords = 0;
+				} catch (ConnectionException e) {
+					rollback(channel, sink, position);
+					if (sink.getFailure() != null) {
+						throw sink.getFailure();
+					}
+					throw e;
+				}
+
+				channel.force(false);
+				records += pageRecords;
+				pageOffset += pageSize;
+				complete = pageRecords < pageSize;
+				writeCheckpoint(pageOffset, channel.position(), records, complete);
+			} while (!complete);
+
+			return records;
+
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Drops the lines of a failed page
+	 *
+	 * @param channel the file channel
+	 * @param sink the output
+	 * @param position the position after the last complete page
+	 * @throws IOException
+	 */
+	private static void rollback(FileChannel channel, ChannelSink sink, long position)
+			throws IOException {
+
+		sink.discard();
+		channel.truncate(position);
+		channel.position(position);
+	}
+
+	/**
+	 * Reads the checkpoint, checking it is of this export
+	 *
+	 * @return the checkpoint, null if there is none
+	 * @throws IOException
+	 */
+	private Properties readCheckpoint() throws IOException {
+
+		Properties state = PropertiesFiles.load(checkpoint);
+		if (state == null) {
+			return null;
+		}
+
+		if (!list.name().equals(state.getProperty(LIST))
+				|| !format.name().equals(state.getProperty(FORMAT))) {
+			throw new IOException("The checkpoint " + checkpoint + " is of another export");
+		}
+		return state;
+	}
+
+	/**
+	 * Writes the checkpoint, replacing the previous one
+	 *
+	 * @param nextOffset the offset of the next page
+	 * @param position the position after the last complete page
+	 * @param records the number of exported records
+	 * @param complete whether every record was exported
+	 * @throws IOException
+	 */
+	private void writeCheckpoint(int nextOffset, long position, long records, boolean complete)
+			throws IOException {
+
+		Properties state = new Properties();
+		state.setProperty(LIST, list.name());
+		state.setProperty(FORMAT, format.name());
+		state.setProperty(OFFSET, String.valueOf(nextOffset));
+		state.setProperty(POSITION, String.valueOf(position));
+		state.setProperty(RECORDS, String.valueOf(records));
+		state.setProperty(COMPLETE, String.valueOf(complete));
+
+		PropertiesFiles.store(state, checkpoint);
+	}
+
+	/**
+	 * Builds {@link ListExporter} instances. The output file is required
+	 */
+	public static final class Builder {
+
+		/** The exported list */
+		private final ExportedList list;
+
+		/** The parameters of the calls */
+		private Map<String, String> parameters = Collections.emptyMap();
+
+		/** The line format */
+		private ExportFormat format = ExportFormat.NDJSON;
+
+		/** The column names */
+		private String[] columns;
+
+		/** The output file */
+		private File output;
+
+		/** The checkpoint file, null for the output file plus .checkpoint */
+		private File checkpoint;
+
+		/**
+		 * @param list the exported list
+		 */
+		private Builder(ExportedList list) {
+
+			if (list == null) {
+				throw new IllegalArgumentException("The list can not be null");
+			}
+			this.list = list;
+			this.columns = list.getColumns();
+		}
+
+		/**
+		 * @param parameters the filters of the list, the limit is the page size
+		 * @return this builder
+		 */
+		public Builder parameters(Map<String, String> parameters) {
+
+			this.parameters = parameters;
+			return this;
+		}
+
+		/**
+		 * @param format the line format, NDJSON by default
+		 * @return this builder
+		 */
+		public Builder format(ExportFormat format) {
+
+			this.format = format;
+			return this;
+		}
+
+		/**
+		 * @param columns the exported columns, the ones of the list by default
+		 * @return this builder
+		 */
+		public Builder columns(String... columns) {
+
+			this.columns = columns.clone();
+			return this;
+		}
+
+		/**
+		 * @param output the output file
+		 * @return this builder
+		 */
+		public Builder output(File output) {
+
+			this.output = output;
+			return this;
+		}
+
+		/**
+		 * @param checkpoint the checkpoint file, the output file plus
+		 *            <code>.checkpoint</code> by default
+		 * @return this builder
+		 */
+		public Builder checkpoint(File checkpoint) {
+
+			this.checkpoint = checkpoint;
+			return this;
+		}
+
+		/**
+		 * @return the exporter
+		 * @throws InvalidParametersException if the limit or offset are
+		 *             invalid
+		 */
+		public ListExporter build() throws InvalidParametersException {
+
+			if (output == null) {
+				throw new IllegalStateException("The output file is required");
+			}
+			if (format == null || parameters == null) {
+				throw new IllegalStateException("The format and parameters can not be null");
+			}
+			Set<String> unique = new HashSet<String>(Arrays.asList(columns));
+			if (columns.length == 0 || unique.size() != columns.length || unique.contains(null)) {
+				throw new IllegalStateException("The columns must be unique and not empty");
+			}
+			return new ListExporter(this);
+		}
+	}
+}
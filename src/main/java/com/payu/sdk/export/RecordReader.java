@@ -0,0 +1,288 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+
+/**
+ * Reads the records of a list response with StAX and writes them as lines,
+ * record by record, without building the model. The column values are
+ * copied into buffers reused from one record to the next.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+final class RecordReader {
+
+	/** The StAX factory, thread safe once configured */
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+	/** The initial max element depth */
+	private static final int INITIAL_DEPTH = 16;
+
+	/** The XML element of the records */
+	private final String recordElement;
+
+	/** The column names */
+	private final String[] columns;
+
+	/** The line format */
+	private final ExportFormat format;
+
+	/** The elements of the columns, by path from the record element */
+	private final ElementNode root = new ElementNode();
+
+	/** The column values of the current record */
+	private final StringBuilder[] values;
+
+	/** Whether each column is in the current record */
+	private final boolean[] present;
+
+	/** The line being written */
+	private final StringBuilder line = new StringBuilder(256);
+
+	/** The element of each depth of the current record, null if not exported */
+	private ElementNode[] path = new ElementNode[INITIAL_DEPTH];
+
+	/**
+	 * @param recordElement the XML element of the records
+	 * @param columns the column names, nested elements separated by dots
+	 * @param format the line format
+	 */
+	RecordReader(String recordElement, String[] columns, ExportFormat format) {
+
+		this.recordElement = recordElement;
+		this.columns = columns;
+		this.format = format;
+		this.values = new StringBuilder[columns.length];
+		this.present = new boolean[columns.length];
+
+		for (int i = 0; i < columns.length; i++) {
+			ElementNode node = root;
+			for (String name : columns[i].split("\\.")) {
+				node = node.child(name);
+			}
+			node.column = i;
+			values[i] = new StringBuilder(32);
+		}
+	}
+
+	/**
+	 * Writes the header line, if the format has one
+	 *
+	 * @param sink the output
+	 * @throws IOException
+	 */
+	void writeHeader(ChannelSink sink) throws IOException {
+
+		line.setLength(0);
+		format.appendHeader(columns, line);
+		sink.write(line);
+	}
+
+	/**
+	 * Writes the records of a list response
+	 *
+	 * @param body the response body, may be null
+	 * @param sink the output
+	 * @return the number of records
+	 * @throws PayUException if the response is not valid XML
+	 * @throws IOException if the output can not be written
+	 */
+	int read(InputStream body, ChannelSink sink) throws PayUException, IOException {
+
+		if (body == null) {
+			return 0;
+		}
+
+		XMLStreamReader reader = null;
+		int records = 0;
+
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(body);
+
+			int depth = 0;
+			int recordDepth = -1;
+
+			while (reader.hasNext()) {
+
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					if (recordDepth < 0) {
+						if (recordElement.equals(reader.getLocalName())) {
+							recordDepth = depth;
+							startRecord(depth);
+						}
+					}
+					else {
+						enter(depth, reader.getLocalName());
+					}
+					break;
+
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if (recordDepth > 0) {
+						ElementNode node = path[depth];
+						if (node != null && node.column >= 0) {
+							values[node.column].append(reader.getTextCharacters(),
+									reader.getTextStart(), reader.getTextLength());
+						}
+					}
+					break;
+
+				case XMLStreamConstants.END_ELEMENT:
+					if (depth == recordDepth) {
+						line.setLength(0);
+						format.appendRecord(columns, values, present, line);
+						sink.write(line);
+						records++;
+						recordDepth = -1;
+					}
+					else if (recordDepth > 0) {
+						ElementNode node = path[depth];
+						if (node != null && node.column >= 0) {
+							present[node.column] = true;
+						}
+					}
+					depth--;
+					break;
+
+				default:
+					break;
+				}
+			}
+
+			return records;
+
+		} catch (XMLStreamException e) {
+			throw new PayUException(ErrorCode.XML_DESERIALIZATION_ERROR, e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					// Nothing else to release
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts a record, clearing the values of the previous one
+	 *
+	 * @param depth the depth of the record element
+	 */
+	private void startRecord(int depth) {
+
+		for (int i = 0; i < values.length; i++) {
+			values[i].setLength(0);
+		}
+		Arrays.fill(present, false);
+		ensureDepth(depth);
+		path[depth] = root;
+	}
+
+	/**
+	 * Enters an element of the current record
+	 *
+	 * @param depth the depth of the element
+	 * @param name the element name
+	 */
+	private void enter(int depth, String name) {
+
+		ensureDepth(depth);
+		ElementNode parent = path[depth - 1];
+		path[depth] = parent != null && parent.children != null ? parent.children.get(name)
+				: null;
+	}
+
+	/**
+	 * @param depth the depth to hold
+	 */
+	private void ensureDepth(int depth) {
+
+		if (depth >= path.length) {
+			path = Arrays.copyOf(path, Math.max(depth + 1, path.length * 2));
+		}
+	}
+
+	/**
+	 * Creates the StAX factory, without DTD nor external entities support
+	 *
+	 * @return the StAX factory
+	 */
+	private static XMLInputFactory createXmlInputFactory() {
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * An element on the path of some column
+	 */
+	private static final class ElementNode {
+
+		/** The child elements, by name, null if there is none */
+		private Map<String, ElementNode> children;
+
+		/** The column of the element, -1 if it is not a column */
+		private int column = -1;
+
+		/**
+		 * Gets a child element, adding it the first time
+		 *
+		 * @param name the element name
+		 * @return the child
+		 */
+		private ElementNode child(String name) {
+
+			if (children == null) {
+				children = new HashMap<String, ElementNode>();
+			}
+			ElementNode child = children.get(name);
+			if (child == null) {
+				child = new ElementNode();
+				children.put(name, child);
+			}
+			return child;
+		}
+	}
+}
@@ -0,0 +1,362 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * An {@link AsyncPayUTransport} over the non blocking Apache http client. A
+ * few I/O threads serve every request in flight, so the asynchronous calls of
+ * a client using it hold no thread while they wait for their responses.
+ * <p>
+ * The connections follow the given {@link ConnectionPoolSettings}, the
+ * payments max per route being the one of every route. Each request in flight
+ * needs a connection, the others wait for one without holding a thread, so
+ * the pool should be sized to the max in flight of the
+ * {@link AsyncRequestExecutor}. Needs the httpasyncclient 4.1 library.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ApacheAsyncTransport implements AsyncPayUTransport, Closeable {
+
+	/** The connection settings */
+	private final ConnectionPoolSettings settings;
+
+	/** The client that validates the server certificates */
+	private volatile CloseableHttpAsyncClient trustedClient;
+
+	/** The client of the non productive environments */
+	private volatile CloseableHttpAsyncClient trustAllClient;
+
+	/**
+	 * Creates a transport with the default connection settings
+	 */
+	public ApacheAsyncTransport() {
+
+		this(new ConnectionPoolSettings());
+	}
+
+	/**
+	 * Creates a transport
+	 *
+	 * @param settings
+	 *            The connection settings, copied so later changes do not
+	 *            affect them
+	 */
+	public ApacheAsyncTransport(ConnectionPoolSettings settings) {
+
+		if (settings == null) {
+			throw new IllegalArgumentException("The connection pool settings can not be null");
+		}
+		this.settings = new ConnectionPoolSettings(settings);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.payu.sdk.helper.AsyncPayUTransport#executeAsync(com.payu.sdk.helper.TransportRequest, org.apache.http.concurrent.FutureCallback)
+	 */
+	@Override
+	public Cancellable executeAsync(TransportRequest request,
+			final FutureCallback<TransportResponse> callback) {
+
+		final HttpRequestBase httpRequest;
+		final Future<HttpResponse> httpResponse;
+
+		try {
+			httpRequest = ApacheTransport.createHttpRequest(request);
+			httpRequest.setConfig(RequestConfig.custom()
+					.setConnectTimeout(settings.getConnectionTimeout())
+					.setConnectionRequestTimeout(settings.getConnectionTimeout())
+					.setSocketTimeout(request.getSocketTimeOut())
+					.build());
+
+			httpResponse = getClient(SslSocketFactories.isTrustAll(request.getUrl()))
+					.execute(httpRequest, new FutureCallback<HttpResponse>() {
+
+						@Override
+						public void completed(HttpResponse response) {
+
+							callback.completed(new BufferedResponse(response));
+						}
+
+						@Override
+						public void failed(Exception e) {
+
+							callback.failed(e);
+						}
+
+						@Override
+						public void cancelled() {
+
+							callback.cancelled();
+						}
+					});
+		}
+		catch (IOException e) {
+			callback.failed(e);
+			return null;
+		}
+		catch (ConnectionException e) {
+			callback.failed(e);
+			return null;
+		}
+		catch (IllegalStateException e) {
+			// The client was closed meanwhile
+			callback.failed(e);
+			return null;
+		}
+
+		return new Cancellable() {
+
+			@Override
+			public boolean cancel() {
+
+				httpRequest.abort();
+				return httpResponse.cancel(true);
+			}
+		};
+	}
+
+	/**
+	 * Sends the request and waits for its response
+	 *
+	 * @see com.payu.sdk.helper.PayUTransport#execute(com.payu.sdk.helper.TransportRequest)
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+
+		final BasicFuture<TransportResponse> response = new BasicFuture<TransportResponse>(null);
+
+		Cancellable httpRequest = executeAsync(request, new FutureCallback<TransportResponse>() {
+
+			@Override
+			public void completed(TransportResponse result) {
+
+				response.completed(result);
+			}
+
+			@Override
+			public void failed(Exception e) {
+
+				response.failed(e);
+			}
+
+			@Override
+			public void cancelled() {
+
+				response.cancel();
+			}
+		});
+
+		// Lets the asynchronous call running this request abort it
+		AsyncRequestExecutor.register(httpRequest);
+
+		try {
+			return response.get();
+		}
+		catch (InterruptedException e) {
+			if (httpRequest != null) {
+				httpRequest.cancel();
+			}
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+		}
+		catch (CancellationException e) {
+			throw new IOException("The request was aborted", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Closes the clients and their connections. They are created again on the
+	 * next request
+	 */
+	@Override
+	public void close() {
+
+		CloseableHttpAsyncClient trusted;
+		CloseableHttpAsyncClient trustAll;
+		synchronized (this) {
+			trusted = trustedClient;
+			trustAll = trustAllClient;
+			trustedClient = null;
+			trustAllClient = null;
+		}
+		closeClient(trusted);
+		closeClient(trustAll);
+	}
+
+	/**
+	 * Gets the started client of the given environment kind, creating it the
+	 * first time
+	 *
+	 * @param trustAll
+	 *            Whether the server certificates are trusted without
+	 *            validation, only for the non productive environments
+	 * @return the client
+	 * @throws ConnectionException
+	 */
+	private CloseableHttpAsyncClient getClient(boolean trustAll) throws ConnectionException {
+
+		CloseableHttpAsyncClient client = trustAll ? trustAllClient : trustedClient;
+		if (client == null) {
+			synchronized (this) {
+				client = trustAll ? trustAllClient : trustedClient;
+				if (client == null) {
+					client = createClient(trustAll);
+					client.start();
+					if (trustAll) {
+						trustAllClient = client;
+					}
+					else {
+						trustedClient = client;
+					}
+				}
+			}
+		}
+		return client;
+	}
+
+	/**
+	 * Creates a client
+	 *
+	 * @param trustAll
+	 *            Whether the server certificates are trusted without
+	 *            validation
+	 * @return the client, not started
+	 * @throws ConnectionException
+	 */
+	private CloseableHttpAsyncClient createClient(boolean trustAll) throws ConnectionException {
+
+		SSLContext context = trustAll ? SslSocketFactories.getTrustAllContext()
+				: SSLContexts.createDefault();
+		HostnameVerifier verifier = trustAll ? NoopHostnameVerifier.INSTANCE
+				: SSLConnectionSocketFactory.getDefaultHostnameVerifier();
+
+		return HttpAsyncClients.custom()
+				.setSSLStrategy(new SSLIOSessionStrategy(context,
+						SslSocketFactories.TLS_PROTOCOLS, null, verifier))
+				.setMaxConnTotal(settings.getMaxTotal())
+				.setMaxConnPerRoute(settings.getPaymentsMaxPerRoute())
+				.setKeepAliveStrategy(new HttpClientPool.KeepAliveStrategy(settings.getKeepAlive()))
+				.disableCookieManagement()
+				.build();
+	}
+
+	/**
+	 * Closes the given client logging any error
+	 *
+	 * @param client
+	 *            The client to close, may be null
+	 */
+	private static void closeClient(CloseableHttpAsyncClient client) {
+
+		if (client != null) {
+			try {
+				client.close();
+			}
+			catch (IOException e) {
+				LoggerUtil.warning("Error closing the asynchronous http client {0}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * A response whose body was read into memory by the I/O threads
+	 */
+	private static final class BufferedResponse implements TransportResponse {
+
+		/** The http response */
+		private final HttpResponse httpResponse;
+
+		/**
+		 * @param httpResponse the http response
+		 */
+		private BufferedResponse(HttpResponse httpResponse) {
+
+			this.httpResponse = httpResponse;
+		}
+
+		@Override
+		public int getStatusCode() {
+
+			return httpResponse.getStatusLine().getStatusCode();
+		}
+
+		@Override
+		public String getReasonPhrase() {
+
+			return httpResponse.getStatusLine().getReasonPhrase();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+
+			HttpEntity entity = httpResponse.getEntity();
+			return entity != null ? entity.getContent() : null;
+		}
+
+		@Override
+		public void close() {
+
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.util.EntityUtils;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * The default {@link PayUTransport}, which sends the requests through the
+ * pooled Apache http clients
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ApacheTransport implements PayUTransport {
+
+	/** The connection pools */
+	private final HttpClientPools pools;
+
+	/**
+	 * Creates a transport over the given connection pools
+	 *
+	 * @param pools
+	 *            The connection pools
+	 */
+	public ApacheTransport(HttpClientPools pools) {
+
+		if (pools == null) {
+			throw new IllegalArgumentException("The connection pools may not be null");
+		}
+		this.pools = pools;
+	}
+
+	/**
+	 * @return the connection pools
+	 */
+	public HttpClientPools getPools() {
+
+		return pools;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.payu.sdk.helper.PayUTransport#execute(com.payu.sdk.helper.TransportRequest)
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+
+		final HttpRequestBase httpRequest = createHttpRequest(request);
+
+		HttpClientPool pool;
+		try {
+			pool = pools.getPool(request.getUrl(), request.isReports());
+		}
+		catch (ConnectionException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		// Lets the asynchronous call running this request abort it
+		AsyncRequestExecutor.register(new Cancellable() {
+
+			@Override
+			public boolean cancel() {
+
+				httpRequest.abort();
+				return true;
+			}
+		});
+
+		CloseableHttpResponse httpResponse = pool.execute(httpRequest,
+				request.getSocketTimeOut());
+
+		if (httpResponse == null) {
+			throw new IOException("No response from server");
+		}
+		return new ApacheResponse(httpResponse);
+	}
+
+	/**
+	 * Creates the http request of the given request
+	 *
+	 * @param request
+	 *            The request to send
+	 * @return The http request
+	 * @throws IOException
+	 *             if the url is invalid
+	 */
+	static HttpRequestBase createHttpRequest(TransportRequest request)
+			throws IOException {
+
+		HttpRequestBase httpMethod;
+
+		switch (request.getMethod()) {
+		case POST:
+			HttpPost post = new HttpPost();
+			post.setEntity(new XmlRequestEntity(request.getRequest()));
+			httpMethod = post;
+			break;
+		case GET:
+			httpMethod = new HttpGet();
+			break;
+		case DELETE:
+			httpMethod = new HttpDelete();
+			break;
+		case PUT:
+			HttpPut put = new HttpPut();
+			put.setEntity(new XmlRequestEntity(request.getRequest()));
+			httpMethod = put;
+			break;
+		default:
+			throw new IOException("Invalid connection method");
+		}
+
+		try {
+			httpMethod.setURI(new URI(request.getUrl()));
+		}
+		catch (URISyntaxException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+
+		for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+			httpMethod.setHeader(header.getKey(), header.getValue());
+		}
+
+		return httpMethod;
+	}
+
+	/**
+	 * A response of the Apache http client
+	 */
+	private static final class ApacheResponse implements TransportResponse {
+
+		/** The http response */
+		private final CloseableHttpResponse httpResponse;
+
+		/**
+		 * @param httpResponse the http response
+		 */
+		private ApacheResponse(CloseableHttpResponse httpResponse) {
+
+			this.httpResponse = httpResponse;
+		}
+
+		@Override
+		public int getStatusCode() {
+
+			return httpResponse.getStatusLine().getStatusCode();
+		}
+
+		@Override
+		public String getReasonPhrase() {
+
+			return httpResponse.getStatusLine().getReasonPhrase();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+
+			HttpEntity entity = httpResponse.getEntity();
+			return entity != null ? entity.getContent() : null;
+		}
+
+		/**
+		 * Consumes the pending entity content and closes the response, so the
+		 * connection goes back to the pool
+		 */
+		@Override
+		public void close() {
+
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
+			try {
+				httpResponse.close();
+			}
+			catch (IOException e) {
+				LoggerUtil.debug("Error closing the response {0}", e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
+
+/**
+ * A {@link PayUTransport} that sends the requests without blocking, so the
+ * calls in flight do not hold a thread while they wait for their responses.
+ * <p>
+ * The asynchronous calls of a client whose transport does not implement this
+ * interface run {@link #execute(TransportRequest)} on the threads of its
+ * {@link AsyncRequestExecutor}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see ApacheAsyncTransport
+ */
+public interface AsyncPayUTransport extends PayUTransport {
+
+	/**
+	 * Sends a request without blocking. The callback gets the response, with
+	 * its body already read into memory, or the failure. It is called on the
+	 * threads of the transport, so it must not block
+	 *
+	 * @param request
+	 *            The request to send
+	 * @param callback
+	 *            The callback of the response
+	 * @return The way to abort the request, so its connection is closed, or
+	 *         null if it failed before being sent
+	 */
+	Cancellable executeAsync(TransportRequest request,
+			FutureCallback<TransportResponse> callback);
+}
@@ -0,0 +1,487 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
+
+/**
+ * Runs the asynchronous calls of the SDK. At most a fixed number of calls are
+ * in flight, the others wait in a bounded queue and are rejected when it is
+ * full.
+ * <p>
+ * With an {@link AsyncPayUTransport}, like {@link ApacheAsyncTransport}, the
+ * threads of the executor only build the requests and read the responses, so
+ * a few threads keep many calls in flight. With the other transports each
+ * call holds a thread for its whole round trip, so the calls in flight are
+ * also bounded by the threads. Either way they are bounded by the connections
+ * of the transport, see {@link ConnectionPoolSettings}.
+ * <p>
+ * Cancelling the future of a call aborts its http request, so the connection
+ * is freed right away. PayU may still process a request that was already
+ * sent.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class AsyncRequestExecutor implements Closeable {
+
+	/** The default max number of calls in flight */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 20;
+
+	/** The default max number of calls waiting to be sent */
+	public static final int DEFAULT_MAX_QUEUED = 1000;
+
+	/** The time in seconds an idle thread is kept */
+	private static final long KEEP_ALIVE = 60;
+
+	/** The call running on each thread of the executors */
+	private static final ThreadLocal<Abortable> CURRENT_TASK = new ThreadLocal<Abortable>();
+
+	/** The number of executors created, used to name their threads */
+	private static final AtomicInteger EXECUTORS = new AtomicInteger();
+
+	/** The executor used when none is given */
+	private static volatile AsyncRequestExecutor defaultExecutor;
+
+	/** The executor of the calls */
+	private final ThreadPoolExecutor executor;
+
+	/** The max number of calls in flight */
+	private final int maxInFlight;
+
+	/** The permits of the calls in flight */
+	private final Semaphore inFlight;
+
+	/**
+	 * Creates an executor with a thread per call in flight, as needed by the
+	 * blocking transports
+	 *
+	 * @param maxInFlight the max number of calls in flight
+	 * @param maxQueued the max number of calls waiting to be sent
+	 */
+	public AsyncRequestExecutor(int maxInFlight, int maxQueued) {
+
+		this(maxInFlight, maxInFlight, maxQueued);
+	}
+
+	/**
+	 * Creates an executor
+	 *
+	 * @param threads the number of threads, a few are enough with an
+	 *            {@link AsyncPayUTransport}
+	 * @param maxInFlight the max number of calls in flight
+	 * @param maxQueued the max number of calls waiting to be sent
+	 */
+	public AsyncRequestExecutor(int threads, int maxInFlight, int maxQueued) {
+
+		if (threads <= 0 || maxInFlight <= 0 || maxQueued <= 0) {
+			throw new IllegalArgumentException("The executor limits must be positive");
+		}
+
+		final String prefix = "payu-async-" + EXECUTORS.incrementAndGet() + "-";
+
+		executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(maxQueued),
+				new ThreadFactory() {
+
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+
+		this.maxInFlight = maxInFlight;
+		inFlight = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * Gets the executor used when none is given, creating it with the default
+	 * limits the first time
+	 *
+	 * @return the default executor
+	 */
+	public static AsyncRequestExecutor getDefault() {
+
+		AsyncRequestExecutor current = defaultExecutor;
+		if (current == null) {
+			synchronized (AsyncRequestExecutor.class) {
+				current = defaultExecutor;
+				if (current == null) {
+					current = new AsyncRequestExecutor(DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_QUEUED);
+					defaultExecutor = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Sets the executor used when none is given. The previous one is closed
+	 * once its calls end
+	 *
+	 * @param executor the default executor
+	 */
+	public static void setDefault(AsyncRequestExecutor executor) {
+
+		if (executor == null) {
+			throw new IllegalArgumentException("The executor can not be null");
+		}
+
+		AsyncRequestExecutor previous;
+		synchronized (AsyncRequestExecutor.class) {
+			previous = defaultExecutor;
+			defaultExecutor = executor;
+		}
+		if (previous != null && previous != executor) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Submits a blocking call, which holds a thread while it is in flight
+	 *
+	 * @param <T> the result type
+	 * @param call the call
+	 * @return the future result of the call, cancelling it aborts the call
+	 * @throws RejectedExecutionException if too many calls are waiting or
+	 *             the executor is closed
+	 */
+	public <T> Future<T> submit(Callable<T> call) {
+
+		AbortableTask<T> task = new AbortableTask<T>(call);
+		executor.execute(task);
+		return task;
+	}
+
+	/**
+	 * Submits a call that frees its thread while it waits for its response
+	 *
+	 * @param <T> the result type
+	 * @param call the call
+	 * @return the future result of the call, cancelling it aborts the call
+	 * @throws RejectedExecutionException if too many calls are waiting or
+	 *             the executor is closed
+	 */
+	public <T> Future<T> submit(AsyncCall<T> call) {
+
+		AsyncTask<T> task = new AsyncTask<T>(call);
+		executor.execute(task);
+		return task;
+	}
+
+	/**
+	 * @return the number of calls in flight
+	 */
+	public int getInFlight() {
+
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	/**
+	 * @return the number of calls waiting to be sent
+	 */
+	public int getQueued() {
+
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Stops accepting calls. The submitted ones still run
+	 */
+	@Override
+	public void close() {
+
+		executor.shutdown();
+	}
+
+	/**
+	 * Registers the http request of the call running on this thread, so
+	 * cancelling the call aborts it. Nothing is done out of an asynchronous
+	 * call. {@link PayUTransport} implementations call it with the way to
+	 * abort their requests
+	 *
+	 * @param request the http request about to be executed
+	 */
+	public static void register(Cancellable request) {
+
+		Abortable task = CURRENT_TASK.get();
+		if (task != null) {
+			task.setRequest(request);
+		}
+	}
+
+	/**
+	 * Unregisters the http request of the call running on this thread, once
+	 * its response has been read
+	 */
+	public static void unregister() {
+
+		Abortable task = CURRENT_TASK.get();
+		if (task != null) {
+			task.setRequest(null);
+		}
+	}
+
+	/**
+	 * A call that is started on a thread of the executor and ends on the
+	 * threads of the transport
+	 *
+	 * @param <T> the result type
+	 */
+	public interface AsyncCall<T> {
+
+		/**
+		 * Starts the call without waiting for its response
+		 *
+		 * @param callback the callback of the result, called once
+		 * @return the way to abort the http request, null if there is none
+		 * @throws Exception if the call can not be started
+		 */
+		Cancellable start(FutureCallback<T> callback) throws Exception;
+	}
+
+	/**
+	 * A call whose http request can be aborted
+	 */
+	private interface Abortable {
+
+		/**
+		 * Sets the http request in flight, aborting it if the call is
+		 * already cancelled
+		 *
+		 * @param httpRequest the http request, null if there is none
+		 */
+		void setRequest(Cancellable httpRequest);
+	}
+
+	/**
+	 * A blocking call whose http request is aborted when it is cancelled
+	 *
+	 * @param <T> the result type
+	 */
+	private final class AbortableTask<T> extends FutureTask<T> implements Abortable {
+
+		/** The http request in flight, null if there is none */
+		private final AtomicReference<Cancellable> request = new AtomicReference<Cancellable>();
+
+		/**
+		 * @param call the call
+		 */
+		private AbortableTask(Callable<T> call) {
+
+			super(call);
+		}
+
+		@Override
+		public void run() {
+
+			if (isDone()) {
+				return;
+			}
+			try {
+				inFlight.acquire();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				setException(e);
+				return;
+			}
+
+			CURRENT_TASK.set(this);
+			try {
+				super.run();
+			} finally {
+				CURRENT_TASK.remove();
+				request.set(null);
+				inFlight.release();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				abort(request.get());
+			}
+			return cancelled;
+		}
+
+		@Override
+		public void setRequest(Cancellable httpRequest) {
+
+			request.set(httpRequest);
+			if (isCancelled()) {
+				abort(httpRequest);
+			}
+		}
+	}
+
+	/**
+	 * A call that holds its permit, not its thread, until its response
+	 * arrives. Its http request is aborted when it is cancelled
+	 *
+	 * @param <T> the result type
+	 */
+	private final class AsyncTask<T> extends BasicFuture<T> implements Runnable, Abortable {
+
+		/** The call */
+		private final AsyncCall<T> call;
+
+		/** The http request in flight, null if there is none */
+		private final AtomicReference<Cancellable> request = new AtomicReference<Cancellable>();
+
+		/** Whether the call ended and gave its permit back */
+		private final AtomicBoolean ended = new AtomicBoolean();
+
+		/**
+		 * @param call the call
+		 */
+		private AsyncTask(AsyncCall<T> call) {
+
+			super(null);
+			this.call = call;
+		}
+
+		@Override
+		public void run() {
+
+			if (isDone()) {
+				return;
+			}
+			try {
+				inFlight.acquire();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed(e);
+				return;
+			}
+
+			FutureCallback<T> callback = new FutureCallback<T>() {
+
+				@Override
+				public void completed(T result) {
+
+					end();
+					AsyncTask.this.completed(result);
+				}
+
+				@Override
+				public void failed(Exception e) {
+
+					end();
+					AsyncTask.this.failed(e);
+				}
+
+				@Override
+				public void cancelled() {
+
+					end();
+					AsyncTask.this.cancel(false);
+				}
+			};
+
+			if (isDone()) {
+				// Cancelled while waiting for a permit
+				end();
+				return;
+			}
+
+			// The blocking transports register their requests while they run
+			CURRENT_TASK.set(this);
+			try {
+				setRequest(call.start(callback));
+			}
+			catch (Exception e) {
+				callback.failed(e);
+			}
+			finally {
+				CURRENT_TASK.remove();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				abort(request.get());
+			}
+			return cancelled;
+		}
+
+		@Override
+		public void setRequest(Cancellable httpRequest) {
+
+			request.set(httpRequest);
+			if (isCancelled()) {
+				abort(httpRequest);
+			}
+		}
+
+		/**
+		 * Gives the permit back, once
+		 */
+		private void end() {
+
+			if (ended.compareAndSet(false, true)) {
+				request.set(null);
+				inFlight.release();
+			}
+		}
+	}
+
+	/**
+	 * @param httpRequest the http request to abort, may be null
+	 */
+	private static void abort(Cancellable httpRequest) {
+
+		if (httpRequest != null) {
+			httpRequest.cancel();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The metrics of the calls made by a client: the number of calls, the failed
+ * ones and their latency, from the request being sent until its response is
+ * read. The values are updated as the calls end, so they can be read at any
+ * time.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see com.payu.sdk.PayUClient#getMetrics()
+ */
+public final class ClientMetrics {
+
+	/** The number of ended calls */
+	private final AtomicLong calls = new AtomicLong();
+
+	/** The number of calls ended with an exception */
+	private final AtomicLong errors = new AtomicLong();
+
+	/** The time of all the calls in nanoseconds */
+	private final AtomicLong totalLatency = new AtomicLong();
+
+	/** The longest call time in nanoseconds */
+	private final AtomicLong maxLatency = new AtomicLong();
+
+	/**
+	 * Records an ended call
+	 *
+	 * @param latency the call time in nanoseconds
+	 * @param failed whether the call ended with an exception
+	 */
+	void record(long latency, boolean failed) {
+
+		calls.incrementAndGet();
+		if (failed) {
+			errors.incrementAndGet();
+		}
+		totalLatency.addAndGet(latency);
+
+		long max = maxLatency.get();
+		while (latency > max && !maxLatency.compareAndSet(max, latency)) {
+			max = maxLatency.get();
+		}
+	}
+
+	/**
+	 * @return the number of ended calls
+	 */
+	public long getCalls() {
+
+		return calls.get();
+	}
+
+	/**
+	 * @return the number of calls ended with an exception
+	 */
+	public long getErrors() {
+
+		return errors.get();
+	}
+
+	/**
+	 * @param unit the time unit
+	 * @return the average call time, 0 if there are no calls yet
+	 */
+	public long getAverageLatency(TimeUnit unit) {
+
+		long ended = calls.get();
+		return ended > 0 ? unit.convert(totalLatency.get() / ended, TimeUnit.NANOSECONDS) : 0;
+	}
+
+	/**
+	 * @param unit the time unit
+	 * @return the longest call time
+	 */
+	public long getMaxLatency(TimeUnit unit) {
+
+		return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("ClientMetrics [calls=%s, errors=%s, averageLatencyMs=%s, maxLatencyMs=%s]",
+				getCalls(), getErrors(), getAverageLatency(TimeUnit.MILLISECONDS),
+				getMaxLatency(TimeUnit.MILLISECONDS));
+	}
+}
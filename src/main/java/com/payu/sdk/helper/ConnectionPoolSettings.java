@@ -0,0 +1,214 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+/**
+ * The settings of the pooled http connections used by the SDK. The payments
+ * and reports APIs are served by different pools, so each one has its own per
+ * route limit.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see HttpClientPool
+ */
+public class ConnectionPoolSettings {
+
+	/** The default max total connections of a pool. */
+	public static final int DEFAULT_MAX_TOTAL = 50;
+
+	/** The default max connections per route to the payments API. */
+	public static final int DEFAULT_PAYMENTS_MAX_PER_ROUTE = 20;
+
+	/** The default max connections per route to the reports API. */
+	public static final int DEFAULT_REPORTS_MAX_PER_ROUTE = 10;
+
+	/** The default keep alive in ms when the server does not send one. */
+	public static final long DEFAULT_KEEP_ALIVE = 30000L;
+
+	/** The default time in ms an idle connection is kept in the pool. */
+	public static final long DEFAULT_IDLE_TIMEOUT = 60000L;
+
+	/** The default inactivity in ms after which a connection is validated. */
+	public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+
+	/** The default connection timeout in ms. */
+	public static final int DEFAULT_CONNECTION_TIMEOUT = 10000;
+
+	/** The max total connections of a pool */
+	private int maxTotal = DEFAULT_MAX_TOTAL;
+
+	/** The max connections per route to the payments API */
+	private int paymentsMaxPerRoute = DEFAULT_PAYMENTS_MAX_PER_ROUTE;
+
+	/** The max connections per route to the reports API */
+	private int reportsMaxPerRoute = DEFAULT_REPORTS_MAX_PER_ROUTE;
+
+	/** The keep alive in ms */
+	private long keepAlive = DEFAULT_KEEP_ALIVE;
+
+	/** The idle timeout in ms */
+	private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+	/** The inactivity in ms after which a connection is validated */
+	private int validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+
+	/** The connection timeout in ms */
+	private int connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+
+	/**
+	 * Creates the default settings
+	 */
+	public ConnectionPoolSettings() {
+	}
+
+	/**
+	 * Creates a copy of the given settings
+	 *
+	 * @param settings the settings to copy
+	 */
+	public ConnectionPoolSettings(ConnectionPoolSettings settings) {
+
+		maxTotal = settings.maxTotal;
+		paymentsMaxPerRoute = settings.paymentsMaxPerRoute;
+		reportsMaxPerRoute = settings.reportsMaxPerRoute;
+		keepAlive = settings.keepAlive;
+		idleTimeout = settings.idleTimeout;
+		validateAfterInactivity = settings.validateAfterInactivity;
+		connectionTimeout = settings.connectionTimeout;
+	}
+
+	/**
+	 * @return the max total connections of a pool
+	 */
+	public int getMaxTotal() {
+
+		return maxTotal;
+	}
+
+	/**
+	 * @param maxTotal the max total connections of a pool to set
+	 */
+	public void setMaxTotal(int maxTotal) {
+
+		this.maxTotal = maxTotal;
+	}
+
+	/**
+	 * @return the max connections per route to the payments API
+	 */
+	public int getPaymentsMaxPerRoute() {
+
+		return paymentsMaxPerRoute;
+	}
+
+	/**
+	 * @param paymentsMaxPerRoute the max connections per route to the payments API to set
+	 */
+	public void setPaymentsMaxPerRoute(int paymentsMaxPerRoute) {
+
+		this.paymentsMaxPerRoute = paymentsMaxPerRoute;
+	}
+
+	/**
+	 * @return the max connections per route to the reports API
+	 */
+	public int getReportsMaxPerRoute() {
+
+		return reportsMaxPerRoute;
+	}
+
+	/**
+	 * @param reportsMaxPerRoute the max connections per route to the reports API to set
+	 */
+	public void setReportsMaxPerRoute(int reportsMaxPerRoute) {
+
+		this.reportsMaxPerRoute = reportsMaxPerRoute;
+	}
+
+	/**
+	 * @return the keep alive in ms used when the server does not send one
+	 */
+	public long getKeepAlive() {
+
+		return keepAlive;
+	}
+
+	/**
+	 * @param keepAlive the keep alive in ms to set
+	 */
+	public void setKeepAlive(long keepAlive) {
+
+		this.keepAlive = keepAlive;
+	}
+
+	/**
+	 * @return the time in ms an idle connection is kept in the pool
+	 */
+	public long getIdleTimeout() {
+
+		return idleTimeout;
+	}
+
+	/**
+	 * @param idleTimeout the idle timeout in ms to set
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * @return the inactivity in ms after which a connection is validated
+	 */
+	public int getValidateAfterInactivity() {
+
+		return validateAfterInactivity;
+	}
+
+	/**
+	 * @param validateAfterInactivity the inactivity in ms to set
+	 */
+	public void setValidateAfterInactivity(int validateAfterInactivity) {
+
+		this.validateAfterInactivity = validateAfterInactivity;
+	}
+
+	/**
+	 * @return the connection timeout in ms
+	 */
+	public int getConnectionTimeout() {
+
+		return connectionTimeout;
+	}
+
+	/**
+	 * @param connectionTimeout the connection timeout in ms to set
+	 */
+	public void setConnectionTimeout(int connectionTimeout) {
+
+		this.connectionTimeout = connectionTimeout;
+	}
+
+}
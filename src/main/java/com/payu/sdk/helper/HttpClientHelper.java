@@ -24,39 +24,25 @@
 package com.payu.sdk.helper;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.io.Serializable;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.apache.http.HttpEntity;
+import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.conn.scheme.Scheme;
-import org.apache.http.conn.ssl.SSLSocketFactory;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.impl.auth.BasicScheme;
-import org.apache.http.impl.client.DefaultHttpClient;
-import org.apache.http.params.HttpConnectionParams;
-import org.apache.http.params.HttpParams;
-import org.apache.http.params.HttpProtocolParams;
-import org.apache.http.ssl.SSLContexts;
 
-import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
 import com.payu.sdk.constants.Constants;
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.AuthenticationException;
@@ -70,6 +56,8 @@ import com.payu.sdk.model.Merchant;
 import com.payu.sdk.model.error.ErrorResponse;
 import com.payu.sdk.model.request.CommandRequest;
 import com.payu.sdk.model.request.Request;
+import com.payu.sdk.model.response.Response;
+import com.payu.sdk.reporting.model.ReportingRequest;
 import com.payu.sdk.utils.JaxbUtil;
 import com.payu.sdk.utils.LoggerUtil;
 import com.payu.sdk.utils.xml.XmlFormatter;
@@ -80,16 +68,19 @@ import com.payu.sdk.utils.xml.XmlFormatter;
  * @author PayU Latam
  * @since 1.0.0
  * @version 1.0.0, 21/08/2013
- * @see HttpClient
+ * @see PayUTransport
  */
 public final class HttpClientHelper {
 
-	/** The connection timeout in ms. */
-	private static final int CONNECTION_TIMEOUT = 10000;
-
 	/** The socket timeout in ms. */
 	public static final int SOCKET_TIMEOUT = 85000;
 
+	/** The connection pools of the {@link PayUClient#getDefault() default client} */
+	private static final HttpClientPools POOLS = new HttpClientPools(new ConnectionPoolSettings());
+
+	/** The transport of the {@link PayUClient#getDefault() default client} */
+	private static volatile PayUTransport transport = new ApacheTransport(POOLS);
+
 	/**
 	 * Default private empty constructor
 	 */
@@ -146,33 +137,284 @@ public final class HttpClientHelper {
 	public static String sendRequest(Request request, RequestMethod requestMethod, Integer socketTimeOut)
 			throws PayUException, ConnectionException {
 
-		HttpClient httpClient = new DefaultHttpClient();
-		setHttpClientParameters(httpClient.getParams(), socketTimeOut);
-		httpClient = doModifySSLOptions(request, requestMethod, httpClient);
+		return sendRequest(request, null, requestMethod, socketTimeOut);
+	}
+	
+	/**
+	 * Send request.
+	 *
+	 * @param request the request
+	 * @param headers the headers
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @return the string
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static String sendRequest(Request request, Map<String, String> headers,
+			RequestMethod requestMethod, Integer socketTimeOut)
+			throws PayUException, ConnectionException {
 
-		try {
+		return sendRequest(PayUClient.getDefault(), request, headers, requestMethod, socketTimeOut);
+	}
 
-			HttpRequestBase httpRequest = createHttpRequest(request, requestMethod);
+	/**
+	 * Sends the request with the configuration of the given client
+	 *
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @return the response in a xml format
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static String sendRequest(PayUClient client, Request request,
+			RequestMethod requestMethod) throws PayUException, ConnectionException {
 
-			HttpResponse httpResponse = httpClient.execute(httpRequest);
+		return sendRequest(client, request, null, requestMethod, SOCKET_TIMEOUT);
+	}
 
-			if (httpResponse == null) {
-				throw new ConnectionException("No response from server");
-			}
+	/**
+	 * Sends the request with the configuration of the given client
+	 *
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param headers the headers
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @return the response in a xml format
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static String sendRequest(PayUClient client, Request request,
+			Map<String, String> headers, RequestMethod requestMethod, Integer socketTimeOut)
+			throws PayUException, ConnectionException {
 
-			Integer httpStatus = httpResponse.getStatusLine().getStatusCode();
+		return execute(client, request, headers, requestMethod, socketTimeOut, STRING_READER);
+	}
 
-			Integer[] successStatus = { HttpStatus.SC_OK, HttpStatus.SC_CREATED,
-					HttpStatus.SC_ACCEPTED };
+	/**
+	 * Sends the request and unmarshals the response body straight from the
+	 * connection stream into the given type
+	 *
+	 * @param <T> the response type
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(Request request,
+			RequestMethod requestMethod, Class<T> responseType)
+			throws PayUException, ConnectionException {
 
-			if (Arrays.asList(successStatus).contains(httpStatus)) {
+		return sendRequest(request, null, requestMethod, SOCKET_TIMEOUT, responseType);
+	}
 
-				return getXmlResponse(httpResponse);
-			}
-			else {
-				return manageResponse(httpResponse);
+	/**
+	 * Sends the request and unmarshals the response body straight from the
+	 * connection stream into the given type
+	 *
+	 * @param <T> the response type
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(Request request,
+			RequestMethod requestMethod, Integer socketTimeOut, Class<T> responseType)
+			throws PayUException, ConnectionException {
+
+		return sendRequest(request, null, requestMethod, socketTimeOut, responseType);
+	}
+
+	/**
+	 * Sends the request and unmarshals the response body straight from the
+	 * connection stream into the given type. {@link Response} subclasses are
+	 * checked for an error code as {@link Response#fromBaseXml(Class, InputStream)} does
+	 *
+	 * @param <T> the response type
+	 * @param request the request
+	 * @param headers the headers
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(Request request,
+			Map<String, String> headers, RequestMethod requestMethod,
+			Integer socketTimeOut, Class<T> responseType)
+			throws PayUException, ConnectionException {
+
+		return sendRequest(PayUClient.getDefault(), request, headers, requestMethod,
+				socketTimeOut, responseType);
+	}
+
+	/**
+	 * Sends the request with the configuration of the given client and
+	 * unmarshals the response body into the given type
+	 *
+	 * @param <T> the response type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(PayUClient client, Request request,
+			RequestMethod requestMethod, Class<T> responseType)
+			throws PayUException, ConnectionException {
+
+		return sendRequest(client, request, null, requestMethod, SOCKET_TIMEOUT, responseType);
+	}
+
+	/**
+	 * Sends the request with the configuration of the given client and
+	 * unmarshals the response body into the given type
+	 *
+	 * @param <T> the response type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(PayUClient client, Request request,
+			RequestMethod requestMethod, Integer socketTimeOut, Class<T> responseType)
+			throws PayUException, ConnectionException {
+
+		return sendRequest(client, request, null, requestMethod, socketTimeOut, responseType);
+	}
+
+	/**
+	 * Sends the request with the configuration of the given client and
+	 * unmarshals the response body into the given type, see
+	 * {@link #sendRequest(Request, Map, RequestMethod, Integer, Class)}
+	 *
+	 * @param <T> the response type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param headers the headers
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param responseType the class of the response
+	 * @return the unmarshalled response, or null if the body is empty
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	public static <T extends Serializable> T sendRequest(PayUClient client, Request request,
+			Map<String, String> headers, RequestMethod requestMethod,
+			Integer socketTimeOut, Class<T> responseType)
+			throws PayUException, ConnectionException {
+
+		if (responseType == null) {
+			throw new IllegalArgumentException("The response type may not be null");
+		}
+
+		return execute(client, request, headers, requestMethod, socketTimeOut,
+				new TypedReader<T>(responseType));
+	}
+
+	/**
+	 * Sends the request and gives the successful response body to the handler,
+	 * without reading it into memory first
+	 *
+	 * @param <T> the read type
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param handler the reader of the response body
+	 * @return the value read by the handler
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception, also wrapping the
+	 *             {@link IOException} of the handler
+	 */
+	public static <T> T sendRequest(Request request, RequestMethod requestMethod,
+			ResponseBodyHandler<T> handler) throws PayUException, ConnectionException {
+
+		return sendRequest(PayUClient.getDefault(), request, requestMethod, handler);
+	}
+
+	/**
+	 * Sends the request with the configuration of the given client and gives
+	 * the successful response body to the handler
+	 *
+	 * @param <T> the read type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param handler the reader of the response body
+	 * @return the value read by the handler
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception, also wrapping the
+	 *             {@link IOException} of the handler
+	 */
+	public static <T> T sendRequest(PayUClient client, Request request,
+			RequestMethod requestMethod, final ResponseBodyHandler<T> handler)
+			throws PayUException, ConnectionException {
+
+		if (handler == null) {
+			throw new IllegalArgumentException("The handler may not be null");
+		}
+
+		return execute(client, request, null, requestMethod, null, new ResponseReader<T>() {
+
+			@Override
+			public T read(TransportResponse httpResponse) throws PayUException, IOException {
+
+				return handler.handle(httpResponse.getBody());
 			}
+		});
+	}
+
+	/**
+	 * Executes the request with the configuration of the client, reads the
+	 * successful response with the given reader and records the call in the
+	 * metrics of the client
+	 *
+	 * @param <T> the read type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param headers the headers
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param reader the reader of the successful response
+	 * @return the read response
+	 * @throws PayUException the pay U exception
+	 * @throws ConnectionException the connection exception
+	 */
+	private static <T> T execute(PayUClient client, Request request,
+			Map<String, String> headers, RequestMethod requestMethod,
+			Integer socketTimeOut, ResponseReader<T> reader)
+			throws PayUException, ConnectionException {
+
+		String url = request.getRequestUrl(client, requestMethod);
+
+		TransportResponse response = null;
+		long start = System.nanoTime();
+		boolean failed = true;
+
+		try {
+
+			TransportRequest transportRequest = createTransportRequest(client, request,
+					requestMethod, url, headers,
+					socketTimeOut != null ? socketTimeOut : SOCKET_TIMEOUT);
 
+			response = client.getTransport().execute(transportRequest);
+
+			T result = readResponse(response, reader);
+			failed = false;
+			return result;
 		}
 		catch (PayUException e) {
 			throw e;
@@ -181,86 +423,290 @@ public final class HttpClientHelper {
 			throw new ConnectionException(e.getMessage(), e);
 		}
 		finally {
-			httpClient.getConnectionManager().shutdown();
+			AsyncRequestExecutor.unregister();
+			releaseResponse(response);
+			client.getMetrics().record(System.nanoTime() - start, failed);
 		}
 	}
-	
+
 	/**
-	 * Send request.
+	 * Sends the request with the configuration of the given client without
+	 * waiting for its response, which is unmarshalled into the given type. With
+	 * a transport that is not an {@link AsyncPayUTransport} the request is
+	 * sent on the calling thread, see
+	 * {@link AsyncRequestExecutor#submit(AsyncRequestExecutor.AsyncCall)}
 	 *
+	 * @param <T> the response type
+	 * @param client the client making the call
 	 * @param request the request
-	 * @param headers the headers
 	 * @param requestMethod the request method
-	 * @param socketTimeOut the socket time out
-	 * @return the string
-	 * @throws PayUException the pay U exception
-	 * @throws ConnectionException the connection exception
+	 * @param socketTimeOut the socket time out, null for the default one
+	 * @param responseType the class of the response
+	 * @param callback the callback of the unmarshalled response, or of the
+	 *            {@link PayUException} or {@link ConnectionException}
+	 * @return the way to abort the http request, null if there is none
 	 */
-	public static String sendRequest(Request request, Map<String, String> headers,
-			RequestMethod requestMethod, Integer socketTimeOut)
-			throws PayUException, ConnectionException {
+	public static <T extends Serializable> Cancellable sendRequestAsync(PayUClient client,
+			Request request, RequestMethod requestMethod, Integer socketTimeOut,
+			Class<T> responseType, FutureCallback<T> callback) {
 
-		HttpClient httpClient = new DefaultHttpClient();
-		setHttpClientParameters(httpClient.getParams(), socketTimeOut);
+		if (responseType == null) {
+			throw new IllegalArgumentException("The response type may not be null");
+		}
 
-		httpClient = doModifySSLOptions(request, requestMethod, httpClient);
+		return executeAsync(client, request, requestMethod, socketTimeOut,
+				new TypedReader<T>(responseType), callback);
+	}
 
-		try {
+	/**
+	 * Sends the request with the configuration of the given client without
+	 * waiting for its response, whose body is given to the handler, see
+	 * {@link #sendRequestAsync(PayUClient, Request, RequestMethod, Integer, Class, FutureCallback)}
+	 *
+	 * @param <T> the read type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out, null for the default one
+	 * @param handler the reader of the response body
+	 * @param callback the callback of the value read by the handler, or of
+	 *            the {@link PayUException} or {@link ConnectionException}
+	 * @return the way to abort the http request, null if there is none
+	 */
+	public static <T> Cancellable sendRequestAsync(PayUClient client, Request request,
+			RequestMethod requestMethod, Integer socketTimeOut,
+			final ResponseBodyHandler<T> handler, FutureCallback<T> callback) {
 
-			HttpRequestBase httpRequest = createHttpRequest(request, requestMethod);
-			
-			addRequestExtraHeaders(httpRequest, headers);
+		if (handler == null) {
+			throw new IllegalArgumentException("The handler may not be null");
+		}
 
-			HttpResponse httpResponse = httpClient.execute(httpRequest);
+		return executeAsync(client, request, requestMethod, socketTimeOut,
+				new ResponseReader<T>() {
 
-			if (httpResponse == null) {
-				throw new ConnectionException("No response from server");
-			}
+					@Override
+					public T read(TransportResponse httpResponse)
+							throws PayUException, IOException {
+
+						return handler.handle(httpResponse.getBody());
+					}
+				}, callback);
+	}
 
-			Integer httpStatus = httpResponse.getStatusLine().getStatusCode();
+	/**
+	 * Executes the request with the configuration of the client without
+	 * waiting for its response, see
+	 * {@link #execute(PayUClient, Request, Map, RequestMethod, Integer, ResponseReader)}
+	 *
+	 * @param <T> the read type
+	 * @param client the client making the call
+	 * @param request the request
+	 * @param requestMethod the request method
+	 * @param socketTimeOut the socket time out
+	 * @param reader the reader of the successful response
+	 * @param callback the callback of the read response
+	 * @return the way to abort the http request, null if there is none
+	 */
+	private static <T> Cancellable executeAsync(final PayUClient client, Request request,
+			RequestMethod requestMethod, Integer socketTimeOut,
+			final ResponseReader<T> reader, final FutureCallback<T> callback) {
 
-			Integer[] successStatus = { HttpStatus.SC_OK, HttpStatus.SC_CREATED,
-					HttpStatus.SC_ACCEPTED };
+		PayUTransport transport = client.getTransport();
 
-			if (Arrays.asList(successStatus).contains(httpStatus)) {
+		if (!(transport instanceof AsyncPayUTransport)) {
 
-				return getXmlResponse(httpResponse);
+			T result;
+			try {
+				result = execute(client, request, null, requestMethod, socketTimeOut, reader);
 			}
-			else {
-				return manageResponse(httpResponse);
+			catch (SDKException e) {
+				callback.failed(e);
+				return null;
 			}
+			callback.completed(result);
+			return null;
+		}
+
+		final long start = System.nanoTime();
+		TransportRequest transportRequest;
 
+		try {
+			transportRequest = createTransportRequest(client, request, requestMethod,
+					request.getRequestUrl(client, requestMethod), null,
+					socketTimeOut != null ? socketTimeOut : SOCKET_TIMEOUT);
 		}
 		catch (PayUException e) {
-			throw e;
+			client.getMetrics().record(System.nanoTime() - start, true);
+			callback.failed(e);
+			return null;
 		}
-		catch (Exception e) {
-			throw new ConnectionException(e.getMessage(), e);
+
+		return ((AsyncPayUTransport) transport).executeAsync(transportRequest,
+				new FutureCallback<TransportResponse>() {
+
+					@Override
+					public void completed(TransportResponse response) {
+
+						T result;
+						try {
+							result = readResponse(response, reader);
+						}
+						catch (PayUException e) {
+							end(e);
+							return;
+						}
+						catch (Exception e) {
+							end(new ConnectionException(e.getMessage(), e));
+							return;
+						}
+						finally {
+							releaseResponse(response);
+						}
+						client.getMetrics().record(System.nanoTime() - start, false);
+						callback.completed(result);
+					}
+
+					@Override
+					public void failed(Exception e) {
+
+						end(new ConnectionException(e.getMessage(), e));
+					}
+
+					@Override
+					public void cancelled() {
+
+						client.getMetrics().record(System.nanoTime() - start, true);
+						callback.cancelled();
+					}
+
+					/**
+					 * Ends the failed call
+					 *
+					 * @param e the failure
+					 */
+					private void end(SDKException e) {
+
+						client.getMetrics().record(System.nanoTime() - start, true);
+						callback.failed(e);
+					}
+				});
+	}
+
+	/**
+	 * Reads a successful response with the given reader, or throws the
+	 * exception of an error response
+	 *
+	 * @param <T> the read type
+	 * @param response the response sent by the server, may be null
+	 * @param reader the reader of the successful response
+	 * @return the read response
+	 * @throws SDKException
+	 * @throws IOException
+	 */
+	private static <T> T readResponse(TransportResponse response, ResponseReader<T> reader)
+			throws SDKException, IOException {
+
+		if (response == null) {
+			throw new ConnectionException("No response from server");
 		}
-		finally {
-			httpClient.getConnectionManager().shutdown();
+
+		Integer httpStatus = response.getStatusCode();
+
+		Integer[] successStatus = { HttpStatus.SC_OK, HttpStatus.SC_CREATED,
+				HttpStatus.SC_ACCEPTED };
+
+		if (Arrays.asList(successStatus).contains(httpStatus)) {
+			return reader.read(response);
 		}
+
+		manageResponse(response);
+		return null;
 	}
 
 	/**
-	 * This method validates the url and call the method that disable the SSL options when the case is not
-	 * PRD or Sandbox enviroments
+	 * Sets the transport of the {@link PayUClient#getDefault() default client}
+	 *
+	 * @param newTransport
+	 *            The transport, null to go back to the pooled Apache http
+	 *            clients
+	 */
+	public static void setTransport(PayUTransport newTransport) {
+
+		transport = newTransport != null ? newTransport : new ApacheTransport(POOLS);
+	}
+
+	/**
+	 * @return the transport of the {@link PayUClient#getDefault() default client}
+	 */
+	public static PayUTransport getTransport() {
+
+		return transport;
+	}
+
+	/**
+	 * @return the connection pools of the {@link PayUClient#getDefault()
+	 *         default client}
+	 */
+	public static HttpClientPools getConnectionPools() {
+
+		return POOLS;
+	}
+
+	/**
+	 * Sets the settings of the connection pools. The current pools are closed
+	 * so the next requests use the new settings
+	 *
+	 * @param settings
+	 *            The connection pool settings
+	 */
+	public static void setConnectionPoolSettings(ConnectionPoolSettings settings) {
+
+		POOLS.setSettings(settings);
+	}
+
+	/**
+	 * Closes every pooled connection. The pools are created again on the next
+	 * request, so this method is meant to be called when the application stops
+	 */
+	public static void shutdown() {
+
+		POOLS.close();
+	}
+
+	/**
+	 * Gets the connection pool for the API and host of the request, creating
+	 * it the first time. Every environment that is not PRD, STG or Sandbox
+	 * gets a pool that trusts every certificate
+	 *
 	 * @param request
+	 *            The request to be sent to the server
 	 * @param requestMethod
-	 * @param httpClient
-	 * @return httpClient
+	 *            The request method to be sent to the server
+	 * @return the connection pool
 	 * @throws ConnectionException
 	 */
-	private static HttpClient doModifySSLOptions(final Request request, final RequestMethod requestMethod, HttpClient httpClient)
+	static HttpClientPool getPool(Request request, RequestMethod requestMethod)
 			throws ConnectionException {
-		String url = request.getRequestUrl(requestMethod);
-		if(!url.contains(Constants.PAYMENTS_PRD_URL) && !url.contains(Constants.PAYMENTS_SANDBOX_URL) && 
-				!url.contains(Constants.PAYMENTS_STG_URL)){
-			httpClient = WebClientDevWrapper.wrapClient(httpClient);
-		}else{
-			httpClient = buildHttpClient(httpClient);
+
+		return POOLS.getPool(request.getRequestUrl(requestMethod), request instanceof ReportingRequest);
+	}
+
+	/**
+	 * Closes the response, so the connection can be reused
+	 *
+	 * @param response
+	 *            The response to release
+	 */
+	private static void releaseResponse(TransportResponse response) {
+
+		if (response != null) {
+			try {
+				response.close();
+			}
+			catch (IOException e) {
+				LoggerUtil.debug("Error closing the response {0}", e.getMessage());
+			}
 		}
-		return httpClient;
 	}
 
 	/**
@@ -272,23 +718,22 @@ public final class HttpClientHelper {
 	 * @throws IOException
 	 * @throws SDKException
 	 */
-	private static String manageResponse(HttpResponse httpResponse)
+	private static String manageResponse(TransportResponse httpResponse)
 			throws IOException, SDKException {
-		int httpStatus = httpResponse.getStatusLine().getStatusCode();
+		int httpStatus = httpResponse.getStatusCode();
 		switch (httpStatus) {
 		case HttpStatus.SC_UNAUTHORIZED: {
 			throw new AuthenticationException("Invalid credentials");
 		}
 		case HttpStatus.SC_SERVICE_UNAVAILABLE: {
-			throw new ConnectionException(httpResponse.getStatusLine()
-					.getReasonPhrase());
+			throw new ConnectionException(httpResponse.getReasonPhrase());
 		}
 		case HttpStatus.SC_NOT_FOUND: {
 			String error;
 			try{
 				error = getErrorMessage(httpResponse);
 			}catch(Exception exception){
-				throw new ConnectionException(httpResponse.getStatusLine().toString());
+				throw new ConnectionException(httpStatus + " " + httpResponse.getReasonPhrase());
 			}
 			throw new PayUException(ErrorCode.NO_RESULTS_FOUND, error);
 		}
@@ -312,10 +757,10 @@ public final class HttpClientHelper {
 	 * @throws PayUException
 	 * @throws IOException
 	 */
-	private static String getErrorMessage(HttpResponse httpResponse)
+	private static String getErrorMessage(TransportResponse httpResponse)
 			throws PayUException, IOException {
 
-		String error = httpResponse.getStatusLine().getReasonPhrase();
+		String error = httpResponse.getReasonPhrase();
 
 		String xml = getXmlResponse(httpResponse);
 
@@ -346,6 +791,76 @@ public final class HttpClientHelper {
 		return error;
 	}
 
+	/**
+	 * Reads the body of a successful response
+	 *
+	 * @param <T> the read type
+	 */
+	private interface ResponseReader<T> {
+
+		/**
+		 * Reads the response body
+		 *
+		 * @param httpResponse the response sent by the server
+		 * @return the read body
+		 * @throws PayUException
+		 * @throws IOException
+		 */
+		T read(TransportResponse httpResponse) throws PayUException, IOException;
+	}
+
+	/** Reads the body as a string */
+	private static final ResponseReader<String> STRING_READER = new ResponseReader<String>() {
+
+		@Override
+		public String read(TransportResponse httpResponse) throws PayUException, IOException {
+
+			return getXmlResponse(httpResponse);
+		}
+	};
+
+	/**
+	 * Unmarshals the body straight from the response stream. The body is only
+	 * copied to a string when the debug log needs it
+	 *
+	 * @param <T> the response type
+	 */
+	private static final class TypedReader<T extends Serializable>
+			implements ResponseReader<T> {
+
+		/** The response type */
+		private final Class<T> type;
+
+		/**
+		 * Constructor
+		 *
+		 * @param type the response type
+		 */
+		private TypedReader(Class<T> type) {
+
+			this.type = type;
+		}
+
+		@Override
+		public T read(TransportResponse httpResponse) throws PayUException, IOException {
+
+			InputStream content = httpResponse.getBody();
+			if (content == null) {
+				return null;
+			}
+
+			if (LoggerUtil.isDebugEnabled()) {
+				content = new ByteArrayInputStream(
+						getXmlResponse(content).getBytes(Constants.DEFAULT_ENCODING));
+			}
+
+			if (Response.class.isAssignableFrom(type)) {
+				return type.cast(Response.fromBaseXml(type.asSubclass(Response.class), content));
+			}
+			return JaxbUtil.convertXmlToJava(type, content);
+		}
+	}
+
 	/**
 	 * Get xml response
 	 *
@@ -355,152 +870,101 @@ public final class HttpClientHelper {
 	 * @throws PayUException
 	 * @throws IOException
 	 */
-	private static String getXmlResponse(HttpResponse httpResponse)
+	private static String getXmlResponse(TransportResponse httpResponse)
 			throws PayUException, IOException {
 
-		HttpEntity entity = httpResponse.getEntity();
-		InputStream inputStream = (InputStream) entity.getContent();
-		String xml = inputStreamToString(inputStream);
-
-		if (!xml.isEmpty()) {
-			LoggerUtil.debug("Response:\n {0}", XmlFormatter.prettyFormat(xml));
-		}
-
-		return xml;
+		return getXmlResponse(httpResponse.getBody());
 	}
 
 	/**
-	 * Sets the parameters to the request
+	 * Get xml response
 	 *
-	 * @param params
-	 *            The parameters to be set
-	 * @param socketTimeOut socket time out.
+	 * @param inputStream
+	 *            The response body, may be null
+	 * @return The xml associated to the response
+	 * @throws PayUException
+	 * @throws IOException
 	 */
-	private static void setHttpClientParameters(HttpParams params, Integer socketTimeOut) {
+	private static String getXmlResponse(InputStream inputStream)
+			throws PayUException, IOException {
 
-		HttpProtocolParams
-				.setContentCharset(params, Constants.DEFAULT_ENCODING);
-		HttpConnectionParams.setConnectionTimeout(params, CONNECTION_TIMEOUT);
-		HttpConnectionParams.setSoTimeout(params, socketTimeOut);
+		if (inputStream == null) {
+			return "";
+		}
+
+		String xml = inputStreamToString(inputStream);
+
+		if (!xml.isEmpty() && LoggerUtil.isDebugEnabled()) {
+			LoggerUtil.debug("Response:\n {0}", XmlFormatter.indent(xml));
+		}
+
+		return xml;
 	}
 
 	/**
-	 * Creates a http request with the given request
+	 * Creates the transport request of the given request
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param request
 	 *            The original request
 	 * @param requestMethod
 	 *            The request method to be sent to the server
-	 * @return The created http request
-	 * @throws URISyntaxException
-	 * @throws UnsupportedEncodingException
+	 * @param url
+	 *            The request url
+	 * @param extraHeaders
+	 *            The extra headers, which override the default ones, may be
+	 *            null
+	 * @param socketTimeOut
+	 *            The socket time out
+	 * @return The created transport request
 	 * @throws PayUException
-	 * @throws ConnectionException
 	 */
-	private static HttpRequestBase createHttpRequest(Request request,
-			RequestMethod requestMethod) throws URISyntaxException,
-			UnsupportedEncodingException, PayUException, ConnectionException {
-
-		String url = request.getRequestUrl(requestMethod);
-
-		URI postUrl = new URI(url);
-
-		HttpRequestBase httpMethod;
+	private static TransportRequest createTransportRequest(PayUClient client,
+			Request request, RequestMethod requestMethod, String url, Map<String, String> extraHeaders,
+			int socketTimeOut) throws PayUException {
 
 		LoggerUtil.debug("sending request...");
 
-		String xml = Constants.EMPTY_STRING;
-
-		switch (requestMethod) {
-		case POST:
-			httpMethod = new HttpPost();
-			break;
-		case GET:
-			httpMethod = new HttpGet();
-			break;
-		case DELETE:
-			httpMethod = new HttpDelete();
-			break;
-		case PUT:
-			httpMethod = new HttpPut();
-			break;
-		default:
-			throw new ConnectionException("Invalid connection method");
-		}
+		Map<String, String> headers = new LinkedHashMap<String, String>();
 
-		httpMethod.addHeader("Content-Type", MediaType.XML.getCode()
+		headers.put(HttpHeaders.CONTENT_TYPE, MediaType.XML.getCode()
 				+ "; charset=utf-8");
 
-		Language lng = request.getLanguage() != null ? request.getLanguage() : PayU.language;
-		httpMethod.setHeader("Accept-Language", lng.name());
+		Language lng = request.getLanguage() != null ? request.getLanguage() : client.getLanguage();
+		headers.put(HttpHeaders.ACCEPT_LANGUAGE, lng.name());
+		headers.put(HttpHeaders.ACCEPT, MediaType.XML.getCode());
 
-		// Sets the method entity
-		if (httpMethod instanceof HttpEntityEnclosingRequestBase) {
-			xml = request.toXml();
-			((HttpEntityEnclosingRequestBase) httpMethod)
-					.setEntity(new StringEntity(xml, Constants.DEFAULT_ENCODING));
-			LoggerUtil.debug("Message to send:\n {0}", xml);
+		Credentials credentials = new UsernamePasswordCredentials(getUserName(client, request),
+				getPassword(client, request));
+		Header authorization = BasicScheme.authenticate(credentials,
+				Constants.DEFAULT_ENCODING, false);
+		headers.put(authorization.getName(), authorization.getValue());
+
+		if (extraHeaders != null) {
+			headers.putAll(extraHeaders);
 		}
 
-		httpMethod.setURI(postUrl);
+		TransportRequest transportRequest = new TransportRequest(request, requestMethod,
+				url, headers, socketTimeOut);
 
-		addRequestHeaders(request, httpMethod);
+		if (transportRequest.hasBody() && LoggerUtil.isDebugEnabled()) {
+			LoggerUtil.debug("Message to send:\n {0}", request.toXml());
+		}
 
 		LoggerUtil.debug("URL to send:\n {0}", url);
 
-		return httpMethod;
-	}
-
-	/**
-	 * Updates the base request to add the header
-	 *
-	 * @param requestBase
-	 *            The request that needs its header
-	 */
-	private static void addRequestHeaders(Request apiRequest, HttpRequestBase requestBase) {
-
-		requestBase.addHeader(HttpHeaders.CONTENT_TYPE, MediaType.XML.getCode()
-				+ "; charset=utf-8");
-		requestBase.addHeader(HttpHeaders.ACCEPT, MediaType.XML.getCode());
-
-		String username = getUserName(apiRequest);
-
-		String password = getPassword(apiRequest);
-
-		Credentials credentials = new UsernamePasswordCredentials(username, password);
-
-		requestBase.addHeader(BasicScheme.authenticate(credentials,
-				Constants.DEFAULT_ENCODING, false));
-	}
-	
-	/**
-	 * Adds the request extra headers.
-	 *
-	 * @param httpRequest the http request
-	 * @param headers the headers
-	 * @throws ConnectionException 
-	 */
-	private static void addRequestExtraHeaders(HttpRequestBase httpRequest,
-			Map<String, String> headers) throws ConnectionException {
-
-		try {
-			for (Map.Entry<String, String> entry : headers.entrySet()) {
-				httpRequest.setHeader(entry.getKey(), entry.getValue());
-			}
-		}
-		catch (Exception e) {
-			throw new ConnectionException(
-					"Exception caught when adding the extra headers to be sent", e);
-		}
+		return transportRequest;
 	}
 
 	/**
 	 * Gets the user name.
 	 * 
+	 * @param client
 	 * @param apiRequest
 	 * @return
 	 */
-	private static String getUserName(Request apiRequest) {
+	private static String getUserName(PayUClient client, Request apiRequest) {
 
 		Merchant merchant = null;
 
@@ -510,16 +974,17 @@ public final class HttpClientHelper {
 
 		return apiRequest.getApiLogin() != null ? apiRequest.getApiLogin()
 				: merchant != null && merchant.getApiLogin() != null ? merchant
-						.getApiLogin() : PayU.apiLogin;
+						.getApiLogin() : client.getApiLogin();
 	}
 
 	/**
 	 * Gets the password.
 	 * 
+	 * @param client
 	 * @param apiRequest
 	 * @return
 	 */
-	private static String getPassword(Request apiRequest) {
+	private static String getPassword(PayUClient client, Request apiRequest) {
 		
 		Merchant merchant = null;
 
@@ -529,7 +994,7 @@ public final class HttpClientHelper {
 
 		return apiRequest.getApiKey() != null ? apiRequest.getApiKey()
 				: merchant != null && merchant.getApiKey() != null ? merchant
-						.getApiKey() : PayU.apiKey;
+						.getApiKey() : client.getApiKey();
 	}
 
 	/**
@@ -564,20 +1029,4 @@ public final class HttpClientHelper {
 
 		return stringBuilder.toString();
 	}
-
-	/**
-	 * Builds a HttpClient
-	 * @param base The http client to wrap
-	 * @return a {@link HttpClient}
-	 */
-	private static HttpClient buildHttpClient(final HttpClient base) {
-
-		final SSLSocketFactory ssf = new SSLSocketFactory(SSLContexts.createDefault(),
-				new String[] { "TLSv1", "TLSv1.1", "TLSv1.2" }, null, null);
-		base.getConnectionManager()
-				.getSchemeRegistry().register(new Scheme("https", Constants.HTTPS_PORT, ssf));
-
-		return new DefaultHttpClient(base.getConnectionManager(), base.getParams());
-
-	}
 }
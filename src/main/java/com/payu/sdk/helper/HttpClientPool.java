@@ -0,0 +1,194 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.ConnectionException;
+
+/**
+ * A long lived and thread safe http client backed by a pool of keep alive
+ * connections. A pool serves a single PayU API, so the TCP and TLS handshakes
+ * are paid once per pooled connection instead of once per request.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see HttpClientHelper
+ */
+public final class HttpClientPool implements Closeable {
+
+	/** The pooled connection manager */
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	/** The http client that leases connections from the pool */
+	private final CloseableHttpClient httpClient;
+
+	/** The connection timeout in ms */
+	private final int connectionTimeout;
+
+	/**
+	 * Creates a new pool
+	 *
+	 * @param settings
+	 *            The pool settings
+	 * @param maxPerRoute
+	 *            The max connections per route of this pool
+	 * @param trustAll
+	 *            Whether the server certificates are trusted without validation,
+	 *            only for the non productive environments
+	 * @throws ConnectionException
+	 */
+	public HttpClientPool(ConnectionPoolSettings settings, int maxPerRoute,
+			boolean trustAll) throws ConnectionException {
+
+		Registry<ConnectionSocketFactory> registry = RegistryBuilder
+				.<ConnectionSocketFactory> create()
+				.register("http", PlainConnectionSocketFactory.getSocketFactory())
+				.register("https", SslSocketFactories.getSocketFactory(trustAll))
+				.build();
+
+		connectionManager = new PoolingHttpClientConnectionManager(registry);
+		connectionManager.setMaxTotal(settings.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		connectionManager.setValidateAfterInactivity(settings.getValidateAfterInactivity());
+		connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+				.setCharset(Charset.forName(Constants.DEFAULT_ENCODING)).build());
+
+		connectionTimeout = settings.getConnectionTimeout();
+
+		httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(new KeepAliveStrategy(settings.getKeepAlive()))
+				.evictExpiredConnections()
+				.evictIdleConnections(settings.getIdleTimeout(), TimeUnit.MILLISECONDS)
+				.disableCookieManagement()
+				.build();
+	}
+
+	/**
+	 * Executes the request using a pooled connection. The caller must close
+	 * the returned response to give the connection back to the pool
+	 *
+	 * @param httpRequest
+	 *            The request to execute
+	 * @param socketTimeOut
+	 *            The socket time out in ms
+	 * @return The server response
+	 * @throws IOException
+	 */
+	public CloseableHttpResponse execute(HttpRequestBase httpRequest,
+			int socketTimeOut) throws IOException {
+
+		httpRequest.setConfig(RequestConfig.custom()
+				.setConnectTimeout(connectionTimeout)
+				.setConnectionRequestTimeout(connectionTimeout)
+				.setSocketTimeout(socketTimeOut)
+				.build());
+
+		return httpClient.execute(httpRequest);
+	}
+
+	/**
+	 * @return the current statistics of the pool
+	 */
+	public PoolStats getStats() {
+
+		return connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Closes the client and every pooled connection
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+
+		httpClient.close();
+	}
+
+	/**
+	 * Keeps the connection alive as long as the server allows it, or the
+	 * configured time when the server does not say
+	 */
+	static final class KeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+		/** The default keep alive in ms */
+		private final long defaultKeepAlive;
+
+		/**
+		 * @param defaultKeepAlive the default keep alive in ms
+		 */
+		KeepAliveStrategy(long defaultKeepAlive) {
+
+			this.defaultKeepAlive = defaultKeepAlive;
+		}
+
+		@Override
+		public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+
+			HeaderElementIterator it = new BasicHeaderElementIterator(
+					response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+
+			while (it.hasNext()) {
+				HeaderElement element = it.nextElement();
+				if (element.getValue() != null
+						&& "timeout".equalsIgnoreCase(element.getName())) {
+					try {
+						return Long.parseLong(element.getValue()) * 1000L;
+					}
+					catch (NumberFormatException e) {
+						// Ignores the header and uses the default keep alive
+					}
+				}
+			}
+			return defaultKeepAlive;
+		}
+	}
+}
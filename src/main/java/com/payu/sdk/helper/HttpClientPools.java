@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.pool.PoolStats;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * A set of connection pools, one per PayU API and host. The pools are created
+ * on their first request with the current settings.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see HttpClientPool
+ */
+public final class HttpClientPools implements Closeable {
+
+	/** The key prefix of the payments API pools */
+	private static final String PAYMENTS_POOL = "payments";
+
+	/** The key prefix of the reports API pools */
+	private static final String REPORTS_POOL = "reports";
+
+	/** The connection pools by API and host */
+	private final ConcurrentMap<String, HttpClientPool> pools =
+			new ConcurrentHashMap<String, HttpClientPool>();
+
+	/** The settings used to create new connection pools */
+	private volatile ConnectionPoolSettings settings;
+
+	/**
+	 * Creates an empty set of pools
+	 *
+	 * @param settings
+	 *            The settings of the pools, copied so later changes do not
+	 *            affect them
+	 */
+	public HttpClientPools(ConnectionPoolSettings settings) {
+
+		setSettings(settings);
+	}
+
+	/**
+	 * Sets the settings of the pools. The current pools are closed so the next
+	 * requests use the new settings
+	 *
+	 * @param settings
+	 *            The connection pool settings
+	 */
+	void setSettings(ConnectionPoolSettings settings) {
+
+		if (settings == null) {
+			throw new IllegalArgumentException("The connection pool settings can not be null");
+		}
+		this.settings = new ConnectionPoolSettings(settings);
+		close();
+	}
+
+	/**
+	 * Gets the connection pool for the API and host of the url, creating it
+	 * the first time. Every environment that is not PRD, STG or Sandbox gets a
+	 * pool that trusts every certificate, the environment of the url is only
+	 * checked when its pool is created
+	 *
+	 * @param url
+	 *            The request url
+	 * @param reports
+	 *            Whether the url belongs to the reports API
+	 * @return the connection pool
+	 * @throws ConnectionException
+	 */
+	public HttpClientPool getPool(String url, boolean reports) throws ConnectionException {
+
+		String key = getPoolKey(url, reports);
+
+		HttpClientPool pool = pools.get(key);
+
+		if (pool == null) {
+
+			ConnectionPoolSettings poolSettings = settings;
+			boolean trustAll = SslSocketFactories.isTrustAll(url);
+
+			HttpClientPool newPool = new HttpClientPool(poolSettings,
+					reports ? poolSettings.getReportsMaxPerRoute()
+							: poolSettings.getPaymentsMaxPerRoute(),
+					trustAll);
+
+			pool = pools.putIfAbsent(key, newPool);
+
+			if (pool == null) {
+				pool = newPool;
+			}
+			else {
+				closePool(newPool);
+			}
+		}
+
+		return pool;
+	}
+
+	/**
+	 * @return the statistics of all the pools added up
+	 */
+	public PoolStats getStats() {
+
+		int leased = 0;
+		int pending = 0;
+		int available = 0;
+		int max = 0;
+
+		for (HttpClientPool pool : pools.values()) {
+			PoolStats stats = pool.getStats();
+			leased += stats.getLeased();
+			pending += stats.getPending();
+			available += stats.getAvailable();
+			max += stats.getMax();
+		}
+		return new PoolStats(leased, pending, available, max);
+	}
+
+	/**
+	 * Closes every pool and its connections. The pools are created again on
+	 * the next request
+	 */
+	@Override
+	public void close() {
+
+		for (String key : pools.keySet()) {
+			HttpClientPool pool = pools.remove(key);
+			if (pool != null) {
+				closePool(pool);
+			}
+		}
+	}
+
+	/**
+	 * Gets the key of the pool that serves the given url
+	 *
+	 * @param url
+	 *            The request url
+	 * @param reports
+	 *            Whether the url belongs to the reports API
+	 * @return the pool key
+	 */
+	private static String getPoolKey(String url, boolean reports) {
+
+		int authorityStart = url.indexOf("://");
+		int pathStart = authorityStart < 0 ? -1 : url.indexOf('/', authorityStart + 3);
+		String origin = pathStart < 0 ? url : url.substring(0, pathStart);
+
+		return (reports ? REPORTS_POOL : PAYMENTS_POOL) + "|" + origin;
+	}
+
+	/**
+	 * Closes the given pool logging any error
+	 *
+	 * @param pool
+	 *            The pool to close
+	 */
+	private static void closePool(HttpClientPool pool) {
+
+		try {
+			pool.close();
+		}
+		catch (IOException e) {
+			LoggerUtil.warning("Error closing the connection pool {0}", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.model.request.Command;
+import com.payu.sdk.model.request.CommandRequest;
+
+/**
+ * A {@link PayUTransport} that answers in memory with canned XML bodies,
+ * without any network. The request bodies are still marshalled, so it
+ * measures the cost of the SDK itself: building, signing, serializing and
+ * parsing. Meant for tests and benchmarks.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class LoopbackTransport implements PayUTransport {
+
+	/** The status code of the answered requests */
+	private static final int OK = 200;
+
+	/** The status code of the requests without a canned body */
+	private static final int NOT_FOUND = 404;
+
+	/** Discards the marshalled request bodies */
+	private static final OutputStream NULL_OUTPUT = new OutputStream() {
+
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	};
+
+	/** The bodies of the command requests, by command */
+	private final Map<Command, byte[]> bodies;
+
+	/** The body of the other requests, null if there is none */
+	private final byte[] defaultBody;
+
+	/** The number of executed requests */
+	private final AtomicLong requests = new AtomicLong();
+
+	/**
+	 * Creates a transport that answers every request with the same body
+	 *
+	 * @param body
+	 *            The XML body
+	 */
+	public LoopbackTransport(String body) {
+
+		this(Collections.<Command, String> emptyMap(), body);
+	}
+
+	/**
+	 * Creates a transport that answers the command requests with the body of
+	 * their command, and the other requests with the default body. Requests
+	 * without a body are answered with a 404 status
+	 *
+	 * @param bodies
+	 *            The XML bodies, by command
+	 * @param defaultBody
+	 *            The XML body of the other requests, may be null
+	 */
+	public LoopbackTransport(Map<Command, String> bodies, String defaultBody) {
+
+		this.bodies = new EnumMap<Command, byte[]>(Command.class);
+		for (Map.Entry<Command, String> entry : bodies.entrySet()) {
+			this.bodies.put(entry.getKey(), encode(entry.getValue()));
+		}
+		this.defaultBody = defaultBody != null ? encode(defaultBody) : null;
+	}
+
+	/**
+	 * @return the number of executed requests
+	 */
+	public long getRequests() {
+
+		return requests.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.payu.sdk.helper.PayUTransport#execute(com.payu.sdk.helper.TransportRequest)
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+
+		requests.incrementAndGet();
+
+		if (request.hasBody()) {
+			request.writeBody(NULL_OUTPUT);
+		}
+
+		byte[] body = null;
+		if (request.getRequest() instanceof CommandRequest) {
+			body = bodies.get(((CommandRequest) request.getRequest()).getCommand());
+		}
+		if (body == null) {
+			body = defaultBody;
+		}
+
+		return new LoopbackResponse(body);
+	}
+
+	/**
+	 * @param xml the XML body
+	 * @return the encoded body
+	 */
+	private static byte[] encode(String xml) {
+
+		try {
+			return xml.getBytes(Constants.DEFAULT_ENCODING);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A canned response
+	 */
+	private static final class LoopbackResponse implements TransportResponse {
+
+		/** The body, null if there is none */
+		private final byte[] body;
+
+		/**
+		 * @param body the body, null if there is none
+		 */
+		private LoopbackResponse(byte[] body) {
+
+			this.body = body;
+		}
+
+		@Override
+		public int getStatusCode() {
+
+			return body != null ? OK : NOT_FOUND;
+		}
+
+		@Override
+		public String getReasonPhrase() {
+
+			return body != null ? "OK" : "Not Found";
+		}
+
+		@Override
+		public InputStream getBody() {
+
+			return body != null ? new ByteArrayInputStream(body) : null;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.IOException;
+
+/**
+ * Sends the requests of the SDK to the PayU APIs. The SDK builds the request,
+ * with its url, headers and body, and reads the response, so a transport only
+ * moves the bytes.
+ * <p>
+ * Implementations must be safe to use from several threads. The ones that
+ * can send without blocking implement {@link AsyncPayUTransport}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ * @see ApacheTransport
+ * @see ApacheAsyncTransport
+ * @see UrlConnectionTransport
+ * @see LoopbackTransport
+ */
+public interface PayUTransport {
+
+	/**
+	 * Sends a request. The caller closes the returned response once its body
+	 * is read
+	 *
+	 * @param request
+	 *            The request to send
+	 * @return The server response
+	 * @throws IOException
+	 *             if the request can not be sent or the response can not be
+	 *             received
+	 */
+	TransportResponse execute(TransportRequest request) throws IOException;
+}
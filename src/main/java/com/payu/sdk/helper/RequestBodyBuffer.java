@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * The buffer a request body is marshalled into before it is sent with its
+ * length. Each thread reuses its own buffer, so a body is valid until the
+ * thread marshals the next one.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class RequestBodyBuffer extends ByteArrayOutputStream {
+
+	/** The initial size of the buffers */
+	private static final int INITIAL_SIZE = 8 * 1024;
+
+	/** The largest buffer kept for the next body, larger ones are dropped */
+	private static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+	/** The buffer of each thread */
+	private static final ThreadLocal<RequestBodyBuffer> BUFFERS = new ThreadLocal<RequestBodyBuffer>();
+
+	/**
+	 * Private constructor, the buffers are per thread
+	 */
+	private RequestBodyBuffer() {
+
+		super(INITIAL_SIZE);
+	}
+
+	/**
+	 * Gets the empty buffer of this thread
+	 *
+	 * @return the buffer
+	 */
+	static RequestBodyBuffer get() {
+
+		RequestBodyBuffer buffer = BUFFERS.get();
+		if (buffer == null || buffer.buf.length > MAX_RETAINED_SIZE) {
+			buffer = new RequestBodyBuffer();
+			BUFFERS.set(buffer);
+		}
+		buffer.reset();
+		return buffer;
+	}
+
+	/**
+	 * @return the bytes of the buffer, the body is the first {@link #size()}
+	 *         ones
+	 */
+	public byte[] getBytes() {
+
+		return buf;
+	}
+}
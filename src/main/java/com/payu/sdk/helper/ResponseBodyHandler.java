@@ -0,0 +1,52 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.payu.sdk.exceptions.PayUException;
+
+/**
+ * Reads the body of a successful response straight from the connection
+ * stream, see {@link HttpClientHelper#sendRequest(com.payu.sdk.model.request.Request,
+ * com.payu.sdk.constants.Resources.RequestMethod, ResponseBodyHandler)}
+ *
+ * @param <T> the read type
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public interface ResponseBodyHandler<T> {
+
+	/**
+	 * Reads the response body. The stream is closed by the caller
+	 *
+	 * @param body the body stream, null if the response has no body
+	 * @return the read value
+	 * @throws PayUException
+	 * @throws IOException
+	 */
+	T handle(InputStream body) throws PayUException, IOException;
+}
@@ -0,0 +1,494 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.model.AdditionalValue;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.Order;
+
+/**
+ * Builds the signatures of the SDK with per thread state: the message
+ * digests, the message buffer and the hex characters are reused between
+ * calls, and the amounts are written straight into the message instead of
+ * going through a new {@link DecimalFormat}.
+ * <p>
+ * The signatures are the same the former {@link DecimalFormat} and
+ * <code>DigestUtils</code> code built: the amounts are rounded half even from
+ * their double value and the message is UTF-8.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class SignatureEngine {
+
+	/** The signature separator */
+	private static final byte SEPARATOR = '~';
+
+	/** The hex digits */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/** The max significant digits a double keeps exactly */
+	private static final int DOUBLE_DIGITS = 15;
+
+	/** The initial size of the message buffer */
+	private static final int BUFFER_SIZE = 256;
+
+	/** The state of each thread */
+	private static final ThreadLocal<SignatureEngine> ENGINES = new ThreadLocal<SignatureEngine>() {
+
+		@Override
+		protected SignatureEngine initialValue() {
+
+			return new SignatureEngine();
+		}
+	};
+
+	/** The message digests, by algorithm */
+	private final Map<String, MessageDigest> digests = new HashMap<String, MessageDigest>();
+
+	/** The decimal formats of the patterns without a fast path */
+	private final Map<String, DecimalFormat> formats = new HashMap<String, DecimalFormat>();
+
+	/** The bytes of the longest digest */
+	private final byte[] hash = new byte[32];
+
+	/** The hex characters of the longest digest */
+	private final char[] hex = new char[64];
+
+	/** The message buffer */
+	private byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** The message length */
+	private int length;
+
+	/**
+	 * Private constructor, the engines are per thread
+	 */
+	private SignatureEngine() {
+	}
+
+	/**
+	 * Signs an order: <code>key~merchantId~referenceCode~value~currency</code>
+	 *
+	 * @param order The order to sign
+	 * @param merchantId The merchant id
+	 * @param key The apiKey of the merchant
+	 * @param valueFormat The format of the order value, one of the
+	 *            {@link SignatureHelper} decimal formats
+	 * @param algorithm The algorithm: md5, sha or sha256
+	 * @return the hex signature
+	 */
+	public static String sign(Order order, Integer merchantId, String key,
+			String valueFormat, String algorithm) {
+
+		SignatureHelper.validateOrder(order, merchantId);
+		return ENGINES.get().signOrder(order, merchantId, key, valueFormat, algorithm);
+	}
+
+	/**
+	 * Signs an order already validated by
+	 * {@link SignatureHelper#validateOrder(Order, Integer)}
+	 *
+	 * @param order The order to sign
+	 * @param merchantId The merchant id
+	 * @param key The apiKey of the merchant
+	 * @param valueFormat The format of the order value
+	 * @param algorithm The algorithm: md5, sha or sha256
+	 * @return the hex signature
+	 */
+	static String signValidated(Order order, Integer merchantId, String key,
+			String valueFormat, String algorithm) {
+
+		return ENGINES.get().signOrder(order, merchantId, key, valueFormat, algorithm);
+	}
+
+	/**
+	 * Signs the values of an order:
+	 * <code>key~merchantId~referenceCode~value~currency</code>
+	 *
+	 * @param merchantId The merchant id
+	 * @param key The apiKey of the merchant
+	 * @param referenceCode The order reference code
+	 * @param value The order value
+	 * @param currency The order currency
+	 * @param valueFormat The format of the order value, one of the
+	 *            {@link SignatureHelper} decimal formats
+	 * @param algorithm The algorithm: md5, sha or sha256
+	 * @return the hex signature
+	 */
+	public static String sign(Integer merchantId, String key, String referenceCode,
+			BigDecimal value, Currency currency, String valueFormat, String algorithm) {
+
+		if (merchantId == null) {
+			throw new IllegalArgumentException("The merchant id may not be null");
+		} else if (referenceCode == null) {
+			throw new IllegalArgumentException("The reference code may not be null");
+		} else if (currency == null) {
+			throw new IllegalArgumentException("The order currency may not be null");
+		} else if (value == null) {
+			throw new IllegalArgumentException("The order value may not be null");
+		}
+		return ENGINES.get().signValues(merchantId, key, referenceCode, value, currency,
+				valueFormat, algorithm);
+	}
+
+	/**
+	 * Signs the orders of a batch in one pass, with the same thread state
+	 *
+	 * @param orders The orders to sign
+	 * @param merchantId The merchant id
+	 * @param key The apiKey of the merchant
+	 * @param valueFormat The format of the order values
+	 * @param algorithm The algorithm: md5, sha or sha256
+	 * @return the hex signatures, in the order of the orders
+	 */
+	public static String[] signAll(List<Order> orders, Integer merchantId, String key,
+			String valueFormat, String algorithm) {
+
+		SignatureEngine engine = ENGINES.get();
+		String[] signatures = new String[orders.size()];
+		int i = 0;
+		for (Order order : orders) {
+			SignatureHelper.validateOrder(order, merchantId);
+			signatures[i++] = engine.signOrder(order, merchantId, key, valueFormat, algorithm);
+		}
+		return signatures;
+	}
+
+	/**
+	 * Signs a message: <code>key~message</code>. A null key or message is
+	 * signed as <code>null</code>
+	 *
+	 * @param key The message key
+	 * @param message The message
+	 * @param algorithm The algorithm: md5, sha or sha256
+	 * @return the hex signature
+	 */
+	public static String sign(String key, String message, String algorithm) {
+
+		SignatureEngine engine = ENGINES.get();
+		MessageDigest digest = engine.getDigest(algorithm);
+		engine.length = 0;
+		engine.appendUtf8(String.valueOf(key));
+		engine.append(SEPARATOR);
+		engine.appendUtf8(String.valueOf(message));
+		return engine.digest(digest);
+	}
+
+	/**
+	 * Tells whether an algorithm is supported
+	 *
+	 * @param algorithm The algorithm
+	 * @return true for md5, sha and sha256, in any case
+	 */
+	public static boolean isSupported(String algorithm) {
+
+		return toJcaName(algorithm) != null;
+	}
+
+	/**
+	 * Signs a validated order with the state of this thread
+	 */
+	private String signOrder(Order order, Integer merchantId, String key,
+			String valueFormat, String algorithm) {
+
+		AdditionalValue txValue = order.getAdditionalValue(SignatureHelper.TX_VALUE);
+
+		return signValues(merchantId, key, order.getReferenceCode(), txValue.getValue(),
+				txValue.getCurrency(), valueFormat, algorithm);
+	}
+
+	/**
+	 * Signs the values of an order with the state of this thread
+	 */
+	private String signValues(Integer merchantId, String key, String referenceCode,
+			BigDecimal value, Currency currency, String valueFormat, String algorithm) {
+
+		MessageDigest digest = getDigest(algorithm);
+
+		length = 0;
+		appendUtf8(String.valueOf(key));
+		append(SEPARATOR);
+		appendLong(merchantId.longValue());
+		append(SEPARATOR);
+		appendUtf8(referenceCode);
+		append(SEPARATOR);
+		appendAmount(value, valueFormat);
+		append(SEPARATOR);
+		appendUtf8(currency.toString());
+		return digest(digest);
+	}
+
+	/**
+	 * Digests the message and hex encodes it
+	 */
+	private String digest(MessageDigest digest) {
+
+		digest.update(buffer, 0, length);
+		int size;
+		try {
+			size = digest.digest(hash, 0, hash.length);
+		}
+		catch (DigestException e) {
+			throw new IllegalStateException(e);
+		}
+		for (int i = 0; i < size; i++) {
+			hex[2 * i] = HEX[(hash[i] >> 4) & 0xf];
+			hex[2 * i + 1] = HEX[hash[i] & 0xf];
+		}
+		return new String(hex, 0, 2 * size);
+	}
+
+	/**
+	 * Gets the reusable digest of an algorithm
+	 */
+	private MessageDigest getDigest(String algorithm) {
+
+		String name = toJcaName(algorithm);
+		if (name == null) {
+			throw new IllegalArgumentException("Could not create signature. Invalid algorithm " + algorithm);
+		}
+
+		MessageDigest digest = digests.get(name);
+		if (digest == null) {
+			try {
+				digest = MessageDigest.getInstance(name);
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+			digests.put(name, digest);
+		}
+		return digest;
+	}
+
+	/**
+	 * @param algorithm the SDK algorithm name
+	 * @return the JCA algorithm name, null if it is not supported
+	 */
+	private static String toJcaName(String algorithm) {
+
+		if (Constants.ALGORITHM_MD5.equalsIgnoreCase(algorithm)) {
+			return "MD5";
+		}
+		else if (Constants.ALGORITHM_SHA.equalsIgnoreCase(algorithm)) {
+			return "SHA-1";
+		}
+		else if (Constants.ALGORITHM_SHA_256.equalsIgnoreCase(algorithm)) {
+			return "SHA-256";
+		}
+		return null;
+	}
+
+	/**
+	 * Appends an amount as the decimal format pattern does: rounded half even
+	 * from its double value, without grouping and without the integer zero
+	 * when there are decimals
+	 */
+	private void appendAmount(BigDecimal value, String valueFormat) {
+
+		int decimals;
+		if (SignatureHelper.DECIMAL_FORMAT_3.equals(valueFormat)) {
+			decimals = 2;
+		}
+		else if (SignatureHelper.DECIMAL_FORMAT_2.equals(valueFormat)) {
+			decimals = 1;
+		}
+		else if (SignatureHelper.DECIMAL_FORMAT_1.equals(valueFormat)) {
+			decimals = 0;
+		}
+		else {
+			appendUtf8(getFormat(valueFormat).format(value.doubleValue()));
+			return;
+		}
+
+		boolean negative;
+		long unscaled;
+		int scale = value.scale();
+
+		if (scale >= 0 && scale <= decimals && value.precision() <= DOUBLE_DIGITS) {
+			// The double keeps every digit, so the rounding leaves the value as is
+			negative = value.signum() < 0;
+			unscaled = Math.abs(value.unscaledValue().longValue());
+		}
+		else {
+			double doubleValue = value.doubleValue();
+			if (Double.isInfinite(doubleValue)) {
+				appendUtf8(getFormat(valueFormat).format(doubleValue));
+				return;
+			}
+			BigDecimal rounded = new BigDecimal(doubleValue).abs().setScale(decimals,
+					RoundingMode.HALF_EVEN);
+			if (rounded.precision() > 18) {
+				appendUtf8(getFormat(valueFormat).format(doubleValue));
+				return;
+			}
+			negative = doubleValue < 0 || (doubleValue == 0 && 1 / doubleValue < 0);
+			unscaled = rounded.unscaledValue().longValue();
+			scale = decimals;
+		}
+
+		if (negative) {
+			append((byte) '-');
+		}
+
+		long pow = 1;
+		for (int i = 0; i < scale; i++) {
+			pow *= 10;
+		}
+		long integer = unscaled / pow;
+		long fraction = unscaled % pow;
+
+		if (integer != 0 || decimals == 0) {
+			appendLong(integer);
+		}
+		if (decimals > 0) {
+			append((byte) '.');
+			// The digits of the fraction, padded with zeros up to the decimals
+			long padding = 1;
+			for (int i = scale; i < decimals; i++) {
+				padding *= 10;
+			}
+			appendDigits(fraction * padding, decimals);
+		}
+	}
+
+	/**
+	 * Gets the reusable decimal format of a pattern
+	 */
+	private DecimalFormat getFormat(String pattern) {
+
+		DecimalFormat format = formats.get(pattern);
+		if (format == null) {
+			format = (DecimalFormat) NumberFormat.getInstance(Locale.US);
+			format.applyPattern(pattern);
+			formats.put(pattern, format);
+		}
+		return format;
+	}
+
+	/**
+	 * Appends the decimal digits of a long
+	 */
+	private void appendLong(long value) {
+
+		if (value < 0) {
+			if (value == Long.MIN_VALUE) {
+				appendUtf8(Long.toString(value));
+				return;
+			}
+			append((byte) '-');
+			value = -value;
+		}
+		int digits = 1;
+		for (long rest = value / 10; rest != 0; rest /= 10) {
+			digits++;
+		}
+		appendDigits(value, digits);
+	}
+
+	/**
+	 * Appends the given number of digits of a not negative long, padded with
+	 * leading zeros
+	 */
+	private void appendDigits(long value, int digits) {
+
+		ensureCapacity(digits);
+		for (int i = length + digits - 1; i >= length; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		length += digits;
+	}
+
+	/**
+	 * Appends a string encoded in UTF-8, the malformed surrogates as '?'
+	 */
+	private void appendUtf8(String value) {
+
+		int size = value.length();
+		ensureCapacity(size * 3);
+		for (int i = 0; i < size; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				buffer[length++] = (byte) c;
+			}
+			else if (c < 0x800) {
+				buffer[length++] = (byte) (0xc0 | (c >> 6));
+				buffer[length++] = (byte) (0x80 | (c & 0x3f));
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < size
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+			}
+			else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+				buffer[length++] = '?';
+			}
+			else {
+				buffer[length++] = (byte) (0xe0 | (c >> 12));
+				buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+	}
+
+	/**
+	 * Appends a byte
+	 */
+	private void append(byte b) {
+
+		ensureCapacity(1);
+		buffer[length++] = b;
+	}
+
+	/**
+	 * Grows the buffer so it has room for the given number of bytes
+	 */
+	private void ensureCapacity(int bytes) {
+
+		if (length + bytes > buffer.length) {
+			byte[] grown = new byte[Math.max(buffer.length * 2, length + bytes)];
+			System.arraycopy(buffer, 0, grown, 0, length);
+			buffer = grown;
+		}
+	}
+}
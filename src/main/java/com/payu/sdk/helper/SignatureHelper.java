@@ -23,12 +23,6 @@
  */
 package com.payu.sdk.helper;
 
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
-
-import org.apache.commons.codec.digest.DigestUtils;
-
 import com.payu.sdk.model.Order;
 
 /**
@@ -37,6 +31,7 @@ import com.payu.sdk.model.Order;
  * @author PayU Latam
  * @since 1.0.0
  * @version 1.0.0, 21/08/2013
+ * @see SignatureEngine
  */
 public final class SignatureHelper {
 
@@ -73,49 +68,14 @@ public final class SignatureHelper {
 	public static String buildSignature(Order order, Integer merchantId, String key,
 			String valueFormat, String algorithm) {
 
-		String message = buildMessage(order, merchantId, key, valueFormat);
+		validateOrder(order, merchantId);
 
-		if (MD5_ALGORITHM.equalsIgnoreCase(algorithm)) {
-			return DigestUtils.md5Hex(message);
-		}
-		else if (SHA_ALGORITHM.equalsIgnoreCase(algorithm)) {
-			return DigestUtils.shaHex(message);
-		}
-		else {
+		if (!MD5_ALGORITHM.equalsIgnoreCase(algorithm)
+				&& !SHA_ALGORITHM.equalsIgnoreCase(algorithm)) {
 			throw new IllegalArgumentException("Could not create signature. Invalid algoritm");
 		}
-	}
-
-	/**
-	 * The message the signature will use
-	 *
-	 * @param order The order that will have the signature
-	 * @param merchantId The merchantId into the signature
-	 * @param key The apiKey of the merchant
-	 * @param valueFormat The format to use for decimal values
-	 * @return the message that will go into the signature
-	 */
-	private static String buildMessage(Order order, Integer merchantId,
-			String key, String valueFormat) {
-
-		validateOrder(order, merchantId);
-
-		DecimalFormat df = (DecimalFormat) NumberFormat.getInstance(Locale.US);
-		df.applyPattern(valueFormat);
-
-		StringBuilder message = new StringBuilder();
-		message.append(key);
-		message.append("~");
-		message.append(merchantId);
-		message.append("~");
-		message.append(order.getReferenceCode());
-		message.append("~");
-		message.append(df.format(order.getAdditionalValue(TX_VALUE).getValue()
-				.doubleValue()));
-		message.append("~");
-		message.append(order.getAdditionalValue(TX_VALUE).getCurrency().toString());
 
-		return message.toString();
+		return SignatureEngine.signValidated(order, merchantId, key, valueFormat, algorithm);
 	}
 
 	/**
@@ -124,7 +84,7 @@ public final class SignatureHelper {
 	 * @param order The order to be validated
 	 * @param merchantId The merchantId to be validated
 	 */
-	private static void validateOrder(Order order, Integer merchantId) {
+	static void validateOrder(Order order, Integer merchantId) {
 
 		if (merchantId == null) {
 			throw new IllegalArgumentException("The merchant id may not be null");
@@ -0,0 +1,182 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.ssl.SSLContexts;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.ConnectionException;
+
+/**
+ * Holds the SSL contexts and socket factories used by the SDK. They are built
+ * once and shared by every connection pool, so the TLS sessions are kept in a
+ * single client cache and the reconnections resume them instead of doing a
+ * full handshake.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class SslSocketFactories {
+
+	/** The supported TLS protocols */
+	static final String[] TLS_PROTOCOLS = { "TLSv1", "TLSv1.1", "TLSv1.2" };
+
+	/** The max number of TLS sessions kept for resumption */
+	private static final int SESSION_CACHE_SIZE = 1000;
+
+	/** The time in seconds a TLS session can be resumed */
+	private static final int SESSION_TIMEOUT = 3600;
+
+	/** The socket factory that validates the server certificates */
+	private static volatile SSLConnectionSocketFactory trustedFactory;
+
+	/** The socket factory that trusts every server certificate */
+	private static volatile SSLConnectionSocketFactory trustAllFactory;
+
+	/** The SSL context that trusts every server certificate */
+	private static volatile SSLContext trustAllContext;
+
+	/**
+	 * Default private empty constructor
+	 */
+	private SslSocketFactories() {
+	}
+
+	/**
+	 * Gets the shared socket factory
+	 *
+	 * @param trustAll
+	 *            Whether the server certificates are trusted without
+	 *            validation, only for the non productive environments
+	 * @return the socket factory
+	 * @throws ConnectionException
+	 */
+	public static SSLConnectionSocketFactory getSocketFactory(boolean trustAll)
+			throws ConnectionException {
+
+		return trustAll ? getTrustAllFactory() : getTrustedFactory();
+	}
+
+	/**
+	 * Tells whether the server certificates of an url are trusted without
+	 * validation, which is the case of every environment that is not PRD, STG
+	 * or Sandbox
+	 *
+	 * @param url
+	 *            The request url
+	 * @return true if the certificates of the url are not validated
+	 */
+	static boolean isTrustAll(String url) {
+
+		return !url.contains(Constants.PAYMENTS_PRD_URL)
+				&& !url.contains(Constants.PAYMENTS_SANDBOX_URL)
+				&& !url.contains(Constants.PAYMENTS_STG_URL);
+	}
+
+	/**
+	 * Gets the shared SSL context that trusts every server certificate
+	 *
+	 * @return the trust all SSL context
+	 * @throws ConnectionException
+	 */
+	public static SSLContext getTrustAllContext() throws ConnectionException {
+
+		SSLContext context = trustAllContext;
+		if (context == null) {
+			synchronized (SslSocketFactories.class) {
+				context = trustAllContext;
+				if (context == null) {
+					context = WebClientDevWrapper.buildTrustAllContext();
+					enableSessionResumption(context);
+					trustAllContext = context;
+				}
+			}
+		}
+		return context;
+	}
+
+	/**
+	 * @return the shared socket factory that validates the server certificates
+	 */
+	private static SSLConnectionSocketFactory getTrustedFactory() {
+
+		SSLConnectionSocketFactory factory = trustedFactory;
+		if (factory == null) {
+			synchronized (SslSocketFactories.class) {
+				factory = trustedFactory;
+				if (factory == null) {
+					SSLContext context = SSLContexts.createDefault();
+					enableSessionResumption(context);
+					factory = new SSLConnectionSocketFactory(context, TLS_PROTOCOLS, null,
+							SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+					trustedFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * @return the shared socket factory that trusts every server certificate
+	 * @throws ConnectionException
+	 */
+	private static SSLConnectionSocketFactory getTrustAllFactory() throws ConnectionException {
+
+		SSLConnectionSocketFactory factory = trustAllFactory;
+		if (factory == null) {
+			SSLContext context = getTrustAllContext();
+			synchronized (SslSocketFactories.class) {
+				factory = trustAllFactory;
+				if (factory == null) {
+					factory = new SSLConnectionSocketFactory(context, TLS_PROTOCOLS, null,
+							NoopHostnameVerifier.INSTANCE);
+					trustAllFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Sizes the client session cache of the context, so the sessions survive
+	 * the eviction of idle connections and can be resumed
+	 *
+	 * @param context
+	 *            The SSL context
+	 */
+	private static void enableSessionResumption(SSLContext context) {
+
+		SSLSessionContext sessionContext = context.getClientSessionContext();
+		if (sessionContext != null) {
+			sessionContext.setSessionCacheSize(SESSION_CACHE_SIZE);
+			sessionContext.setSessionTimeout(SESSION_TIMEOUT);
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.model.request.Request;
+import com.payu.sdk.reporting.model.ReportingRequest;
+import com.payu.sdk.utils.JaxbUtil;
+
+/**
+ * A request to be sent by a {@link PayUTransport}: the url, method and
+ * headers, and the SDK request marshalled as the body.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class TransportRequest {
+
+	/** The SDK request */
+	private final Request request;
+
+	/** The request method */
+	private final RequestMethod method;
+
+	/** The request url */
+	private final String url;
+
+	/** The request headers, by name */
+	private final Map<String, String> headers;
+
+	/** The socket time out in ms */
+	private final int socketTimeOut;
+
+	/**
+	 * Creates a request
+	 *
+	 * @param request
+	 *            The SDK request
+	 * @param method
+	 *            The request method
+	 * @param url
+	 *            The request url
+	 * @param headers
+	 *            The request headers, by name
+	 * @param socketTimeOut
+	 *            The socket time out in ms
+	 */
+	public TransportRequest(Request request, RequestMethod method, String url,
+			Map<String, String> headers, int socketTimeOut) {
+
+		this.request = request;
+		this.method = method;
+		this.url = url;
+		this.headers = Collections.unmodifiableMap(new LinkedHashMap<String, String>(headers));
+		this.socketTimeOut = socketTimeOut;
+	}
+
+	/**
+	 * @return the SDK request
+	 */
+	public Request getRequest() {
+
+		return request;
+	}
+
+	/**
+	 * @return the request method
+	 */
+	public RequestMethod getMethod() {
+
+		return method;
+	}
+
+	/**
+	 * @return the request url
+	 */
+	public String getUrl() {
+
+		return url;
+	}
+
+	/**
+	 * @return the request headers, by name
+	 */
+	public Map<String, String> getHeaders() {
+
+		return headers;
+	}
+
+	/**
+	 * @return the socket time out in ms
+	 */
+	public int getSocketTimeOut() {
+
+		return socketTimeOut;
+	}
+
+	/**
+	 * @return true if the request is sent to the reports API
+	 */
+	public boolean isReports() {
+
+		return request instanceof ReportingRequest;
+	}
+
+	/**
+	 * @return true if the request method sends a body
+	 */
+	public boolean hasBody() {
+
+		return method == RequestMethod.POST || method == RequestMethod.PUT;
+	}
+
+	/**
+	 * Marshals the SDK request straight into the given stream, unless it
+	 * writes its own {@link XmlBody}
+	 *
+	 * @param outputStream
+	 *            The stream to write the body to
+	 * @throws IOException
+	 */
+	public void writeBody(OutputStream outputStream) throws IOException {
+
+		writeBody(request, outputStream);
+	}
+
+	/**
+	 * Marshals a SDK request straight into the given stream, unless it writes
+	 * its own {@link XmlBody}
+	 *
+	 * @param request
+	 *            The SDK request
+	 * @param outputStream
+	 *            The stream to write the body to
+	 * @throws IOException
+	 */
+	static void writeBody(Request request, OutputStream outputStream) throws IOException {
+
+		if (request instanceof XmlBody) {
+			((XmlBody) request).writeXml(outputStream);
+		} else {
+			JaxbUtil.convertJavaToXml(request, outputStream, false);
+		}
+	}
+
+	/**
+	 * Marshals the body into the {@link RequestBodyBuffer} of this thread, so
+	 * it is sent with its length
+	 *
+	 * @return the buffer holding the body, until this thread marshals another
+	 *         one
+	 * @throws IOException
+	 */
+	public RequestBodyBuffer bufferBody() throws IOException {
+
+		RequestBodyBuffer buffer = RequestBodyBuffer.get();
+		writeBody(request, buffer);
+		return buffer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("TransportRequest [method=%s, url=%s]", method, url);
+	}
+}
@@ -0,0 +1,237 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSession;
+
+import org.apache.http.concurrent.Cancellable;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * A {@link PayUTransport} over the JDK {@link HttpURLConnection}, for the
+ * applications that do not want the Apache http client pools. The JDK keeps
+ * the connections alive on its own.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class UrlConnectionTransport implements PayUTransport {
+
+	/** The default connection time out in ms */
+	public static final int DEFAULT_CONNECTION_TIMEOUT = 5000;
+
+	/** The length of the buffer draining the response bodies */
+	private static final int BUFFER_LENGTH = 4096;
+
+	/** Accepts every host name, only for the non productive environments */
+	private static final HostnameVerifier TRUST_ALL_HOSTS = new HostnameVerifier() {
+
+		@Override
+		public boolean verify(String hostname, SSLSession session) {
+
+			return true;
+		}
+	};
+
+	/** The connection time out in ms */
+	private final int connectionTimeOut;
+
+	/**
+	 * Creates a transport with the default connection time out
+	 */
+	public UrlConnectionTransport() {
+
+		this(DEFAULT_CONNECTION_TIMEOUT);
+	}
+
+	/**
+	 * Creates a transport
+	 *
+	 * @param connectionTimeOut
+	 *            The connection time out in ms
+	 */
+	public UrlConnectionTransport(int connectionTimeOut) {
+
+		if (connectionTimeOut < 0) {
+			throw new IllegalArgumentException("The connection time out may not be negative");
+		}
+		this.connectionTimeOut = connectionTimeOut;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see com.payu.sdk.helper.PayUTransport#execute(com.payu.sdk.helper.TransportRequest)
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+
+		final HttpURLConnection connection = (HttpURLConnection) new URL(request.getUrl())
+				.openConnection();
+
+		if (connection instanceof HttpsURLConnection
+				&& SslSocketFactories.isTrustAll(request.getUrl())) {
+			trustAll((HttpsURLConnection) connection);
+		}
+
+		connection.setRequestMethod(request.getMethod().name());
+		connection.setConnectTimeout(connectionTimeOut);
+		connection.setReadTimeout(request.getSocketTimeOut());
+		connection.setUseCaches(false);
+		for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+			connection.setRequestProperty(header.getKey(), header.getValue());
+		}
+
+		// Lets the asynchronous call running this request abort it
+		AsyncRequestExecutor.register(new Cancellable() {
+
+			@Override
+			public boolean cancel() {
+
+				connection.disconnect();
+				return true;
+			}
+		});
+
+		if (request.hasBody()) {
+			RequestBodyBuffer body = request.bufferBody();
+			connection.setDoOutput(true);
+			connection.setFixedLengthStreamingMode(body.size());
+			OutputStream outputStream = connection.getOutputStream();
+			try {
+				body.writeTo(outputStream);
+			}
+			finally {
+				outputStream.close();
+			}
+		}
+
+		return new UrlConnectionResponse(connection);
+	}
+
+	/**
+	 * Trusts every certificate and host name of the connection
+	 *
+	 * @param connection
+	 *            The https connection
+	 * @throws IOException
+	 *             if the trust all SSL context can not be built
+	 */
+	private static void trustAll(HttpsURLConnection connection) throws IOException {
+
+		try {
+			connection.setSSLSocketFactory(SslSocketFactories.getTrustAllContext()
+					.getSocketFactory());
+		}
+		catch (ConnectionException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		connection.setHostnameVerifier(TRUST_ALL_HOSTS);
+	}
+
+	/**
+	 * A response of a JDK connection
+	 */
+	private static final class UrlConnectionResponse implements TransportResponse {
+
+		/** The connection */
+		private final HttpURLConnection connection;
+
+		/** The status code */
+		private final int statusCode;
+
+		/** The body stream, opened once */
+		private InputStream body;
+
+		/**
+		 * @param connection the connection
+		 * @throws IOException
+		 */
+		private UrlConnectionResponse(HttpURLConnection connection) throws IOException {
+
+			this.connection = connection;
+			this.statusCode = connection.getResponseCode();
+		}
+
+		@Override
+		public int getStatusCode() {
+
+			return statusCode;
+		}
+
+		@Override
+		public String getReasonPhrase() {
+
+			try {
+				return connection.getResponseMessage();
+			}
+			catch (IOException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+
+			if (body == null) {
+				body = statusCode >= HttpURLConnection.HTTP_BAD_REQUEST
+						? connection.getErrorStream() : connection.getInputStream();
+			}
+			return body;
+		}
+
+		/**
+		 * Drains and closes the body, so the JDK can reuse the connection
+		 */
+		@Override
+		public void close() {
+
+			try {
+				InputStream inputStream = getBody();
+				if (inputStream != null) {
+					byte[] buffer = new byte[BUFFER_LENGTH];
+					while (inputStream.read(buffer) != -1) {
+						// Drains the body
+					}
+					inputStream.close();
+				}
+			}
+			catch (IOException e) {
+				LoggerUtil.debug("Error closing the response {0}", e.getMessage());
+			}
+		}
+	}
+}
@@ -48,6 +48,9 @@ import com.payu.sdk.exceptions.ConnectionException;
  */
 public final class WebClientDevWrapper {
 
+	/** The socket factory shared by the wrapped clients */
+	private static volatile SSLSocketFactory socketFactory;
+
 	/**
 	 * Private Constructor
 	 */
@@ -63,6 +66,33 @@ public final class WebClientDevWrapper {
 	 */
 	public static HttpClient wrapClient(HttpClient base)
 			throws ConnectionException {
+		try {
+			SSLSocketFactory ssf = socketFactory;
+			if (ssf == null) {
+				ssf = new SSLSocketFactory(SslSocketFactories.getTrustAllContext(),
+						SslSocketFactories.TLS_PROTOCOLS, null,
+						SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+				socketFactory = ssf;
+			}
+
+			ClientConnectionManager ccm = base.getConnectionManager();
+			SchemeRegistry sr = ccm.getSchemeRegistry();
+
+			sr.register(new Scheme("https", Constants.HTTPS_PORT, ssf));
+			return new DefaultHttpClient(ccm, base.getParams());
+		} catch (Exception ex) {
+			throw new ConnectionException("Invalid SSL connection", ex);
+		}
+	}
+
+	/**
+	 * Builds a SSL context that trusts every server certificate. It is only
+	 * used against the non productive environments
+	 *
+	 * @return the trust all SSL context
+	 * @throws ConnectionException
+	 */
+	static SSLContext buildTrustAllContext() throws ConnectionException {
 		try {
 			SSLContext ctx = SSLContext.getInstance(Constants.SSL_PROVIDER);
 
@@ -86,15 +116,7 @@ public final class WebClientDevWrapper {
 			};
 
 			ctx.init(null, new TrustManager[] { tm }, null);
-
-			SSLSocketFactory ssf = new SSLSocketFactory(ctx,new String[]{"TLSv1","TLSv1.1","TLSv1.2"},
-					null,SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
-
-			ClientConnectionManager ccm = base.getConnectionManager();
-			SchemeRegistry sr = ccm.getSchemeRegistry();
-
-			sr.register(new Scheme("https", Constants.HTTPS_PORT, ssf));
-			return new DefaultHttpClient(ccm, base.getParams());
+			return ctx;
 		} catch (Exception ex) {
 			throw new ConnectionException("Invalid SSL connection", ex);
 		}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import com.payu.sdk.model.MediaType;
+import com.payu.sdk.model.request.Request;
+
+/**
+ * A http entity with the compact XML of a request, never held as a String.
+ * The request is marshalled into the {@link RequestBodyBuffer} of the thread
+ * and sent with its length, so the entity has to be sent before the thread
+ * marshals another body.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class XmlRequestEntity extends AbstractHttpEntity {
+
+	/** The bytes holding the body */
+	private final byte[] bytes;
+
+	/** The length of the body */
+	private final int length;
+
+	/**
+	 * Creates the entity of the given request
+	 *
+	 * @param request
+	 *            The request to send
+	 * @throws IOException
+	 *             if the request can not be marshalled
+	 */
+	public XmlRequestEntity(Request request) throws IOException {
+
+		RequestBodyBuffer buffer = RequestBodyBuffer.get();
+		TransportRequest.writeBody(request, buffer);
+		bytes = buffer.getBytes();
+		length = buffer.size();
+		setContentType(MediaType.XML.getCode() + "; charset=utf-8");
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.http.HttpEntity#isRepeatable()
+	 */
+	@Override
+	public boolean isRepeatable() {
+
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.http.HttpEntity#getContentLength()
+	 */
+	@Override
+	public long getContentLength() {
+
+		return length;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.http.HttpEntity#getContent()
+	 */
+	@Override
+	public InputStream getContent() {
+
+		return new ByteArrayInputStream(bytes, 0, length);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.http.HttpEntity#writeTo(java.io.OutputStream)
+	 */
+	@Override
+	public void writeTo(OutputStream outputStream) throws IOException {
+
+		outputStream.write(bytes, 0, length);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.http.HttpEntity#isStreaming()
+	 */
+	@Override
+	public boolean isStreaming() {
+
+		return false;
+	}
+}
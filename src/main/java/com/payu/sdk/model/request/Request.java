@@ -30,7 +30,7 @@ import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
-import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
 import com.payu.sdk.constants.Resources.RequestMethod;
 import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.exceptions.SDKException.ErrorCode;
@@ -191,18 +191,35 @@ public abstract class Request implements Serializable {
 	 */
 	public String getRequestUrl(RequestMethod requestMethod) {
 
+		return getRequestUrl(PayUClient.getDefault(), requestMethod);
+	}
+
+	/**
+	 * Returns the request URL of the given client based on the request method
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param requestMethod
+	 *            The request method to be sent to the server
+	 * @return the request base url
+	 */
+	public String getRequestUrl(PayUClient client, RequestMethod requestMethod) {
+
 		String url;
 		Environment environment = Environment.API_URL;
 
 		if (this instanceof ReportingRequest) {
 
-			url = PayU.reportsUrl != null ? PayU.reportsUrl : environment
-					.getReportsUrl();
+			url = client.getReportsUrl();
+			if (url == null) {
+				url = environment.getReportsUrl();
+			}
 		} else {
 
-			url = PayU.paymentsUrl != null ? PayU.paymentsUrl : environment
-					.getPaymentsUrl();
-
+			url = client.getPaymentsUrl();
+			if (url == null) {
+				url = environment.getPaymentsUrl();
+			}
 		}
 
 		if (!url.endsWith(PATH_SEPARATOR)) {
@@ -23,8 +23,13 @@
  */
 package com.payu.sdk.model.response;
 
+import java.io.InputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -35,6 +40,7 @@ import com.payu.sdk.exceptions.SDKException.ErrorCode;
 import com.payu.sdk.payments.model.PaymentResponse;
 import com.payu.sdk.reporting.model.ReportingResponse;
 import com.payu.sdk.utils.JaxbUtil;
+import com.payu.sdk.utils.xml.PaymentResponseParser;
 
 /**
  * Represents a response in the PayU SDK.
@@ -49,6 +55,9 @@ public class Response implements Serializable {
 
 	/** The generated serial version Id */
 	private static final long serialVersionUID = -3399914855691352540L;
+	/** The root elements whose response code is checked */
+	private static final Set<String> CODE_ROOT_ELEMENTS = new HashSet<String>(
+			Arrays.asList("response", "paymentResponse", "reportingResponse"));
 	/** The response code sent by the server */
 	@XmlElement
 	private ResponseCode code;
@@ -161,4 +170,42 @@ public class Response implements Serializable {
 			throw new PayUException(ErrorCode.XML_DESERIALIZATION_ERROR, e);
 		}
 	}
+
+	/**
+	 * Converts a response stream to the response, parsing it only once. The
+	 * response code is checked when the root element is a generic, payments
+	 * or reporting response. Payment responses are read by the
+	 * {@link PaymentResponseParser}
+	 *
+	 * @param type
+	 *            The response class
+	 * @param xmlData
+	 *            The stream with the response in a xml format
+	 * @return The response object, or null if the stream is empty
+	 * @throws PayUException
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Response> T fromBaseXml(Class<T> type,
+			InputStream xmlData) throws PayUException {
+
+		JAXBElement<T> element;
+		if (PaymentResponse.class.equals(type)) {
+			element = (JAXBElement<T>) PaymentResponseParser.parseElement(xmlData);
+		} else {
+			element = JaxbUtil.convertXmlToElement(type, xmlData);
+		}
+
+		if (element == null) {
+			return null;
+		}
+
+		T response = element.getValue();
+
+		if (CODE_ROOT_ELEMENTS.contains(element.getName().getLocalPart())
+				&& !ResponseCode.SUCCESS.equals(response.getCode())) {
+			throw new PayUException(ErrorCode.API_ERROR, response.getError());
+		}
+
+		return response;
+	}
 }
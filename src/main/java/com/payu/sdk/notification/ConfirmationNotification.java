@@ -0,0 +1,214 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.notification;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A confirmation POST sent by PayU to the confirmation url of a merchant
+ * when a transaction reaches a final state. Its form fields are kept as
+ * received.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ConfirmationNotification {
+
+	/** The merchant id field */
+	public static final String MERCHANT_ID = "merchant_id";
+
+	/** The transaction state field */
+	public static final String STATE_POL = "state_pol";
+
+	/** The transaction response code field */
+	public static final String RESPONSE_CODE_POL = "response_code_pol";
+
+	/** The merchant reference code field */
+	public static final String REFERENCE_SALE = "reference_sale";
+
+	/** The PayU order id field */
+	public static final String REFERENCE_POL = "reference_pol";
+
+	/** The transaction id field */
+	public static final String TRANSACTION_ID = "transaction_id";
+
+	/** The signature field */
+	public static final String SIGN = "sign";
+
+	/** The transaction value field */
+	public static final String VALUE = "value";
+
+	/** The transaction currency field */
+	public static final String CURRENCY = "currency";
+
+	/** The payment method name field */
+	public static final String PAYMENT_METHOD_NAME = "payment_method_name";
+
+	/** The buyer email field */
+	public static final String EMAIL_BUYER = "email_buyer";
+
+	/** The test field */
+	public static final String TEST = "test";
+
+	/** The form fields, by name */
+	private final Map<String, String> parameters;
+
+	/**
+	 * Creates a notification
+	 *
+	 * @param parameters The form fields, by name
+	 */
+	public ConfirmationNotification(Map<String, String> parameters) {
+
+		this.parameters = Collections.unmodifiableMap(parameters);
+	}
+
+	/**
+	 * @param name the field name
+	 * @return the field value, null if it was not sent
+	 */
+	public String getParameter(String name) {
+
+		return parameters.get(name);
+	}
+
+	/**
+	 * @return every form field, by name
+	 */
+	public Map<String, String> getParameters() {
+
+		return parameters;
+	}
+
+	/**
+	 * @return the merchant id
+	 */
+	public String getMerchantId() {
+
+		return parameters.get(MERCHANT_ID);
+	}
+
+	/**
+	 * @return the transaction state code, e.g. 4 for approved
+	 */
+	public String getStatePol() {
+
+		return parameters.get(STATE_POL);
+	}
+
+	/**
+	 * @return the transaction response code
+	 */
+	public String getResponseCodePol() {
+
+		return parameters.get(RESPONSE_CODE_POL);
+	}
+
+	/**
+	 * @return the merchant reference code
+	 */
+	public String getReferenceSale() {
+
+		return parameters.get(REFERENCE_SALE);
+	}
+
+	/**
+	 * @return the PayU order id
+	 */
+	public String getReferencePol() {
+
+		return parameters.get(REFERENCE_POL);
+	}
+
+	/**
+	 * @return the transaction id
+	 */
+	public String getTransactionId() {
+
+		return parameters.get(TRANSACTION_ID);
+	}
+
+	/**
+	 * @return the hex signature
+	 */
+	public String getSign() {
+
+		return parameters.get(SIGN);
+	}
+
+	/**
+	 * @return the transaction value, as sent
+	 */
+	public String getValue() {
+
+		return parameters.get(VALUE);
+	}
+
+	/**
+	 * @return the transaction currency
+	 */
+	public String getCurrency() {
+
+		return parameters.get(CURRENCY);
+	}
+
+	/**
+	 * @return the payment method name
+	 */
+	public String getPaymentMethodName() {
+
+		return parameters.get(PAYMENT_METHOD_NAME);
+	}
+
+	/**
+	 * @return the buyer email
+	 */
+	public String getEmailBuyer() {
+
+		return parameters.get(EMAIL_BUYER);
+	}
+
+	/**
+	 * @return true if the transaction was a test one
+	 */
+	public boolean isTest() {
+
+		String test = parameters.get(TEST);
+		return "1".equals(test) || "true".equalsIgnoreCase(test);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("ConfirmationNotification [transactionId=%s, referenceSale=%s, statePol=%s]",
+				getTransactionId(), getReferenceSale(), getStatePol());
+	}
+}
@@ -0,0 +1,601 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.notification;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.payu.sdk.utils.LoggerUtil;
+
+/**
+ * Receives the confirmation notifications PayU posts to a merchant: parses
+ * them, verifies their signature, drops the retries of the notifications
+ * already accepted and hands the rest to a {@link NotificationHandler} from
+ * its own threads.
+ * <p>
+ * The notifications wait for the handler in a bounded queue. When it is full
+ * the notification is {@link Result#REJECTED}: the confirmation endpoint
+ * should answer it with an error status, so PayU sends it again later.
+ * <p>
+ * A queued notification is {@link Result#ACCEPTED} before the handler runs,
+ * so the delivery is at most once: PayU does not send again a notification
+ * answered with success, even if the handler then fails. Its retries are
+ * let through again, but there may be none. A {@link Builder#synchronous()}
+ * ingestor calls the handler from {@link #ingest(Map)} instead and gives
+ * {@link Result#FAILED} when it throws, so the endpoint answers an error
+ * and PayU sends the notification again: the delivery is at least once.
+ *
+ * <pre>
+ * NotificationIngestor ingestor = NotificationIngestor.builder()
+ * 		.apiKey(apiKey).handler(handler).build();
+ * ...
+ * Result result = ingestor.ingest(request.getInputStream());
+ * response.setStatus(result.isRetried() ? 503 : 200);
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class NotificationIngestor implements Closeable {
+
+	/** The default capacity of the queue */
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+	/** The default number of notifications remembered to drop the retries */
+	public static final int DEFAULT_DEDUPLICATION_CAPACITY = 100000;
+
+	/** The time in ms the workers wait for a notification before checking if they must stop */
+	private static final long POLL_TIMEOUT = 100;
+
+	/** The ingestor number, used to name the threads */
+	private static final AtomicInteger INGESTORS = new AtomicInteger();
+
+	/**
+	 * The result of an ingested notification
+	 */
+	public enum Result {
+
+		/** Verified and queued for the handler, or handled if synchronous */
+		ACCEPTED,
+
+		/** A retry of an accepted notification, dropped */
+		DUPLICATE,
+
+		/** The signature is missing or wrong, dropped */
+		INVALID_SIGNATURE,
+
+		/** The body can not be parsed, dropped */
+		MALFORMED,
+
+		/** The queue is full or the ingestor closed, to be retried by PayU */
+		REJECTED,
+
+		/** The handler of a synchronous ingestor failed, to be retried by PayU */
+		FAILED;
+
+		/**
+		 * @return whether the endpoint should answer an error status, so
+		 *         PayU sends the notification again
+		 */
+		public boolean isRetried() {
+
+			return this == REJECTED || this == FAILED;
+		}
+	}
+
+	/** The signature verifier */
+	private final NotificationVerifier verifier;
+
+	/** The handler */
+	private final NotificationHandler handler;
+
+	/** The notifications waiting for the handler, null if synchronous */
+	private final BlockingQueue<ConfirmationNotification> queue;
+
+	/** The time in ns a notification waits for room in the queue */
+	private final long offerTimeout;
+
+	/** The keys of the accepted notifications */
+	private final DeduplicationWindow accepted;
+
+	/** The worker threads */
+	private final Thread[] workers;
+
+	/** Whether the ingestor is closed */
+	private volatile boolean closed;
+
+	/**
+	 * Held to accept a notification and, exclusively, to close, so nothing is
+	 * queued once closed
+	 */
+	private final ReadWriteLock closing = new ReentrantReadWriteLock();
+
+	/** The number of ingested notifications */
+	private final AtomicLong received = new AtomicLong();
+
+	/** The number of notifications by result */
+	private final AtomicLong[] results = new AtomicLong[Result.values().length];
+
+	/** The number of notifications the handler failed to handle */
+	private final AtomicLong handlerErrors = new AtomicLong();
+
+	/**
+	 * Creates an ingestor from its builder and starts its threads
+	 *
+	 * @param builder the builder
+	 */
+	private NotificationIngestor(Builder builder) {
+
+		verifier = new NotificationVerifier(builder.apiKey);
+		handler = builder.handler;
+		queue = builder.synchronous ? null : new ArrayBlockingQueue<ConfirmationNotification>(
+				builder.queueCapacity);
+		offerTimeout = builder.offerTimeout;
+		accepted = new DeduplicationWindow(builder.deduplicationCapacity);
+		for (int i = 0; i < results.length; i++) {
+			results[i] = new AtomicLong();
+		}
+
+		int number = INGESTORS.incrementAndGet();
+		workers = new Thread[builder.synchronous ? 0 : builder.workers];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Thread(new Worker(), "payu-notification-" + number + "-" + (i + 1));
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+
+		return new Builder();
+	}
+
+	/**
+	 * Ingests a form encoded notification body
+	 *
+	 * @param body The body bytes
+	 * @return the result
+	 */
+	public Result ingest(byte[] body) {
+
+		return ingest(body, 0, body.length);
+	}
+
+	/**
+	 * Ingests a form encoded notification body
+	 *
+	 * @param body The body bytes
+	 * @param offset The offset of the body
+	 * @param length The body length
+	 * @return the result
+	 */
+	public Result ingest(byte[] body, int offset, int length) {
+
+		Map<String, String> fields;
+		try {
+			fields = NotificationParser.parse(body, offset, length);
+		}
+		catch (IllegalArgumentException e) {
+			received.incrementAndGet();
+			return count(Result.MALFORMED);
+		}
+		return ingest(fields);
+	}
+
+	/**
+	 * Ingests a form encoded notification body
+	 *
+	 * @param body The body stream, not closed
+	 * @return the result
+	 * @throws IOException if the body can not be read
+	 */
+	public Result ingest(InputStream body) throws IOException {
+
+		Map<String, String> fields;
+		try {
+			fields = NotificationParser.parse(body);
+		}
+		catch (IllegalArgumentException e) {
+			received.incrementAndGet();
+			return count(Result.MALFORMED);
+		}
+		return ingest(fields);
+	}
+
+	/**
+	 * Ingests a notification already parsed, e.g. by a servlet container
+	 *
+	 * @param fields The notification fields, by name
+	 * @return the result
+	 */
+	public Result ingest(Map<String, String> fields) {
+
+		received.incrementAndGet();
+		ConfirmationNotification notification = new ConfirmationNotification(
+				fields instanceof HashMap ? fields : new HashMap<String, String>(fields));
+		if (!verifier.verify(notification)) {
+			return count(Result.INVALID_SIGNATURE);
+		}
+
+		closing.readLock().lock();
+		try {
+			if (closed) {
+				return count(Result.REJECTED);
+			}
+
+			String key = key(notification);
+			if (!accepted.add(key)) {
+				return count(Result.DUPLICATE);
+			}
+			return count(queue != null ? enqueue(notification, key) : handle(notification,
+					key));
+		} finally {
+			closing.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Queues an accepted notification for the workers
+	 *
+	 * @param notification the notification
+	 * @param key its deduplication key
+	 * @return the result
+	 */
+	private Result enqueue(ConfirmationNotification notification, String key) {
+
+		boolean queued;
+		try {
+			queued = offerTimeout > 0
+					? queue.offer(notification, offerTimeout, TimeUnit.NANOSECONDS)
+					: queue.offer(notification);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			queued = false;
+		}
+		if (!queued) {
+			// Lets the retry of PayU through
+			accepted.remove(key);
+			return Result.REJECTED;
+		}
+		return Result.ACCEPTED;
+	}
+
+	/**
+	 * Hands an accepted notification to the handler. When it fails the
+	 * deduplication key is forgotten, so a retry of PayU gets through
+	 *
+	 * @param notification the notification
+	 * @param key its deduplication key
+	 * @return the result
+	 */
+	private Result handle(ConfirmationNotification notification, String key) {
+
+		try {
+			handler.onNotification(notification);
+			return Result.ACCEPTED;
+		}
+		catch (Exception e) {
+			accepted.remove(key);
+			handlerErrors.incrementAndGet();
+			LoggerUtil.error("Error handling the notification " + notification, e);
+			return Result.FAILED;
+		}
+	}
+
+	/**
+	 * @param notification a notification
+	 * @return its deduplication key, the retries are the same transaction in
+	 *         the same state
+	 */
+	private static String key(ConfirmationNotification notification) {
+
+		return notification.getTransactionId() != null
+				? notification.getTransactionId() + '~' + notification.getStatePol()
+				: notification.getSign();
+	}
+
+	/**
+	 * @return the number of ingested notifications
+	 */
+	public long getReceived() {
+
+		return received.get();
+	}
+
+	/**
+	 * @param result a result
+	 * @return the number of notifications with the result
+	 */
+	public long getCount(Result result) {
+
+		return results[result.ordinal()].get();
+	}
+
+	/**
+	 * @return the number of notifications the handler failed to handle
+	 */
+	public long getHandlerErrors() {
+
+		return handlerErrors.get();
+	}
+
+	/**
+	 * @return the number of notifications waiting for the handler
+	 */
+	public int getQueued() {
+
+		return queue != null ? queue.size() : 0;
+	}
+
+	/**
+	 * Stops accepting notifications and waits for the handler to take the
+	 * queued ones
+	 */
+	@Override
+	public void close() {
+
+		// Waits for the notifications being accepted
+		closing.writeLock().lock();
+		try {
+			closed = true;
+		} finally {
+			closing.writeLock().unlock();
+		}
+		for (Thread worker : workers) {
+			try {
+				worker.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the result, once counted
+	 */
+	private Result count(Result result) {
+
+		results[result.ordinal()].incrementAndGet();
+		return result;
+	}
+
+	/**
+	 * Takes the queued notifications and hands them to the handler
+	 */
+	private final class Worker implements Runnable {
+
+		@Override
+		public void run() {
+
+			while (true) {
+				ConfirmationNotification notification;
+				try {
+					notification = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				if (notification == null) {
+					// Once closed nothing else is queued
+					if (closed && queue.isEmpty()) {
+						return;
+					}
+					continue;
+				}
+				handle(notification, key(notification));
+			}
+		}
+	}
+
+	/**
+	 * The keys of the last accepted notifications
+	 */
+	private static final class DeduplicationWindow {
+
+		/** The keys, the eldest first */
+		private final Map<String, Boolean> keys;
+
+		/**
+		 * @param capacity the number of keys kept
+		 */
+		private DeduplicationWindow(final int capacity) {
+
+			keys = new LinkedHashMap<String, Boolean>(16, 0.75f, false) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+
+					return size() > capacity;
+				}
+			};
+		}
+
+		/**
+		 * @return true if the key was not kept yet
+		 */
+		private synchronized boolean add(String key) {
+
+			return keys.put(key, Boolean.TRUE) == null;
+		}
+
+		/**
+		 * Forgets a key
+		 */
+		private synchronized void remove(String key) {
+
+			keys.remove(key);
+		}
+	}
+
+	/**
+	 * Builds a {@link NotificationIngestor}
+	 */
+	public static final class Builder {
+
+		/** The apiKey of the merchant */
+		private String apiKey;
+
+		/** The handler */
+		private NotificationHandler handler;
+
+		/** The queue capacity */
+		private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+		/** The number of worker threads */
+		private int workers = 1;
+
+		/** The time in ns a notification waits for room in the queue */
+		private long offerTimeout;
+
+		/** The number of notifications remembered to drop the retries */
+		private int deduplicationCapacity = DEFAULT_DEDUPLICATION_CAPACITY;
+
+		/** Whether the handler is called from the ingesting thread */
+		private boolean synchronous;
+
+		/**
+		 * Default private constructor
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * @param apiKey the apiKey of the merchant, which signs the
+		 *            notifications
+		 * @return this builder
+		 */
+		public Builder apiKey(String apiKey) {
+
+			this.apiKey = apiKey;
+			return this;
+		}
+
+		/**
+		 * @param handler the handler of the verified notifications
+		 * @return this builder
+		 */
+		public Builder handler(NotificationHandler handler) {
+
+			this.handler = handler;
+			return this;
+		}
+
+		/**
+		 * @param queueCapacity the number of notifications that can wait for
+		 *            the handler
+		 * @return this builder
+		 */
+		public Builder queueCapacity(int queueCapacity) {
+
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * @param workers the number of threads calling the handler
+		 * @return this builder
+		 */
+		public Builder workers(int workers) {
+
+			this.workers = workers;
+			return this;
+		}
+
+		/**
+		 * @param timeout the time a notification waits for room in the
+		 *            queue before being rejected, 0 to not wait
+		 * @param unit the time unit
+		 * @return this builder
+		 */
+		public Builder offerTimeout(long timeout, TimeUnit unit) {
+
+			this.offerTimeout = unit.toNanos(timeout);
+			return this;
+		}
+
+		/**
+		 * @param deduplicationCapacity the number of accepted notifications
+		 *            remembered to drop their retries
+		 * @return this builder
+		 */
+		public Builder deduplicationCapacity(int deduplicationCapacity) {
+
+			this.deduplicationCapacity = deduplicationCapacity;
+			return this;
+		}
+
+		/**
+		 * Calls the handler from the thread ingesting the notification, with
+		 * no queue nor worker threads. A failing handler gives
+		 * {@link Result#FAILED}, so PayU sends the notification again
+		 *
+		 * @return this builder
+		 */
+		public Builder synchronous() {
+
+			this.synchronous = true;
+			return this;
+		}
+
+		/**
+		 * Builds the ingestor and starts its threads
+		 *
+		 * @return the ingestor
+		 */
+		public NotificationIngestor build() {
+
+			if (apiKey == null || apiKey.isEmpty()) {
+				throw new IllegalStateException("The api key is required");
+			}
+			if (handler == null) {
+				throw new IllegalStateException("The handler is required");
+			}
+			if (queueCapacity <= 0 || workers <= 0 || deduplicationCapacity <= 0
+					|| offerTimeout < 0) {
+				throw new IllegalArgumentException("Invalid ingestor settings");
+			}
+			return new NotificationIngestor(this);
+		}
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.notification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses the <code>application/x-www-form-urlencoded</code> body of a
+ * confirmation notification. The fields are decoded into a per thread
+ * buffer, and the names PayU sends are not allocated but taken from a table,
+ * so the only new strings are the values.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class NotificationParser {
+
+	/** The max body size, bigger bodies are rejected */
+	public static final int MAX_BODY_SIZE = 64 * 1024;
+
+	/** The charset of the bodies */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** The fields of the confirmation notifications */
+	private static final String[] KNOWN_FIELDS = { "merchant_id", "state_pol", "risk",
+			"response_code_pol", "reference_sale", "reference_pol", "sign", "extra1", "extra2",
+			"extra3", "payment_method", "payment_method_type", "payment_method_id",
+			"payment_method_name", "installments_number", "value", "tax", "additional_value",
+			"transaction_date", "currency", "email_buyer", "cus", "pse_bank", "test",
+			"description", "billing_address", "shipping_address", "phone", "office_phone",
+			"account_number_ach", "account_type_ach", "administrative_fee",
+			"administrative_fee_base", "administrative_fee_tax", "airline_code", "attempts",
+			"authorization_code", "bank_id", "billing_city", "billing_country",
+			"commision_pol", "commision_pol_currency", "customer_number", "date",
+			"error_code_bank", "error_message_bank", "exchange_rate", "ip", "nickname_buyer",
+			"nickname_seller", "payment_request_state", "pseReference1", "pseReference2",
+			"pseReference3", "response_message_pol", "shipping_city", "shipping_country",
+			"transaction_bank_id", "transaction_id", "franchise", "cc_number", "cc_holder",
+			"bank_referenced_name", "antifraudMerchantId", "travel_agency_authorization_code" };
+
+	/** The encoded names of the known fields */
+	private static final byte[][] KNOWN_FIELD_BYTES = new byte[KNOWN_FIELDS.length][];
+
+	static {
+		for (int i = 0; i < KNOWN_FIELDS.length; i++) {
+			KNOWN_FIELD_BYTES[i] = KNOWN_FIELDS[i].getBytes(UTF_8);
+		}
+	}
+
+	/** The decoding buffers of each thread */
+	private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+
+		@Override
+		protected Buffers initialValue() {
+
+			return new Buffers();
+		}
+	};
+
+	/**
+	 * Default private empty constructor
+	 */
+	private NotificationParser() {
+	}
+
+	/**
+	 * Parses a body
+	 *
+	 * @param body The body bytes
+	 * @return the fields, by name
+	 * @throws IllegalArgumentException if the body is malformed
+	 */
+	public static Map<String, String> parse(byte[] body) {
+
+		return parse(body, 0, body.length);
+	}
+
+	/**
+	 * Parses a body
+	 *
+	 * @param body The body bytes
+	 * @param offset The offset of the body
+	 * @param length The body length
+	 * @return the fields, by name. A repeated field keeps its last value
+	 * @throws IllegalArgumentException if the body is malformed
+	 */
+	public static Map<String, String> parse(byte[] body, int offset, int length) {
+
+		if (length > MAX_BODY_SIZE) {
+			throw new IllegalArgumentException("The notification body is too big");
+		}
+
+		Buffers buffers = BUFFERS.get();
+		Map<String, String> fields = new HashMap<String, String>(64);
+		int end = offset + length;
+		int start = offset;
+
+		while (start < end) {
+			int pairEnd = indexOf(body, (byte) '&', start, end);
+			if (pairEnd > start) {
+				int separator = indexOf(body, (byte) '=', start, pairEnd);
+				int nameLength = buffers.decode(body, start, separator);
+				String name = knownField(buffers.bytes, nameLength);
+				if (name == null) {
+					name = new String(buffers.bytes, 0, nameLength, UTF_8);
+				}
+				String value = "";
+				if (separator < pairEnd) {
+					int valueLength = buffers.decode(body, separator + 1, pairEnd);
+					value = new String(buffers.bytes, 0, valueLength, UTF_8);
+				}
+				fields.put(name, value);
+			}
+			start = pairEnd + 1;
+		}
+		return fields;
+	}
+
+	/**
+	 * Reads and parses a body
+	 *
+	 * @param body The body stream, not closed
+	 * @return the fields, by name
+	 * @throws IOException if the body can not be read
+	 * @throws IllegalArgumentException if the body is malformed or too big
+	 */
+	public static Map<String, String> parse(InputStream body) throws IOException {
+
+		Buffers buffers = BUFFERS.get();
+		int length = 0;
+		int read;
+		while ((read = body.read(buffers.body, length, buffers.body.length - length)) != -1) {
+			length += read;
+			if (length == buffers.body.length) {
+				if (length >= MAX_BODY_SIZE) {
+					throw new IllegalArgumentException("The notification body is too big");
+				}
+				buffers.body = grow(buffers.body, length * 2);
+			}
+		}
+		return parse(buffers.body, 0, length);
+	}
+
+	/**
+	 * @return the index of the byte in the range, the end if it is missing
+	 */
+	private static int indexOf(byte[] bytes, byte b, int start, int end) {
+
+		for (int i = start; i < end; i++) {
+			if (bytes[i] == b) {
+				return i;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * @return the known field with the given encoded name, null if there is
+	 *         none
+	 */
+	private static String knownField(byte[] name, int length) {
+
+		for (int i = 0; i < KNOWN_FIELD_BYTES.length; i++) {
+			byte[] known = KNOWN_FIELD_BYTES[i];
+			if (known.length == length && equals(known, name, length)) {
+				return KNOWN_FIELDS[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return true if the first bytes of both arrays are equal
+	 */
+	private static boolean equals(byte[] a, byte[] b, int length) {
+
+		for (int i = 0; i < length; i++) {
+			if (a[i] != b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return a copy of the array with the given size
+	 */
+	private static byte[] grow(byte[] bytes, int size) {
+
+		byte[] grown = new byte[size];
+		System.arraycopy(bytes, 0, grown, 0, bytes.length);
+		return grown;
+	}
+
+	/**
+	 * The decoding buffers of a thread
+	 */
+	private static final class Buffers {
+
+		/** The decoded bytes of a field */
+		private byte[] bytes = new byte[256];
+
+		/** The read body */
+		private byte[] body = new byte[2048];
+
+		/**
+		 * Decodes a url encoded range into the field buffer
+		 *
+		 * @return the decoded length
+		 */
+		private int decode(byte[] source, int start, int end) {
+
+			if (bytes.length < end - start) {
+				bytes = new byte[end - start];
+			}
+			int length = 0;
+			for (int i = start; i < end; i++) {
+				byte b = source[i];
+				if (b == '+') {
+					bytes[length++] = ' ';
+				}
+				else if (b == '%') {
+					if (i + 2 >= end) {
+						throw new IllegalArgumentException("Incomplete escape in the notification body");
+					}
+					bytes[length++] = (byte) ((hex(source[i + 1]) << 4) | hex(source[i + 2]));
+					i += 2;
+				}
+				else {
+					bytes[length++] = b;
+				}
+			}
+			return length;
+		}
+
+		/**
+		 * @return the value of a hex digit
+		 */
+		private static int hex(byte b) {
+
+			if (b >= '0' && b <= '9') {
+				return b - '0';
+			}
+			else if (b >= 'a' && b <= 'f') {
+				return b - 'a' + 10;
+			}
+			else if (b >= 'A' && b <= 'F') {
+				return b - 'A' + 10;
+			}
+			throw new IllegalArgumentException("Invalid escape in the notification body");
+		}
+	}
+}
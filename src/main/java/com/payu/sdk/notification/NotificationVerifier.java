@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.notification;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.helper.SignatureEngine;
+
+/**
+ * Verifies the signature of the confirmation notifications:
+ * <code>apiKey~merchant_id~reference_sale~new_value~currency~state_pol</code>,
+ * where <code>new_value</code> is the value with one decimal when its second
+ * decimal is zero. The algorithm, MD5, SHA or SHA-256, is told by the length
+ * of the signature.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class NotificationVerifier {
+
+	/** The signature separator */
+	private static final char SEPARATOR = '~';
+
+	/** The apiKey of the merchant */
+	private final String apiKey;
+
+	/**
+	 * Creates a verifier
+	 *
+	 * @param apiKey The apiKey of the merchant
+	 */
+	public NotificationVerifier(String apiKey) {
+
+		if (apiKey == null || apiKey.isEmpty()) {
+			throw new IllegalArgumentException("The api key may not be empty");
+		}
+		this.apiKey = apiKey;
+	}
+
+	/**
+	 * Verifies the signature of a notification
+	 *
+	 * @param notification The notification
+	 * @return true if the notification was signed with the apiKey
+	 */
+	public boolean verify(ConfirmationNotification notification) {
+
+		String sign = notification.getSign();
+		String algorithm = sign != null ? getAlgorithm(sign) : null;
+		String value = notification.getValue();
+		if (algorithm == null || value == null || notification.getMerchantId() == null
+				|| notification.getReferenceSale() == null || notification.getCurrency() == null
+				|| notification.getStatePol() == null) {
+			return false;
+		}
+
+		String signatureValue;
+		try {
+			signatureValue = getSignatureValue(value);
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+
+		StringBuilder message = new StringBuilder(96);
+		message.append(notification.getMerchantId()).append(SEPARATOR)
+				.append(notification.getReferenceSale()).append(SEPARATOR)
+				.append(signatureValue).append(SEPARATOR)
+				.append(notification.getCurrency()).append(SEPARATOR)
+				.append(notification.getStatePol());
+
+		return equalsIgnoreCase(SignatureEngine.sign(apiKey, message.toString(), algorithm), sign);
+	}
+
+	/**
+	 * Gets the value of the signature: rounded to two decimals, and with one
+	 * decimal when the second one is zero, e.g. 150.00 is 150.0 and 150.26 is
+	 * 150.26
+	 *
+	 * @param value The notification value
+	 * @return the signature value
+	 * @throws NumberFormatException if the value is not a number
+	 */
+	static String getSignatureValue(String value) {
+
+		BigDecimal amount = new BigDecimal(value.trim()).setScale(2, RoundingMode.HALF_UP);
+		if (amount.unscaledValue().mod(BigInteger.TEN).signum() != 0) {
+			return amount.toPlainString();
+		}
+		return amount.setScale(1).toPlainString();
+	}
+
+	/**
+	 * @param sign the hex signature
+	 * @return the algorithm with the signature length, null if there is none
+	 */
+	static String getAlgorithm(String sign) {
+
+		switch (sign.length()) {
+		case 32:
+			return Constants.ALGORITHM_MD5;
+		case 40:
+			return Constants.ALGORITHM_SHA;
+		case 64:
+			return Constants.ALGORITHM_SHA_256;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Compares two hex strings in a time that does not depend on where they
+	 * differ
+	 */
+	private static boolean equalsIgnoreCase(String expected, String actual) {
+
+		if (expected.length() != actual.length()) {
+			return false;
+		}
+		int difference = 0;
+		for (int i = 0; i < expected.length(); i++) {
+			difference |= Character.toLowerCase(expected.charAt(i))
+					^ Character.toLowerCase(actual.charAt(i));
+		}
+		return difference == 0;
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.util.Collection;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.model.CreditCard;
+
+/**
+ * Typed builder of the credit card of a transaction.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class CreditCardBuilder {
+
+	/** The credit card owner's name */
+	private String name;
+
+	/** The credit card's number */
+	private String number;
+
+	/** The credit card's expiration date */
+	private String expirationDate;
+
+	/** The credit card's security code */
+	private String securityCode;
+
+	/** If the payment is processed without the security code */
+	private Boolean processWithoutCvv2;
+
+	/**
+	 * Sets the credit card owner's name, the payer name when it is not set
+	 *
+	 * @param name the owner's name
+	 * @return the builder
+	 */
+	public CreditCardBuilder name(String name) {
+
+		this.name = name;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card's number
+	 *
+	 * @param number the number
+	 * @return the builder
+	 */
+	public CreditCardBuilder number(String number) {
+
+		this.number = number;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card's expiration date
+	 *
+	 * @param expirationDate the expiration date, as yyyy/MM
+	 * @return the builder
+	 */
+	public CreditCardBuilder expirationDate(String expirationDate) {
+
+		this.expirationDate = expirationDate;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card's expiration date
+	 *
+	 * @param year the expiration year
+	 * @param month the expiration month, from 1 to 12
+	 * @return the builder
+	 */
+	public CreditCardBuilder expirationDate(int year, int month) {
+
+		if (month < 1 || month > 12) {
+			throw new IllegalArgumentException("Invalid expiration month " + month);
+		}
+		this.expirationDate = year + (month < 10 ? "/0" : "/") + month;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card's security code
+	 *
+	 * @param securityCode the security code
+	 * @return the builder
+	 */
+	public CreditCardBuilder securityCode(String securityCode) {
+
+		this.securityCode = securityCode;
+		return this;
+	}
+
+	/**
+	 * Sets if the payment is processed without the security code
+	 *
+	 * @param processWithoutCvv2 true to process without the security code
+	 * @return the builder
+	 */
+	public CreditCardBuilder processWithoutCvv2(boolean processWithoutCvv2) {
+
+		this.processWithoutCvv2 = Boolean.valueOf(processWithoutCvv2);
+		return this;
+	}
+
+	/**
+	 * Builds the credit card
+	 *
+	 * @param defaultName the name used when the owner's name is not set
+	 * @return the credit card, or null if it has no number nor security code
+	 */
+	CreditCard build(String defaultName) {
+
+		if (number == null && processWithoutCvv2 == null && securityCode == null) {
+			return null;
+		}
+
+		CreditCard creditCard = new CreditCard();
+		creditCard.setName(name != null && !name.trim().isEmpty() ? name : defaultName);
+		creditCard.setNumber(number);
+		creditCard.setExpirationDate(expirationDate);
+		creditCard.setProcessWithoutCvv2(processWithoutCvv2);
+		creditCard.setSecurityCode(securityCode);
+		return creditCard;
+	}
+
+	/**
+	 * Gets the credit card's number
+	 *
+	 * @return the number
+	 */
+	String getNumber() {
+
+		return number;
+	}
+
+	/**
+	 * Adds the names of the credit card parameters with a value
+	 *
+	 * @param present the names of the parameters with a value
+	 */
+	void addPresent(Collection<String> present) {
+
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.CREDIT_CARD_NUMBER, number);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE,
+				expirationDate);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE,
+				securityCode);
+		if (Boolean.TRUE.equals(processWithoutCvv2)) {
+			present.add(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2);
+		}
+	}
+}
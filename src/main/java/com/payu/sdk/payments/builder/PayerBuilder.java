@@ -0,0 +1,172 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.model.DocumentType;
+import com.payu.sdk.model.Payer;
+import com.payu.sdk.model.PersonType;
+
+/**
+ * Typed builder of the payer of a transaction.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PayerBuilder extends PersonBuilder<Payer, PayerBuilder> {
+
+	/** The payer's business name */
+	private String businessName;
+
+	/** The payer's person type */
+	private PersonType personType;
+
+	/** The payer's birth date */
+	private Date birthdate;
+
+	/** The payer's document type sent to PSE */
+	private DocumentType documentType;
+
+	/**
+	 * Sets the payer's business name
+	 *
+	 * @param businessName the business name
+	 * @return the builder
+	 */
+	public PayerBuilder businessName(String businessName) {
+
+		this.businessName = businessName;
+		return this;
+	}
+
+	/**
+	 * Sets the payer's person type
+	 *
+	 * @param personType the person type
+	 * @return the builder
+	 */
+	public PayerBuilder personType(PersonType personType) {
+
+		this.personType = personType;
+		return this;
+	}
+
+	/**
+	 * Sets the payer's birth date
+	 *
+	 * @param birthdate the birth date
+	 * @return the builder
+	 */
+	public PayerBuilder birthdate(Date birthdate) {
+
+		this.birthdate = birthdate;
+		return this;
+	}
+
+	/**
+	 * Sets the payer's document type sent to PSE
+	 *
+	 * @param documentType the document type
+	 * @return the builder
+	 */
+	public PayerBuilder documentType(DocumentType documentType) {
+
+		this.documentType = documentType;
+		return this;
+	}
+
+	@Override
+	protected PayerBuilder self() {
+
+		return this;
+	}
+
+	@Override
+	protected Payer newPerson() {
+
+		return new Payer();
+	}
+
+	@Override
+	public Payer build() {
+
+		Payer payer = super.build();
+		payer.setBusinessName(businessName);
+		payer.setPayerType(personType);
+		if (birthdate != null) {
+			payer.setBirthdate(new SimpleDateFormat(Constants.DEFAULT_DATE_WITHOUT_HOUR_FORMAT)
+					.format(birthdate));
+		}
+		return payer;
+	}
+
+	/**
+	 * Gets the payer's person type
+	 *
+	 * @return the person type
+	 */
+	PersonType getPersonType() {
+
+		return personType;
+	}
+
+	/**
+	 * Gets the payer's document type sent to PSE
+	 *
+	 * @return the document type
+	 */
+	DocumentType getDocumentType() {
+
+		return documentType;
+	}
+
+	/**
+	 * Adds the names of the payer parameters with a value
+	 *
+	 * @param present the names of the parameters with a value
+	 */
+	void addPresent(Collection<String> present) {
+
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_NAME, fullName);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_EMAIL, emailAddress);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_CONTACT_PHONE,
+				contactPhone);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_DNI, dniNumber);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_DNI_TYPE, dniType);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_DOCUMENT_TYPE,
+				documentType);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_PERSON_TYPE, personType);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_STREET, street);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_STREET_2, street2);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_CITY, city);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_STATE, state);
+		TransactionBuilder.addPresent(present, PayU.PARAMETERS.PAYER_POSTAL_CODE, postalCode);
+	}
+}
@@ -0,0 +1,251 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import com.payu.sdk.model.Address;
+import com.payu.sdk.model.DocumentType;
+import com.payu.sdk.model.Person;
+
+/**
+ * The base of the typed builders of the persons of a transaction.
+ *
+ * @param <T> the person type
+ * @param <B> the builder type
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public abstract class PersonBuilder<T extends Person, B extends PersonBuilder<T, B>> {
+
+	/** The person's id in the merchant */
+	String merchantPersonId;
+
+	/** The person's e-mail */
+	String emailAddress;
+
+	/** The person's name */
+	String fullName;
+
+	/** The person's CNPJ */
+	String cnpj;
+
+	/** The person's contact phone */
+	String contactPhone;
+
+	/** The person's dni number */
+	String dniNumber;
+
+	/** The person's dni type */
+	DocumentType dniType;
+
+	/** The person's street */
+	String street;
+
+	/** The person's street2 */
+	String street2;
+
+	/** The person's street3 */
+	String street3;
+
+	/** The person's city */
+	String city;
+
+	/** The person's state */
+	String state;
+
+	/** The person's country */
+	String country;
+
+	/** The person's postal code */
+	String postalCode;
+
+	/** The person's phone */
+	String phone;
+
+	/**
+	 * Package private constructor
+	 */
+	PersonBuilder() {
+	}
+
+	/**
+	 * @return this builder
+	 */
+	protected abstract B self();
+
+	/**
+	 * @return a new empty person
+	 */
+	protected abstract T newPerson();
+
+	/**
+	 * Sets the person's id in the merchant
+	 *
+	 * @param merchantPersonId the person id
+	 * @return the builder
+	 */
+	public B merchantPersonId(String merchantPersonId) {
+
+		this.merchantPersonId = merchantPersonId;
+		return self();
+	}
+
+	/**
+	 * Sets the person's e-mail
+	 *
+	 * @param emailAddress the e-mail
+	 * @return the builder
+	 */
+	public B emailAddress(String emailAddress) {
+
+		this.emailAddress = emailAddress;
+		return self();
+	}
+
+	/**
+	 * Sets the person's name
+	 *
+	 * @param fullName the name
+	 * @return the builder
+	 */
+	public B fullName(String fullName) {
+
+		this.fullName = fullName;
+		return self();
+	}
+
+	/**
+	 * Sets the person's CNPJ
+	 *
+	 * @param cnpj the CNPJ
+	 * @return the builder
+	 */
+	public B cnpj(String cnpj) {
+
+		this.cnpj = cnpj;
+		return self();
+	}
+
+	/**
+	 * Sets the person's contact phone
+	 *
+	 * @param contactPhone the contact phone
+	 * @return the builder
+	 */
+	public B contactPhone(String contactPhone) {
+
+		this.contactPhone = contactPhone;
+		return self();
+	}
+
+	/**
+	 * Sets the person's dni
+	 *
+	 * @param dniType the dni type, may be null
+	 * @param dniNumber the dni number
+	 * @return the builder
+	 */
+	public B dni(DocumentType dniType, String dniNumber) {
+
+		this.dniType = dniType;
+		this.dniNumber = dniNumber;
+		return self();
+	}
+
+	/**
+	 * Sets the person's streets
+	 *
+	 * @param street the street
+	 * @param street2 the street2, may be null
+	 * @param street3 the street3, may be null
+	 * @return the builder
+	 */
+	public B street(String street, String street2, String street3) {
+
+		this.street = street;
+		this.street2 = street2;
+		this.street3 = street3;
+		return self();
+	}
+
+	/**
+	 * Sets the person's city, state, country and postal code
+	 *
+	 * @param city the city
+	 * @param state the state
+	 * @param country the country
+	 * @param postalCode the postal code
+	 * @return the builder
+	 */
+	public B location(String city, String state, String country, String postalCode) {
+
+		this.city = city;
+		this.state = state;
+		this.country = country;
+		this.postalCode = postalCode;
+		return self();
+	}
+
+	/**
+	 * Sets the person's phone
+	 *
+	 * @param phone the phone
+	 * @return the builder
+	 */
+	public B phone(String phone) {
+
+		this.phone = phone;
+		return self();
+	}
+
+	/**
+	 * Builds the person
+	 *
+	 * @return the person
+	 */
+	public T build() {
+
+		T person = newPerson();
+		person.setMerchantPersonId(merchantPersonId);
+		person.setEmailAddress(emailAddress);
+		person.setFullName(fullName);
+		person.setCNPJ(cnpj);
+		person.setContactPhone(contactPhone);
+		person.setDniNumber(dniNumber);
+		person.setDniType(dniType);
+
+		Address address = new Address();
+		address.setCity(city);
+		address.setCountry(country);
+		address.setPhone(phone);
+		address.setPostalCode(postalCode);
+		address.setState(state);
+		address.setLine1(street);
+		address.setLine2(street2);
+		address.setLine3(street3);
+		person.setAddress(address);
+
+		return person;
+	}
+}
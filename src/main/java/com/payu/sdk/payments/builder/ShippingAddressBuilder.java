@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import com.payu.sdk.model.AddressV4;
+
+/**
+ * Typed builder of the shipping address of an order.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ShippingAddressBuilder {
+
+	/** The address line 1 */
+	private String street1;
+
+	/** The address line 2 */
+	private String street2;
+
+	/** The address line 3 */
+	private String street3;
+
+	/** The address city */
+	private String city;
+
+	/** The address state */
+	private String state;
+
+	/** The address country */
+	private String country;
+
+	/** The address postal code */
+	private String postalCode;
+
+	/** The address phone */
+	private String phone;
+
+	/**
+	 * Sets the address lines
+	 *
+	 * @param street1 the address line 1
+	 * @param street2 the address line 2, may be null
+	 * @param street3 the address line 3, may be null
+	 * @return the builder
+	 */
+	public ShippingAddressBuilder street(String street1, String street2, String street3) {
+
+		this.street1 = street1;
+		this.street2 = street2;
+		this.street3 = street3;
+		return this;
+	}
+
+	/**
+	 * Sets the address city, state, country and postal code
+	 *
+	 * @param city the city
+	 * @param state the state
+	 * @param country the country
+	 * @param postalCode the postal code
+	 * @return the builder
+	 */
+	public ShippingAddressBuilder location(String city, String state, String country,
+			String postalCode) {
+
+		this.city = city;
+		this.state = state;
+		this.country = country;
+		this.postalCode = postalCode;
+		return this;
+	}
+
+	/**
+	 * Sets the address phone
+	 *
+	 * @param phone the phone
+	 * @return the builder
+	 */
+	public ShippingAddressBuilder phone(String phone) {
+
+		this.phone = phone;
+		return this;
+	}
+
+	/**
+	 * Builds the shipping address
+	 *
+	 * @return the address
+	 */
+	public AddressV4 build() {
+
+		AddressV4 shippingAddress = new AddressV4();
+		shippingAddress.setStreet1(street1);
+		shippingAddress.setStreet2(street2);
+		shippingAddress.setStreet3(street3);
+		shippingAddress.setCity(city);
+		shippingAddress.setState(state);
+		shippingAddress.setCountry(country);
+		shippingAddress.setPostalCode(postalCode);
+		shippingAddress.setPhone(phone);
+		return shippingAddress;
+	}
+}
@@ -0,0 +1,890 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.helper.SignatureHelper;
+import com.payu.sdk.model.AdditionalValue;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.ExtraParemeterNames;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.Merchant;
+import com.payu.sdk.model.Order;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodApi;
+import com.payu.sdk.model.PaymentMethodType;
+import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionIntegrationMethod;
+import com.payu.sdk.model.TransactionSource;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.model.request.Command;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.utils.PaymentValidationSchemas;
+import com.payu.sdk.utils.ValidationSchema;
+
+/**
+ * Typed builder of an authorization or an authorization and capture
+ * transaction. It builds the same {@link Transaction} as
+ * <code>RequestUtil.buildTransaction</code> from a parameters map, without
+ * encoding the values as strings and parsing them back, and validates it with
+ * the same {@link PaymentValidationSchemas}.
+ * <p>
+ * The payment method type is looked up like in the parameters map path, through
+ * the payment methods catalog and availability of the client, when it is not
+ * given. The built transaction is sent with
+ * <code>PayUPayments.submitTransaction</code>.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class TransactionBuilder {
+
+	/** The max number of validated parameters with a value */
+	private static final int PRESENT_CAPACITY = 32;
+
+	/** The transaction type */
+	private final TransactionType type;
+
+	private Integer accountId;
+
+	private Integer orderId;
+
+	private String referenceCode;
+
+	private String description;
+
+	private String notifyUrl;
+
+	private Language language;
+
+	private Currency currency;
+
+	private BigDecimal value;
+
+	private BigDecimal taxValue;
+
+	private BigDecimal taxReturnBase;
+
+	private PaymentCountry paymentCountry;
+
+	private String paymentMethod;
+
+	private PaymentMethodType paymentMethodType;
+
+	private Integer installments;
+
+	private Integer promotionId;
+
+	private String tokenId;
+
+	private Boolean createCreditCardToken;
+
+	private String cookie;
+
+	private String ipAddress;
+
+	private String userAgent;
+
+	private String deviceSessionId;
+
+	private String responseUrl;
+
+	private Date expirationDate;
+
+	private Boolean termsAndConditionsAccepted;
+
+	private TransactionIntegrationMethod integrationMethod;
+
+	private TransactionSource source = TransactionSource.PAYU_SDK;
+
+	private Integer platformId;
+
+	private String signature;
+
+	private String merchantId;
+
+	private String apiKey;
+
+	private String apiLogin;
+
+	private PayUClient client = PayUClient.getDefault();
+
+	private String financialInstitutionCode;
+
+	private String financialInstitutionName;
+
+	private final Map<String, String> extraParameters = new LinkedHashMap<String, String>();
+
+	private PayerBuilder payer;
+
+	private BuyerBuilder buyer;
+
+	private CreditCardBuilder creditCard;
+
+	private ShippingAddressBuilder shippingAddress;
+
+	/**
+	 * Creates the builder of a transaction of the given type
+	 *
+	 * @param type the transaction type, authorization or authorization and
+	 *            capture
+	 */
+	public TransactionBuilder(TransactionType type) {
+
+		if (!TransactionType.AUTHORIZATION.equals(type)
+				&& !TransactionType.AUTHORIZATION_AND_CAPTURE.equals(type)) {
+			throw new IllegalArgumentException("Unsupported transaction type " + type);
+		}
+		this.type = type;
+	}
+
+	/**
+	 * @return the builder of an authorization
+	 */
+	public static TransactionBuilder authorization() {
+
+		return new TransactionBuilder(TransactionType.AUTHORIZATION);
+	}
+
+	/**
+	 * @return the builder of an authorization and capture
+	 */
+	public static TransactionBuilder authorizationAndCapture() {
+
+		return new TransactionBuilder(TransactionType.AUTHORIZATION_AND_CAPTURE);
+	}
+
+	/**
+	 * Sets the account of the order
+	 *
+	 * @param accountId the account id
+	 * @return the builder
+	 */
+	public TransactionBuilder accountId(Integer accountId) {
+
+		this.accountId = accountId;
+		return this;
+	}
+
+	/**
+	 * Sets the id of an existing order
+	 *
+	 * @param orderId the order id
+	 * @return the builder
+	 */
+	public TransactionBuilder orderId(Integer orderId) {
+
+		this.orderId = orderId;
+		return this;
+	}
+
+	/**
+	 * Sets the order reference code and description
+	 *
+	 * @param referenceCode the reference code
+	 * @param description the description
+	 * @return the builder
+	 */
+	public TransactionBuilder order(String referenceCode, String description) {
+
+		this.referenceCode = referenceCode;
+		this.description = description;
+		return this;
+	}
+
+	/**
+	 * Sets the confirmation page of the order
+	 *
+	 * @param notifyUrl the confirmation page URL
+	 * @return the builder
+	 */
+	public TransactionBuilder notifyUrl(String notifyUrl) {
+
+		this.notifyUrl = notifyUrl;
+		return this;
+	}
+
+	/**
+	 * Sets the language, the configured one when it is not set
+	 *
+	 * @param language the language
+	 * @return the builder
+	 */
+	public TransactionBuilder language(Language language) {
+
+		this.language = language;
+		return this;
+	}
+
+	/**
+	 * Sets the transaction value
+	 *
+	 * @param currency the currency
+	 * @param value the value
+	 * @return the builder
+	 */
+	public TransactionBuilder value(Currency currency, BigDecimal value) {
+
+		this.currency = currency;
+		this.value = value;
+		return this;
+	}
+
+	/**
+	 * Sets the transaction currency
+	 *
+	 * @param currency the currency
+	 * @return the builder
+	 */
+	public TransactionBuilder currency(Currency currency) {
+
+		this.currency = currency;
+		return this;
+	}
+
+	/**
+	 * Sets the tax value and its return base
+	 *
+	 * @param taxValue the tax value
+	 * @param taxReturnBase the tax return base
+	 * @return the builder
+	 */
+	public TransactionBuilder tax(BigDecimal taxValue, BigDecimal taxReturnBase) {
+
+		this.taxValue = taxValue;
+		this.taxReturnBase = taxReturnBase;
+		return this;
+	}
+
+	/**
+	 * Sets the payment country
+	 *
+	 * @param paymentCountry the payment country
+	 * @return the builder
+	 */
+	public TransactionBuilder paymentCountry(PaymentCountry paymentCountry) {
+
+		this.paymentCountry = paymentCountry;
+		return this;
+	}
+
+	/**
+	 * Sets the payment method, its type is looked up when the transaction is
+	 * built
+	 *
+	 * @param paymentMethod the payment method name
+	 * @return the builder
+	 */
+	public TransactionBuilder paymentMethod(String paymentMethod) {
+
+		return paymentMethod(paymentMethod, null);
+	}
+
+	/**
+	 * Sets the payment method
+	 *
+	 * @param paymentMethod the payment method name
+	 * @param type the payment method type, null to look it up when the
+	 *            transaction is built
+	 * @return the builder
+	 */
+	public TransactionBuilder paymentMethod(String paymentMethod, PaymentMethodType type) {
+
+		this.paymentMethod = paymentMethod;
+		this.paymentMethodType = type;
+		return this;
+	}
+
+	/**
+	 * Sets the number of installments
+	 *
+	 * @param installments the number of installments
+	 * @return the builder
+	 */
+	public TransactionBuilder installments(int installments) {
+
+		this.installments = Integer.valueOf(installments);
+		return this;
+	}
+
+	/**
+	 * Sets the promotion
+	 *
+	 * @param promotionId the promotion id
+	 * @return the builder
+	 */
+	public TransactionBuilder promotionId(Integer promotionId) {
+
+		this.promotionId = promotionId;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card token paying the transaction
+	 *
+	 * @param tokenId the token id
+	 * @return the builder
+	 */
+	public TransactionBuilder tokenId(String tokenId) {
+
+		this.tokenId = tokenId;
+		return this;
+	}
+
+	/**
+	 * Sets if a token of the credit card is created
+	 *
+	 * @param createCreditCardToken true to create the token
+	 * @return the builder
+	 */
+	public TransactionBuilder createCreditCardToken(boolean createCreditCardToken) {
+
+		this.createCreditCardToken = Boolean.valueOf(createCreditCardToken);
+		return this;
+	}
+
+	/**
+	 * Sets the device of the payer
+	 *
+	 * @param deviceSessionId the device session id
+	 * @param ipAddress the IP address
+	 * @param cookie the cookie
+	 * @param userAgent the user agent
+	 * @return the builder
+	 */
+	public TransactionBuilder device(String deviceSessionId, String ipAddress, String cookie,
+			String userAgent) {
+
+		this.deviceSessionId = deviceSessionId;
+		this.ipAddress = ipAddress;
+		this.cookie = cookie;
+		this.userAgent = userAgent;
+		return this;
+	}
+
+	/**
+	 * Sets the response page
+	 *
+	 * @param responseUrl the response page URL
+	 * @return the builder
+	 */
+	public TransactionBuilder responseUrl(String responseUrl) {
+
+		this.responseUrl = responseUrl;
+		return this;
+	}
+
+	/**
+	 * Sets the transaction expiration date
+	 *
+	 * @param expirationDate the expiration date
+	 * @return the builder
+	 */
+	public TransactionBuilder expirationDate(Date expirationDate) {
+
+		this.expirationDate = expirationDate != null ? new Date(expirationDate.getTime()) : null;
+		return this;
+	}
+
+	/**
+	 * Sets if the terms and conditions were accepted
+	 *
+	 * @param accepted true if they were accepted
+	 * @return the builder
+	 */
+	public TransactionBuilder termsAndConditionsAccepted(boolean accepted) {
+
+		this.termsAndConditionsAccepted = Boolean.valueOf(accepted);
+		return this;
+	}
+
+	/**
+	 * Sets the integration method
+	 *
+	 * @param integrationMethod the integration method
+	 * @return the builder
+	 */
+	public TransactionBuilder integrationMethod(TransactionIntegrationMethod integrationMethod) {
+
+		this.integrationMethod = integrationMethod;
+		return this;
+	}
+
+	/**
+	 * Sets the transaction source, PAYU_SDK when it is not set
+	 *
+	 * @param source the source
+	 * @return the builder
+	 */
+	public TransactionBuilder source(TransactionSource source) {
+
+		this.source = source != null ? source : TransactionSource.PAYU_SDK;
+		return this;
+	}
+
+	/**
+	 * Sets the platform
+	 *
+	 * @param platformId the platform id
+	 * @return the builder
+	 */
+	public TransactionBuilder platformId(Integer platformId) {
+
+		this.platformId = platformId;
+		return this;
+	}
+
+	/**
+	 * Sets the order signature, computed when it is not set
+	 *
+	 * @param signature the signature
+	 * @return the builder
+	 */
+	public TransactionBuilder signature(String signature) {
+
+		this.signature = signature;
+		return this;
+	}
+
+	/**
+	 * Sets the credentials used when they are not configured
+	 *
+	 * @param merchantId the merchant id
+	 * @param apiKey the api key
+	 * @param apiLogin the api login
+	 * @return the builder
+	 */
+	public TransactionBuilder credentials(String merchantId, String apiKey, String apiLogin) {
+
+		this.merchantId = merchantId;
+		this.apiKey = apiKey;
+		this.apiLogin = apiLogin;
+		return this;
+	}
+
+	/**
+	 * Sets the client whose configuration is used, the default client if it
+	 * is not set
+	 *
+	 * @param client the client
+	 * @return the builder
+	 */
+	public TransactionBuilder client(PayUClient client) {
+
+		if (client == null) {
+			throw new IllegalArgumentException("The client can not be null");
+		}
+		this.client = client;
+		return this;
+	}
+
+	/**
+	 * Sets the PSE bank
+	 *
+	 * @param code the financial institution code
+	 * @param name the financial institution name
+	 * @return the builder
+	 */
+	public TransactionBuilder pseFinancialInstitution(String code, String name) {
+
+		this.financialInstitutionCode = code;
+		this.financialInstitutionName = name;
+		return this;
+	}
+
+	/**
+	 * Adds an extra parameter
+	 *
+	 * @param name the extra parameter name
+	 * @param value the extra parameter value
+	 * @return the builder
+	 */
+	public TransactionBuilder extraParameter(ExtraParemeterNames name, String value) {
+
+		if (name == null || value == null) {
+			throw new IllegalArgumentException(
+					"neither the name nor the value of the extra parameter can be null");
+		}
+		extraParameters.put(name.name(), value);
+		return this;
+	}
+
+	/**
+	 * Sets the payer
+	 *
+	 * @param payer the payer builder
+	 * @return the builder
+	 */
+	public TransactionBuilder payer(PayerBuilder payer) {
+
+		this.payer = payer;
+		return this;
+	}
+
+	/**
+	 * Sets the buyer
+	 *
+	 * @param buyer the buyer builder
+	 * @return the builder
+	 */
+	public TransactionBuilder buyer(BuyerBuilder buyer) {
+
+		this.buyer = buyer;
+		return this;
+	}
+
+	/**
+	 * Sets the credit card
+	 *
+	 * @param creditCard the credit card builder
+	 * @return the builder
+	 */
+	public TransactionBuilder creditCard(CreditCardBuilder creditCard) {
+
+		this.creditCard = creditCard;
+		return this;
+	}
+
+	/**
+	 * Sets the shipping address
+	 *
+	 * @param shippingAddress the shipping address builder
+	 * @return the builder
+	 */
+	public TransactionBuilder shippingAddress(ShippingAddressBuilder shippingAddress) {
+
+		this.shippingAddress = shippingAddress;
+		return this;
+	}
+
+	/**
+	 * Validates and builds the transaction
+	 *
+	 * @return the transaction
+	 * @throws InvalidParametersException if a required value is missing
+	 * @throws PayUException if the payment method is not supported
+	 * @throws ConnectionException if the payment method type can not be
+	 *             looked up
+	 */
+	public Transaction build() throws InvalidParametersException, PayUException,
+			ConnectionException {
+
+		PaymentMethodType methodType = validate();
+
+		PayerBuilder payerBuilder = payer != null ? payer : new PayerBuilder();
+		Language orderLanguage = language != null ? language : client.getLanguage();
+
+		Transaction transaction = new Transaction();
+		transaction.setType(type);
+		if (responseUrl != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.RESPONSE_URL.name(), responseUrl);
+		}
+		transaction.setPlatformId(platformId);
+		transaction.setSource(source);
+		transaction.setPaymentCountry(paymentCountry);
+
+		Order order = new Order();
+		order.setAccountId(accountId);
+		order.setDescription(description);
+		order.setLanguage(orderLanguage);
+		order.setReferenceCode(referenceCode);
+		order.setNotifyUrl(notifyUrl);
+		order.setAdditionalValues(buildAdditionalValues());
+
+		String currentMerchantId = client.getMerchantId() != null ? client.getMerchantId() : merchantId;
+		String currentApiKey = client.getApiKey() != null ? client.getApiKey() : apiKey;
+		String orderSignature = signature;
+		if (orderSignature == null && currentMerchantId != null) {
+			orderSignature = SignatureHelper.buildSignature(order,
+					Integer.parseInt(currentMerchantId), currentApiKey,
+					SignatureHelper.DECIMAL_FORMAT_3, SignatureHelper.MD5_ALGORITHM);
+		}
+		order.setSignature(orderSignature);
+		order.setShippingAddress((shippingAddress != null ? shippingAddress
+				: new ShippingAddressBuilder()).build());
+		order.setId(orderId);
+		order.setBuyer((buyer != null ? buyer : new BuyerBuilder()).build());
+		transaction.setOrder(order);
+
+		transaction.setCookie(cookie);
+		transaction.setUserAgent(userAgent);
+		transaction.setIpAddress(ipAddress);
+		transaction.setDeviceSessionId(deviceSessionId);
+
+		if (PaymentMethodType.PSE.equals(methodType)) {
+			addPSEExtraParameters(transaction, payerBuilder);
+		}
+
+		String creditCardNumber = creditCard != null ? creditCard.getNumber() : null;
+		if (creditCardNumber != null || tokenId != null) {
+			if (creditCard != null) {
+				transaction.setCreditCard(creditCard.build(payerBuilder.fullName));
+			}
+			if (installments != null) {
+				transaction.addExtraParameter(ExtraParemeterNames.INSTALLMENTS_NUMBER.name(),
+						installments.toString());
+			}
+			transaction.setCreateCreditCardToken(createCreditCardToken);
+		}
+
+		if (expirationDate != null) {
+			transaction.setExpirationDate(new Date(expirationDate.getTime()));
+		}
+		if (promotionId != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.PROMOTION_ID.name(),
+					promotionId.toString());
+		}
+
+		transaction.setCreditCardTokenId(tokenId);
+		transaction.setPaymentMethod(paymentMethod);
+		transaction.setPayer(payerBuilder.build());
+		transaction.setTermsAndConditionsAcepted(termsAndConditionsAccepted);
+		transaction.setIntegrationMethod(integrationMethod);
+
+		for (Map.Entry<String, String> extraParameter : extraParameters.entrySet()) {
+			transaction.addExtraParameter(extraParameter.getKey(), extraParameter.getValue());
+		}
+
+		return transaction;
+	}
+
+	/**
+	 * Validates and builds the submit transaction request, with the
+	 * configured merchant and test mode
+	 *
+	 * @return the payment request
+	 * @throws InvalidParametersException if a required value is missing
+	 * @throws PayUException if the payment method is not supported
+	 * @throws ConnectionException if the payment method type can not be
+	 *             looked up
+	 */
+	public PaymentRequest buildRequest() throws InvalidParametersException, PayUException,
+			ConnectionException {
+
+		Merchant merchant = new Merchant();
+		merchant.setApiKey(client.getApiKey() != null ? client.getApiKey() : apiKey);
+		merchant.setApiLogin(client.getApiLogin() != null ? client.getApiLogin() : apiLogin);
+
+		PaymentRequest request = new PaymentRequest();
+		request.setCommand(Command.SUBMIT_TRANSACTION);
+		request.setMerchant(merchant);
+		request.setLanguage(language != null ? language : client.getLanguage());
+		request.setTest(client.isTest());
+		request.setTransaction(build());
+		return request;
+	}
+
+	/**
+	 * Creates a template of the requests of this transaction, of which the
+	 * reference code, the value, the signature and, if a token is set, the
+	 * credit card token change from payment to payment. The values set for
+	 * them in this builder are ignored.
+	 *
+	 * @return the template
+	 * @throws InvalidParametersException if a required value is missing
+	 * @throws PayUException if the payment method is not supported
+	 * @throws ConnectionException if the payment method type can not be
+	 *             looked up
+	 */
+	public TransactionTemplate template() throws InvalidParametersException, PayUException,
+			ConnectionException {
+
+		String templateReferenceCode = referenceCode;
+		BigDecimal templateValue = value;
+		String templateTokenId = tokenId;
+		String templateSignature = signature;
+
+		boolean tokenized = tokenId != null;
+		referenceCode = TransactionTemplate.REFERENCE_MARKER;
+		value = TransactionTemplate.VALUE_MARKER;
+		tokenId = tokenized ? TransactionTemplate.TOKEN_MARKER : null;
+		signature = TransactionTemplate.SIGNATURE_MARKER;
+		try {
+			String currentMerchantId = client.getMerchantId() != null ? client.getMerchantId()
+					: merchantId;
+			return new TransactionTemplate(buildRequest(), tokenized,
+					currentMerchantId != null ? Integer.valueOf(currentMerchantId) : null,
+					currency);
+		} finally {
+			referenceCode = templateReferenceCode;
+			value = templateValue;
+			tokenId = templateTokenId;
+			signature = templateSignature;
+		}
+	}
+
+	/**
+	 * Validates the transaction values against the schema of its payment
+	 * method
+	 *
+	 * @return the payment method type, null for a token payment
+	 * @throws InvalidParametersException if a required value is missing
+	 * @throws PayUException if the payment method is not supported
+	 * @throws ConnectionException if the payment method type can not be
+	 *             looked up
+	 */
+	private PaymentMethodType validate() throws InvalidParametersException, PayUException,
+			ConnectionException {
+
+		Collection<String> present = new ArrayList<String>(PRESENT_CAPACITY);
+		addPresent(present, PayU.PARAMETERS.REFERENCE_CODE, referenceCode);
+		addPresent(present, PayU.PARAMETERS.DESCRIPTION, description);
+		addPresent(present, PayU.PARAMETERS.CURRENCY, currency);
+		addPresent(present, PayU.PARAMETERS.VALUE, value);
+		addPresent(present, PayU.PARAMETERS.INSTALLMENTS_NUMBER, installments);
+		addPresent(present, PayU.PARAMETERS.TOKEN_ID, tokenId);
+		addPresent(present, PayU.PARAMETERS.PAYMENT_METHOD, paymentMethod);
+		addPresent(present, PayU.PARAMETERS.IP_ADDRESS, ipAddress);
+		addPresent(present, PayU.PARAMETERS.COOKIE, cookie);
+		addPresent(present, PayU.PARAMETERS.USER_AGENT, userAgent);
+		addPresent(present, PayU.PARAMETERS.PSE_FINANCIAL_INSTITUTION_CODE,
+				financialInstitutionCode);
+		if (payer != null) {
+			payer.addPresent(present);
+		}
+		if (creditCard != null) {
+			creditCard.addPresent(present);
+		}
+
+		if (tokenId != null) {
+			PaymentValidationSchemas.TOKEN.validate(present);
+			return null;
+		}
+
+		PaymentValidationSchemas.PAYMENT_METHOD.validate(present);
+
+		PaymentMethodType methodType = paymentMethodType;
+		if (methodType == null) {
+			PaymentMethodApi available = client.payments().getPaymentMethodAvailability(
+					paymentMethod, apiKey, apiLogin);
+			methodType = available != null ? available.getType() : null;
+		}
+		ValidationSchema schema = methodType != null
+				? PaymentValidationSchemas.forPaymentMethod(paymentMethod, methodType) : null;
+		if (schema == null) {
+			throw new PayUException(ErrorCode.API_ERROR, "Unsupported payment method");
+		}
+		schema.validate(present);
+		return methodType;
+	}
+
+	/**
+	 * Adds the PSE extra parameters
+	 *
+	 * @param transaction the transaction
+	 * @param payerBuilder the payer
+	 * @throws InvalidParametersException
+	 */
+	private void addPSEExtraParameters(Transaction transaction, PayerBuilder payerBuilder)
+			throws InvalidParametersException {
+
+		if (financialInstitutionCode != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.FINANCIAL_INSTITUTION_CODE.name(),
+					financialInstitutionCode);
+		}
+		if (financialInstitutionName != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.FINANCIAL_INSTITUTION_NAME.name(),
+					financialInstitutionName);
+		}
+		if (payerBuilder.getPersonType() != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.USER_TYPE.name(),
+					payerBuilder.getPersonType().getPseCode());
+		}
+		if (ipAddress != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.PSE_REFERENCE1.name(), ipAddress);
+		}
+		if (payerBuilder.getDocumentType() != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.PSE_REFERENCE2.name(),
+					payerBuilder.getDocumentType().name());
+		}
+		if (payerBuilder.dniNumber != null) {
+			transaction.addExtraParameter(ExtraParemeterNames.PSE_REFERENCE3.name(),
+					payerBuilder.dniNumber);
+		}
+	}
+
+	/**
+	 * Builds the additional values of the order
+	 *
+	 * @return the additional values, or null if there is no currency or value
+	 */
+	private Map<String, AdditionalValue> buildAdditionalValues() {
+
+		if (currency == null) {
+			return null;
+		}
+
+		Map<String, AdditionalValue> values = new HashMap<String, AdditionalValue>();
+		addAdditionalValue(values, "TX_VALUE", value);
+		addAdditionalValue(values, "TX_TAX", taxValue);
+		addAdditionalValue(values, "TX_TAX_RETURN_BASE", taxReturnBase);
+		return values.isEmpty() ? null : values;
+	}
+
+	/**
+	 * Adds an additional value of the order
+	 *
+	 * @param values the additional values
+	 * @param name the name of the value
+	 * @param amount the amount, ignored if null
+	 */
+	private void addAdditionalValue(Map<String, AdditionalValue> values, String name,
+			BigDecimal amount) {
+
+		if (amount != null) {
+			AdditionalValue additionalValue = new AdditionalValue();
+			additionalValue.setCurrency(currency);
+			additionalValue.setValue(amount);
+			values.put(name, additionalValue);
+		}
+	}
+
+	/**
+	 * Adds the name of a parameter if it has a value
+	 *
+	 * @param present the names of the parameters with a value
+	 * @param name the parameter name
+	 * @param value the parameter value
+	 */
+	static void addPresent(Collection<String> present, String name, Object value) {
+
+		if (value != null && !value.toString().trim().isEmpty()) {
+			present.add(name);
+		}
+	}
+}
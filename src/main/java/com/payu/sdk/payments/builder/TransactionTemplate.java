@@ -0,0 +1,382 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.helper.SignatureEngine;
+import com.payu.sdk.helper.SignatureHelper;
+import com.payu.sdk.helper.XmlBody;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.Merchant;
+import com.payu.sdk.model.request.Command;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.utils.JaxbUtil;
+
+/**
+ * An immutable submit transaction request of which only the reference code,
+ * the value, the credit card token and the signature change from payment to
+ * payment. It is created with {@link TransactionBuilder#template()}.
+ * <p>
+ * The request is marshalled once with marker values, and split on them into
+ * XML fragments. A payment writes the fragments and its escaped values, the
+ * same bytes JAXB writes for the equivalent request, without building nor
+ * marshalling the transaction.
+ * <p>
+ * The merchant credentials, language and test mode are the ones configured
+ * when the template is created. Instances are safe to use from several
+ * threads.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class TransactionTemplate {
+
+	/** The marker of the reference code */
+	static final String REFERENCE_MARKER = "PAYU-TEMPLATE-REFERENCE-4d1c9a";
+
+	/** The marker of the value */
+	static final BigDecimal VALUE_MARKER = new BigDecimal("7391846250.1357924");
+
+	/** The marker of the credit card token */
+	static final String TOKEN_MARKER = "PAYU-TEMPLATE-TOKEN-4d1c9a";
+
+	/** The marker of the signature */
+	static final String SIGNATURE_MARKER = "PAYU-TEMPLATE-SIGNATURE-4d1c9a";
+
+	private static final Charset UTF_8 = Charset.forName(Constants.DEFAULT_ENCODING);
+
+	private static final int REFERENCE = 0;
+
+	private static final int VALUE = 1;
+
+	private static final int TOKEN = 2;
+
+	private static final int SIGNATURE = 3;
+
+	/** The markers, by slot */
+	private static final String[] MARKERS = { REFERENCE_MARKER, VALUE_MARKER.toPlainString(),
+			TOKEN_MARKER, SIGNATURE_MARKER };
+
+	/** The XML fragments between the values */
+	private final byte[][] fragments;
+
+	/** The value written after each fragment but the last one */
+	private final int[] slots;
+
+	/** If the payments are paid with a credit card token */
+	private final boolean tokenized;
+
+	/** The merchant id of the signatures, null if they are given */
+	private final Integer merchantId;
+
+	/** The api key of the merchant */
+	private final String apiKey;
+
+	/** The api login of the merchant */
+	private final String apiLogin;
+
+	/** The currency of the payments */
+	private final Currency currency;
+
+	/** The language of the requests */
+	private final Language language;
+
+	/** If the requests are sent in test mode */
+	private final boolean test;
+
+	/**
+	 * Creates the template of the given prototype request
+	 *
+	 * @param prototype the request with the marker values
+	 * @param tokenized if the payments are paid with a credit card token
+	 * @param merchantId the merchant id of the signatures, null if they are
+	 *            given
+	 * @param currency the currency of the payments
+	 */
+	TransactionTemplate(PaymentRequest prototype, boolean tokenized, Integer merchantId,
+			Currency currency) {
+
+		this.tokenized = tokenized;
+		this.merchantId = merchantId;
+		this.apiKey = prototype.getMerchant().getApiKey();
+		this.apiLogin = prototype.getMerchant().getApiLogin();
+		this.currency = currency;
+		this.language = prototype.getLanguage();
+		this.test = prototype.isTest();
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try {
+			JaxbUtil.convertJavaToXml(prototype, outputStream, false);
+		} catch (IOException e) {
+			throw new IllegalStateException("The template request can not be marshalled", e);
+		}
+		String xml = new String(outputStream.toByteArray(), UTF_8);
+
+		List<byte[]> parts = new ArrayList<byte[]>();
+		List<Integer> found = new ArrayList<Integer>();
+		int start = 0;
+		while (true) {
+			int next = -1;
+			int slot = -1;
+			for (int i = 0; i < MARKERS.length; i++) {
+				int index = xml.indexOf(MARKERS[i], start);
+				if (index >= 0 && (next < 0 || index < next)) {
+					next = index;
+					slot = i;
+				}
+			}
+			if (next < 0) {
+				break;
+			}
+			parts.add(xml.substring(start, next).getBytes(UTF_8));
+			found.add(Integer.valueOf(slot));
+			start = next + MARKERS[slot].length();
+		}
+		parts.add(xml.substring(start).getBytes(UTF_8));
+
+		if (!found.contains(Integer.valueOf(REFERENCE)) || !found.contains(Integer.valueOf(VALUE))
+				|| !found.contains(Integer.valueOf(SIGNATURE))
+				|| tokenized != found.contains(Integer.valueOf(TOKEN))) {
+			throw new IllegalStateException("The template values are not in the request");
+		}
+
+		this.fragments = parts.toArray(new byte[parts.size()][]);
+		this.slots = new int[found.size()];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = found.get(i).intValue();
+		}
+	}
+
+	/**
+	 * Tells whether the payments are paid with a credit card token
+	 *
+	 * @return true if a token is given to every payment
+	 */
+	public boolean isTokenized() {
+
+		return tokenized;
+	}
+
+	/**
+	 * Creates the request of a payment, signed with the merchant api key
+	 *
+	 * @param referenceCode the order reference code
+	 * @param value the transaction value
+	 * @param tokenId the credit card token, null if the template is not
+	 *            tokenized
+	 * @return the request, sent with
+	 *         <code>PayUPayments.submitTransaction(PaymentRequest, Integer)</code>
+	 * @throws InvalidParametersException if a value is missing
+	 */
+	public PaymentRequest newRequest(String referenceCode, BigDecimal value, String tokenId)
+			throws InvalidParametersException {
+
+		return newRequest(referenceCode, value, tokenId, null);
+	}
+
+	/**
+	 * Creates the request of a payment
+	 *
+	 * @param referenceCode the order reference code
+	 * @param value the transaction value
+	 * @param tokenId the credit card token, null if the template is not
+	 *            tokenized
+	 * @param signature the order signature, null to sign with the merchant
+	 *            api key
+	 * @return the request, sent with
+	 *         <code>PayUPayments.submitTransaction(PaymentRequest, Integer)</code>
+	 * @throws InvalidParametersException if a value is missing
+	 */
+	public PaymentRequest newRequest(String referenceCode, BigDecimal value, String tokenId,
+			String signature) throws InvalidParametersException {
+
+		StringBuilder errorMessage = null;
+		if (isBlank(referenceCode)) {
+			errorMessage = appendRequired(errorMessage, "referenceCode");
+		}
+		if (value == null) {
+			errorMessage = appendRequired(errorMessage, "value");
+		}
+		if (tokenized && isBlank(tokenId)) {
+			errorMessage = appendRequired(errorMessage, "tokenId");
+		}
+		if (signature == null && merchantId == null) {
+			errorMessage = appendRequired(errorMessage, "signature");
+		}
+		if (errorMessage != null) {
+			throw new InvalidParametersException(errorMessage.toString());
+		}
+		if (!tokenized && tokenId != null) {
+			throw new InvalidParametersException("The template is not tokenized");
+		}
+
+		String orderSignature = signature != null ? signature : SignatureEngine.sign(merchantId,
+				apiKey, referenceCode, value, currency, SignatureHelper.DECIMAL_FORMAT_3,
+				SignatureHelper.MD5_ALGORITHM);
+
+		String[] values = new String[MARKERS.length];
+		values[REFERENCE] = referenceCode;
+		values[VALUE] = value.toPlainString();
+		values[TOKEN] = tokenId;
+		values[SIGNATURE] = orderSignature;
+		return new TemplateRequest(this, values);
+	}
+
+	/**
+	 * Writes the request XML with the given values
+	 *
+	 * @param values the values, by slot
+	 * @param outputStream the stream to write to
+	 * @throws IOException
+	 */
+	void write(String[] values, OutputStream outputStream) throws IOException {
+
+		for (int i = 0; i < slots.length; i++) {
+			outputStream.write(fragments[i]);
+			outputStream.write(escape(values[slots[i]]).getBytes(UTF_8));
+		}
+		outputStream.write(fragments[slots.length]);
+	}
+
+	/**
+	 * Escapes the XML special characters of a text value as JAXB does
+	 *
+	 * @param value the value
+	 * @return the escaped value
+	 */
+	static String escape(String value) {
+
+		StringBuilder escaped = null;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			String entity;
+			switch (c) {
+			case '&':
+				entity = "&amp;";
+				break;
+			case '<':
+				entity = "&lt;";
+				break;
+			case '>':
+				entity = "&gt;";
+				break;
+			default:
+				entity = null;
+			}
+			if (entity != null) {
+				if (escaped == null) {
+					escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+				}
+				escaped.append(entity);
+			} else if (escaped != null) {
+				escaped.append(c);
+			}
+		}
+		return escaped != null ? escaped.toString() : value;
+	}
+
+	/**
+	 * Appends a required parameter message
+	 */
+	private static StringBuilder appendRequired(StringBuilder errorMessage, String name) {
+
+		StringBuilder message = errorMessage != null ? errorMessage : new StringBuilder();
+		return message.append("Parameter [").append(name).append("] is required.")
+				.append(Constants.LINE_SEPARATOR);
+	}
+
+	/**
+	 * Checks if a value is null or blank
+	 */
+	private static boolean isBlank(String value) {
+
+		return value == null || value.trim().isEmpty();
+	}
+
+	/**
+	 * The request of a payment of a template, which writes its own XML
+	 */
+	private static final class TemplateRequest extends PaymentRequest implements XmlBody {
+
+		/** The generated serial version Id */
+		private static final long serialVersionUID = -1532204981795468812L;
+
+		/** The template */
+		private final transient TransactionTemplate template;
+
+		/** The payment values, by slot */
+		private final String[] values;
+
+		/**
+		 * Creates the request of a payment
+		 *
+		 * @param template the template
+		 * @param values the payment values, by slot
+		 */
+		TemplateRequest(TransactionTemplate template, String[] values) {
+
+			this.template = template;
+			this.values = values;
+
+			Merchant merchant = new Merchant();
+			merchant.setApiKey(template.apiKey);
+			merchant.setApiLogin(template.apiLogin);
+			setMerchant(merchant);
+			setCommand(Command.SUBMIT_TRANSACTION);
+			setLanguage(template.language);
+			setTest(template.test);
+		}
+
+		@Override
+		public void writeXml(OutputStream outputStream) throws IOException {
+
+			template.write(values, outputStream);
+		}
+
+		@Override
+		public String toXml() throws PayUException {
+
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			try {
+				writeXml(outputStream);
+			} catch (IOException e) {
+				throw new PayUException(ErrorCode.XML_SERIALIZATION_ERROR, e.getMessage(), e);
+			}
+			return new String(outputStream.toByteArray(), UTF_8);
+		}
+	}
+}
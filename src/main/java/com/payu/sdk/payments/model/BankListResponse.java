@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -91,4 +92,22 @@ public class BankListResponse extends PaymentResponse {
 		}
 	}
 
+	/**
+	 * Converts a xml stream into a BankListResponse
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The bank list response object
+	 * @throws PayUException
+	 */
+	public static BankListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		try {
+			return fromBaseXml(BankListResponse.class, xml);
+		} catch (Exception e) {
+			throw new PayUException(ErrorCode.XML_DESERIALIZATION_ERROR, e);
+		}
+	}
+
 }
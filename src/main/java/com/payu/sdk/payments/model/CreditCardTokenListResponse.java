@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -87,4 +88,18 @@ public class CreditCardTokenListResponse extends Response {
 				new CreditCardTokenListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of a credit card token list response to the object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static CreditCardTokenListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(CreditCardTokenListResponse.class, xml);
+	}
+
 }
\ No newline at end of file
@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -83,4 +85,18 @@ public class CreditCardTokenResponse extends Response {
 				new CreditCardTokenResponse(), xml);
 	}
 
+	/**
+	 * Converts a xml stream into a credit card token response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The credit card token response format
+	 * @throws PayUException
+	 */
+	public static CreditCardTokenResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(CreditCardTokenResponse.class, xml);
+	}
+
 }
\ No newline at end of file
@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -85,4 +86,17 @@ public class CustomerListResponse extends Response {
 		return (CustomerListResponse) fromBaseXml(new CustomerListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of a customer list response to the object
+	 *
+	 * @param xml The object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static CustomerListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(CustomerListResponse.class, xml);
+	}
+
 }
@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -94,4 +95,22 @@ public class PaymentMethodListResponse extends Response {
 		}
 	}
 
+	/**
+	 * Converts a xml stream into a payment method list response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The payment method list response object
+	 * @throws PayUException
+	 */
+	public static PaymentMethodListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		try {
+			return fromBaseXml(PaymentMethodListResponse.class, xml);
+		} catch (Exception e) {
+			throw new PayUException(ErrorCode.XML_DESERIALIZATION_ERROR, e);
+		}
+	}
+
 }
@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -80,4 +82,18 @@ public class PaymentMethodResponse extends Response{
 		return (PaymentMethodResponse) fromBaseXml(new PaymentMethodResponse(), xml);
 
 	}
+
+	/**
+	 * Converts a xml stream into a payment Method Available response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The payment response object
+	 * @throws PayUException
+	 */
+	public static PaymentMethodResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(PaymentMethodResponse.class, xml);
+	}
 }
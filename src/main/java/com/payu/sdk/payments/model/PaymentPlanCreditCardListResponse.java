@@ -24,6 +24,7 @@
 
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -78,6 +79,20 @@ public class PaymentPlanCreditCardListResponse extends Response    {
 				new PaymentPlanCreditCardListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of a credit card token list response to the object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static PaymentPlanCreditCardListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(PaymentPlanCreditCardListResponse.class, xml);
+	}
+
 	/**
 	 * Set the Credit Cards  list
 	 * @param creditCardList
@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -82,4 +84,18 @@ public class PaymentResponse extends Response {
 
 	}
 
+	/**
+	 * Converts a xml stream into a payment response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The payment response object
+	 * @throws PayUException
+	 */
+	public static PaymentResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(PaymentResponse.class, xml);
+	}
+
 }
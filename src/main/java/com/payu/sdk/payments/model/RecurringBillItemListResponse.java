@@ -24,6 +24,7 @@
 
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -76,6 +77,20 @@ public class RecurringBillItemListResponse extends Response    {
 				new RecurringBillItemListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of the recurring bill item list response to the object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static RecurringBillItemListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(RecurringBillItemListResponse.class, xml);
+	}
+
 	/**
 	 * Set the Recurring Bill Item  list
 	 * @param recurringBillItems
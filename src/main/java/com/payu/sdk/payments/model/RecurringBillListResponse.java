@@ -24,6 +24,7 @@
 
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -75,6 +76,19 @@ public class RecurringBillListResponse extends Response {
 		return (RecurringBillListResponse) fromBaseXml(new RecurringBillListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of the recurring bill list response to the object.
+	 *
+	 * @param xml The object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static RecurringBillListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(RecurringBillListResponse.class, xml);
+	}
+
 	/**
 	 * Set the Recurring Bill list.
 	 *
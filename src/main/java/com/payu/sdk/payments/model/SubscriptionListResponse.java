@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -85,4 +86,17 @@ public class SubscriptionListResponse extends Response {
 		return (SubscriptionListResponse) fromBaseXml(new SubscriptionListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of a subscription list response to the object
+	 *
+	 * @param xml The object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static SubscriptionListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(SubscriptionListResponse.class, xml);
+	}
+
 }
@@ -23,6 +23,7 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
 import java.util.List;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -85,4 +86,17 @@ public class SubscriptionPlanListResponse extends Response {
 		return (SubscriptionPlanListResponse) fromBaseXml(new SubscriptionPlanListResponse(), xml);
 	}
 
+	/**
+	 * Maps the xml stream of a subscription plan list response to the object
+	 *
+	 * @param xml The object in a xml format
+	 * @return The java object
+	 * @throws PayUException
+	 */
+	public static SubscriptionPlanListResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(SubscriptionPlanListResponse.class, xml);
+	}
+
 }
@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.payments.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlElement;
 
 import com.payu.sdk.exceptions.PayUException;
@@ -79,4 +81,18 @@ public class TransactionsTokenBatchResponse extends Response {
 				xml);
 	}
 
+	/**
+	 * Converts a xml stream into a transactions token batch response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The transactions token batch response object
+	 * @throws PayUException
+	 */
+	public static TransactionsTokenBatchResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return JaxbUtil.convertXmlToJava(TransactionsTokenBatchResponse.class, xml);
+	}
+
 }
\ No newline at end of file
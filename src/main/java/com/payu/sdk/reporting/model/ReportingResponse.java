@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.reporting.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -80,4 +82,18 @@ public class ReportingResponse extends Response {
 		return (ReportingResponse) fromBaseXml(new ReportingResponse(), xml);
 	}
 
+	/**
+	 * Converts a xml stream into a reporting response object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The reporting response object
+	 * @throws PayUException
+	 */
+	public static ReportingResponse fromXml(InputStream xml)
+			throws PayUException {
+
+		return fromBaseXml(ReportingResponse.class, xml);
+	}
+
 }
\ No newline at end of file
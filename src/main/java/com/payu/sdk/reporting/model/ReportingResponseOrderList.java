@@ -23,6 +23,8 @@
  */
 package com.payu.sdk.reporting.model;
 
+import java.io.InputStream;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -82,4 +84,18 @@ public class ReportingResponseOrderList extends Response {
 		return JaxbUtil.convertXmlToJava(ReportingResponseOrderList.class, xml);
 	}
 
+	/**
+	 * Converts a xml stream into a reporting response order list object
+	 *
+	 * @param xml
+	 *            The stream with the object in a xml format
+	 * @return The reporting response order list object
+	 * @throws PayUException
+	 */
+	public static ReportingResponseOrderList fromXml(InputStream xml)
+			throws PayUException {
+
+		return JaxbUtil.convertXmlToJava(ReportingResponseOrderList.class, xml);
+	}
+
 }
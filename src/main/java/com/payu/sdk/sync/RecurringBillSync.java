@@ -0,0 +1,614 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.sync;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayURecurringBill;
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.paymentplan.model.RecurringBill;
+import com.payu.sdk.utils.PagingParameters;
+import com.payu.sdk.utils.PropertiesFiles;
+
+/**
+ * Syncs the recurring bills incrementally, by windows of days of their
+ * {@link PayU.PARAMETERS#RECURRING_BILL_DATE_BEGIN} and
+ * {@link PayU.PARAMETERS#RECURRING_BILL_DATE_FINAL} filters.
+ * <p>
+ * A checkpoint file keeps the high-water mark, the last day synced. Each
+ * sync queries from the high-water mark minus an overlap margin up to the
+ * given day, so the bills added or changed late in the last days are seen
+ * again. The checkpoint also keeps a fingerprint of the bills of the
+ * overlap, so only the ones added or changed since the previous sync are
+ * given to the {@link RecurringBillDeltaHandler}. The cost of a sync depends
+ * on the days since the previous one, not on the whole history; the bills
+ * charged before the overlap are not checked again.
+ * <p>
+ * The pages of several windows are fetched in parallel as asynchronous
+ * calls, the handler is called from the thread running the sync. The
+ * high-water mark moves forward as the windows end, so a failed sync goes
+ * on from the last window it completed; the bills of the overlap with it may
+ * be given again.
+ *
+ * <pre>
+ * RecurringBillSync sync = RecurringBillSync.builder().checkpoint(new File("bills.sync"))
+ * 		.start(firstDay).handler(handler).build();
+ * sync.sync();
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class RecurringBillSync {
+
+	/** The default number of days per window */
+	public static final int DEFAULT_WINDOW_DAYS = 7;
+
+	/** The default number of days queried again before the high-water mark */
+	public static final int DEFAULT_OVERLAP_DAYS = 2;
+
+	/** The default max number of pages fetched at the same time */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/** The checkpoint key of the high-water mark */
+	private static final String HIGH_WATER_MARK = "highWaterMark";
+
+	/** The checkpoint key prefix of the bill fingerprints */
+	private static final String BILL_PREFIX = "bill.";
+
+	/** The separator of the fingerprint values */
+	private static final char SEPARATOR = '|';
+
+	/** The filters of the calls */
+	private final Map<String, String> parameters;
+
+	/** The receiver of the deltas */
+	private final RecurringBillDeltaHandler handler;
+
+	/** The checkpoint file */
+	private final File checkpoint;
+
+	/** The first day synced when there is no checkpoint */
+	private final Date start;
+
+	/** The number of days per window */
+	private final int windowDays;
+
+	/** The number of days queried again before the high-water mark */
+	private final int overlapDays;
+
+	/** The max number of pages fetched at the same time */
+	private final int parallelism;
+
+	/** The number of bills per page */
+	private final int pageSize;
+
+	/**
+	 * Creates a sync from its builder
+	 *
+	 * @param builder the builder
+	 */
+	private RecurringBillSync(Builder builder) {
+
+		parameters = new HashMap<String, String>(builder.parameters);
+		handler = builder.handler;
+		checkpoint = builder.checkpoint;
+		start = day(builder.start, 0);
+		windowDays = builder.windowDays;
+		overlapDays = builder.overlapDays;
+		parallelism = builder.parallelism;
+		pageSize = builder.pageSize;
+	}
+
+	/**
+	 * @return a new sync builder
+	 */
+	public static Builder builder() {
+
+		return new Builder();
+	}
+
+	/**
+	 * Syncs the recurring bills up to today
+	 *
+	 * @return the number of deltas given to the handler
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 * @throws IOException if the checkpoint can not be read or written
+	 * @see #sync(Date)
+	 */
+	public long sync() throws PayUException, InvalidParametersException, ConnectionException,
+			IOException {
+
+		return sync(new Date());
+	}
+
+	/**
+	 * Syncs the recurring bills from the high-water mark minus the overlap,
+	 * or from the start day the first time, up to the given day
+	 *
+	 * @param until the last day synced
+	 * @return the number of deltas given to the handler
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 * @throws IOException if the checkpoint can not be read or written
+	 */
+	public long sync(Date until) throws PayUException, InvalidParametersException,
+			ConnectionException, IOException {
+
+		SimpleDateFormat dayFormat = new SimpleDateFormat(
+				Constants.DEFAULT_DATE_WITHOUT_HOUR_FORMAT);
+		dayFormat.setLenient(false);
+
+		Map<String, String> fingerprints = new HashMap<String, String>();
+		Date highWaterMark = readCheckpoint(dayFormat, fingerprints);
+
+		Date last = day(until, 0);
+		Date from = highWaterMark != null ? day(highWaterMark, -overlapDays) : start;
+		if (from.before(start)) {
+			from = start;
+		}
+		if (from.after(last)) {
+			return 0;
+		}
+
+		List<Window> windows = new ArrayList<Window>();
+		for (Date begin = from; !begin.after(last); begin = day(begin, windowDays)) {
+			Date end = day(begin, windowDays - 1);
+			if (end.after(last)) {
+				end = last;
+			}
+			// Once the window is the high-water mark, the fingerprints of its overlap are kept
+			windows.add(new Window(dayFormat.format(begin), dayFormat.format(end),
+					dayFormat.format(day(end, -overlapDays))));
+		}
+
+		Deque<Page> pending = new ArrayDeque<Page>();
+		int nextWindow = 0;
+		int completed = 0;
+		long deltas = 0;
+
+		try {
+			while (true) {
+				while (pending.size() < parallelism && nextWindow < windows.size()) {
+					pending.addLast(submit(windows.get(nextWindow++), 0));
+				}
+				if (pending.isEmpty()) {
+					break;
+				}
+
+				Page page = pending.removeFirst();
+				List<RecurringBill> bills = await(page.future);
+
+				for (RecurringBill bill : bills) {
+					String fingerprint = fingerprint(bill);
+					String previous = bill.getId() != null ? fingerprints.get(bill.getId()) : null;
+					if (previous == null || !fingerprint.equals(
+							previous.substring(previous.indexOf(SEPARATOR) + 1))) {
+						handler.onDelta(bill, previous == null);
+						deltas++;
+					}
+					if (bill.getId() != null) {
+						// A bill without charge day is kept as long as the last window it is seen in
+						String day = bill.getDateCharge() != null ? dayFormat.format(bill
+								.getDateCharge()) : page.window.end;
+						if (bill.getDateCharge() == null && previous != null
+								&& previous.compareTo(day) > 0) {
+							day = previous.substring(0, previous.indexOf(SEPARATOR));
+						}
+						fingerprints.put(bill.getId(), day + SEPARATOR + fingerprint);
+					}
+				}
+
+				if (bills.size() >= pageSize) {
+					pending.addLast(submit(page.window, page.offset + pageSize));
+				} else {
+					page.window.complete = true;
+					int previousCompleted = completed;
+					while (completed < windows.size() && windows.get(completed).complete) {
+						completed++;
+					}
+					if (completed > previousCompleted) {
+						writeCheckpoint(windows.get(completed - 1), fingerprints);
+					}
+				}
+			}
+		} finally {
+			for (Page page : pending) {
+				page.future.cancel(true);
+			}
+		}
+
+		return deltas;
+	}
+
+	/**
+	 * Submits the fetch of a page of a window
+	 *
+	 * @param window the window
+	 * @param offset the offset of the page
+	 * @return the page
+	 */
+	private Page submit(Window window, int offset) {
+
+		Map<String, String> pageParameters = new HashMap<String, String>(parameters);
+		pageParameters.put(PayU.PARAMETERS.RECURRING_BILL_DATE_BEGIN, window.begin);
+		pageParameters.put(PayU.PARAMETERS.RECURRING_BILL_DATE_FINAL, window.end);
+		pageParameters.put(PayU.PARAMETERS.LIMIT, String.valueOf(pageSize));
+		pageParameters.put(PayU.PARAMETERS.OFFSET, String.valueOf(offset));
+
+		return new Page(window, offset, PayURecurringBill.findListAsync(pageParameters));
+	}
+
+	/**
+	 * Waits for a page
+	 *
+	 * @param future the future page
+	 * @return the bills of the page
+	 * @throws PayUException
+	 * @throws InvalidParametersException
+	 * @throws ConnectionException
+	 */
+	private static List<RecurringBill> await(Future<List<RecurringBill>> future)
+			throws PayUException, InvalidParametersException, ConnectionException {
+
+		try {
+			List<RecurringBill> bills = future.get();
+			return bills != null ? bills : Collections.<RecurringBill> emptyList();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConnectionException("Interrupted while syncing", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof PayUException) {
+				throw (PayUException) cause;
+			}
+			if (cause instanceof InvalidParametersException) {
+				throw (InvalidParametersException) cause;
+			}
+			if (cause instanceof ConnectionException) {
+				throw (ConnectionException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new ConnectionException(e);
+		}
+	}
+
+	/**
+	 * Builds the fingerprint of a bill, its charge day aside
+	 *
+	 * @param bill the bill
+	 * @return the fingerprint
+	 */
+	private static String fingerprint(RecurringBill bill) {
+
+		StringBuilder fingerprint = new StringBuilder(64);
+		if (bill.getDateCharge() != null) {
+			fingerprint.append(bill.getDateCharge().getTime());
+		}
+		fingerprint.append(SEPARATOR).append(bill.getState())
+				.append(SEPARATOR).append(bill.getAmount() != null
+						? bill.getAmount().toPlainString() : null)
+				.append(SEPARATOR).append(bill.getCurrency())
+				.append(SEPARATOR).append(bill.getOrderId())
+				.append(SEPARATOR).append(bill.getPaymentMethodType());
+		return fingerprint.toString();
+	}
+
+	/**
+	 * Reads the checkpoint
+	 *
+	 * @param dayFormat the day format
+	 * @param fingerprints the map the bill fingerprints are read into
+	 * @return the high-water mark, null if there is no checkpoint
+	 * @throws IOException if the checkpoint can not be read
+	 */
+	private Date readCheckpoint(SimpleDateFormat dayFormat, Map<String, String> fingerprints)
+			throws IOException {
+
+		Properties state = PropertiesFiles.load(checkpoint);
+		if (state == null) {
+			return null;
+		}
+
+		for (String key : state.stringPropertyNames()) {
+			if (key.startsWith(BILL_PREFIX)) {
+				fingerprints.put(key.substring(BILL_PREFIX.length()), state.getProperty(key));
+			}
+		}
+
+		String highWaterMark = state.getProperty(HIGH_WATER_MARK);
+		try {
+			return highWaterMark != null ? dayFormat.parse(highWaterMark) : null;
+		} catch (ParseException e) {
+			throw new IOException("Invalid high-water mark in " + checkpoint + ": "
+					+ highWaterMark);
+		}
+	}
+
+	/**
+	 * Writes the checkpoint, replacing the previous one. Only the fingerprints
+	 * of the overlap before the new high-water mark are kept
+	 *
+	 * @param highWaterMark the last window synced
+	 * @param fingerprints the bill fingerprints, by their charge day
+	 * @throws IOException if the checkpoint can not be written
+	 */
+	private void writeCheckpoint(Window highWaterMark, Map<String, String> fingerprints)
+			throws IOException {
+
+		Properties state = new Properties();
+		state.setProperty(HIGH_WATER_MARK, highWaterMark.end);
+		for (Iterator<Map.Entry<String, String>> entries = fingerprints.entrySet().iterator(); entries
+				.hasNext();) {
+			Map.Entry<String, String> entry = entries.next();
+			if (entry.getValue().compareTo(highWaterMark.keepFrom) >= 0) {
+				state.setProperty(BILL_PREFIX + entry.getKey(), entry.getValue());
+			} else {
+				entries.remove();
+			}
+		}
+
+		PropertiesFiles.store(state, checkpoint);
+	}
+
+	/**
+	 * @param date a date
+	 * @param days the days to add
+	 * @return the start of the day of the date plus the days
+	 */
+	private static Date day(Date date, int days) {
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(date);
+		calendar.set(Calendar.HOUR_OF_DAY, 0);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		calendar.add(Calendar.DAY_OF_MONTH, days);
+		return calendar.getTime();
+	}
+
+	/**
+	 * A window of days
+	 */
+	private static final class Window {
+
+		/** The first day */
+		private final String begin;
+
+		/** The last day */
+		private final String end;
+
+		/** The first day of the overlap before the last day */
+		private final String keepFrom;
+
+		/** Whether every page of the window was fetched */
+		private boolean complete;
+
+		/**
+		 * @param begin the first day
+		 * @param end the last day
+		 * @param keepFrom the first day of the overlap before the last day
+		 */
+		private Window(String begin, String end, String keepFrom) {
+
+			this.begin = begin;
+			this.end = end;
+			this.keepFrom = keepFrom;
+		}
+	}
+
+	/**
+	 * A page of a window being fetched
+	 */
+	private static final class Page {
+
+		/** The window */
+		private final Window window;
+
+		/** The offset of the page */
+		private final int offset;
+
+		/** The future bills */
+		private final Future<List<RecurringBill>> future;
+
+		/**
+		 * @param window the window
+		 * @param offset the offset of the page
+		 * @param future the future bills
+		 */
+		private Page(Window window, int offset, Future<List<RecurringBill>> future) {
+
+			this.window = window;
+			this.offset = offset;
+			this.future = future;
+		}
+	}
+
+	/**
+	 * Builds {@link RecurringBillSync} instances. The checkpoint, the start
+	 * day and the handler are required
+	 */
+	public static final class Builder {
+
+		/** The filters of the calls */
+		private Map<String, String> parameters = Collections.emptyMap();
+
+		/** The receiver of the deltas */
+		private RecurringBillDeltaHandler handler;
+
+		/** The checkpoint file */
+		private File checkpoint;
+
+		/** The first day synced when there is no checkpoint */
+		private Date start;
+
+		/** The number of days per window */
+		private int windowDays = DEFAULT_WINDOW_DAYS;
+
+		/** The number of days queried again before the high-water mark */
+		private int overlapDays = DEFAULT_OVERLAP_DAYS;
+
+		/** The max number of pages fetched at the same time */
+		private int parallelism = DEFAULT_PARALLELISM;
+
+		/** The number of bills per page */
+		private int pageSize = PagingParameters.DEFAULT_PAGE_SIZE;
+
+		/**
+		 * Private constructor
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * @param parameters the other filters of the recurring bills, like
+		 *            the customer or the state
+		 * @return this builder
+		 */
+		public Builder parameters(Map<String, String> parameters) {
+
+			this.parameters = parameters;
+			return this;
+		}
+
+		/**
+		 * @param handler the receiver of the deltas
+		 * @return this builder
+		 */
+		public Builder handler(RecurringBillDeltaHandler handler) {
+
+			this.handler = handler;
+			return this;
+		}
+
+		/**
+		 * @param checkpoint the file keeping the high-water mark
+		 * @return this builder
+		 */
+		public Builder checkpoint(File checkpoint) {
+
+			this.checkpoint = checkpoint;
+			return this;
+		}
+
+		/**
+		 * @param start the first day synced when there is no checkpoint
+		 * @return this builder
+		 */
+		public Builder start(Date start) {
+
+			this.start = start;
+			return this;
+		}
+
+		/**
+		 * @param windowDays the number of days per window
+		 * @return this builder
+		 */
+		public Builder windowDays(int windowDays) {
+
+			this.windowDays = windowDays;
+			return this;
+		}
+
+		/**
+		 * @param overlapDays the number of days queried again before the
+		 *            high-water mark
+		 * @return this builder
+		 */
+		public Builder overlapDays(int overlapDays) {
+
+			this.overlapDays = overlapDays;
+			return this;
+		}
+
+		/**
+		 * @param parallelism the max number of pages fetched at the same time
+		 * @return this builder
+		 */
+		public Builder parallelism(int parallelism) {
+
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * @param pageSize the number of bills per page
+		 * @return this builder
+		 */
+		public Builder pageSize(int pageSize) {
+
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * @return the sync
+		 */
+		public RecurringBillSync build() {
+
+			if (checkpoint == null || start == null || handler == null) {
+				throw new IllegalStateException("The checkpoint, start and handler are required");
+			}
+			if (parameters == null) {
+				throw new IllegalStateException("The parameters can not be null");
+			}
+			if (windowDays <= 0 || overlapDays < 0 || parallelism <= 0 || pageSize <= 0) {
+				throw new IllegalStateException(
+						"The window, parallelism and page size must be positive, the overlap not negative");
+			}
+			return new RecurringBillSync(this);
+		}
+	}
+}
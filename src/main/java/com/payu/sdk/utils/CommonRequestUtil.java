@@ -69,28 +69,28 @@ public class CommonRequestUtil {
 	public static void validateParameters(Map<String, String> parameters,
 			String... required) throws InvalidParametersException {
 
-		StringBuilder errorMessage = new StringBuilder();
-		boolean isError = false;
+		StringBuilder errorMessage = null;
 
 		if (parameters == null || parameters.isEmpty()) {
 			throw new InvalidParametersException(
 					"Parameters can not be null or empty.");
 		} else {
 			for (String r : required) {
-				if (!parameters.keySet().contains(r)
-						|| parameters.get(r) == null
-						|| parameters.get(r).trim().isEmpty()) {
+				String value = parameters.get(r);
+				if (value == null || value.trim().isEmpty()) {
 
+					if (errorMessage == null) {
+						errorMessage = new StringBuilder();
+					}
 					errorMessage.append("Parameter [").append(r)
 							.append("] is required.")
 							.append(Constants.LINE_SEPARATOR);
-					isError = true;
 				}
 
 			}
 		}
 
-		if (isError) {
+		if (errorMessage != null) {
 			throw new InvalidParametersException(errorMessage.toString());
 		}
 
@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import com.payu.sdk.constants.Constants;
+
+/**
+ * Process wide registry of JAXB contexts. A context is created once per model
+ * class, since it is thread safe and expensive to build. The marshallers and
+ * unmarshallers are not thread safe, so they are lent from a bounded pool and
+ * must be given back once used.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class JaxbContextRegistry {
+
+	/** The max number of idle marshallers or unmarshallers kept per class */
+	private static final int MAX_POOLED = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+	/** The registered classes */
+	private static final ConcurrentMap<Class<?>, Entry> ENTRIES = new ConcurrentHashMap<Class<?>, Entry>();
+
+	/**
+	 * Default private empty constructor
+	 */
+	private JaxbContextRegistry() {
+	}
+
+	/**
+	 * Gets the JAXB context of the given class, creating it the first time
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @return the JAXB context
+	 * @throws JAXBException
+	 */
+	public static JAXBContext getContext(Class<?> clasz) throws JAXBException {
+
+		return getEntry(clasz).context;
+	}
+
+	/**
+	 * Lends a marshaller of the given class
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @param formattedOutput
+	 *            Whether the marshalled XML is formatted with linefeeds and
+	 *            indentation
+	 * @return the marshaller, to be given back with
+	 *         {@link #releaseMarshaller(Class, Marshaller)}
+	 * @throws JAXBException
+	 */
+	public static Marshaller acquireMarshaller(Class<?> clasz, boolean formattedOutput)
+			throws JAXBException {
+
+		Entry entry = getEntry(clasz);
+		Marshaller marshaller = entry.marshallers.poll();
+
+		if (marshaller == null) {
+			marshaller = entry.context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_ENCODING, Constants.DEFAULT_ENCODING);
+		}
+		else {
+			entry.idleMarshallers.decrementAndGet();
+		}
+
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+		return marshaller;
+	}
+
+	/**
+	 * Gives back a marshaller lent by {@link #acquireMarshaller(Class, boolean)}
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @param marshaller
+	 *            The marshaller
+	 */
+	public static void releaseMarshaller(Class<?> clasz, Marshaller marshaller) {
+
+		Entry entry = ENTRIES.get(clasz);
+		if (entry == null || marshaller == null) {
+			return;
+		}
+
+		if (entry.idleMarshallers.incrementAndGet() <= MAX_POOLED) {
+			entry.marshallers.offer(marshaller);
+		}
+		else {
+			entry.idleMarshallers.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Lends an unmarshaller of the given class
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @return the unmarshaller, to be given back with
+	 *         {@link #releaseUnmarshaller(Class, Unmarshaller)}
+	 * @throws JAXBException
+	 */
+	public static Unmarshaller acquireUnmarshaller(Class<?> clasz) throws JAXBException {
+
+		Entry entry = getEntry(clasz);
+		Unmarshaller unmarshaller = entry.unmarshallers.poll();
+
+		if (unmarshaller == null) {
+			unmarshaller = entry.context.createUnmarshaller();
+		}
+		else {
+			entry.idleUnmarshallers.decrementAndGet();
+		}
+
+		return unmarshaller;
+	}
+
+	/**
+	 * Gives back an unmarshaller lent by {@link #acquireUnmarshaller(Class)}
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @param unmarshaller
+	 *            The unmarshaller
+	 */
+	public static void releaseUnmarshaller(Class<?> clasz, Unmarshaller unmarshaller) {
+
+		Entry entry = ENTRIES.get(clasz);
+		if (entry == null || unmarshaller == null) {
+			return;
+		}
+
+		if (entry.idleUnmarshallers.incrementAndGet() <= MAX_POOLED) {
+			entry.unmarshallers.offer(unmarshaller);
+		}
+		else {
+			entry.idleUnmarshallers.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the registry entry of the given class, creating it the first time
+	 *
+	 * @param clasz
+	 *            The bound class
+	 * @return the registry entry
+	 * @throws JAXBException
+	 */
+	private static Entry getEntry(Class<?> clasz) throws JAXBException {
+
+		Entry entry = ENTRIES.get(clasz);
+
+		if (entry == null) {
+			Entry newEntry = new Entry(JAXBContext.newInstance(clasz));
+			entry = ENTRIES.putIfAbsent(clasz, newEntry);
+			if (entry == null) {
+				entry = newEntry;
+			}
+		}
+
+		return entry;
+	}
+
+	/**
+	 * The context of a class and its idle marshallers and unmarshallers
+	 */
+	private static final class Entry {
+
+		/** The JAXB context */
+		private final JAXBContext context;
+
+		/** The idle marshallers */
+		private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<Marshaller>();
+
+		/** The idle unmarshallers */
+		private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<Unmarshaller>();
+
+		/** The number of idle marshallers */
+		private final AtomicInteger idleMarshallers = new AtomicInteger();
+
+		/** The number of idle unmarshallers */
+		private final AtomicInteger idleUnmarshallers = new AtomicInteger();
+
+		/**
+		 * @param context the JAXB context
+		 */
+		private Entry(JAXBContext context) {
+
+			this.context = context;
+		}
+	}
+}
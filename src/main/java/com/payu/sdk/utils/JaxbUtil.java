@@ -23,18 +23,28 @@
  */
 package com.payu.sdk.utils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Node;
 
-import com.payu.sdk.constants.Constants;
 import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.exceptions.SDKException;
+import com.payu.sdk.utils.xml.CapturingInputStream;
+import com.payu.sdk.utils.xml.XmlFormatter;
 
 /**
  * Java Architecture for XML Binding (JAXB) utility to map Java Classes to XML
@@ -46,6 +56,12 @@ import com.payu.sdk.exceptions.SDKException;
  */
 public final class JaxbUtil {
 
+	/** The max number of bytes of a streamed XML kept for the error messages */
+	private static final int CAPTURE_LIMIT = 8192;
+
+	/** The StAX factory, thread safe once configured */
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
 	/**
 	 * Default Constructor
 	 */
@@ -73,9 +89,10 @@ public final class JaxbUtil {
 
 		T javaObject = null;
 
+		Unmarshaller jaxbUnmarshaller = null;
+
 		try {
-			JAXBContext jaxbContext = JAXBContext.newInstance(clasz);
-			Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+			jaxbUnmarshaller = JaxbContextRegistry.acquireUnmarshaller(clasz);
 			javaObject = (T) jaxbUnmarshaller.unmarshal(new StringReader(
 					xmlData));
 		} catch (JAXBException e) {
@@ -84,11 +101,113 @@ public final class JaxbUtil {
 					"The input XML is not a valid [" + clasz.getName() + "] "
 							+ "class representation. XML Data: [" + xmlData
 							+ "]", e);
+		} finally {
+			JaxbContextRegistry.releaseUnmarshaller(clasz, jaxbUnmarshaller);
 		}
 
 		return (T) javaObject;
 	}
 
+	/**
+	 * Convert a XML Representation stream to the specified Java Class,
+	 * without reading it into a String first
+	 *
+	 * @param clasz
+	 *            The class that represent the XML representation
+	 * @param xmlData
+	 *            A stream with the XML Representation data
+	 *
+	 * @return An object of type <code>clasz</code>, or null if the stream is
+	 *         empty
+	 * @throws PayUException
+	 */
+	public static <T extends Serializable> T convertXmlToJava(Class<T> clasz,
+			InputStream xmlData) throws PayUException {
+
+		JAXBElement<T> element = convertXmlToElement(clasz, xmlData);
+
+		return element != null ? element.getValue() : null;
+	}
+
+	/**
+	 * Convert a XML Representation stream to the specified Java Class, keeping
+	 * the name of the root element. The root element is bound to the class
+	 * whatever its name is
+	 *
+	 * @param clasz
+	 *            The class that represent the XML representation
+	 * @param xmlData
+	 *            A stream with the XML Representation data
+	 *
+	 * @return The root element with an object of type <code>clasz</code>, or
+	 *         null if the stream is empty
+	 * @throws PayUException
+	 */
+	public static <T extends Serializable> JAXBElement<T> convertXmlToElement(
+			Class<T> clasz, InputStream xmlData) throws PayUException {
+
+		CapturingInputStream capturingStream = new CapturingInputStream(xmlData, CAPTURE_LIMIT);
+		PushbackInputStream inputStream = new PushbackInputStream(capturingStream, 1);
+
+		XMLStreamReader xmlReader = null;
+		Unmarshaller jaxbUnmarshaller = null;
+
+		try {
+			int first = inputStream.read();
+			if (first == -1) {
+				return null;
+			}
+			inputStream.unread(first);
+
+			xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+			jaxbUnmarshaller = JaxbContextRegistry.acquireUnmarshaller(clasz);
+
+			return jaxbUnmarshaller.unmarshal(xmlReader, clasz);
+
+		} catch (JAXBException e) {
+			throw deserializationError(clasz, capturingStream, e);
+		} catch (XMLStreamException e) {
+			throw deserializationError(clasz, capturingStream, e);
+		} catch (IOException e) {
+			throw deserializationError(clasz, capturingStream, e);
+		} finally {
+			JaxbContextRegistry.releaseUnmarshaller(clasz, jaxbUnmarshaller);
+			closeQuietly(xmlReader);
+		}
+	}
+
+	/**
+	 * Convert a DOM node to the specified Java Class, binding the node to the
+	 * class whatever its name is. The node is read in place, it is not
+	 * written to a String first
+	 *
+	 * @param clasz
+	 *            The class that represent the XML representation
+	 * @param node
+	 *            The DOM node with the XML Representation data
+	 *
+	 * @return An object of type <code>clasz</code>
+	 * @throws PayUException
+	 */
+	public static <T extends Serializable> T convertNodeToJava(Class<T> clasz,
+			Node node) throws PayUException {
+
+		Unmarshaller jaxbUnmarshaller = null;
+
+		try {
+			jaxbUnmarshaller = JaxbContextRegistry.acquireUnmarshaller(clasz);
+			return jaxbUnmarshaller.unmarshal(node, clasz).getValue();
+		} catch (JAXBException e) {
+			throw new PayUException(
+					SDKException.ErrorCode.XML_DESERIALIZATION_ERROR,
+					"The input XML is not a valid [" + clasz.getName() + "] "
+							+ "class representation. XML Data: ["
+							+ XmlFormatter.nodeToString(node) + "]", e);
+		} finally {
+			JaxbContextRegistry.releaseUnmarshaller(clasz, jaxbUnmarshaller);
+		}
+	}
+
 	/**
 	 * Convert a Java Object to its XML representation
 	 *
@@ -105,29 +224,114 @@ public final class JaxbUtil {
 
 		String xmlData = null;
 
+		if (javaObject == null) {
+			return xmlData;
+		}
+
+		Marshaller jaxbMarshaller = null;
+
 		try {
-			if (javaObject != null) {
-				JAXBContext jaxbContext = JAXBContext.newInstance(javaObject
-						.getClass());
-				Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-				jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
-						formattedOutput);
-				jaxbMarshaller.setProperty(Marshaller.JAXB_ENCODING,
-						Constants.DEFAULT_ENCODING);
-
-				StringWriter stringWriter = new StringWriter();
-				jaxbMarshaller.marshal(javaObject, stringWriter);
-
-				xmlData = stringWriter.toString();
-			}
+			jaxbMarshaller = JaxbContextRegistry.acquireMarshaller(
+					javaObject.getClass(), formattedOutput);
+
+			StringWriter stringWriter = new StringWriter();
+			jaxbMarshaller.marshal(javaObject, stringWriter);
+
+			xmlData = stringWriter.toString();
 
 		} catch (JAXBException e) {
 			throw new IllegalArgumentException("The input XML is not a valid ["
 					+ javaObject.getClass().getName() + "] "
 					+ "class representation. XML Data: [" + xmlData + "]", e);
+		} finally {
+			JaxbContextRegistry.releaseMarshaller(javaObject.getClass(), jaxbMarshaller);
 		}
 
 		return xmlData;
 	}
 
+	/**
+	 * Writes the XML representation of a Java Object into the given stream,
+	 * without building it in memory
+	 *
+	 * @param javaObject
+	 *            The Java object to serialize with XML
+	 * @param outputStream
+	 *            The stream where the UTF-8 encoded XML is written
+	 * @param formattedOutput
+	 *            Specify whether or not the marshalled XML data is formatted
+	 *            with linefeeds and indentation.
+	 * @throws IOException
+	 *             if the object can not be marshalled or written
+	 */
+	public static <T extends Serializable> void convertJavaToXml(T javaObject,
+			OutputStream outputStream, boolean formattedOutput) throws IOException {
+
+		Marshaller jaxbMarshaller = null;
+
+		try {
+			jaxbMarshaller = JaxbContextRegistry.acquireMarshaller(
+					javaObject.getClass(), formattedOutput);
+			jaxbMarshaller.marshal(javaObject, outputStream);
+
+		} catch (JAXBException e) {
+			throw new IOException("The object is not a valid ["
+					+ javaObject.getClass().getName() + "] "
+					+ "class representation", e);
+		} finally {
+			JaxbContextRegistry.releaseMarshaller(javaObject.getClass(), jaxbMarshaller);
+		}
+	}
+
+	/**
+	 * Builds the exception thrown when a streamed XML can not be converted
+	 *
+	 * @param clasz
+	 *            The class that represent the XML representation
+	 * @param capturingStream
+	 *            The stream with the first bytes of the XML
+	 * @param cause
+	 *            The cause of the error
+	 * @return The exception to throw
+	 */
+	private static PayUException deserializationError(Class<?> clasz,
+			CapturingInputStream capturingStream, Exception cause) {
+
+		return new PayUException(
+				SDKException.ErrorCode.XML_DESERIALIZATION_ERROR,
+				"The input XML is not a valid [" + clasz.getName() + "] "
+						+ "class representation. XML Data: ["
+						+ capturingStream.getCaptured() + "]", cause);
+	}
+
+	/**
+	 * Closes the given StAX reader ignoring any error
+	 *
+	 * @param xmlReader
+	 *            The reader to close
+	 */
+	private static void closeQuietly(XMLStreamReader xmlReader) {
+
+		if (xmlReader != null) {
+			try {
+				xmlReader.close();
+			} catch (XMLStreamException e) {
+				LoggerUtil.debug("Error closing the XML reader {0}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Creates the StAX factory, without DTD or external entities support
+	 *
+	 * @return The StAX factory
+	 */
+	private static XMLInputFactory createXmlInputFactory() {
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
 }
@@ -0,0 +1,463 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.SDKException;
+
+/**
+ * A concurrent cache that loads its missing values. Values expire a fixed
+ * time after they were loaded and the least recently read ones are evicted
+ * when the cache is full.
+ * <p>
+ * Loads are single flight: while a key is being loaded, every other thread
+ * asking for it waits for that same load, so a cold key makes one call to the
+ * loader no matter how many threads ask. A value read after its refresh time
+ * is reloaded ahead of its expiration, while the other threads keep reading
+ * the current value. The reload runs on the refresh executor if the cache has
+ * one, otherwise on the reading thread.
+ * <p>
+ * Null values are not cached. A failed load is not cached either, the
+ * threads waiting for it get its exception.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class LoadingCache<K, V> {
+
+	/**
+	 * Loads the values of a {@link LoadingCache}
+	 *
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	public interface Loader<K, V> {
+
+		/**
+		 * Loads the value of a key
+		 *
+		 * @param key the key
+		 * @return the value, or null if there is none
+		 * @throws SDKException if the value can not be loaded
+		 */
+		V load(K key) throws SDKException;
+	}
+
+	/**
+	 * The time source of the cache, in nanoseconds
+	 */
+	interface Ticker {
+
+		/**
+		 * @return the current time in nanoseconds
+		 */
+		long read();
+	}
+
+	/** The system time source */
+	private static final Ticker SYSTEM_TICKER = new Ticker() {
+
+		@Override
+		public long read() {
+			return System.nanoTime();
+		}
+	};
+
+	/** The cached entries */
+	private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<K, Entry<V>>();
+
+	/** The loads in progress */
+	private final ConcurrentMap<K, FutureTask<V>> loads = new ConcurrentHashMap<K, FutureTask<V>>();
+
+	/** The values loader */
+	private final Loader<K, V> loader;
+
+	/** The time to live of a value in nanoseconds */
+	private final long timeToLive;
+
+	/** The age in nanoseconds after which a read value is reloaded */
+	private final long refreshAfter;
+
+	/** The max number of cached values */
+	private final int maximumSize;
+
+	/** The executor running the reloads ahead, null to run them on the reading thread */
+	private final Executor refreshExecutor;
+
+	/** The time source */
+	private final Ticker ticker;
+
+	/**
+	 * Creates a cache
+	 *
+	 * @param loader the values loader
+	 * @param timeToLive the time to live of a value in ms
+	 * @param refreshAfter the age in ms after which a read value is reloaded,
+	 *            no value is reloaded ahead if it is not less than the time to
+	 *            live
+	 * @param maximumSize the max number of cached values
+	 */
+	public LoadingCache(Loader<K, V> loader, long timeToLive, long refreshAfter,
+			int maximumSize) {
+
+		this(loader, timeToLive, refreshAfter, maximumSize, null, SYSTEM_TICKER);
+	}
+
+	/**
+	 * Creates a cache that reloads its values ahead on the given executor, the
+	 * thread reading a value to reload gets the current one without waiting
+	 *
+	 * @param loader the values loader
+	 * @param timeToLive the time to live of a value in ms
+	 * @param refreshAfter the age in ms after which a read value is reloaded,
+	 *            no value is reloaded ahead if it is not less than the time to
+	 *            live
+	 * @param maximumSize the max number of cached values
+	 * @param refreshExecutor the executor running the reloads ahead, null to
+	 *            run them on the reading thread
+	 */
+	public LoadingCache(Loader<K, V> loader, long timeToLive, long refreshAfter,
+			int maximumSize, Executor refreshExecutor) {
+
+		this(loader, timeToLive, refreshAfter, maximumSize, refreshExecutor,
+				SYSTEM_TICKER);
+	}
+
+	/**
+	 * Creates a cache with the given time source
+	 *
+	 * @param loader the values loader
+	 * @param timeToLive the time to live of a value in ms
+	 * @param refreshAfter the age in ms after which a read value is reloaded
+	 * @param maximumSize the max number of cached values
+	 * @param refreshExecutor the executor running the reloads ahead, null to
+	 *            run them on the reading thread
+	 * @param ticker the time source
+	 */
+	LoadingCache(Loader<K, V> loader, long timeToLive, long refreshAfter,
+			int maximumSize, Executor refreshExecutor, Ticker ticker) {
+
+		if (loader == null) {
+			throw new IllegalArgumentException("The loader may not be null");
+		}
+		if (timeToLive <= 0 || refreshAfter <= 0) {
+			throw new IllegalArgumentException("The cache times must be positive");
+		}
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("The maximum size must be positive");
+		}
+
+		this.loader = loader;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+		this.refreshAfter = TimeUnit.MILLISECONDS.toNanos(Math.min(refreshAfter, timeToLive));
+		this.maximumSize = maximumSize;
+		this.refreshExecutor = refreshExecutor;
+		this.ticker = ticker;
+	}
+
+	/**
+	 * Gets the value of a key, loading it if it is not cached or expired
+	 *
+	 * @param key the key
+	 * @return the value, or null if there is none
+	 * @throws SDKException if the value can not be loaded
+	 */
+	public V get(K key) throws SDKException {
+
+		long now = ticker.read();
+		Entry<V> entry = entries.get(key);
+
+		if (entry != null) {
+
+			long age = now - entry.loadedAt;
+
+			if (age < timeToLive) {
+
+				entry.lastRead = now;
+
+				if (age >= refreshAfter && refreshAfter < timeToLive
+						&& entry.refreshing.compareAndSet(false, true)) {
+					return refreshExecutor != null ? refreshLater(key, entry)
+							: refresh(key, entry);
+				}
+				return entry.value;
+			}
+
+			entries.remove(key, entry);
+		}
+
+		return load(key, entry);
+	}
+
+	/**
+	 * Gets the cached value of a key, without loading it
+	 *
+	 * @param key the key
+	 * @return the value, or null if it is not cached or expired
+	 */
+	public V getIfPresent(K key) {
+
+		Entry<V> entry = entries.get(key);
+
+		if (entry == null || ticker.read() - entry.loadedAt >= timeToLive) {
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Discards the cached value of a key
+	 *
+	 * @param key the key
+	 */
+	public void invalidate(K key) {
+
+		entries.remove(key);
+	}
+
+	/**
+	 * Discards all the cached values
+	 */
+	public void invalidateAll() {
+
+		entries.clear();
+	}
+
+	/**
+	 * @return the number of cached values, including the expired ones not
+	 *         discarded yet
+	 */
+	public int size() {
+
+		return entries.size();
+	}
+
+	/**
+	 * Reloads a value ahead of its expiration. If the load fails the current
+	 * value is kept until it expires
+	 *
+	 * @param key the key
+	 * @param entry the current entry
+	 * @return the reloaded value, or the current one if the load failed
+	 */
+	private V refresh(K key, Entry<V> entry) {
+
+		try {
+			return load(key, entry);
+		} catch (SDKException e) {
+			LoggerUtil.warning("Could not refresh the cached value of {0}: {1}", key,
+					e.getMessage());
+			entry.refreshing.set(false);
+			return entry.value;
+		}
+	}
+
+	/**
+	 * Reloads a value ahead of its expiration on the refresh executor
+	 *
+	 * @param key the key
+	 * @param entry the current entry
+	 * @return the current value
+	 */
+	private V refreshLater(final K key, final Entry<V> entry) {
+
+		try {
+			refreshExecutor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					refresh(key, entry);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			entry.refreshing.set(false);
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Loads a value, or waits for the load in progress of the same key
+	 *
+	 * @param key the key
+	 * @param replaced the entry being replaced, null if there is none
+	 * @return the loaded value
+	 * @throws SDKException if the value can not be loaded
+	 */
+	private V load(final K key, final Entry<V> replaced) throws SDKException {
+
+		FutureTask<V> task = loads.get(key);
+
+		if (task == null) {
+
+			FutureTask<V> created = new FutureTask<V>(new Callable<V>() {
+
+				@Override
+				public V call() throws SDKException {
+					return loadAndStore(key, replaced);
+				}
+			});
+
+			task = loads.putIfAbsent(key, created);
+
+			if (task == null) {
+				task = created;
+				try {
+					task.run();
+				} finally {
+					loads.remove(key, task);
+				}
+			}
+		}
+
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConnectionException("Interrupted while loading " + key, e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SDKException) {
+				throw (SDKException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Loads a value and caches it. A value cached by a load that ended just
+	 * before this one started is used instead of loading it again
+	 *
+	 * @param key the key
+	 * @param replaced the entry being replaced, null if there is none
+	 * @return the loaded value
+	 * @throws SDKException if the value can not be loaded
+	 */
+	private V loadAndStore(K key, Entry<V> replaced) throws SDKException {
+
+		Entry<V> current = entries.get(key);
+		long now = ticker.read();
+
+		if (current != null && current != replaced && now - current.loadedAt < timeToLive) {
+			return current.value;
+		}
+
+		V value = loader.load(key);
+
+		if (value == null) {
+			entries.remove(key);
+		} else {
+			entries.put(key, new Entry<V>(value, ticker.read()));
+			if (entries.size() > maximumSize) {
+				evict();
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Evicts the expired values, then the least recently read ones until the
+	 * cache is within its maximum size
+	 */
+	private void evict() {
+
+		long now = ticker.read();
+
+		for (Map.Entry<K, Entry<V>> cached : entries.entrySet()) {
+			if (now - cached.getValue().loadedAt >= timeToLive) {
+				entries.remove(cached.getKey(), cached.getValue());
+			}
+		}
+
+		while (entries.size() > maximumSize) {
+
+			Map.Entry<K, Entry<V>> eldest = null;
+
+			for (Map.Entry<K, Entry<V>> cached : entries.entrySet()) {
+				if (eldest == null
+						|| cached.getValue().lastRead - eldest.getValue().lastRead < 0) {
+					eldest = cached;
+				}
+			}
+
+			if (eldest == null) {
+				return;
+			}
+			entries.remove(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	/**
+	 * A cached value
+	 *
+	 * @param <V> the value type
+	 */
+	private static final class Entry<V> {
+
+		/** The value */
+		private final V value;
+
+		/** The time the value was loaded */
+		private final long loadedAt;
+
+		/** The time the value was last read */
+		private volatile long lastRead;
+
+		/** Whether the value is being reloaded */
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		/**
+		 * Constructor
+		 *
+		 * @param value the value
+		 * @param loadedAt the time the value was loaded
+		 */
+		private Entry(V value, long loadedAt) {
+
+			this.value = value;
+			this.loadedAt = loadedAt;
+			this.lastRead = loadedAt;
+		}
+	}
+}
@@ -100,6 +100,16 @@ public final class LoggerUtil {
 		LOGGER.log(Level.FINER, message, parameters);
 	}
 
+	/**
+	 * Checks if the debug messages are logged, so the expensive debug
+	 * parameters are only built when needed
+	 *
+	 * @return true if the debug messages are logged
+	 */
+	public static boolean isDebugEnabled() {
+		return LOGGER.isLoggable(Level.FINER);
+	}
+
 	/**
 	 * logs error messages
 	 *
@@ -0,0 +1,105 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Map;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.exceptions.InvalidParametersException;
+
+/**
+ * Reads the {@link PayU.PARAMETERS#LIMIT} and {@link PayU.PARAMETERS#OFFSET}
+ * parameters of the paged list calls
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PagingParameters {
+
+	/** The page size used when no limit is given */
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	/**
+	 * Private constructor
+	 */
+	private PagingParameters() {
+	}
+
+	/**
+	 * Reads the page size
+	 *
+	 * @param parameters the parameters of the calls
+	 * @return the limit, {@link #DEFAULT_PAGE_SIZE} when it is not given
+	 * @throws InvalidParametersException if the limit is not a positive int
+	 */
+	public static int getLimit(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return intParameter(parameters, PayU.PARAMETERS.LIMIT, DEFAULT_PAGE_SIZE, 1);
+	}
+
+	/**
+	 * Reads the offset of the first page
+	 *
+	 * @param parameters the parameters of the calls
+	 * @return the offset, 0 when it is not given
+	 * @throws InvalidParametersException if the offset is not a non negative
+	 *             int
+	 */
+	public static int getOffset(Map<String, String> parameters)
+			throws InvalidParametersException {
+
+		return intParameter(parameters, PayU.PARAMETERS.OFFSET, 0, 0);
+	}
+
+	/**
+	 * Reads an int parameter
+	 *
+	 * @param parameters the parameters
+	 * @param name the parameter name
+	 * @param defaultValue the value when it is not given
+	 * @param min the min value
+	 * @return the value
+	 * @throws InvalidParametersException if the value is not a valid int
+	 */
+	private static int intParameter(Map<String, String> parameters, String name,
+			int defaultValue, int min) throws InvalidParametersException {
+
+		String value = parameters.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			int number = Integer.parseInt(value.trim());
+			if (number >= min) {
+				return number;
+			}
+		} catch (NumberFormatException e) {
+			// Reported below
+		}
+		throw new InvalidParametersException("The parameter [" + name + "] must be an int >= "
+				+ min);
+	}
+}
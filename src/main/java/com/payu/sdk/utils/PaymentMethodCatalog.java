@@ -0,0 +1,240 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodApi;
+import com.payu.sdk.model.PaymentMethodComplete;
+import com.payu.sdk.model.PaymentMethodType;
+
+/**
+ * An in-memory index of the payment methods of a merchant, built from the
+ * list returned by the get payment methods command. The payment methods are
+ * indexed by name, type and country.
+ * <p>
+ * The list does not tell the type of a payment method, it is taken from the
+ * availability of the payment method returned by the API. A listed payment
+ * method without availability is not resolved by the catalog.
+ * <p>
+ * Instances are immutable and safe to use from several threads.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PaymentMethodCatalog {
+
+	/** The catalog with no payment methods */
+	public static final PaymentMethodCatalog EMPTY = new PaymentMethodCatalog(
+			Collections.<PaymentMethodComplete> emptyList(),
+			Collections.<PaymentMethodApi> emptyList());
+
+	/** The listed payment methods of known availability, by name */
+	private final Map<String, PaymentMethodApi> byName;
+
+	/** The listed payment methods of known availability, by type */
+	private final Map<PaymentMethodType, List<PaymentMethodApi>> byType;
+
+	/** The listed payment methods, by country */
+	private final Map<PaymentCountry, List<PaymentMethodComplete>> byCountry;
+
+	/** The number of listed payment methods */
+	private final int size;
+
+	/**
+	 * Builds the catalog of the given payment methods
+	 *
+	 * @param paymentMethods the payment methods listed by the API
+	 * @param availability the availability of the listed payment methods
+	 *            returned by the API, the ones without a name or a type are
+	 *            ignored
+	 */
+	public PaymentMethodCatalog(List<PaymentMethodComplete> paymentMethods,
+			List<PaymentMethodApi> availability) {
+
+		Map<String, PaymentMethodApi> available = new HashMap<String, PaymentMethodApi>();
+		if (availability != null) {
+			for (PaymentMethodApi paymentMethodApi : availability) {
+				if (paymentMethodApi != null && paymentMethodApi.getName() != null
+						&& paymentMethodApi.getType() != null) {
+					available.put(paymentMethodApi.getName(), paymentMethodApi);
+				}
+			}
+		}
+
+		Map<String, PaymentMethodApi> names = new HashMap<String, PaymentMethodApi>();
+		Map<PaymentMethodType, List<PaymentMethodApi>> types =
+				new EnumMap<PaymentMethodType, List<PaymentMethodApi>>(PaymentMethodType.class);
+		Map<PaymentCountry, List<PaymentMethodComplete>> countries =
+				new EnumMap<PaymentCountry, List<PaymentMethodComplete>>(PaymentCountry.class);
+		int count = 0;
+
+		if (paymentMethods != null) {
+			for (PaymentMethodComplete paymentMethod : paymentMethods) {
+
+				String name = paymentMethod.getDescription();
+				if (name == null) {
+					continue;
+				}
+				count++;
+
+				PaymentCountry country = toCountry(paymentMethod.getCountry());
+				if (country != null) {
+					add(countries, country, paymentMethod);
+				}
+
+				PaymentMethodApi paymentMethodApi = available.get(name);
+				if (paymentMethodApi != null && !names.containsKey(name)) {
+					names.put(name, paymentMethodApi);
+					add(types, paymentMethodApi.getType(), paymentMethodApi);
+				}
+			}
+		}
+
+		this.byName = names;
+		this.byType = types;
+		this.byCountry = countries;
+		this.size = count;
+	}
+
+	/**
+	 * Gets a payment method by name
+	 *
+	 * @param name the payment method name
+	 * @return the payment method, or null if it is not listed or its
+	 *         availability is not known
+	 */
+	public PaymentMethodApi getPaymentMethod(String name) {
+
+		return name != null ? byName.get(name) : null;
+	}
+
+	/**
+	 * Gets the payment methods of a type
+	 *
+	 * @param type the payment method type
+	 * @return the payment methods of the type, empty if there are none
+	 */
+	public List<PaymentMethodApi> getPaymentMethods(PaymentMethodType type) {
+
+		return unmodifiable(byType.get(type));
+	}
+
+	/**
+	 * Gets the payment methods of a country
+	 *
+	 * @param country the payment country
+	 * @return the payment methods of the country, empty if there are none
+	 */
+	public List<PaymentMethodComplete> getPaymentMethods(PaymentCountry country) {
+
+		return unmodifiable(byCountry.get(country));
+	}
+
+	/**
+	 * @return the listed payment methods whose availability is known
+	 */
+	public List<PaymentMethodApi> getPaymentMethods() {
+
+		return Collections.unmodifiableList(new ArrayList<PaymentMethodApi>(byName.values()));
+	}
+
+	/**
+	 * @return the number of listed payment methods
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * @return true if no payment method is listed
+	 */
+	public boolean isEmpty() {
+
+		return size == 0;
+	}
+
+	/**
+	 * Gets the payment country of a country code
+	 *
+	 * @param code the country code
+	 * @return the country, or null if the code is not known
+	 */
+	private static PaymentCountry toCountry(String code) {
+
+		if (code != null) {
+			for (PaymentCountry country : PaymentCountry.values()) {
+				if (country.name().equalsIgnoreCase(code.trim())) {
+					return country;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a value to the list of its key
+	 *
+	 * @param map the map of lists
+	 * @param key the key
+	 * @param value the value to add
+	 */
+	private static <K, V> void add(Map<K, List<V>> map, K key, V value) {
+
+		List<V> values = map.get(key);
+		if (values == null) {
+			values = new ArrayList<V>();
+			map.put(key, values);
+		}
+		values.add(value);
+	}
+
+	/**
+	 * @param values a list, may be null
+	 * @return an unmodifiable view of the list, empty if it is null
+	 */
+	private static <V> List<V> unmodifiable(List<V> values) {
+
+		return values != null ? Collections.unmodifiableList(values) : Collections.<V> emptyList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("PaymentMethodCatalog [size=%s, resolved=%s]", size,
+				byName.size());
+	}
+}
@@ -25,33 +25,33 @@ package com.payu.sdk.utils;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.payu.sdk.model.PaymentMethodApi;
 import com.payu.sdk.model.PaymentMethodType;
 
 /**
  * <p>
- * 	Maps the payment methods by name
+ * 	Maps the payment methods by name. It is safe to use from several threads
  * </p>
  * @author <a href="fernando.moreno@payulatam.com">Fernando Moreno</a>
  * @date 8/09/2014
  */
 public class PaymentMethodMap {
 
-	/**Map of Payment methods*/
-	private Map <String, PaymentMethodApi> mapPaymentMethods;
-
 	/**Instance of the class for implementing Singleton pattern*/
-	private static PaymentMethodMap instance;
+	private static final PaymentMethodMap INSTANCE = new PaymentMethodMap();
+
+	/**Map of Payment methods*/
+	private final ConcurrentMap<String, PaymentMethodApi> mapPaymentMethods;
 
 	/**
 	 * private constructor
 	 */
 	private PaymentMethodMap(){
-		mapPaymentMethods = new HashMap<String, PaymentMethodApi>();
+		mapPaymentMethods = new ConcurrentHashMap<String, PaymentMethodApi>();
 	}
 
 	/**
@@ -59,10 +59,7 @@ public class PaymentMethodMap {
 	 * @return the instance class
 	 */
 	public static PaymentMethodMap getInstance(){
-		if (instance == null){
-			instance = new PaymentMethodMap();
-		}
-		return instance;
+		return INSTANCE;
 	}
 
 	/**
@@ -804,6 +804,8 @@ public final class PaymentPlanRequestUtil extends CommonRequestUtil {
 		Map<String, String> parametersRequest=new HashMap<String, String>();
 		parametersRequest.put(PayU.PARAMETERS.SUBSCRIPTION_ID, subscriptionId);
 		parametersRequest.put(PayU.PARAMETERS.DESCRIPTION, description);
+		parametersRequest.put(PayU.PARAMETERS.LIMIT, parameters.get(PayU.PARAMETERS.LIMIT));
+		parametersRequest.put(PayU.PARAMETERS.OFFSET, parameters.get(PayU.PARAMETERS.OFFSET));
 		RecurringBillItemListRequest request = new RecurringBillItemListRequest();
 		RequestUtil.setAuthenticationCredentials(parameters, request);
 		request.setMap(parametersRequest);
@@ -0,0 +1,146 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.model.PaymentMethodType;
+
+/**
+ * The compiled validation schemas of the payment parameters, by payment
+ * method. They are shared by the parameters map and the typed builders of a
+ * payment.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PaymentValidationSchemas {
+
+	/** Payment method BOLETO_BANCARIO */
+	private static final String PAYMENT_METHOD_BOLETO_BANCARIO = "BOLETO_BANCARIO";
+
+	/** Payment method CODENSA */
+	private static final String PAYMENT_METHOD_CODENSA = "CODENSA";
+
+	/** The parameters required by every payment */
+	public static final ValidationSchema PAYMENT = ValidationSchema.builder()
+			.required(PayU.PARAMETERS.REFERENCE_CODE, PayU.PARAMETERS.DESCRIPTION,
+					PayU.PARAMETERS.CURRENCY, PayU.PARAMETERS.VALUE).build();
+
+	/** The parameters required by a payment with a token */
+	public static final ValidationSchema TOKEN = ValidationSchema.builder().include(PAYMENT)
+			.required(PayU.PARAMETERS.INSTALLMENTS_NUMBER, PayU.PARAMETERS.TOKEN_ID).build();
+
+	/** The parameter required to find the payment method of a payment */
+	public static final ValidationSchema PAYMENT_METHOD = ValidationSchema.builder()
+			.required(PayU.PARAMETERS.PAYMENT_METHOD).build();
+
+	/** The parameters required by a BOLETO_BANCARIO payment */
+	private static final ValidationSchema BOLETO_BANCARIO = ValidationSchema.builder()
+			.include(PAYMENT)
+			.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYER_DNI,
+					PayU.PARAMETERS.PAYMENT_METHOD, PayU.PARAMETERS.PAYER_STREET,
+					PayU.PARAMETERS.PAYER_STREET_2, PayU.PARAMETERS.PAYER_CITY,
+					PayU.PARAMETERS.PAYER_STATE, PayU.PARAMETERS.PAYER_POSTAL_CODE).build();
+
+	/** The parameters required by a CODENSA payment */
+	private static final ValidationSchema CODENSA = ValidationSchema.builder().include(PAYMENT)
+			.required(PayU.PARAMETERS.PAYER_DNI_TYPE, PayU.PARAMETERS.PAYER_DNI).build();
+
+	/** The parameters required by the payments of each payment method type */
+	private static final Map<PaymentMethodType, ValidationSchema> BY_TYPE = newTypeSchemas();
+
+	/**
+	 * Default private empty constructor
+	 */
+	private PaymentValidationSchemas() {
+	}
+
+	/**
+	 * Gets the schema of the payments with the given payment method
+	 *
+	 * @param name the payment method name
+	 * @param type the payment method type, null if it is not known
+	 * @return the schema, or null if the payment method is not supported
+	 */
+	public static ValidationSchema forPaymentMethod(String name, PaymentMethodType type) {
+
+		if (PAYMENT_METHOD_BOLETO_BANCARIO.equals(name)) {
+			return BOLETO_BANCARIO;
+		}
+		if (PAYMENT_METHOD_CODENSA.equals(name)) {
+			return CODENSA;
+		}
+		if (type == null) {
+			return PAYMENT;
+		}
+		return BY_TYPE.get(type);
+	}
+
+	/**
+	 * Compiles the schemas of the payment method types
+	 *
+	 * @return the schemas by payment method type
+	 */
+	private static Map<PaymentMethodType, ValidationSchema> newTypeSchemas() {
+
+		Map<PaymentMethodType, ValidationSchema> schemas =
+				new EnumMap<PaymentMethodType, ValidationSchema>(PaymentMethodType.class);
+
+		schemas.put(PaymentMethodType.CASH, ValidationSchema.builder().include(PAYMENT)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD).build());
+
+		schemas.put(PaymentMethodType.REFERENCED, ValidationSchema.builder().include(PAYMENT)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD,
+						PayU.PARAMETERS.PAYER_DNI).build());
+
+		schemas.put(PaymentMethodType.PSE, ValidationSchema.builder().include(PAYMENT)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD,
+						PayU.PARAMETERS.PAYER_DOCUMENT_TYPE, PayU.PARAMETERS.PAYER_DNI,
+						PayU.PARAMETERS.PAYER_EMAIL, PayU.PARAMETERS.PAYER_CONTACT_PHONE,
+						PayU.PARAMETERS.PSE_FINANCIAL_INSTITUTION_CODE,
+						PayU.PARAMETERS.PAYER_PERSON_TYPE, PayU.PARAMETERS.IP_ADDRESS,
+						PayU.PARAMETERS.COOKIE, PayU.PARAMETERS.USER_AGENT).build());
+
+		schemas.put(PaymentMethodType.CREDIT_CARD, ValidationSchema.builder().include(PAYMENT)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYMENT_METHOD,
+						PayU.PARAMETERS.INSTALLMENTS_NUMBER, PayU.PARAMETERS.CREDIT_CARD_NUMBER,
+						PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE)
+				.requiredUnless(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE,
+						PayU.PARAMETERS.PROCESS_WITHOUT_CVV2).build());
+
+		schemas.put(PaymentMethodType.BANK_TRANSFER, ValidationSchema.builder().include(PAYMENT)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.PAYER_STREET,
+						PayU.PARAMETERS.PAYER_STREET_2, PayU.PARAMETERS.PAYER_CITY,
+						PayU.PARAMETERS.PAYER_STATE, PayU.PARAMETERS.PAYER_POSTAL_CODE).build());
+
+		schemas.put(PaymentMethodType.BANK_REFERENCED, PAYMENT);
+
+		return Collections.unmodifiableMap(schemas);
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Reads and writes the properties files of the resumable jobs, such as their
+ * checkpoints
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PropertiesFiles {
+
+	/**
+	 * Private constructor
+	 */
+	private PropertiesFiles() {
+	}
+
+	/**
+	 * Reads a properties file
+	 *
+	 * @param file the file
+	 * @return the properties, null if the file does not exist
+	 * @throws IOException if the file can not be read
+	 */
+	public static Properties load(File file) throws IOException {
+
+		if (!file.exists()) {
+			return null;
+		}
+
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+
+	/**
+	 * Replaces a properties file. The properties are written and synced to a
+	 * temporary file renamed over the file, so a crash leaves either the old
+	 * or the new properties
+	 *
+	 * @param properties the properties
+	 * @param file the file
+	 * @throws IOException if the file can not be written
+	 */
+	public static void store(Properties properties, File file) throws IOException {
+
+		File temporary = new File(file.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temporary);
+		try {
+			properties.store(out, null);
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+
+		if (!temporary.renameTo(file)) {
+			// Some platforms do not rename over an existing file
+			if (!file.delete() || !temporary.renameTo(file)) {
+				throw new IOException("The file " + file + " can not be written");
+			}
+		}
+	}
+}
@@ -34,6 +34,7 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
 import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
 import com.payu.sdk.constants.Constants;
 import com.payu.sdk.exceptions.InvalidParametersException;
 import com.payu.sdk.exceptions.PayUException;
@@ -119,7 +120,21 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	public static PaymentRequest buildPaymentsPingRequest(Map<String, String> parameters) {
 
-		PaymentRequest request = buildDefaultPaymentRequest();
+		return buildPaymentsPingRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a payments ping request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete payments ping request
+	 */
+	public static PaymentRequest buildPaymentsPingRequest(PayUClient client, Map<String, String> parameters) {
+
+		PaymentRequest request = buildDefaultPaymentRequest(client);
 		request.setCommand(Command.PING);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -145,7 +160,19 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	public static ReportingRequest buildReportingPingRequest(Map<String, String> parameters) {
 
-		ReportingRequest request = buildDefaultReportingRequest();
+		return buildReportingPingRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a reporting ping request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @return The complete reporting request to be sent to the server
+	 */
+	public static ReportingRequest buildReportingPingRequest(PayUClient client, Map<String, String> parameters) {
+
+		ReportingRequest request = buildDefaultReportingRequest(client);
 		request.setCommand(Command.PING);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -164,7 +191,21 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	public static Request buildBankListRequest(PaymentCountry paymentCountry) {
 
-		PaymentRequest request = buildDefaultPaymentRequest();
+		return buildBankListRequest(PayUClient.getDefault(), paymentCountry);
+	}
+
+	/**
+	 * Builds a get bank list request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param paymentCountry
+	 *            The country in which the transaction is being done
+	 * @return The complete bank list request
+	 */
+	public static Request buildBankListRequest(PayUClient client, PaymentCountry paymentCountry) {
+
+		PaymentRequest request = buildDefaultPaymentRequest(client);
 		request.setCommand(Command.GET_BANKS_LIST);
 
 		request.setBankListInformation(new BankListInformation(
@@ -186,11 +227,29 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static Request buildPaymentRequest(Map<String, String> parameters,
 			TransactionType transactionType) throws InvalidParametersException {
 
-		PaymentRequest request = buildDefaultPaymentRequest();
+		return buildPaymentRequest(PayUClient.getDefault(), parameters, transactionType);
+	}
+
+	/**
+	 * Builds a payment request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @param transactionType
+	 *            The transaction that is being done
+	 * @return The complete payment request
+	 * @throws InvalidParametersException
+	 */
+	public static Request buildPaymentRequest(PayUClient client, Map<String, String> parameters,
+			TransactionType transactionType) throws InvalidParametersException {
+
+		PaymentRequest request = buildDefaultPaymentRequest(client);
 		request.setCommand(Command.SUBMIT_TRANSACTION);
 		setAuthenticationByParameter(parameters, request);
 		
-		request.setTransaction(buildTransaction(parameters, transactionType));
+		request.setTransaction(buildTransaction(client, parameters, transactionType));
 		setLanguageByParameter(parameters, request);
 
 		return request;
@@ -200,8 +259,8 @@ public final class RequestUtil extends CommonRequestUtil {
 	 * Sets the apiKey and apiLogin into merchant if the values are present 
 	 * into the {@code parameters} and are not present into the constants:
 	 * <ul>
-	 * 	<li>PayU.apiKey</li>
-	 * 	<li>PayU.apiLogin</li>
+	 * 	<li>the api key of the client</li>
+	 * 	<li>the api login of the client</li>
 	 * </ul>
 	 * 
 	 * @param parameters
@@ -209,12 +268,12 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	private static void setAuthenticationByParameter(Map<String, String> parameters, CommandRequest request) {
 
-		// The PayU.apiKey has priority over the parameters
+		// The api key of the client has priority over the parameters
 		if (request.getMerchant() != null && request.getMerchant().getApiKey() == null) {
 			request.getMerchant().setApiKey(getParameter(parameters, PayU.PARAMETERS.API_KEY));
 		}
 		
-		// The PayU.apiLogin has priority over the parameters
+		// The api login of the client has priority over the parameters
 		if (request.getMerchant() != null && request.getMerchant().getApiLogin() == null) {
 			request.getMerchant().setApiLogin(getParameter(parameters, PayU.PARAMETERS.API_LOGIN));
 		}
@@ -295,7 +354,21 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	public static Request buildPaymentMethodsListRequest(Map<String, String> parameters) {
 
-		PaymentRequest request = buildDefaultPaymentRequest();
+		return buildPaymentMethodsListRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds the payment methods list request.
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 * 			The parameters to be sent to the server
+	 * @return The complete payment methods list request
+	 */
+	public static Request buildPaymentMethodsListRequest(PayUClient client, Map<String, String> parameters) {
+
+		PaymentRequest request = buildDefaultPaymentRequest(client);
 		request.setCommand(Command.GET_PAYMENT_METHODS);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -312,19 +385,34 @@ public final class RequestUtil extends CommonRequestUtil {
 	 * @return the payment method request
 	 */
 	public static Request buildPaymentMethodAvailability(String paymentMethod, String apiKey, String apiLogin) {
+
+		return buildPaymentMethodAvailability(PayUClient.getDefault(), paymentMethod, apiKey, apiLogin);
+	}
+
+	/**
+	 * Builds the payment method request
+	 * 
+	 * @param client
+	 *            The client making the call
+	 * @param paymentMethod
+	 * @param apiKey
+	 * @param apiLogin
+	 * @return the payment method request
+	 */
+	public static Request buildPaymentMethodAvailability(PayUClient client, String paymentMethod, String apiKey, String apiLogin) {
 		
 		PaymentMethodRequest request = new PaymentMethodRequest();
-		request = (PaymentMethodRequest) buildDefaultRequest(request);
-		request.setTest(PayU.isTest);
+		request = (PaymentMethodRequest) buildDefaultRequest(client, request);
+		request.setTest(client.isTest());
 		request.setCommand(Command.GET_PAYMENT_METHOD_AVAILABILITY);
 		request.setPaymentMethod(paymentMethod);
 		
-		// Priority the api key obtained from PayU.apiKey
+		// Priority the api key obtained from the client
 		if (request.getMerchant() != null && request.getMerchant().getApiKey() == null) {
 			request.getMerchant().setApiKey(apiKey);
 		}
 		
-		// Priority the api login obtained from PayU.apiLogin
+		// Priority the api login obtained from the client
 		if (request.getMerchant() != null && request.getMerchant().getApiLogin() == null) {
 			request.getMerchant().setApiLogin(apiLogin);
 		}
@@ -345,7 +433,23 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static ReportingRequest buildOrderReportingDetails(
 			Map<String, String> parameters) throws InvalidParametersException {
 
-		ReportingRequest request = buildDefaultReportingRequest();
+		return buildOrderReportingDetails(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a order details reporting by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete reporting request to be sent to the server
+	 * @throws InvalidParametersException
+	 */
+	public static ReportingRequest buildOrderReportingDetails(PayUClient client,
+			Map<String, String> parameters) throws InvalidParametersException {
+
+		ReportingRequest request = buildDefaultReportingRequest(client);
 		request.setCommand(Command.ORDER_DETAIL);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -371,7 +475,22 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static ReportingRequest buildOrderReportingByReferenceCode(
 			Map<String, String> parameters) {
 
-		ReportingRequest request = buildDefaultReportingRequest();
+		return buildOrderReportingByReferenceCode(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a order details reporting by reference code
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete reporting request to be sent to the server
+	 */
+	public static ReportingRequest buildOrderReportingByReferenceCode(PayUClient client,
+			Map<String, String> parameters) {
+
+		ReportingRequest request = buildDefaultReportingRequest(client);
 		request.setCommand(Command.ORDER_DETAIL_BY_REFERENCE_CODE);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -391,7 +510,22 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static ReportingRequest buildTransactionResponse(
 			Map<String, String> parameters) {
 
-		ReportingRequest request = buildDefaultReportingRequest();
+		return buildTransactionResponse(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a transaction reporting by the id
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete reporting request to be sent to the server
+	 */
+	public static ReportingRequest buildTransactionResponse(PayUClient client,
+			Map<String, String> parameters) {
+
+		ReportingRequest request = buildDefaultReportingRequest(client);
 		request.setCommand(Command.TRANSACTION_RESPONSE_DETAIL);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -414,6 +548,22 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static Request buildCreateTokenRequest(Map<String, String> parameters)
 			throws InvalidParametersException {
 
+		return buildCreateTokenRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a create credit card token request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete create credit card token request
+	 * @throws InvalidParametersException
+	 */
+	public static Request buildCreateTokenRequest(PayUClient client, Map<String, String> parameters)
+			throws InvalidParametersException {
+
 		String nameOnCard = getParameter(parameters, PayU.PARAMETERS.PAYER_NAME);
 
 		String payerId = getParameter(parameters, PayU.PARAMETERS.PAYER_ID);
@@ -430,7 +580,7 @@ public final class RequestUtil extends CommonRequestUtil {
 				PaymentMethod.class, parameters, PayU.PARAMETERS.PAYMENT_METHOD);
 
 		CreditCardTokenRequest request = new CreditCardTokenRequest();
-		request = (CreditCardTokenRequest) buildDefaultRequest(request);
+		request = (CreditCardTokenRequest) buildDefaultRequest(client, request);
 		request.setCommand(Command.CREATE_TOKEN);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -452,6 +602,22 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static Request buildGetCreditCardTokensRequest(
 			Map<String, String> parameters) throws InvalidParametersException {
 
+		return buildGetCreditCardTokensRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a get credit card token request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete get credit card token request
+	 * @throws InvalidParametersException
+	 */
+	public static Request buildGetCreditCardTokensRequest(PayUClient client,
+			Map<String, String> parameters) throws InvalidParametersException {
+
 		String payerId = getParameter(parameters, PayU.PARAMETERS.PAYER_ID);
 
 		String tokenId = getParameter(parameters, PayU.PARAMETERS.TOKEN_ID);
@@ -467,7 +633,7 @@ public final class RequestUtil extends CommonRequestUtil {
 				Constants.DEFAULT_DATE_FORMAT);
 
 		CreditCardTokenListRequest request = new CreditCardTokenListRequest();
-		request = (CreditCardTokenListRequest) buildDefaultRequest(request);
+		request = (CreditCardTokenListRequest) buildDefaultRequest(client, request);
 		request.setCommand(Command.GET_TOKENS);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -494,12 +660,26 @@ public final class RequestUtil extends CommonRequestUtil {
 	 */
 	public static Request buildRemoveTokenRequest(Map<String, String> parameters) {
 
+		return buildRemoveTokenRequest(PayUClient.getDefault(), parameters);
+	}
+
+	/**
+	 * Builds a remove credit card token request
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters to be sent to the server
+	 * @return The complete remove credit card token request
+	 */
+	public static Request buildRemoveTokenRequest(PayUClient client, Map<String, String> parameters) {
+
 		String payerId = getParameter(parameters, PayU.PARAMETERS.PAYER_ID);
 
 		String tokenId = getParameter(parameters, PayU.PARAMETERS.TOKEN_ID);
 
 		RemoveCreditCardTokenRequest request = new RemoveCreditCardTokenRequest();
-		request = (RemoveCreditCardTokenRequest) buildDefaultRequest(request);
+		request = (RemoveCreditCardTokenRequest) buildDefaultRequest(client, request);
 		request.setCommand(Command.REMOVE_TOKEN);
 		setAuthenticationByParameter(parameters, request);
 		setLanguageByParameter(parameters, request);
@@ -521,35 +701,41 @@ public final class RequestUtil extends CommonRequestUtil {
 	/**
 	 * Builds a default request
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @return A simple request with merchant and language
 	 */
-	private static Request buildDefaultRequest(CommandRequest request) {
-		request.setMerchant(buildMerchant());
-		request.setLanguage(PayU.language);
+	private static Request buildDefaultRequest(PayUClient client, CommandRequest request) {
+		request.setMerchant(buildMerchant(client));
+		request.setLanguage(client.getLanguage());
 		return request;
 	}
 
 	/**
 	 * Builds the default payment request
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @return A simple payment request with merchant, language and test
 	 */
-	private static PaymentRequest buildDefaultPaymentRequest() {
+	private static PaymentRequest buildDefaultPaymentRequest(PayUClient client) {
 		PaymentRequest request = new PaymentRequest();
-		request = (PaymentRequest) buildDefaultRequest(request);
-		request.setTest(PayU.isTest);
+		request = (PaymentRequest) buildDefaultRequest(client, request);
+		request.setTest(client.isTest());
 		return request;
 	}
 
 	/**
 	 * Builds the default reporting request
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @return A simple reporting request with merchant, language and test
 	 */
-	private static ReportingRequest buildDefaultReportingRequest() {
+	private static ReportingRequest buildDefaultReportingRequest(PayUClient client) {
 		ReportingRequest request = new ReportingRequest();
-		request = (ReportingRequest) buildDefaultRequest(request);
-		request.setTest(PayU.isTest);
+		request = (ReportingRequest) buildDefaultRequest(client, request);
+		request.setTest(client.isTest());
 		return request;
 	}
 
@@ -658,13 +844,15 @@ public final class RequestUtil extends CommonRequestUtil {
 	/**
 	 * Builds a merchant entity
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @return The merchant entity built
 	 */
-	private static Merchant buildMerchant() {
+	private static Merchant buildMerchant(PayUClient client) {
 
 		Merchant merchant = new Merchant();
-		merchant.setApiKey(PayU.apiKey);
-		merchant.setApiLogin(PayU.apiLogin);
+		merchant.setApiKey(client.getApiKey());
+		merchant.setApiLogin(client.getApiLogin());
 
 		return merchant;
 	}
@@ -672,6 +860,8 @@ public final class RequestUtil extends CommonRequestUtil {
 	/**
 	 * Builds the order
 	 *
+	 * @param client
+	 *            The client making the call
 	 * @param accountId
 	 *            The account's id number
 	 * @param txCurrency
@@ -686,14 +876,14 @@ public final class RequestUtil extends CommonRequestUtil {
 	 * 			  The confirmation page URL
 	 * @return The order built
 	 */
-	private static Order buildOrder(Integer accountId, Currency txCurrency,
+	private static Order buildOrder(PayUClient client, Integer accountId, Currency txCurrency,
 			BigDecimal txValue, BigDecimal taxValue, BigDecimal taxReturnBase,
 			String description, String referenceCode, String notifyUrl) {
 
 		Order order = new Order();
 		order.setAccountId(accountId);
 		order.setDescription(description);
-		order.setLanguage(PayU.language);
+		order.setLanguage(client.getLanguage());
 		order.setReferenceCode(referenceCode);
 		order.setNotifyUrl(notifyUrl);
 		order.setAdditionalValues(buildAdditionalValues(txCurrency, txValue,
@@ -875,6 +1065,24 @@ public final class RequestUtil extends CommonRequestUtil {
 	public static Transaction buildTransaction(Map<String, String> parameters,
 			TransactionType transactionType) throws InvalidParametersException {
 
+		return buildTransaction(PayUClient.getDefault(), parameters, transactionType);
+	}
+
+	/**
+	 * Build a transaction request based on the query parameters
+	 *
+	 * @param client
+	 *            The client making the call
+	 * @param parameters
+	 *            The parameters map to send to the request
+	 * @param transactionType
+	 *            The type of payment transaction to build
+	 * @return The transaction to be sent built
+	 * @throws InvalidParametersException
+	 */
+	public static Transaction buildTransaction(PayUClient client, Map<String, String> parameters,
+			TransactionType transactionType) throws InvalidParametersException {
+
 		String payerName = getParameter(parameters, PayU.PARAMETERS.PAYER_NAME);
 
 		Integer orderId = getIntegerParameter(parameters,
@@ -1006,10 +1214,10 @@ public final class RequestUtil extends CommonRequestUtil {
 
 			String signature = getParameter(parameters,
 					PayU.PARAMETERS.SIGNATURE);
-			String merchantId = PayU.merchantId != null ? PayU.merchantId : merchantIdParam;
-			String apiKey = PayU.apiKey != null ? PayU.apiKey : apiKeyParam;
+			String merchantId = client.getMerchantId() != null ? client.getMerchantId() : merchantIdParam;
+			String apiKey = client.getApiKey() != null ? client.getApiKey() : apiKeyParam;
 
-			Order order = buildOrder(accountId, txCurrency, txValue,
+			Order order = buildOrder(client, accountId, txCurrency, txValue,
 					taxValue, taxReturnBase, orderDescription,
 					orderReference, orderNotifyUrl);
 
@@ -1104,7 +1312,7 @@ public final class RequestUtil extends CommonRequestUtil {
 
 			order.setReferenceCode(orderReference);
 			order.setDescription(orderDescription);
-			order.setLanguage(PayU.language);
+			order.setLanguage(client.getLanguage());
 
 			transaction.setAdditionalValues(buildAdditionalValues(txCurrency,
 					txValue, taxValue, taxReturnBase));
@@ -23,11 +23,11 @@
  */
 package com.payu.sdk.utils;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.payu.sdk.PayU;
 import com.payu.sdk.constants.Constants;
+import com.payu.sdk.helper.SignatureEngine;
 import com.payu.sdk.helper.SignatureHelper;
 import com.payu.sdk.model.Order;
 import com.payu.sdk.model.Transaction;
@@ -82,23 +82,9 @@ public final class SignUtil {
 	 */
 	public static String createSignature(final String algorithm, final String key, final String message) {
 
-		final String str = key + SIGNATURE_SEPARATOR + message;
-		String signature = null;
-
 		final String localAlgorithm = StringUtils.isBlank(algorithm) ? DEFAULT_ALGORITHM : algorithm;
-		if (Constants.ALGORITHM_MD5.equalsIgnoreCase(localAlgorithm)) {
-			signature = DigestUtils.md5Hex(str);
-		}
-		else if (Constants.ALGORITHM_SHA.equalsIgnoreCase(localAlgorithm)) {
-			signature = DigestUtils.shaHex(str);
-		}
-		else if (Constants.ALGORITHM_SHA_256.equalsIgnoreCase(localAlgorithm)) {
-			signature = DigestUtils.sha256Hex(str);
-		}
-		else {
-			throw new IllegalArgumentException("Could not create signature. Invalid algorithm " + localAlgorithm);
-		}
-		return signature;
+
+		return SignatureEngine.sign(key, message, localAlgorithm);
 	}
 
 	/**
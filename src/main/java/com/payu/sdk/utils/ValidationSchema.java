@@ -0,0 +1,455 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.InvalidParametersException;
+
+/**
+ * The compiled validation rules of a request parameters map: the required
+ * parameters, the parameters required unless a flag parameter is
+ * <code>true</code>, and the parameters that are not allowed.
+ * <p>
+ * A schema is compiled once and validates a map in a single pass, over the
+ * map entries or over the schema parameters, whichever are fewer. Nothing is
+ * allocated unless the validation fails. A
+ * parameter is missing when it is not in the map or its value is blank, as in
+ * {@link CommonRequestUtil#validateParameters(Map, String...)}.
+ * <p>
+ * Instances are immutable and safe to use from several threads.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class ValidationSchema {
+
+	/** The maximum number of distinct parameters of a schema */
+	public static final int MAX_PARAMETERS = Long.SIZE;
+
+	/** The slot of every parameter of the schema */
+	private final Map<String, Integer> slots;
+
+	/** The parameter names, by slot */
+	private final String[] names;
+
+	/** The required parameters, in declaration order */
+	private final int[] required;
+
+	/** The slots that must have a value */
+	private final long requiredMask;
+
+	/** The slots that must not be in the map */
+	private final long notAllowedMask;
+
+	/** The slots required unless their flag is true, by slot */
+	private final long[] waivedBy;
+
+	/** The slots of the flags */
+	private final long flagMask;
+
+	/**
+	 * Compiles the schema of the given builder
+	 *
+	 * @param builder the schema builder
+	 */
+	private ValidationSchema(Builder builder) {
+
+		int size = builder.slots.size();
+		this.slots = new HashMap<String, Integer>(builder.slots);
+		this.names = builder.slots.keySet().toArray(new String[size]);
+		this.required = new int[builder.required.size()];
+		this.waivedBy = new long[size];
+
+		long requiredBits = 0;
+		for (int i = 0; i < required.length; i++) {
+			required[i] = builder.required.get(i).intValue();
+			requiredBits |= 1L << required[i];
+		}
+
+		long flags = 0;
+		for (Map.Entry<Integer, Integer> waiver : builder.waivers.entrySet()) {
+			long flag = 1L << waiver.getValue().intValue();
+			waivedBy[waiver.getKey().intValue()] = flag;
+			flags |= flag;
+		}
+
+		long notAllowedBits = 0;
+		for (Integer slot : builder.notAllowed) {
+			notAllowedBits |= 1L << slot.intValue();
+		}
+
+		this.requiredMask = requiredBits;
+		this.notAllowedMask = notAllowedBits;
+		this.flagMask = flags;
+	}
+
+	/**
+	 * Returns a new schema builder
+	 *
+	 * @return the builder
+	 */
+	public static Builder builder() {
+
+		return new Builder();
+	}
+
+	/**
+	 * Validates the given parameters against the schema
+	 *
+	 * @param parameters the parameters to validate. If the parameters are null
+	 *            or empty, exception is thrown.
+	 * @throws InvalidParametersException if a required parameter is missing
+	 *             or a not allowed parameter is present
+	 */
+	public void validate(Map<String, String> parameters) throws InvalidParametersException {
+
+		if (parameters == null || parameters.isEmpty()) {
+			throw new InvalidParametersException("Parameters can not be null or empty.");
+		}
+
+		long present = 0;
+		long keys = 0;
+		long flags = 0;
+
+		if (parameters.size() <= names.length) {
+			// Walks the map entries
+			for (Map.Entry<String, String> entry : parameters.entrySet()) {
+				Integer slot = slots.get(entry.getKey());
+				if (slot == null) {
+					continue;
+				}
+				long bit = 1L << slot.intValue();
+				String value = entry.getValue();
+				keys |= bit;
+				if (!isBlank(value)) {
+					present |= bit;
+					if ((flagMask & bit) != 0 && isTrue(value)) {
+						flags |= bit;
+					}
+				}
+			}
+		} else {
+			// Looks the schema parameters up in the bigger map
+			for (int slot = 0; slot < names.length; slot++) {
+				long bit = 1L << slot;
+				String value = parameters.get(names[slot]);
+				if (value == null) {
+					if ((notAllowedMask & bit) != 0 && parameters.containsKey(names[slot])) {
+						keys |= bit;
+					}
+					continue;
+				}
+				keys |= bit;
+				if (!isBlank(value)) {
+					present |= bit;
+					if ((flagMask & bit) != 0 && isTrue(value)) {
+						flags |= bit;
+					}
+				}
+			}
+		}
+
+		check(present, keys, flags);
+	}
+
+	/**
+	 * Validates the parameters set by a typed builder against the schema
+	 *
+	 * @param present the names of the parameters with a value. A flag
+	 *            parameter is in the collection only if it is
+	 *            <code>true</code>.
+	 * @throws InvalidParametersException if a required parameter is missing
+	 *             or a not allowed parameter is present
+	 */
+	public void validate(Collection<String> present) throws InvalidParametersException {
+
+		long bits = 0;
+		for (int slot = 0; slot < names.length; slot++) {
+			if (present.contains(names[slot])) {
+				bits |= 1L << slot;
+			}
+		}
+		check(bits, bits, bits & flagMask);
+	}
+
+	/**
+	 * Checks the parameters found by a validation
+	 *
+	 * @param present the slots of the parameters with a value
+	 * @param keys the slots of the parameters in the map
+	 * @param flags the slots of the true flags
+	 * @throws InvalidParametersException if a required parameter is missing
+	 *             or a not allowed parameter is present
+	 */
+	private void check(long present, long keys, long flags) throws InvalidParametersException {
+
+		long missing = requiredMask & ~present;
+		if (missing != 0 && flags != 0) {
+			for (int slot = 0; slot < waivedBy.length; slot++) {
+				if ((waivedBy[slot] & flags) != 0) {
+					missing &= ~(1L << slot);
+				}
+			}
+		}
+		long forbidden = notAllowedMask & keys;
+
+		if (missing != 0 || forbidden != 0) {
+			throw new InvalidParametersException(getErrorMessage(missing, forbidden));
+		}
+	}
+
+	/**
+	 * Gets the required parameters of the schema, conditional ones included
+	 *
+	 * @return the required parameter names, in declaration order
+	 */
+	public List<String> getRequired() {
+
+		List<String> list = new ArrayList<String>(required.length);
+		for (int slot : required) {
+			list.add(names[slot]);
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Builds the message of a failed validation
+	 *
+	 * @param missing the slots of the missing parameters
+	 * @param forbidden the slots of the present not allowed parameters
+	 * @return the error message
+	 */
+	private String getErrorMessage(long missing, long forbidden) {
+
+		StringBuilder errorMessage = new StringBuilder();
+		for (int slot : required) {
+			if ((missing & (1L << slot)) != 0) {
+				errorMessage.append("Parameter [").append(names[slot])
+						.append("] is required.").append(Constants.LINE_SEPARATOR);
+			}
+		}
+		for (int slot = 0; slot < names.length; slot++) {
+			if ((forbidden & (1L << slot)) != 0) {
+				errorMessage.append("Parameter [").append(names[slot])
+						.append("] is not allowed.").append(Constants.LINE_SEPARATOR);
+			}
+		}
+		return errorMessage.toString();
+	}
+
+	/**
+	 * Checks if a flag value is <code>true</code>, ignoring case
+	 *
+	 * @param value the flag value
+	 * @return true if the flag is set
+	 */
+	private static boolean isTrue(String value) {
+
+		return Boolean.TRUE.toString().equalsIgnoreCase(value);
+	}
+
+	/**
+	 * Checks if a value is null or has only white spaces, like
+	 * <code>value.trim().isEmpty()</code> without the copy
+	 *
+	 * @param value the value to check
+	 * @return true if the value is blank
+	 */
+	private static boolean isBlank(String value) {
+
+		if (value == null) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Builder of the validation schemas
+	 */
+	public static final class Builder {
+
+		/** The slot of every parameter, in declaration order */
+		private final Map<String, Integer> slots = new LinkedHashMap<String, Integer>();
+
+		/** The slots of the required parameters */
+		private final List<Integer> required = new ArrayList<Integer>();
+
+		/** The slot of the flag of the conditional parameters, by slot */
+		private final Map<Integer, Integer> waivers = new LinkedHashMap<Integer, Integer>();
+
+		/** The slots of the not allowed parameters */
+		private final List<Integer> notAllowed = new ArrayList<Integer>();
+
+		/**
+		 * Private constructor
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * Copies the rules of the given schema
+		 *
+		 * @param schema the base schema
+		 * @return the builder
+		 */
+		public Builder include(ValidationSchema schema) {
+
+			for (int slot : schema.required) {
+				long flag = schema.waivedBy[slot];
+				if (flag == 0) {
+					required(schema.names[slot]);
+				} else {
+					requiredUnless(schema.names[slot],
+							schema.names[Long.numberOfTrailingZeros(flag)]);
+				}
+			}
+			for (int slot = 0; slot < schema.names.length; slot++) {
+				if ((schema.notAllowedMask & (1L << slot)) != 0) {
+					notAllowed(schema.names[slot]);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Adds required parameters
+		 *
+		 * @param names the parameter names
+		 * @return the builder
+		 */
+		public Builder required(String... names) {
+
+			for (String name : names) {
+				addRequired(slotOf(name));
+			}
+			return this;
+		}
+
+		/**
+		 * Adds a parameter required unless the given flag parameter is
+		 * <code>true</code>
+		 *
+		 * @param name the parameter name
+		 * @param flag the flag parameter name
+		 * @return the builder
+		 */
+		public Builder requiredUnless(String name, String flag) {
+
+			Integer slot = slotOf(name);
+			addRequired(slot);
+			waivers.put(slot, slotOf(flag));
+			return this;
+		}
+
+		/**
+		 * Adds parameters that are not allowed
+		 *
+		 * @param names the parameter names
+		 * @return the builder
+		 */
+		public Builder notAllowed(String... names) {
+
+			for (String name : names) {
+				Integer slot = slotOf(name);
+				if (!notAllowed.contains(slot)) {
+					notAllowed.add(slot);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Compiles the schema
+		 *
+		 * @return the schema
+		 */
+		public ValidationSchema build() {
+
+			for (Integer slot : notAllowed) {
+				if (required.contains(slot) || waivers.containsValue(slot)) {
+					throw new IllegalStateException("The parameter ["
+							+ names()[slot.intValue()] + "] can not be required and not allowed");
+				}
+			}
+			return new ValidationSchema(this);
+		}
+
+		/**
+		 * Adds a required slot once
+		 *
+		 * @param slot the slot
+		 */
+		private void addRequired(Integer slot) {
+
+			if (!required.contains(slot)) {
+				required.add(slot);
+			}
+		}
+
+		/**
+		 * Gets or assigns the slot of a parameter
+		 *
+		 * @param name the parameter name
+		 * @return the slot
+		 */
+		private Integer slotOf(String name) {
+
+			if (name == null) {
+				throw new IllegalArgumentException("The parameter name can not be null");
+			}
+			Integer slot = slots.get(name);
+			if (slot == null) {
+				if (slots.size() == MAX_PARAMETERS) {
+					throw new IllegalStateException("A schema can not have more than "
+							+ MAX_PARAMETERS + " parameters");
+				}
+				slot = Integer.valueOf(slots.size());
+				slots.put(name, slot);
+			}
+			return slot;
+		}
+
+		/**
+		 * @return the parameter names, by slot
+		 */
+		private String[] names() {
+
+			return slots.keySet().toArray(new String[slots.size()]);
+		}
+	}
+}
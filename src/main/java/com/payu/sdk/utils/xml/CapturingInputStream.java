@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+import com.payu.sdk.constants.Constants;
+
+/**
+ * An input stream that keeps a copy of the first bytes read from it, so a
+ * response parsed straight from the connection can still be reported when it
+ * is not valid.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class CapturingInputStream extends FilterInputStream {
+
+	/** The max number of bytes captured */
+	private final int limit;
+
+	/** The captured bytes */
+	private final ByteArrayOutputStream captured;
+
+	/**
+	 * Creates a new capturing stream
+	 *
+	 * @param in
+	 *            The stream to read from
+	 * @param limit
+	 *            The max number of bytes captured
+	 */
+	public CapturingInputStream(InputStream in, int limit) {
+
+		super(in);
+		this.limit = limit;
+		this.captured = new ByteArrayOutputStream(Math.min(limit, 1024));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.FilterInputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+
+		int read = super.read();
+		if (read != -1 && captured.size() < limit) {
+			captured.write(read);
+		}
+		return read;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.FilterInputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+
+		int read = super.read(b, off, len);
+		if (read > 0 && captured.size() < limit) {
+			captured.write(b, off, Math.min(read, limit - captured.size()));
+		}
+		return read;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.FilterInputStream#markSupported()
+	 */
+	@Override
+	public boolean markSupported() {
+
+		return false;
+	}
+
+	/**
+	 * @return the captured bytes as an UTF-8 string
+	 */
+	public String getCaptured() {
+
+		try {
+			return captured.toString(Constants.DEFAULT_ENCODING);
+		}
+		catch (UnsupportedEncodingException e) {
+			return captured.toString();
+		}
+	}
+}
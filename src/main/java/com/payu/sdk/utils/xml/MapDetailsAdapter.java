@@ -26,7 +26,6 @@ package com.payu.sdk.utils.xml;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -39,6 +38,8 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import com.payu.sdk.utils.JaxbContextRegistry;
+
 /**
  * Utility to adapt Object into {@link MapDetailsElement} and vice
  * versa.
@@ -54,10 +55,6 @@ public class MapDetailsAdapter extends
 	 * The document builder singleton
 	 */
 	private DocumentBuilder documentBuilder;
-	/**
-	 * The Jaxb context singleton
-	 */
-	private JAXBContext jaxbContext;
 
 	/* (non-Javadoc)
 	 * @see javax.xml.bind.annotation.adapters.XmlAdapter#marshal(java.lang.Object)
@@ -115,8 +112,12 @@ public class MapDetailsAdapter extends
 
 		// 2. Marshal the JAXBElement to a DOM element.
 		Document document = getDocumentBuilder().newDocument();
-		Marshaller marshaller = getJAXBContext(type).createMarshaller();
-		marshaller.marshal(jaxbElement, document);
+		Marshaller marshaller = JaxbContextRegistry.acquireMarshaller(type, false);
+		try {
+			marshaller.marshal(jaxbElement, document);
+		} finally {
+			JaxbContextRegistry.releaseMarshaller(type, marshaller);
+		}
 		Element element = document.getDocumentElement();
 
 		// 3. Set the type attribute based on the value's type.
@@ -138,19 +139,4 @@ public class MapDetailsAdapter extends
 		}
 		return documentBuilder;
 	}
-
-	/**
-	 * Returns the singleton JAXB context
-	 *
-	 * @param type
-	 *            The type for the context to be built
-	 * @return The built context
-	 * @throws JAXBException
-	 */
-	private JAXBContext getJAXBContext(Class<?> type) throws JAXBException {
-		if (jaxbContext == null) {
-			jaxbContext = JAXBContext.newInstance(type);
-		}
-		return jaxbContext;
-	}
 }
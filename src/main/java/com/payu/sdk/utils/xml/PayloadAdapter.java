@@ -74,21 +74,16 @@ public class PayloadAdapter extends XmlAdapter<Element, Object> {
 
 		if (TRANSACTION_CLASS.equals(clazz)) {
 
-			v.getOwnerDocument().renameNode(v, null, TRANSACTION_CLASS);
-			payload = JaxbUtil.convertXmlToJava(TransactionResponse.class,
-					XmlFormatter.nodeToString(v));
+			payload = JaxbUtil.convertNodeToJava(TransactionResponse.class, v);
 
 		} else if (ORDER_CLASS.equals(clazz)) {
 
-			v.getOwnerDocument().renameNode(v, null, ORDER_CLASS);
-			payload = JaxbUtil.convertXmlToJava(Order.class,
-					XmlFormatter.nodeToString(v));
+			payload = JaxbUtil.convertNodeToJava(Order.class, v);
 
 		} else if (ORDER_LIST_CLASS.equals(clazz)) {
 
-			v.getOwnerDocument().renameNode(v, null, ORDER_LIST_CLASS);
-			payload = JaxbUtil.convertXmlToJava(ReportingResultOrderList.class,
-					XmlFormatter.nodeToString(v)).getPayload();
+			payload = JaxbUtil.convertNodeToJava(ReportingResultOrderList.class, v)
+					.getPayload();
 		}
 
 		return payload;
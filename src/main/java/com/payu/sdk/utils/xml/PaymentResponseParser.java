@@ -0,0 +1,636 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.model.TransactionErrorCode;
+import com.payu.sdk.model.TransactionPendingReason;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionResponseCode;
+import com.payu.sdk.model.TransactionState;
+import com.payu.sdk.model.response.ResponseCode;
+import com.payu.sdk.payments.model.PaymentResponse;
+import com.payu.sdk.utils.JaxbUtil;
+
+/**
+ * Streaming parser for the payment responses of the authorization and
+ * capture calls. It fills the model with its setters in a single StAX pass,
+ * without the reflection of the JAXB unmarshaller and its map adapters.
+ * <p>
+ * Only the shape the payments API sends is handled. Whenever the document
+ * has something else (an unknown element, an attribute, a value JAXB would
+ * read differently, or malformed XML) it is unmarshalled with JAXB instead,
+ * so both paths always give the same object.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PaymentResponseParser {
+
+	/** The payment response root element */
+	private static final String ROOT_ELEMENT = "paymentResponse";
+
+	/** The initial size of the buffer the response is read into */
+	private static final int BUFFER_SIZE = 2048;
+
+	/** The integer values read without JAXB */
+	private static final Pattern INTEGER = Pattern.compile("-?\\d{1,18}");
+
+	/** The decimal values read without JAXB */
+	private static final Pattern DECIMAL = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+	/** The StAX factory, thread safe once configured */
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+	/** The operation date adapter, its date format is not thread safe */
+	private static final ThreadLocal<DateAdapter> DATE_ADAPTER = new ThreadLocal<DateAdapter>() {
+
+		@Override
+		protected DateAdapter initialValue() {
+			return new DateAdapter();
+		}
+	};
+
+	/**
+	 * Private constructor
+	 */
+	private PaymentResponseParser() {
+	}
+
+	/**
+	 * Parses a payment response stream
+	 *
+	 * @param xmlData
+	 *            The stream with the payment response in a xml format
+	 * @return The root element with the payment response, or null if the
+	 *         stream is empty
+	 * @throws PayUException
+	 *             if the stream can not be read or is not a valid payment
+	 *             response
+	 */
+	public static JAXBElement<PaymentResponse> parseElement(InputStream xmlData)
+			throws PayUException {
+
+		byte[] xml;
+		try {
+			xml = readFully(xmlData);
+		} catch (IOException e) {
+			throw new PayUException(ErrorCode.XML_DESERIALIZATION_ERROR, e);
+		}
+
+		if (xml.length == 0) {
+			return null;
+		}
+
+		try {
+			PaymentResponse response = parseWithoutFallback(xml);
+			return new JAXBElement<PaymentResponse>(new QName(ROOT_ELEMENT),
+					PaymentResponse.class, response);
+		} catch (UnsupportedContentException e) {
+			return JaxbUtil.convertXmlToElement(PaymentResponse.class,
+					new ByteArrayInputStream(xml));
+		}
+	}
+
+	/**
+	 * Parses a payment response stream
+	 *
+	 * @param xmlData
+	 *            The stream with the payment response in a xml format
+	 * @return The payment response, or null if the stream is empty
+	 * @throws PayUException
+	 *             if the stream can not be read or is not a valid payment
+	 *             response
+	 */
+	public static PaymentResponse parse(InputStream xmlData) throws PayUException {
+
+		JAXBElement<PaymentResponse> element = parseElement(xmlData);
+
+		return element != null ? element.getValue() : null;
+	}
+
+	/**
+	 * Parses a payment response with the streaming parser only
+	 *
+	 * @param xml
+	 *            The payment response in a xml format
+	 * @return The payment response
+	 * @throws UnsupportedContentException
+	 *             if the response must be unmarshalled with JAXB
+	 */
+	static PaymentResponse parseWithoutFallback(byte[] xml)
+			throws UnsupportedContentException {
+
+		XMLStreamReader reader = null;
+
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+
+			while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+				// Skips the prolog
+			}
+
+			if (!reader.isStartElement() || !ROOT_ELEMENT.equals(reader.getLocalName())) {
+				throw new UnsupportedContentException();
+			}
+
+			PaymentResponse response = readPaymentResponse(reader);
+
+			// The JDK factory only reuses the buffers of a reader that got to
+			// the end of the document
+			while (reader.hasNext()) {
+				reader.next();
+			}
+
+			return response;
+
+		} catch (XMLStreamException e) {
+			throw new UnsupportedContentException();
+		} finally {
+			closeQuietly(reader);
+		}
+	}
+
+	/**
+	 * Reads the payment response element
+	 *
+	 * @param reader the reader positioned at the start of the element
+	 * @return the payment response
+	 * @throws XMLStreamException
+	 * @throws UnsupportedContentException
+	 */
+	private static PaymentResponse readPaymentResponse(XMLStreamReader reader)
+			throws XMLStreamException, UnsupportedContentException {
+
+		checkSupported(reader);
+		PaymentResponse response = new PaymentResponse();
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+
+			checkSupported(reader);
+			String name = reader.getLocalName();
+
+			if ("code".equals(name)) {
+				response.setCode(enumValue(ResponseCode.class, reader.getElementText()));
+			}
+			else if ("error".equals(name)) {
+				response.setError(reader.getElementText());
+			}
+			else if ("transactionResponse".equals(name)) {
+				response.setTransactionResponse(readTransactionResponse(reader));
+			}
+			else {
+				throw new UnsupportedContentException();
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * Reads the transaction response element
+	 *
+	 * @param reader the reader positioned at the start of the element
+	 * @return the transaction response
+	 * @throws XMLStreamException
+	 * @throws UnsupportedContentException
+	 */
+	private static TransactionResponse readTransactionResponse(XMLStreamReader reader)
+			throws XMLStreamException, UnsupportedContentException {
+
+		TransactionResponse transaction = new TransactionResponse();
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+
+			checkSupported(reader);
+			TransactionElement element = TransactionElement.forName(reader.getLocalName());
+
+			switch (element) {
+			case ORDER_ID:
+				transaction.setOrderId(integerValue(reader.getElementText()));
+				break;
+			case ORDER_REFERENCE_CODE:
+				transaction.setOrderReferenceCode(reader.getElementText());
+				break;
+			case TRANSACTION_ID:
+				transaction.setTransactionId(reader.getElementText());
+				break;
+			case STATE:
+				transaction.setState(enumValue(TransactionState.class,
+						reader.getElementText()));
+				break;
+			case PAYMENT_NETWORK_RESPONSE_CODE:
+				transaction.setPaymentNetworkResponseCode(reader.getElementText());
+				break;
+			case PAYMENT_NETWORK_RESPONSE_ERROR_MESSAGE:
+				transaction.setPaymentNetworkResponseErrorMessage(reader.getElementText());
+				break;
+			case TRAZABILITY_CODE:
+				transaction.setTrazabilityCode(reader.getElementText());
+				break;
+			case AUTHORIZATION_CODE:
+				transaction.setAuthorizationCode(reader.getElementText());
+				break;
+			case PENDING_REASON:
+				transaction.setPendingReason(enumValue(TransactionPendingReason.class,
+						reader.getElementText()));
+				break;
+			case RESPONSE_CODE:
+				transaction.setResponseCode(enumValue(TransactionResponseCode.class,
+						reader.getElementText()));
+				break;
+			case ERROR_CODE:
+				transaction.setErrorCode(enumValue(TransactionErrorCode.class,
+						reader.getElementText()));
+				break;
+			case RESPONSE_MESSAGE:
+				transaction.setResponseMessage(reader.getElementText());
+				break;
+			case TRANSACTION_DATE:
+				transaction.setTransactionDate(reader.getElementText());
+				break;
+			case TRANSACTION_TIME:
+				transaction.setTransactionTime(reader.getElementText());
+				break;
+			case OPERATION_DATE:
+				try {
+					transaction.setOperationDate(DATE_ADAPTER.get().unmarshal(
+							reader.getElementText()));
+				} catch (ParseException e) {
+					throw new UnsupportedContentException();
+				}
+				break;
+			case EXTRA_PARAMETERS:
+				transaction.setExtraParameters(readExtraParameters(reader));
+				break;
+			case ADDITIONAL_INFO:
+				transaction.setAdditionalInfo(readAdditionalInfo(reader));
+				break;
+			default:
+				throw new UnsupportedContentException();
+			}
+		}
+
+		return transaction;
+	}
+
+	/**
+	 * Reads the extra parameters element as {@link MapExtraParameterAdapter}
+	 * does
+	 *
+	 * @param reader the reader positioned at the start of the element
+	 * @return the extra parameters
+	 * @throws XMLStreamException
+	 * @throws UnsupportedContentException
+	 */
+	private static Map<String, Object> readExtraParameters(XMLStreamReader reader)
+			throws XMLStreamException, UnsupportedContentException {
+
+		Map<String, Object> parameters = new HashMap<String, Object>();
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+
+			checkSupported(reader);
+			if (!"entry".equals(reader.getLocalName())) {
+				throw new UnsupportedContentException();
+			}
+
+			List<String> strings = new ArrayList<String>(2);
+			Object value = null;
+
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+
+				checkSupported(reader);
+				String name = reader.getLocalName();
+				String text = reader.getElementText();
+
+				if ("string".equals(name)) {
+					strings.add(text);
+				}
+				else if (value != null) {
+					// Several typed values are picked by type, leave it to JAXB
+					throw new UnsupportedContentException();
+				}
+				else if ("int".equals(name) || "integer".equals(name)) {
+					value = integerValue(text);
+				}
+				else if ("long".equals(name)) {
+					value = longValue(text);
+				}
+				else if ("boolean".equals(name)) {
+					value = booleanValue(text);
+				}
+				else if ("bigDecimal".equals(name)) {
+					value = decimalValue(text);
+				}
+				else {
+					throw new UnsupportedContentException();
+				}
+			}
+
+			// The entry keeps the strings in a two positions array, which
+			// is replaced by the read strings when there is any
+			String key = strings.isEmpty() ? null : strings.get(0);
+			if (value == null && strings.size() == 2) {
+				value = strings.get(1);
+			}
+
+			parameters.put(key, value);
+		}
+
+		return parameters;
+	}
+
+	/**
+	 * Reads the additional info element as {@link MapAdditionalInfoAdapter}
+	 * does
+	 *
+	 * @param reader the reader positioned at the start of the element
+	 * @return the additional info
+	 * @throws XMLStreamException
+	 * @throws UnsupportedContentException
+	 */
+	private static Map<String, String> readAdditionalInfo(XMLStreamReader reader)
+			throws XMLStreamException, UnsupportedContentException {
+
+		String cardType = null;
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+
+			checkSupported(reader);
+			if (!"cardType".equals(reader.getLocalName())) {
+				throw new UnsupportedContentException();
+			}
+			cardType = reader.getElementText();
+		}
+
+		Map<String, String> additionalInfo = new HashMap<String, String>(1);
+		additionalInfo.put("cardType", cardType);
+		return additionalInfo;
+	}
+
+	/**
+	 * Checks the current element is read the same way by JAXB: it must not be
+	 * qualified nor have attributes
+	 *
+	 * @param reader the reader positioned at the start of an element
+	 * @throws UnsupportedContentException if the element is not supported
+	 */
+	private static void checkSupported(XMLStreamReader reader)
+			throws UnsupportedContentException {
+
+		String namespace = reader.getNamespaceURI();
+		if (reader.getAttributeCount() > 0
+				|| (namespace != null && namespace.length() > 0)) {
+			throw new UnsupportedContentException();
+		}
+	}
+
+	/**
+	 * Gets the enum constant with the exact given name
+	 *
+	 * @param type the enum type
+	 * @param text the element text
+	 * @return the enum constant
+	 * @throws UnsupportedContentException if there is no such constant
+	 */
+	private static <E extends Enum<E>> E enumValue(Class<E> type, String text)
+			throws UnsupportedContentException {
+
+		try {
+			return Enum.valueOf(type, text);
+		} catch (IllegalArgumentException e) {
+			throw new UnsupportedContentException();
+		}
+	}
+
+	/**
+	 * Reads a plain integer value
+	 *
+	 * @param text the element text
+	 * @return the integer value
+	 * @throws UnsupportedContentException if it is not a plain integer
+	 */
+	private static Integer integerValue(String text) throws UnsupportedContentException {
+
+		Long value = longValue(text);
+		if (value.longValue() != value.intValue()) {
+			throw new UnsupportedContentException();
+		}
+		return Integer.valueOf(value.intValue());
+	}
+
+	/**
+	 * Reads a plain long value
+	 *
+	 * @param text the element text
+	 * @return the long value
+	 * @throws UnsupportedContentException if it is not a plain integer
+	 */
+	private static Long longValue(String text) throws UnsupportedContentException {
+
+		if (!INTEGER.matcher(text).matches()) {
+			throw new UnsupportedContentException();
+		}
+		return Long.valueOf(text);
+	}
+
+	/**
+	 * Reads a plain decimal value
+	 *
+	 * @param text the element text
+	 * @return the decimal value
+	 * @throws UnsupportedContentException if it is not a plain decimal
+	 */
+	private static BigDecimal decimalValue(String text) throws UnsupportedContentException {
+
+		if (!DECIMAL.matcher(text).matches()) {
+			throw new UnsupportedContentException();
+		}
+		return new BigDecimal(text);
+	}
+
+	/**
+	 * Reads a boolean value written as <code>true</code> or
+	 * <code>false</code>
+	 *
+	 * @param text the element text
+	 * @return the boolean value
+	 * @throws UnsupportedContentException if it is written otherwise
+	 */
+	private static Boolean booleanValue(String text) throws UnsupportedContentException {
+
+		if ("true".equals(text)) {
+			return Boolean.TRUE;
+		}
+		if ("false".equals(text)) {
+			return Boolean.FALSE;
+		}
+		throw new UnsupportedContentException();
+	}
+
+	/**
+	 * Reads the whole stream
+	 *
+	 * @param xmlData the stream
+	 * @return the read bytes
+	 * @throws IOException if the stream can not be read
+	 */
+	private static byte[] readFully(InputStream xmlData) throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = xmlData.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Closes the given StAX reader ignoring any error
+	 *
+	 * @param reader the reader to close, may be null
+	 */
+	private static void closeQuietly(XMLStreamReader reader) {
+
+		if (reader != null) {
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				// Nothing else to release
+			}
+		}
+	}
+
+	/**
+	 * Creates the StAX factory, without DTD nor external entities support
+	 *
+	 * @return the StAX factory
+	 */
+	private static XMLInputFactory createXmlInputFactory() {
+
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * The elements of a transaction response
+	 */
+	private enum TransactionElement {
+
+		ORDER_ID("orderId"),
+		ORDER_REFERENCE_CODE("orderReferenceCode"),
+		TRANSACTION_ID("transactionId"),
+		STATE("state"),
+		PAYMENT_NETWORK_RESPONSE_CODE("paymentNetworkResponseCode"),
+		PAYMENT_NETWORK_RESPONSE_ERROR_MESSAGE("paymentNetworkResponseErrorMessage"),
+		TRAZABILITY_CODE("trazabilityCode"),
+		AUTHORIZATION_CODE("authorizationCode"),
+		PENDING_REASON("pendingReason"),
+		RESPONSE_CODE("responseCode"),
+		ERROR_CODE("errorCode"),
+		RESPONSE_MESSAGE("responseMessage"),
+		TRANSACTION_DATE("transactionDate"),
+		TRANSACTION_TIME("transactionTime"),
+		OPERATION_DATE("operationDate"),
+		EXTRA_PARAMETERS("extraParameters"),
+		ADDITIONAL_INFO("additionalInfo"),
+		UNKNOWN(null);
+
+		/** The elements by their xml name */
+		private static final Map<String, TransactionElement> BY_NAME = new HashMap<String, TransactionElement>();
+
+		static {
+			for (TransactionElement element : values()) {
+				BY_NAME.put(element.xmlName, element);
+			}
+		}
+
+		/** The xml name of the element */
+		private final String xmlName;
+
+		/**
+		 * Constructor
+		 *
+		 * @param xmlName the xml name of the element
+		 */
+		private TransactionElement(String xmlName) {
+			this.xmlName = xmlName;
+		}
+
+		/**
+		 * Gets the element with the given xml name
+		 *
+		 * @param name the xml name
+		 * @return the element, {@link #UNKNOWN} if there is none
+		 */
+		static TransactionElement forName(String name) {
+
+			TransactionElement element = BY_NAME.get(name);
+			return element != null ? element : UNKNOWN;
+		}
+	}
+
+	/**
+	 * Signals a document the streaming parser leaves to JAXB. It does not
+	 * fill its stack trace since it is part of the normal flow
+	 */
+	static final class UnsupportedContentException extends Exception {
+
+		/** The class serial version */
+		private static final long serialVersionUID = 1L;
+
+		/* (non-Javadoc)
+		 * @see java.lang.Throwable#fillInStackTrace()
+		 */
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+}
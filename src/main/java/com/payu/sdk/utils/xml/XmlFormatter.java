@@ -29,6 +29,7 @@ import java.io.StringWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -50,6 +51,16 @@ import com.payu.sdk.utils.LoggerUtil;
  */
 public final class XmlFormatter {
 
+	/** The start of a character data section */
+	private static final String CDATA_START = "<![CDATA[";
+
+	/**
+	 * The transformer factory. Looking it up is the expensive part of
+	 * creating a transformer, so it is done once. Factories are not thread
+	 * safe, the transformers are created while holding its lock
+	 */
+	private static volatile TransformerFactory transformerFactory;
+
 	/**
 	 * Private constructor
 	 */
@@ -70,9 +81,7 @@ public final class XmlFormatter {
 			Source xmlInput = new StreamSource(new StringReader(input));
 			StringWriter stringWriter = new StringWriter();
 			StreamResult xmlOutput = new StreamResult(stringWriter);
-			TransformerFactory transformerFactory = TransformerFactory
-					.newInstance();
-			Transformer transformer = transformerFactory.newTransformer();
+			Transformer transformer = newTransformer();
 			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
 			transformer.setOutputProperty(
 					"{http://xml.apache.org/xslt}indent-amount",
@@ -96,6 +105,94 @@ public final class XmlFormatter {
 		return prettyFormat(input, 2);
 	}
 
+	/**
+	 * Indents an input xml in a single pass over its markup. Unlike
+	 * {@link #prettyFormat(String, int)} the xml is not parsed, so it is
+	 * cheap enough for the debug logs and never fails: malformed input is
+	 * indented on a best effort basis
+	 *
+	 * @param input xml string to be indented
+	 * @param indent size of indentation
+	 * @return the indented string, or null if the input is null
+	 */
+	public static String indent(String input, int indent) {
+
+		if (input == null) {
+			return null;
+		}
+
+		int length = input.length();
+		StringBuilder output = new StringBuilder(length + (length >> 1));
+		int depth = 0;
+		// True when the last token was a start tag or the text inside it, so
+		// its end tag stays on the same line
+		boolean inline = false;
+		int position = 0;
+
+		while (position < length) {
+
+			if (input.charAt(position) != '<') {
+
+				int end = input.indexOf('<', position);
+				if (end < 0) {
+					end = length;
+				}
+				String text = input.substring(position, end).trim();
+				if (text.length() > 0) {
+					if (!inline) {
+						newLine(output, depth, indent);
+					}
+					output.append(text);
+				}
+				position = end;
+				continue;
+			}
+
+			int end = markupEnd(input, position);
+			char type = position + 1 < length ? input.charAt(position + 1) : ' ';
+
+			if (input.startsWith(CDATA_START, position)) {
+				// Character data is text, it stays next to its start tag
+				if (!inline) {
+					newLine(output, depth, indent);
+				}
+			}
+			else if (type == '/') {
+				depth = Math.max(0, depth - 1);
+				if (!inline) {
+					newLine(output, depth, indent);
+				}
+				inline = false;
+			}
+			else if (type == '?' || type == '!'
+					|| (end - 2 > position && input.charAt(end - 2) == '/')) {
+				newLine(output, depth, indent);
+				inline = false;
+			}
+			else {
+				newLine(output, depth, indent);
+				depth++;
+				inline = true;
+			}
+
+			output.append(input, position, end);
+			position = end;
+		}
+
+		return output.toString();
+	}
+
+	/**
+	 * Indents an input xml with the default indentation
+	 *
+	 * @param input xml string to be indented
+	 * @return the indented string, or null if the input is null
+	 * @see #indent(String, int)
+	 */
+	public static String indent(String input) {
+		return indent(input, 2);
+	}
+
 	/**
 	 * Converts DOM node to xml string
 	 *
@@ -105,7 +202,7 @@ public final class XmlFormatter {
 	public static String nodeToString(Node node) {
 		StringWriter sw = new StringWriter();
 		try {
-			Transformer t = TransformerFactory.newInstance().newTransformer();
+			Transformer t = newTransformer();
 			t.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
 			t.setOutputProperty(OutputKeys.INDENT, "yes");
 			t.transform(new DOMSource(node), new StreamResult(sw));
@@ -115,4 +212,66 @@ public final class XmlFormatter {
 		return sw.toString();
 	}
 
+	/**
+	 * Creates an identity transformer from the shared factory
+	 *
+	 * @return the new transformer, which must not be shared between threads
+	 * @throws TransformerConfigurationException if the transformer can not
+	 *             be created
+	 */
+	private static Transformer newTransformer() throws TransformerConfigurationException {
+
+		TransformerFactory factory = transformerFactory;
+		if (factory == null) {
+			synchronized (XmlFormatter.class) {
+				factory = transformerFactory;
+				if (factory == null) {
+					factory = TransformerFactory.newInstance();
+					transformerFactory = factory;
+				}
+			}
+		}
+		synchronized (factory) {
+			return factory.newTransformer();
+		}
+	}
+
+	/**
+	 * Finds the end of the markup starting at the given position
+	 *
+	 * @param input the xml string
+	 * @param start the position of the markup opening bracket
+	 * @return the position after the markup closing bracket
+	 */
+	private static int markupEnd(String input, int start) {
+
+		String terminator = ">";
+		if (input.startsWith("<!--", start)) {
+			terminator = "-->";
+		}
+		else if (input.startsWith(CDATA_START, start)) {
+			terminator = "]]>";
+		}
+
+		int end = input.indexOf(terminator, start + 1);
+		return end < 0 ? input.length() : end + terminator.length();
+	}
+
+	/**
+	 * Starts a new indented line, unless nothing was written yet
+	 *
+	 * @param output the output being built
+	 * @param depth the nesting depth
+	 * @param indent size of indentation
+	 */
+	private static void newLine(StringBuilder output, int depth, int indent) {
+
+		if (output.length() > 0) {
+			output.append(Constants.LINE_BREAK);
+		}
+		for (int i = depth * indent; i > 0; i--) {
+			output.append(' ');
+		}
+	}
+
 }
@@ -0,0 +1,294 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.TransportRequest;
+import com.payu.sdk.helper.TransportResponse;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.Order;
+import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionState;
+import com.payu.sdk.payments.model.PaymentRequest;
+
+/**
+ * Tests the {@link BulkAuthorization} runs.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class BulkAuthorizationTest {
+
+	private PayUTransport previous;
+
+	private PaymentsTransport transport;
+
+	@BeforeMethod
+	public void before() {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+		previous = HttpClientHelper.getTransport();
+		transport = new PaymentsTransport();
+		HttpClientHelper.setTransport(transport);
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		HttpClientHelper.setTransport(previous);
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+	}
+
+	@Test
+	public void givesAResultPerItemInOrder() {
+
+		BulkAuthorization<Transaction> run = PayUPayments.submitTransactionsBulk(
+				new Transactions(20), 1000).withConcurrency(4);
+
+		int index = 0;
+		for (BulkAuthorization.Result<Transaction> result : run) {
+			Assert.assertEquals(result.getIndex(), (long) index);
+			Assert.assertEquals(result.getItem().getOrder().getReferenceCode(), "order-" + index);
+			if (index == 7) {
+				Assert.assertFalse(result.isSuccess());
+				Assert.assertTrue(result.getError() instanceof PayUException, result.toString());
+			} else {
+				Assert.assertTrue(result.isSuccess(), result.toString());
+				Assert.assertEquals(result.getResponse().getOrderId(), Integer.valueOf(index));
+				Assert.assertEquals(result.getResponse().getState(), index % 5 == 0
+						? TransactionState.DECLINED : TransactionState.APPROVED);
+			}
+			index++;
+		}
+		Assert.assertEquals(index, 20);
+		Assert.assertTrue(transport.maxInFlight.get() <= 4, "In flight "
+				+ transport.maxInFlight.get());
+
+		BulkAuthorization.Stats stats = run.getStats();
+		Assert.assertEquals(stats.getSubmitted(), 20L);
+		Assert.assertEquals(stats.getCompleted(), 20L);
+		Assert.assertEquals(stats.getSucceeded(), 19L);
+		Assert.assertEquals(stats.getFailed(), 1L);
+		Assert.assertEquals(stats.getApproved(), 15L);
+		Assert.assertTrue(stats.getThroughput() > 0);
+		Assert.assertEquals(stats.getElapsedMillis(), run.getStats().getElapsedMillis(),
+				"The run ended");
+	}
+
+	@Test
+	public void readsTheItemsAsResultsAreConsumed() {
+
+		Transactions items = new Transactions(50);
+		Iterator<BulkAuthorization.Result<Transaction>> results = PayUPayments
+				.submitTransactionsBulk(items, 1000).withConcurrency(4).iterator();
+
+		Assert.assertEquals(results.next().getIndex(), 0L);
+		Assert.assertEquals(results.next().getIndex(), 1L);
+		Assert.assertTrue(items.read <= 6, "Read " + items.read);
+
+		int consumed = 2;
+		while (results.hasNext()) {
+			results.next();
+			consumed++;
+		}
+		Assert.assertEquals(consumed, 50);
+	}
+
+	@Test
+	public void givesTheResultsAsTheCallsEnd() {
+
+		transport.slowOrder = "order-0";
+		BulkAuthorization<Transaction> run = PayUPayments.submitTransactionsBulk(
+				new Transactions(10), 1000).withConcurrency(4).unordered();
+
+		Set<Long> indexes = new HashSet<Long>();
+		Long first = null;
+		for (BulkAuthorization.Result<Transaction> result : run) {
+			if (first == null) {
+				first = result.getIndex();
+			}
+			indexes.add(result.getIndex());
+		}
+		Assert.assertNotEquals(first, Long.valueOf(0), "The slow call does not hold the others");
+		Assert.assertEquals(indexes.size(), 10);
+	}
+
+	@Test
+	public void keepsUnderTheMaxRate() {
+
+		BulkAuthorization<Transaction> run = PayUPayments.submitTransactionsBulk(
+				new Transactions(11), 1000).withConcurrency(8).withMaxPerSecond(100);
+		for (Iterator<BulkAuthorization.Result<Transaction>> results = run.iterator(); results
+				.hasNext();) {
+			results.next();
+		}
+		Assert.assertTrue(run.getStats().getElapsedMillis() >= 90, run.getStats().toString());
+	}
+
+	@Test
+	public void runsOnce() {
+
+		BulkAuthorization<Transaction> run = PayUPayments.submitTransactionsBulk(
+				new Transactions(1), 1000);
+		run.iterator();
+		try {
+			run.iterator();
+			Assert.fail("The run was started");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		try {
+			run.withConcurrency(2);
+			Assert.fail("The run was started");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Creates the transactions on demand, counting them
+	 */
+	private static final class Transactions implements Iterator<Transaction> {
+
+		private final int size;
+
+		private volatile int read;
+
+		private Transactions(int size) {
+
+			this.size = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			return read < size;
+		}
+
+		@Override
+		public Transaction next() {
+
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Order order = new Order();
+			order.setReferenceCode("order-" + read++);
+			Transaction transaction = new Transaction();
+			transaction.setOrder(order);
+			return transaction;
+		}
+
+		@Override
+		public void remove() {
+
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Answers each order after a short delay, declining every fifth one and
+	 * failing the seventh
+	 */
+	private static final class PaymentsTransport implements PayUTransport {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+
+		private volatile String slowOrder;
+
+		@Override
+		public TransportResponse execute(TransportRequest request) throws IOException {
+
+			String reference = ((PaymentRequest) request.getRequest()).getTransaction()
+					.getOrder().getReferenceCode();
+			int order = Integer.parseInt(reference.substring("order-".length()));
+
+			int current = inFlight.incrementAndGet();
+			try {
+				for (int max = maxInFlight.get(); current > max; max = maxInFlight.get()) {
+					maxInFlight.compareAndSet(max, current);
+				}
+				Thread.sleep(reference.equals(slowOrder) ? 300 : 2 + order % 3);
+			} catch (InterruptedException e) {
+				throw new IOException("Interrupted");
+			} finally {
+				inFlight.decrementAndGet();
+			}
+
+			final byte[] body = (order == 7
+					? "<paymentResponse><code>ERROR</code><error>Invalid order</error>"
+							+ "</paymentResponse>"
+					: "<paymentResponse><code>SUCCESS</code><transactionResponse><orderId>"
+							+ order + "</orderId><state>"
+							+ (order % 5 == 0 ? "DECLINED" : "APPROVED")
+							+ "</state></transactionResponse></paymentResponse>")
+					.getBytes("UTF-8");
+
+			return new TransportResponse() {
+
+				@Override
+				public int getStatusCode() {
+					return 200;
+				}
+
+				@Override
+				public String getReasonPhrase() {
+					return "OK";
+				}
+
+				@Override
+				public InputStream getBody() {
+					return new ByteArrayInputStream(body);
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+	}
+}
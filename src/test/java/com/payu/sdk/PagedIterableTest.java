@@ -0,0 +1,437 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PageFetchException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.TransportRequest;
+import com.payu.sdk.helper.TransportResponse;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.paymentplan.model.PaymentPlanCreditCard;
+import com.payu.sdk.paymentplan.model.Subscription;
+import com.payu.sdk.utils.PagingParameters;
+
+/**
+ * Tests the {@link PagedIterable} views of the list endpoints.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PagedIterableTest {
+
+	/** The limit and offset of the request urls */
+	private static final Pattern LIMIT = Pattern.compile("[?&]limit=(\\d+)");
+	private static final Pattern OFFSET = Pattern.compile("[?&]offset=(\\d+)");
+
+	private PayUTransport previous;
+
+	@BeforeMethod
+	public void before() {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+		previous = HttpClientHelper.getTransport();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		HttpClientHelper.setTransport(previous);
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+	}
+
+	@Test
+	public void iteratesEveryPage() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(250);
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "100");
+		PagedIterable<Subscription> subscriptions = PayUSubscription.iterate(parameters);
+		Assert.assertEquals(transport.requests.get(), 0, "The pages are fetched on demand");
+
+		Assert.assertEquals(ids(subscriptions), range(0, 250));
+		Assert.assertEquals(transport.requests.get(), 3);
+		Assert.assertEquals(transport.offsets, "0,100,200,");
+
+		transport.requests.set(0);
+		Assert.assertEquals(ids(subscriptions), range(0, 250), "Each iterator starts over");
+		Assert.assertEquals(transport.requests.get(), 3);
+	}
+
+	@Test
+	public void stopsAfterAnEmptyPage() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(40);
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "20");
+		parameters.put(PayU.PARAMETERS.OFFSET, "10");
+
+		Iterator<Subscription> iterator = PayUSubscription.iterate(parameters).iterator();
+		List<String> ids = new ArrayList<String>();
+		while (iterator.hasNext()) {
+			ids.add(iterator.next().getId());
+		}
+		Assert.assertEquals(ids, range(10, 40));
+		Assert.assertEquals(transport.offsets, "10,30,");
+		try {
+			iterator.next();
+			Assert.fail("The iteration ended");
+		} catch (NoSuchElementException e) {
+			// Expected
+		}
+
+		transport = new SubscriptionsTransport(40);
+		HttpClientHelper.setTransport(transport);
+		Assert.assertEquals(ids(PayUSubscription.iterate(parameters)), range(10, 40));
+		parameters.put(PayU.PARAMETERS.OFFSET, "0");
+		Assert.assertEquals(ids(PayUSubscription.iterate(parameters)), range(0, 40));
+		Assert.assertEquals(transport.offsets, "10,30,0,20,40,");
+	}
+
+	@Test
+	public void usesTheDefaultPageSize() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(5);
+		HttpClientHelper.setTransport(transport);
+
+		PagedIterable<Subscription> subscriptions = PayUSubscription
+				.iterate(new HashMap<String, String>());
+		Assert.assertEquals(subscriptions.getPageSize(), PagingParameters.DEFAULT_PAGE_SIZE);
+		Assert.assertEquals(ids(subscriptions), range(0, 5));
+		Assert.assertEquals(transport.limits, PagingParameters.DEFAULT_PAGE_SIZE + ",");
+	}
+
+	@Test
+	public void failsWithTheCallException() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(30);
+		transport.failAt = 10;
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "10");
+		Iterator<Subscription> iterator = PayUSubscription.iterate(parameters).iterator();
+		for (int i = 0; i < 10; i++) {
+			iterator.next();
+		}
+		try {
+			iterator.hasNext();
+			Assert.fail("The second page fails");
+		} catch (PageFetchException e) {
+			Assert.assertTrue(e.getCause() instanceof ConnectionException, e.toString());
+		}
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void validatesTheLimits() throws Exception {
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "0");
+		try {
+			PayUSubscription.iterate(parameters);
+			Assert.fail("The limit must be positive");
+		} catch (InvalidParametersException e) {
+			Assert.assertTrue(e.getMessage().contains(PayU.PARAMETERS.LIMIT), e.getMessage());
+		}
+
+		parameters.put(PayU.PARAMETERS.LIMIT, "10");
+		parameters.put(PayU.PARAMETERS.OFFSET, "first");
+		try {
+			PayUCustomers.iterate(parameters);
+			Assert.fail("The offset must be a number");
+		} catch (InvalidParametersException e) {
+			Assert.assertTrue(e.getMessage().contains(PayU.PARAMETERS.OFFSET), e.getMessage());
+		}
+	}
+
+	@Test
+	public void fetchesUnpagedEndpointsOnce() throws Exception {
+
+		final AtomicInteger requests = new AtomicInteger();
+		HttpClientHelper.setTransport(new PayUTransport() {
+
+			@Override
+			public TransportResponse execute(TransportRequest request) {
+
+				requests.incrementAndGet();
+				StringBuilder xml = new StringBuilder("<creditCardListResponse><creditCards>");
+				for (int i = 0; i < 3; i++) {
+					xml.append("<creditCard><token>token-").append(i)
+							.append("</token></creditCard>");
+				}
+				return new XmlResponse(xml.append("</creditCards></creditCardListResponse>"));
+			}
+		});
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.CUSTOMER_ID, "customer-1");
+		parameters.put(PayU.PARAMETERS.LIMIT, "3");
+
+		List<String> tokens = new ArrayList<String>();
+		for (PaymentPlanCreditCard creditCard : PayUCreditCard.iterate(parameters)) {
+			tokens.add(creditCard.getToken());
+		}
+		Assert.assertEquals(tokens.size(), 3);
+		Assert.assertEquals(requests.get(), 1);
+
+		try {
+			PayUCreditCard.iterate(new HashMap<String, String>());
+			Assert.fail("The customer id is required");
+		} catch (InvalidParametersException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void crawlsPagesInParallelInOrder() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(1005);
+		transport.latency = 5;
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "10");
+		PagedIterable<Subscription> subscriptions = PayUSubscription.iterate(parameters)
+				.withParallelism(6);
+		Assert.assertEquals(subscriptions.getParallelism(), 6);
+		Assert.assertTrue(subscriptions.isOrdered());
+
+		Assert.assertEquals(ids(subscriptions), range(0, 1005));
+		Assert.assertTrue(transport.maxInFlight.get() > 1, "The pages are fetched in parallel");
+		Assert.assertTrue(transport.requests.get() <= 101 + 6,
+				"At most the parallelism is fetched past the end: " + transport.requests);
+	}
+
+	@Test
+	public void crawlsPagesUnordered() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(500);
+		transport.latency = 2;
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "25");
+		PagedIterable<Subscription> subscriptions = PayUSubscription.iterate(parameters)
+				.withParallelism(4).unordered();
+		Assert.assertFalse(subscriptions.isOrdered());
+
+		List<String> ids = ids(subscriptions);
+		Collections.sort(ids);
+		List<String> expected = range(0, 500);
+		Collections.sort(expected);
+		Assert.assertEquals(ids, expected);
+	}
+
+	@Test
+	public void retriesTheFailedPages() throws Exception {
+
+		SubscriptionsTransport transport = new SubscriptionsTransport(50);
+		transport.failAt = 20;
+		transport.failures.set(2);
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "10");
+		PagedIterable<Subscription> subscriptions = PayUSubscription.iterate(parameters)
+				.withParallelism(3).withRetries(2);
+		Assert.assertEquals(ids(subscriptions), range(0, 50));
+
+		transport.failures.set(3);
+		try {
+			ids(subscriptions);
+			Assert.fail("The page fails after the retries");
+		} catch (PageFetchException e) {
+			Assert.assertTrue(e.getCause() instanceof ConnectionException, e.toString());
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void validatesTheParallelism() throws Exception {
+
+		PayUSubscription.iterate(new HashMap<String, String>()).withParallelism(0);
+	}
+
+	/**
+	 * @return the ids of the subscriptions
+	 */
+	private static List<String> ids(Iterable<Subscription> subscriptions) {
+
+		List<String> ids = new ArrayList<String>();
+		for (Subscription subscription : subscriptions) {
+			ids.add(subscription.getId());
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the ids in the range
+	 */
+	private static List<String> range(int from, int to) {
+
+		List<String> ids = new ArrayList<String>();
+		for (int i = from; i < to; i++) {
+			ids.add("subscription-" + i);
+		}
+		return ids;
+	}
+
+	/**
+	 * Pages a number of subscriptions by the limit and offset of the urls
+	 */
+	private static final class SubscriptionsTransport implements PayUTransport {
+
+		private final int total;
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicInteger maxInFlight = new AtomicInteger();
+
+		private volatile String offsets = "";
+
+		private volatile String limits = "";
+
+		private volatile int failAt = -1;
+
+		private final AtomicInteger failures = new AtomicInteger(Integer.MAX_VALUE);
+
+		private volatile long latency;
+
+		private SubscriptionsTransport(int total) {
+
+			this.total = total;
+		}
+
+		@Override
+		public TransportResponse execute(TransportRequest request) throws IOException {
+
+			requests.incrementAndGet();
+			int limit = parameter(LIMIT, request.getUrl());
+			int offset = parameter(OFFSET, request.getUrl());
+			synchronized (this) {
+				limits += limit + ",";
+				offsets += offset + ",";
+			}
+			if (offset == failAt && failures.getAndDecrement() > 0) {
+				throw new IOException("Connection reset");
+			}
+
+			int current = inFlight.incrementAndGet();
+			try {
+				while (current > maxInFlight.get()) {
+					maxInFlight.compareAndSet(maxInFlight.get(), current);
+				}
+				if (latency > 0) {
+					Thread.sleep(latency);
+				}
+			} catch (InterruptedException e) {
+				throw new IOException("Interrupted");
+			} finally {
+				inFlight.decrementAndGet();
+			}
+
+			StringBuilder xml = new StringBuilder("<subscriptionsListResponse><subscriptions>");
+			for (int i = offset; i < Math.min(total, offset + limit); i++) {
+				xml.append("<subscription><id>subscription-").append(i)
+						.append("</id></subscription>");
+			}
+			return new XmlResponse(xml.append("</subscriptions></subscriptionsListResponse>"));
+		}
+
+		private static int parameter(Pattern pattern, String url) {
+
+			Matcher matcher = pattern.matcher(url);
+			Assert.assertTrue(matcher.find(), url);
+			return Integer.parseInt(matcher.group(1));
+		}
+	}
+
+	/**
+	 * A successful response with a XML body
+	 */
+	private static final class XmlResponse implements TransportResponse {
+
+		private final byte[] body;
+
+		private XmlResponse(CharSequence xml) {
+
+			body = xml.toString().getBytes();
+		}
+
+		@Override
+		public int getStatusCode() {
+
+			return 200;
+		}
+
+		@Override
+		public String getReasonPhrase() {
+
+			return "OK";
+		}
+
+		@Override
+		public InputStream getBody() {
+
+			return new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
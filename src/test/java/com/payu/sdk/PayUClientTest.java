@@ -0,0 +1,267 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.model.Language;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the {@link PayUClient} against a local server.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PayUClientTest {
+
+	private static final String PING_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code></paymentResponse>";
+
+	/** The basic authorization and the body of every request received by the server */
+	private final Queue<String[]> requests = new ConcurrentLinkedQueue<String[]>();
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	@BeforeClass
+	public void startServer() throws IOException {
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newFixedThreadPool(8));
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				ByteArrayOutputStream body = new ByteArrayOutputStream();
+				InputStream in = exchange.getRequestBody();
+				int read;
+				while ((read = in.read()) != -1) {
+					body.write(read);
+				}
+				requests.add(new String[] {
+						exchange.getRequestHeaders().getFirst("Authorization"),
+						body.toString("UTF-8"),
+						exchange.getRequestHeaders().getFirst("Accept-Language") });
+
+				byte[] response = PING_RESPONSE.getBytes("UTF-8");
+				exchange.getResponseHeaders().add("Content-Type", "application/xml");
+				exchange.sendResponseHeaders(200, response.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(response);
+				out.close();
+			}
+		});
+		server.start();
+
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() {
+
+		server.stop(0);
+	}
+
+	@Test
+	public void clientsDoNotShareTheirConfiguration() throws Exception {
+
+		final PayUClient first = client("firstKey", "firstLogin", Language.es);
+		final PayUClient second = client("secondKey", "secondLogin", Language.en);
+		String staticPaymentsUrl = PayU.paymentsUrl;
+		requests.clear();
+
+		int calls = 40;
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int i = 0; i < calls; i++) {
+				final PayUClient client = i % 2 == 0 ? first : second;
+				results.add(executor.submit(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() throws Exception {
+						return client.payments().doPing();
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				Assert.assertTrue(result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+			first.close();
+			second.close();
+		}
+
+		Assert.assertEquals(requests.size(), calls);
+		int firstCalls = 0;
+		for (String[] request : requests) {
+			if (request[0].equals(basic("firstLogin", "firstKey"))) {
+				firstCalls++;
+				Assert.assertTrue(request[1].contains("<apiLogin>firstLogin</apiLogin>"), request[1]);
+				Assert.assertEquals(request[2], "es");
+			}
+			else {
+				Assert.assertEquals(request[0], basic("secondLogin", "secondKey"));
+				Assert.assertTrue(request[1].contains("<apiLogin>secondLogin</apiLogin>"), request[1]);
+				Assert.assertEquals(request[2], "en");
+			}
+		}
+		Assert.assertEquals(firstCalls, calls / 2);
+
+		// The static configuration is not touched
+		Assert.assertEquals(PayU.paymentsUrl, staticPaymentsUrl);
+	}
+
+	@Test
+	public void clientsOwnTheirConnectionPools() throws Exception {
+
+		PayUClient client = client("apiKey", "apiLogin", Language.es);
+		try {
+			Assert.assertEquals(client.getConnectionPools().getStats().getMax(), 0);
+			client.reports().doPing();
+			Assert.assertTrue(client.getConnectionPools().getStats().getMax() > 0);
+			Assert.assertEquals(client.getConnectionPools().getStats().getLeased(), 0);
+		} finally {
+			client.close();
+		}
+		Assert.assertEquals(client.getConnectionPools().getStats().getMax(), 0);
+	}
+
+	@Test
+	public void clientsCountTheirCalls() throws Exception {
+
+		PayUClient client = client("apiKey", "apiLogin", Language.es);
+		PayUClient unreachable = PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl("http://localhost:1/payments-api/").build();
+		try {
+			Assert.assertEquals(client.getMetrics().getCalls(), 0);
+			client.payments().doPing();
+			client.reports().doPing();
+			try {
+				unreachable.payments().doPing();
+				Assert.fail("The server is not reachable");
+			} catch (ConnectionException e) {
+				// Expected
+			}
+		} finally {
+			client.close();
+			unreachable.close();
+		}
+
+		Assert.assertEquals(client.getMetrics().getCalls(), 2);
+		Assert.assertEquals(client.getMetrics().getErrors(), 0);
+		Assert.assertTrue(client.getMetrics().getMaxLatency(TimeUnit.NANOSECONDS) > 0);
+		Assert.assertTrue(client.getMetrics().getAverageLatency(TimeUnit.NANOSECONDS)
+				<= client.getMetrics().getMaxLatency(TimeUnit.NANOSECONDS));
+		Assert.assertEquals(unreachable.getMetrics().getCalls(), 1);
+		Assert.assertEquals(unreachable.getMetrics().getErrors(), 1);
+	}
+
+	@Test
+	public void defaultClientReadsTheStaticConfiguration() {
+
+		String apiKey = PayU.apiKey;
+		try {
+			PayU.apiKey = "staticKey";
+			Assert.assertEquals(PayUClient.getDefault().getApiKey(), "staticKey");
+			Assert.assertEquals(PayUClient.getDefault().getPaymentsUrl(), PayU.paymentsUrl);
+		} finally {
+			PayU.apiKey = apiKey;
+		}
+	}
+
+	@Test
+	public void clientConfiguration() {
+
+		PayUClient client = PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").test(true).build();
+
+		Assert.assertEquals(client.getApiKey(), "apiKey");
+		Assert.assertEquals(client.getApiLogin(), "apiLogin");
+		Assert.assertEquals(client.getMerchantId(), "500238");
+		Assert.assertEquals(client.getLanguage(), Language.es);
+		Assert.assertNull(client.getPaymentsUrl());
+		Assert.assertTrue(client.isTest());
+		Assert.assertFalse(client.toString().contains("apiKey="), client.toString());
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void credentialsAreRequired() {
+
+		PayUClient.builder().apiKey("apiKey").apiLogin(" ").build();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void languageIsRequired() {
+
+		PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin").language(null).build();
+	}
+
+	/**
+	 * Creates a client of the local server
+	 */
+	private PayUClient client(String apiKey, String apiLogin, Language language) {
+
+		return PayUClient.builder().apiKey(apiKey).apiLogin(apiLogin).merchantId("500238")
+				.language(language).paymentsUrl(baseUrl + "/payments-api/")
+				.reportsUrl(baseUrl + "/reports-api/").build();
+	}
+
+	/**
+	 * @return the basic authorization header of the credentials
+	 */
+	private static String basic(String apiLogin, String apiKey) throws IOException {
+
+		return "Basic " + DatatypeConverter.printBase64Binary((apiLogin + ":" + apiKey)
+				.getBytes("UTF-8"));
+	}
+}
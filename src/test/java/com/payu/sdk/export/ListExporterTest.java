@@ -0,0 +1,318 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.TransportRequest;
+import com.payu.sdk.helper.TransportResponse;
+import com.payu.sdk.model.Language;
+
+/**
+ * Tests the {@link ListExporter}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class ListExporterTest {
+
+	/** The limit and offset of the request urls */
+	private static final Pattern LIMIT = Pattern.compile("[?&]limit=(\\d+)");
+	private static final Pattern OFFSET = Pattern.compile("[?&]offset=(\\d+)");
+
+	private PayUTransport previous;
+
+	private File output;
+
+	@BeforeMethod
+	public void before() throws IOException {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+		previous = HttpClientHelper.getTransport();
+		output = File.createTempFile("export", ".out");
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		HttpClientHelper.setTransport(previous);
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+		new File(output.getPath() + ".checkpoint").delete();
+		output.delete();
+	}
+
+	@Test
+	public void exportsSubscriptionsAsNdjson() throws Exception {
+
+		PagingTransport transport = new PagingTransport(250, "subscriptionsListResponse",
+				"subscriptions") {
+
+			@Override
+			void appendRecord(int i, StringBuilder xml) {
+
+				xml.append("<subscription><id>sub-").append(i).append("</id>")
+						.append("<quantity>1</quantity><customer><id>cus-").append(i)
+						.append("</id><fullName>Juan \"JP\" Pérez</fullName><creditCards>")
+						.append("<creditCard><token>ignored</token></creditCard>")
+						.append("</creditCards></customer><plan><planCode>plan-1</planCode>")
+						.append("</plan><description/></subscription>");
+			}
+		};
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "100");
+		ListExporter exporter = ListExporter.builder(ExportedList.SUBSCRIPTIONS)
+				.parameters(parameters).output(output).build();
+
+		Assert.assertEquals(exporter.export(), 250L);
+		Assert.assertEquals(transport.requests.get(), 3);
+
+		String[] lines = read(output).split("\n", -1);
+		Assert.assertEquals(lines.length, 251);
+		Assert.assertEquals(lines[0], "{\"id\":\"sub-0\",\"quantity\":\"1\",\"customer.id\":\"cus-0\","
+				+ "\"customer.fullName\":\"Juan \\\"JP\\\" Pérez\",\"plan.planCode\":\"plan-1\","
+				+ "\"description\":\"\"}");
+		Assert.assertTrue(lines[249].startsWith("{\"id\":\"sub-249\""), lines[249]);
+		Assert.assertEquals(lines[250], "");
+
+		Assert.assertEquals(exporter.export(), 250L, "A complete export is not run again");
+		Assert.assertEquals(transport.requests.get(), 3);
+	}
+
+	@Test
+	public void exportsRecurringBillsAsCsv() throws Exception {
+
+		HttpClientHelper.setTransport(new PagingTransport(3, "recurringBillListResponse",
+				"recurringBills") {
+
+			@Override
+			void appendRecord(int i, StringBuilder xml) {
+
+				xml.append("<recurringBill><id>bill-").append(i).append("</id>")
+						.append("<paymentMethod>CREDIT_CARD</paymentMethod>")
+						.append("<creditCard><token>tok,").append(i).append("</token></creditCard>")
+						.append("<state>PAID</state><amount>100.5</amount>")
+						.append("<recurringBillItems><recurringBillItem><id>item</id>")
+						.append("</recurringBillItem></recurringBillItems></recurringBill>");
+			}
+		});
+
+		long records = ListExporter.builder(ExportedList.RECURRING_BILLS)
+				.format(ExportFormat.CSV).columns("id", "creditCard.token", "state", "amount",
+						"currency").output(output).build().export();
+
+		Assert.assertEquals(records, 3L);
+		Assert.assertEquals(read(output), "id,creditCard.token,state,amount,currency\r\n"
+				+ "bill-0,\"tok,0\",PAID,100.5,\r\n"
+				+ "bill-1,\"tok,1\",PAID,100.5,\r\n"
+				+ "bill-2,\"tok,2\",PAID,100.5,\r\n");
+	}
+
+	@Test
+	public void resumesFromTheCheckpoint() throws Exception {
+
+		PagingTransport transport = subscriptions(95);
+		transport.failAt = 40;
+		HttpClientHelper.setTransport(transport);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.LIMIT, "20");
+		ListExporter exporter = ListExporter.builder(ExportedList.SUBSCRIPTIONS)
+				.format(ExportFormat.CSV).parameters(parameters).output(output).build();
+
+		try {
+			exporter.export();
+			Assert.fail("The third page fails");
+		} catch (ConnectionException e) {
+			// Expected
+		}
+		Assert.assertEquals(read(output).split("\r\n").length, 41, "The complete pages are kept");
+		Assert.assertTrue(exporter.getCheckpoint().exists());
+
+		transport.failAt = -1;
+		transport.requests.set(0);
+		Assert.assertEquals(exporter.export(), 95L);
+		Assert.assertEquals(transport.requests.get(), 3, "The export goes on from the checkpoint");
+		String resumed = read(output);
+
+		File fresh = File.createTempFile("export", ".csv");
+		try {
+			ListExporter.builder(ExportedList.SUBSCRIPTIONS).format(ExportFormat.CSV)
+					.parameters(parameters).output(fresh).build().export();
+			Assert.assertEquals(resumed, read(fresh));
+		} finally {
+			new File(fresh.getPath() + ".checkpoint").delete();
+			fresh.delete();
+		}
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void rejectsTheCheckpointOfAnotherExport() throws Exception {
+
+		HttpClientHelper.setTransport(subscriptions(1));
+		ListExporter.builder(ExportedList.SUBSCRIPTIONS).output(output).build().export();
+		ListExporter.builder(ExportedList.SUBSCRIPTIONS).format(ExportFormat.CSV)
+				.output(output).build().export();
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void requiresUniqueColumns() throws Exception {
+
+		ListExporter.builder(ExportedList.RECURRING_BILLS).columns("id", "id").output(output)
+				.build();
+	}
+
+	/**
+	 * @return a transport with the given number of subscriptions
+	 */
+	private static PagingTransport subscriptions(int total) {
+
+		return new PagingTransport(total, "subscriptionsListResponse", "subscriptions") {
+
+			@Override
+			void appendRecord(int i, StringBuilder xml) {
+
+				xml.append("<subscription><id>sub-").append(i)
+						.append("</id><notifyUrl>http://test.com/?a=1&amp;b=2</notifyUrl>")
+						.append("</subscription>");
+			}
+		};
+	}
+
+	/**
+	 * @return the file content
+	 */
+	private static String read(File file) throws IOException {
+
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] bytes = new byte[(int) file.length()];
+			int read = 0;
+			while (read < bytes.length) {
+				read += in.read(bytes, read, bytes.length - read);
+			}
+			return new String(bytes, "UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Pages a number of records by the limit and offset of the urls
+	 */
+	private abstract static class PagingTransport implements PayUTransport {
+
+		private final int total;
+
+		private final String root;
+
+		private final String wrapper;
+
+		private final AtomicInteger requests = new AtomicInteger();
+
+		private volatile int failAt = -1;
+
+		private PagingTransport(int total, String root, String wrapper) {
+
+			this.total = total;
+			this.root = root;
+			this.wrapper = wrapper;
+		}
+
+		abstract void appendRecord(int i, StringBuilder xml);
+
+		@Override
+		public TransportResponse execute(TransportRequest request) throws IOException {
+
+			requests.incrementAndGet();
+			int limit = parameter(LIMIT, request.getUrl());
+			int offset = parameter(OFFSET, request.getUrl());
+			if (offset == failAt) {
+				throw new IOException("Connection reset");
+			}
+
+			StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><")
+					.append(root).append("><").append(wrapper).append('>');
+			for (int i = offset; i < Math.min(total, offset + limit); i++) {
+				appendRecord(i, xml);
+			}
+			xml.append("</").append(wrapper).append("></").append(root).append('>');
+			final byte[] body = xml.toString().getBytes("UTF-8");
+
+			return new TransportResponse() {
+
+				@Override
+				public int getStatusCode() {
+					return 200;
+				}
+
+				@Override
+				public String getReasonPhrase() {
+					return "OK";
+				}
+
+				@Override
+				public InputStream getBody() {
+					return new ByteArrayInputStream(body);
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+
+		private static int parameter(Pattern pattern, String url) {
+
+			Matcher matcher = pattern.matcher(url);
+			Assert.assertTrue(matcher.find(), url);
+			return Integer.parseInt(matcher.group(1));
+		}
+	}
+}
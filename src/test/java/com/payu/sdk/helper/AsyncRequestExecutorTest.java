@@ -0,0 +1,382 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
+import com.payu.sdk.model.TransactionResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the asynchronous calls run by the {@link AsyncRequestExecutor}
+ * against a local server.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class AsyncRequestExecutorTest {
+
+	private static final String VOID_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code><transactionResponse>"
+			+ "<orderId>7</orderId><state>APPROVED</state>"
+			+ "</transactionResponse></paymentResponse>";
+
+	/** The void parameters */
+	private static final Map<String, String> VOID_PARAMETERS = new HashMap<String, String>();
+
+	static {
+		VOID_PARAMETERS.put(PayU.PARAMETERS.ORDER_ID, "7");
+		VOID_PARAMETERS.put(PayU.PARAMETERS.TRANSACTION_ID, "f4a0b3a6-93b4-4a2c-9a88-0d6fa8b3e6a1");
+	}
+
+	/** The requests being answered by the server */
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/** The max number of requests answered at the same time by the server */
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private ExecutorService serverExecutor;
+
+	private HttpServer server;
+
+	/** Counted down by the server when it receives a request */
+	private volatile CountDownLatch received;
+
+	/** Holds the responses of the server until it is counted down */
+	private volatile CountDownLatch release;
+
+	private PayUClient client;
+
+	@BeforeClass
+	public void startServer() throws IOException {
+
+		serverExecutor = Executors.newFixedThreadPool(32);
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				int current = inFlight.incrementAndGet();
+				try {
+					int max;
+					while (current > (max = maxInFlight.get())
+							&& !maxInFlight.compareAndSet(max, current)) {
+						// Retries until the max is updated
+					}
+
+					ByteArrayOutputStream body = new ByteArrayOutputStream();
+					InputStream in = exchange.getRequestBody();
+					int read;
+					while ((read = in.read()) != -1) {
+						body.write(read);
+					}
+					received.countDown();
+					release.await(10, TimeUnit.SECONDS);
+
+					byte[] response = VOID_RESPONSE.getBytes("UTF-8");
+					exchange.getResponseHeaders().add("Content-Type", "application/xml");
+					exchange.sendResponseHeaders(200, response.length);
+					OutputStream out = exchange.getResponseBody();
+					out.write(response);
+					out.close();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					inFlight.decrementAndGet();
+					exchange.close();
+				}
+			}
+		});
+		server.start();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() {
+
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@BeforeMethod
+	public void reset() {
+
+		received = new CountDownLatch(1);
+		release = new CountDownLatch(0);
+		maxInFlight.set(0);
+	}
+
+	@Test
+	public void asyncCallsRunWithTheClient() throws Exception {
+
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(2, 10);
+		try {
+			Future<TransactionResponse> response = client(executor).payments().doVoidAsync(VOID_PARAMETERS);
+
+			Assert.assertEquals(response.get(10, TimeUnit.SECONDS).getOrderId(), Integer.valueOf(7));
+		} finally {
+			executor.close();
+			client.close();
+		}
+	}
+
+	@Test
+	public void cancellingAbortsTheRequest() throws Exception {
+
+		release = new CountDownLatch(1);
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(2, 10);
+		try {
+			Future<TransactionResponse> response = client(executor).payments().doVoidAsync(VOID_PARAMETERS);
+
+			Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+			Assert.assertTrue(response.cancel(true));
+			Assert.assertTrue(response.isCancelled());
+
+			// The thread is freed while the server still holds the response
+			long deadline = System.currentTimeMillis() + 5000;
+			while (executor.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Assert.assertEquals(executor.getInFlight(), 0);
+			Assert.assertEquals(client.getConnectionPools().getStats().getLeased(), 0);
+		} finally {
+			release.countDown();
+			executor.close();
+			client.close();
+		}
+	}
+
+	@Test
+	public void inFlightCallsAreBounded() throws Exception {
+
+		release = new CountDownLatch(1);
+		received = new CountDownLatch(2);
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(2, 10);
+		try {
+			PayUClient asyncClient = client(executor);
+			List<Future<TransactionResponse>> responses = new ArrayList<Future<TransactionResponse>>();
+			for (int i = 0; i < 6; i++) {
+				responses.add(asyncClient.payments().doVoidAsync(VOID_PARAMETERS));
+			}
+
+			Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+			Thread.sleep(100);
+			Assert.assertEquals(executor.getQueued(), 4);
+			release.countDown();
+
+			for (Future<TransactionResponse> response : responses) {
+				Assert.assertEquals(response.get(10, TimeUnit.SECONDS).getOrderId(), Integer.valueOf(7));
+			}
+			Assert.assertEquals(maxInFlight.get(), 2);
+		} finally {
+			release.countDown();
+			executor.close();
+			client.close();
+		}
+	}
+
+	@Test
+	public void asyncTransportKeepsManyCallsInFlightOnOneThread() throws Exception {
+
+		int calls = 16;
+		release = new CountDownLatch(1);
+		received = new CountDownLatch(calls);
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(1, calls, 100);
+		ApacheAsyncTransport transport = new ApacheAsyncTransport(poolSettings(calls));
+		try {
+			PayUClient asyncClient = client(executor, transport);
+			List<Future<TransactionResponse>> responses = new ArrayList<Future<TransactionResponse>>();
+			for (int i = 0; i < calls; i++) {
+				responses.add(asyncClient.payments().doVoidAsync(VOID_PARAMETERS));
+			}
+
+			Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+			Assert.assertEquals(executor.getInFlight(), calls);
+			release.countDown();
+
+			for (Future<TransactionResponse> response : responses) {
+				Assert.assertEquals(response.get(10, TimeUnit.SECONDS).getOrderId(), Integer.valueOf(7));
+			}
+			Assert.assertEquals(maxInFlight.get(), calls);
+			Assert.assertEquals(executor.getInFlight(), 0);
+			Assert.assertEquals(asyncClient.getMetrics().getCalls(), calls);
+			Assert.assertEquals(asyncClient.getMetrics().getErrors(), 0);
+		} finally {
+			release.countDown();
+			executor.close();
+			transport.close();
+		}
+	}
+
+	@Test
+	public void asyncTransportCallsAreBoundedByTheExecutor() throws Exception {
+
+		release = new CountDownLatch(1);
+		received = new CountDownLatch(2);
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(1, 2, 10);
+		ApacheAsyncTransport transport = new ApacheAsyncTransport(poolSettings(10));
+		try {
+			PayUClient asyncClient = client(executor, transport);
+			List<Future<TransactionResponse>> responses = new ArrayList<Future<TransactionResponse>>();
+			for (int i = 0; i < 6; i++) {
+				responses.add(asyncClient.payments().doVoidAsync(VOID_PARAMETERS));
+			}
+
+			Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+			Thread.sleep(100);
+			Assert.assertEquals(executor.getInFlight(), 2);
+			Assert.assertEquals(inFlight.get(), 2);
+			release.countDown();
+
+			for (Future<TransactionResponse> response : responses) {
+				Assert.assertEquals(response.get(10, TimeUnit.SECONDS).getOrderId(), Integer.valueOf(7));
+			}
+			Assert.assertEquals(maxInFlight.get(), 2);
+		} finally {
+			release.countDown();
+			executor.close();
+			transport.close();
+		}
+	}
+
+	@Test
+	public void cancellingAbortsTheAsyncTransportRequest() throws Exception {
+
+		release = new CountDownLatch(1);
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(1, 2, 10);
+		ApacheAsyncTransport transport = new ApacheAsyncTransport(poolSettings(2));
+		try {
+			PayUClient asyncClient = client(executor, transport);
+			Future<TransactionResponse> response = asyncClient.payments().doVoidAsync(VOID_PARAMETERS);
+
+			Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+			Assert.assertTrue(response.cancel(true));
+			Assert.assertTrue(response.isCancelled());
+
+			// The permit is given back while the server still holds the response
+			long deadline = System.currentTimeMillis() + 5000;
+			while (executor.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Assert.assertEquals(executor.getInFlight(), 0);
+			Assert.assertEquals(asyncClient.getMetrics().getErrors(), 1);
+		} finally {
+			release.countDown();
+			executor.close();
+			transport.close();
+		}
+	}
+
+	@Test
+	public void fullQueueIsRejected() throws Exception {
+
+		final CountDownLatch block = new CountDownLatch(1);
+		Callable<Void> blocked = new Callable<Void>() {
+
+			@Override
+			public Void call() throws Exception {
+				block.await(10, TimeUnit.SECONDS);
+				return null;
+			}
+		};
+
+		AsyncRequestExecutor executor = new AsyncRequestExecutor(1, 1);
+		try {
+			executor.submit(blocked);
+			executor.submit(blocked);
+			try {
+				executor.submit(blocked);
+				Assert.fail("The call was accepted by a full executor");
+			} catch (RejectedExecutionException e) {
+				// Expected
+			}
+		} finally {
+			block.countDown();
+			executor.close();
+		}
+	}
+
+	/**
+	 * Creates the client of the local server, kept to be closed by the test
+	 */
+	private PayUClient client(AsyncRequestExecutor executor) {
+
+		return client(executor, null);
+	}
+
+	/**
+	 * Creates the client of the local server with the given transport, null
+	 * for the default one
+	 */
+	private PayUClient client(AsyncRequestExecutor executor, PayUTransport transport) {
+
+		String baseUrl = "http://localhost:" + server.getAddress().getPort();
+		client = PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl(baseUrl + "/payments-api/")
+				.reportsUrl(baseUrl + "/reports-api/").transport(transport)
+				.asyncExecutor(executor).build();
+		return client;
+	}
+
+	/**
+	 * @return the settings of a pool of the given connections
+	 */
+	private static ConnectionPoolSettings poolSettings(int connections) {
+
+		ConnectionPoolSettings settings = new ConnectionPoolSettings();
+		settings.setMaxTotal(connections);
+		settings.setPaymentsMaxPerRoute(connections);
+		return settings;
+	}
+}
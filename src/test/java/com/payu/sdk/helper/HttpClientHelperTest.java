@@ -0,0 +1,367 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUPayments;
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.model.PaymentMethodApi;
+import com.payu.sdk.model.PaymentMethodType;
+import com.payu.sdk.model.request.Request;
+import com.payu.sdk.model.response.ResponseCode;
+import com.payu.sdk.payments.model.PaymentResponse;
+import com.payu.sdk.utils.JaxbUtil;
+import com.payu.sdk.utils.RequestUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the pooled connections of the {@link HttpClientHelper} against a
+ * local server.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class HttpClientHelperTest {
+
+	private static final String PING_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code></paymentResponse>";
+
+	private static final String CATALOG_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentMethodsResponse><code>SUCCESS</code><paymentMethods>"
+			+ "<paymentMethodComplete><id>35</id><description>VISA</description>"
+			+ "<country>CO</country></paymentMethodComplete>"
+			+ "<paymentMethodComplete><id>25</id><description>PSE</description>"
+			+ "<country>CO</country></paymentMethodComplete>"
+			+ "</paymentMethods></paymentMethodsResponse>";
+
+	/** The payment method of an availability request */
+	private static final Pattern PAYMENT_METHOD = Pattern.compile(
+			"<paymentMethod>(\\w+)</paymentMethod>");
+
+	/** The body the server answers with, but to the availability requests */
+	private volatile String responseBody = PING_RESPONSE;
+
+	/** The client ports seen by the server, one per opened connection */
+	private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+
+	/** The number of requests received by the server */
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private HttpServer server;
+
+	/** The body of the last request received by the server */
+	private volatile String lastBody;
+
+	/** The transfer encoding of the last request received by the server */
+	private volatile String lastTransferEncoding;
+
+	/** The content length of the last request received by the server */
+	private volatile String lastContentLength;
+
+	private String paymentsUrl;
+
+	private String reportsUrl;
+
+	@BeforeClass
+	public void startServer() throws IOException {
+
+		paymentsUrl = PayU.paymentsUrl;
+		reportsUrl = PayU.reportsUrl;
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				clientPorts.add(exchange.getRemoteAddress().getPort());
+				requests.incrementAndGet();
+
+				ByteArrayOutputStream body = new ByteArrayOutputStream();
+				InputStream in = exchange.getRequestBody();
+				int read;
+				while ((read = in.read()) != -1) {
+					body.write(read);
+				}
+				lastBody = body.toString("UTF-8");
+				lastTransferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+				lastContentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+
+				byte[] response = responseTo(body.toString("UTF-8")).getBytes("UTF-8");
+				exchange.getResponseHeaders().add("Content-Type", "application/xml");
+				exchange.sendResponseHeaders(200, response.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(response);
+				out.close();
+			}
+		});
+		server.start();
+
+		String baseUrl = "http://localhost:" + server.getAddress().getPort();
+		PayU.paymentsUrl = baseUrl + "/payments-api/";
+		PayU.reportsUrl = baseUrl + "/reports-api/";
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() {
+
+		HttpClientHelper.shutdown();
+		server.stop(0);
+		PayU.paymentsUrl = paymentsUrl;
+		PayU.reportsUrl = reportsUrl;
+	}
+
+	@BeforeMethod
+	public void resetPools() {
+
+		HttpClientHelper.shutdown();
+		clientPorts.clear();
+		requests.set(0);
+		responseBody = PING_RESPONSE;
+	}
+
+	@Test
+	public void connectionsAreReused() throws Exception {
+
+		for (int i = 0; i < 10; i++) {
+			String xml = HttpClientHelper.sendRequest(
+					pingRequest(), RequestMethod.POST);
+			Assert.assertNotNull(PaymentResponse.fromXml(xml));
+		}
+
+		Assert.assertEquals(clientPorts.size(), 1, "Only one connection should be opened");
+
+		HttpClientPool pool = HttpClientHelper.getPool(
+				pingRequest(), RequestMethod.POST);
+		Assert.assertEquals(pool.getStats().getLeased(), 0);
+		Assert.assertEquals(pool.getStats().getAvailable(), 1);
+	}
+
+	@Test
+	public void paymentsAndReportsUseSeparatePools() throws ConnectionException {
+
+		HttpClientPool payments = HttpClientHelper.getPool(
+				pingRequest(), RequestMethod.POST);
+		HttpClientPool reports = HttpClientHelper.getPool(
+				RequestUtil.buildReportingPingRequest(), RequestMethod.POST);
+
+		Assert.assertNotSame(payments, reports);
+		Assert.assertSame(HttpClientHelper.getPool(
+				pingRequest(), RequestMethod.POST), payments);
+	}
+
+	@Test
+	public void shutdownClosesThePools() throws Exception {
+
+		HttpClientHelper.sendRequest(pingRequest(), RequestMethod.POST);
+		HttpClientPool pool = HttpClientHelper.getPool(
+				pingRequest(), RequestMethod.POST);
+
+		HttpClientHelper.shutdown();
+
+		Assert.assertNotSame(HttpClientHelper.getPool(
+				pingRequest(), RequestMethod.POST), pool);
+
+		HttpClientHelper.sendRequest(pingRequest(), RequestMethod.POST);
+		Assert.assertEquals(clientPorts.size(), 2);
+	}
+
+	@Test
+	public void requestIsSentCompactWithItsLength() throws Exception {
+
+		Request request = pingRequest();
+		HttpClientHelper.sendRequest(request, RequestMethod.POST);
+
+		Assert.assertNull(lastTransferEncoding, "The request should not be chunked");
+		Assert.assertEquals(lastContentLength,
+				String.valueOf(lastBody.getBytes("UTF-8").length));
+		Assert.assertTrue(lastBody.contains("<apiLogin>apiLogin</apiLogin>"), lastBody);
+		Assert.assertFalse(lastBody.contains("\n"), "The request XML should not be formatted");
+		Assert.assertEquals(lastBody, JaxbUtil.convertJavaToXml(request, false));
+	}
+
+	@Test
+	public void entityIsRepeatable() throws Exception {
+
+		XmlRequestEntity entity = new XmlRequestEntity(pingRequest());
+
+		ByteArrayOutputStream first = new ByteArrayOutputStream();
+		entity.writeTo(first);
+		ByteArrayOutputStream second = new ByteArrayOutputStream();
+		entity.writeTo(second);
+
+		Assert.assertTrue(entity.isRepeatable());
+		Assert.assertEquals(second.toByteArray(), first.toByteArray());
+	}
+
+	@Test
+	public void responseIsUnmarshalledFromTheStream() throws Exception {
+
+		PaymentResponse response = HttpClientHelper.sendRequest(pingRequest(),
+				RequestMethod.POST, PaymentResponse.class);
+
+		Assert.assertEquals(response.getCode(), ResponseCode.SUCCESS);
+	}
+
+	@Test
+	public void errorCodeInTheStreamIsAnApiError() throws Exception {
+
+		responseBody = "<paymentResponse><code>ERROR</code><error>Invalid request</error></paymentResponse>";
+
+		try {
+			HttpClientHelper.sendRequest(pingRequest(), RequestMethod.POST, PaymentResponse.class);
+			Assert.fail("The error code was not reported");
+		}
+		catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.API_ERROR);
+			Assert.assertEquals(e.getMessage(), "Invalid request");
+		}
+	}
+
+	@Test
+	public void malformedStreamKeepsTheReadData() throws Exception {
+
+		responseBody = "<paymentResponse><code>SUCCESS</code>";
+
+		try {
+			HttpClientHelper.sendRequest(pingRequest(), RequestMethod.POST, PaymentResponse.class);
+			Assert.fail("The malformed response was accepted");
+		}
+		catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.XML_DESERIALIZATION_ERROR);
+			Assert.assertTrue(e.getMessage().contains(responseBody), e.getMessage());
+		}
+	}
+
+	@Test
+	public void coldPaymentMethodLookupMakesASingleRequest() throws Exception {
+
+		responseBody = CATALOG_RESPONSE;
+		PayUPayments.clearPaymentMethodAvailabilityCache();
+
+		try {
+			PaymentMethodApi visa = PayUPayments.getPaymentMethodAvailability("VISA",
+					"apiKey", "apiLogin");
+
+			Assert.assertEquals(visa.getType(), PaymentMethodType.CREDIT_CARD);
+			Assert.assertEquals(requests.get(), 1);
+			Assert.assertTrue(lastBody.contains("GET_PAYMENT_METHOD_AVAILABILITY"), lastBody);
+		}
+		finally {
+			PayUPayments.clearPaymentMethodAvailabilityCache();
+		}
+	}
+
+	@Test
+	public void paymentMethodsAvailabilityIsAnsweredByTheWarmCatalog() throws Exception {
+
+		responseBody = CATALOG_RESPONSE;
+		PayUPayments.clearPaymentMethodAvailabilityCache();
+		String apiKey = PayU.apiKey;
+		String apiLogin = PayU.apiLogin;
+		PayU.apiKey = "apiKey";
+		PayU.apiLogin = "apiLogin";
+
+		try {
+			PayUPayments.warmUp();
+			// The list and the availability of its two payment methods
+			Assert.assertEquals(requests.get(), 3);
+
+			PaymentMethodApi visa = PayUPayments.getPaymentMethodAvailability("VISA");
+			PaymentMethodApi pse = PayUPayments.getPaymentMethodAvailability("PSE");
+
+			Assert.assertEquals(visa.getType(), PaymentMethodType.CREDIT_CARD);
+			Assert.assertEquals(pse.getType(), PaymentMethodType.PSE);
+			Assert.assertEquals(PayUPayments.getPaymentMethodCatalog()
+					.getPaymentMethods(PaymentMethodType.PSE).size(), 1);
+			Assert.assertEquals(requests.get(), 3);
+		}
+		finally {
+			PayU.apiKey = apiKey;
+			PayU.apiLogin = apiLogin;
+			PayUPayments.clearPaymentMethodAvailabilityCache();
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void nullPoolSettings() {
+
+		HttpClientHelper.setConnectionPoolSettings(null);
+	}
+
+	/**
+	 * Gets the response to a request: the availability of the asked payment
+	 * method, typed by its name, or the configured body
+	 *
+	 * @param body the request body
+	 * @return the response body
+	 */
+	private String responseTo(String body) {
+
+		Matcher matcher = PAYMENT_METHOD.matcher(body);
+		if (!body.contains("GET_PAYMENT_METHOD_AVAILABILITY") || !matcher.find()) {
+			return responseBody;
+		}
+		String name = matcher.group(1);
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<paymentMethodAvailable><code>SUCCESS</code><paymentMethod><name>" + name
+				+ "</name><type>" + ("PSE".equals(name) ? "PSE" : "CREDIT_CARD")
+				+ "</type></paymentMethod></paymentMethodAvailable>";
+	}
+
+	/**
+	 * @return a payments ping request with test credentials
+	 */
+	private static Request pingRequest() {
+
+		Request request = RequestUtil.buildPaymentsPingRequest();
+		request.setApiLogin("apiLogin");
+		request.setApiKey("apiKey");
+		return request;
+	}
+}
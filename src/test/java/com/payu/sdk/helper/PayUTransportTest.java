@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
+import com.payu.sdk.exceptions.AuthenticationException;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.request.Command;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the {@link PayUTransport} implementations.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PayUTransportTest {
+
+	private static final String PING_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code></paymentResponse>";
+
+	private static final String VOID_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<paymentResponse><code>SUCCESS</code><transactionResponse>"
+			+ "<orderId>7</orderId><state>APPROVED</state>"
+			+ "</transactionResponse></paymentResponse>";
+
+	/** The void parameters */
+	private static final Map<String, String> VOID_PARAMETERS = new HashMap<String, String>();
+
+	static {
+		VOID_PARAMETERS.put(PayU.PARAMETERS.ORDER_ID, "7");
+		VOID_PARAMETERS.put(PayU.PARAMETERS.TRANSACTION_ID, "f4a0b3a6-93b4-4a2c-9a88-0d6fa8b3e6a1");
+	}
+
+	private HttpServer server;
+
+	/** The status sent by the server */
+	private volatile int status;
+
+	/** The last request method received by the server */
+	private volatile String method;
+
+	/** The last authorization header received by the server */
+	private volatile String authorization;
+
+	/** The content length of the last request */
+	private volatile String contentLength;
+
+	/** The last request body received by the server */
+	private volatile String body;
+
+	@BeforeClass
+	public void startServer() throws IOException {
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				try {
+					method = exchange.getRequestMethod();
+					authorization = exchange.getRequestHeaders().getFirst("Authorization");
+					contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+
+					ByteArrayOutputStream received = new ByteArrayOutputStream();
+					InputStream in = exchange.getRequestBody();
+					int read;
+					while ((read = in.read()) != -1) {
+						received.write(read);
+					}
+					body = received.toString("UTF-8");
+
+					byte[] response = VOID_RESPONSE.getBytes("UTF-8");
+					exchange.getResponseHeaders().add("Content-Type", "application/xml");
+					exchange.sendResponseHeaders(status, response.length);
+					OutputStream out = exchange.getResponseBody();
+					out.write(response);
+					out.close();
+				}
+				finally {
+					exchange.close();
+				}
+			}
+		});
+		server.start();
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stopServer() {
+
+		server.stop(0);
+	}
+
+	@BeforeMethod
+	public void reset() {
+
+		status = 200;
+		body = null;
+	}
+
+	@Test
+	public void loopbackAnswersByCommand() throws Exception {
+
+		Map<Command, String> bodies = new EnumMap<Command, String>(Command.class);
+		bodies.put(Command.PING, PING_RESPONSE);
+		bodies.put(Command.SUBMIT_TRANSACTION, VOID_RESPONSE);
+		LoopbackTransport transport = new LoopbackTransport(bodies, null);
+
+		PayUClient client = client("http://localhost:1", transport);
+		try {
+			Assert.assertTrue(client.payments().doPing());
+			TransactionResponse response = client.payments().doVoid(VOID_PARAMETERS);
+
+			Assert.assertEquals(response.getOrderId(), Integer.valueOf(7));
+			Assert.assertEquals(transport.getRequests(), 2);
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void loopbackWithoutBodyIsNotFound() throws Exception {
+
+		PayUClient client = client("http://localhost:1", new LoopbackTransport(
+				new EnumMap<Command, String>(Command.class), null));
+		try {
+			client.payments().doVoid(VOID_PARAMETERS);
+			Assert.fail("The request without a body was answered");
+		} catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.NO_RESULTS_FOUND);
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void urlConnectionSendsTheRequest() throws Exception {
+
+		PayUClient client = client(serverUrl(), new UrlConnectionTransport());
+		try {
+			TransactionResponse response = client.payments().doVoid(VOID_PARAMETERS);
+
+			Assert.assertEquals(response.getOrderId(), Integer.valueOf(7));
+			Assert.assertEquals(method, "POST");
+			Assert.assertTrue(authorization.startsWith("Basic "));
+			Assert.assertTrue(body.contains("VOID"), body);
+			Assert.assertEquals(contentLength, String.valueOf(body.getBytes("UTF-8").length));
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void urlConnectionReadsTheErrors() throws Exception {
+
+		status = 401;
+		PayUClient client = client(serverUrl(), new UrlConnectionTransport());
+		try {
+			client.payments().doVoid(VOID_PARAMETERS);
+			Assert.fail("The unauthorized request was answered");
+		} catch (ConnectionException e) {
+			Assert.assertTrue(e.getCause() instanceof AuthenticationException, String.valueOf(e.getCause()));
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	public void nullTransportRestoresTheDefaultOne() {
+
+		PayUTransport previous = HttpClientHelper.getTransport();
+		try {
+			HttpClientHelper.setTransport(new LoopbackTransport(PING_RESPONSE));
+			Assert.assertTrue(HttpClientHelper.getTransport() instanceof LoopbackTransport);
+
+			HttpClientHelper.setTransport(null);
+			Assert.assertTrue(HttpClientHelper.getTransport() instanceof ApacheTransport);
+		} finally {
+			HttpClientHelper.setTransport(previous);
+		}
+	}
+
+	/**
+	 * @return the base url of the local server
+	 */
+	private String serverUrl() {
+
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Creates a client of the given base url and transport
+	 */
+	private static PayUClient client(String baseUrl, PayUTransport transport) {
+
+		return PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl(baseUrl + "/payments-api/")
+				.reportsUrl(baseUrl + "/reports-api/").transport(transport).build();
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.model.AdditionalValue;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.Order;
+
+/**
+ * Tests the {@link SignatureEngine} against the former {@link DecimalFormat}
+ * and <code>DigestUtils</code> signatures.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class SignatureEngineTest {
+
+	private static final String KEY = "4Vj8eK4rloUd272L48hsrarnUA";
+
+	private static final Integer MERCHANT_ID = 508029;
+
+	private static final String[] FORMATS = { SignatureHelper.DECIMAL_FORMAT_1,
+			SignatureHelper.DECIMAL_FORMAT_2, SignatureHelper.DECIMAL_FORMAT_3 };
+
+	@Test
+	public void amountsAreFormattedAsTheDecimalFormat() {
+
+		String[] values = { "0", "0.5", "-0.5", "0.001", "-0.001", "1.005", "1.015", "2.675",
+				"0.125", "0.135", "20000", "20000.5", "99999999.995", "123456789012.34",
+				"1234567890123456789.5", "1E+3", "7.50000", "-15.25" };
+		for (String value : values) {
+			assertSameSignature(new BigDecimal(value), "order-" + value, SignatureHelper.MD5_ALGORITHM);
+		}
+	}
+
+	@Test
+	public void randomAmountsAreFormattedAsTheDecimalFormat() {
+
+		Random random = new Random(18102026);
+		for (int i = 0; i < 5000; i++) {
+			BigDecimal value = BigDecimal.valueOf(random.nextLong() % 100000000000L,
+					random.nextInt(7));
+			if (random.nextBoolean()) {
+				value = value.negate();
+			}
+			assertSameSignature(value, "order-" + i, SignatureHelper.SHA_ALGORITHM);
+		}
+	}
+
+	@Test
+	public void messagesAreEncodedInUtf8() {
+
+		String[] references = { "pedido-ñandú", "注文-1", "emoji-💳", "lone-\ud83d-surrogate" };
+		for (String reference : references) {
+			assertSameSignature(new BigDecimal("10.50"), reference, SignatureHelper.MD5_ALGORITHM);
+			Assert.assertEquals(SignatureEngine.sign(KEY, reference, "sha256"),
+					DigestUtils.sha256Hex(KEY + "~" + reference));
+		}
+	}
+
+	@Test
+	public void bulkSigningMatchesEachOrder() {
+
+		List<Order> orders = new ArrayList<Order>();
+		for (int i = 0; i < 50; i++) {
+			orders.add(order(new BigDecimal(i * 1000 + ".25"), "batch-" + i));
+		}
+
+		String[] signatures = SignatureEngine.signAll(orders, MERCHANT_ID, KEY,
+				SignatureHelper.DECIMAL_FORMAT_3, SignatureHelper.MD5_ALGORITHM);
+
+		Assert.assertEquals(signatures.length, orders.size());
+		for (int i = 0; i < orders.size(); i++) {
+			Assert.assertEquals(signatures[i], SignatureHelper.buildSignature(orders.get(i),
+					MERCHANT_ID, KEY, SignatureHelper.DECIMAL_FORMAT_3, SignatureHelper.MD5_ALGORITHM));
+		}
+	}
+
+	@Test
+	public void nullMessagesAreSignedAsTheFormerCode() {
+
+		Assert.assertEquals(SignatureEngine.sign(null, "message", "md5"),
+				DigestUtils.md5Hex("null~message"));
+		Assert.assertEquals(SignatureEngine.sign(KEY, null, "md5"),
+				DigestUtils.md5Hex(KEY + "~null"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidAlgorithmIsRejected() {
+
+		SignatureEngine.sign(KEY, "message", "crc32");
+	}
+
+	/**
+	 * Asserts the engine signs an order as the former code in every format
+	 */
+	private static void assertSameSignature(BigDecimal value, String reference, String algorithm) {
+
+		Order order = order(value, reference);
+		for (String format : FORMATS) {
+			Assert.assertEquals(SignatureEngine.sign(order, MERCHANT_ID, KEY, format, algorithm),
+					legacySignature(order, format, algorithm), value + " " + format);
+		}
+	}
+
+	/**
+	 * The signature as it was built before the engine
+	 */
+	private static String legacySignature(Order order, String format, String algorithm) {
+
+		DecimalFormat df = (DecimalFormat) NumberFormat.getInstance(Locale.US);
+		df.applyPattern(format);
+		AdditionalValue txValue = order.getAdditionalValue(SignatureHelper.TX_VALUE);
+		String message = KEY + "~" + MERCHANT_ID + "~" + order.getReferenceCode() + "~"
+				+ df.format(txValue.getValue().doubleValue()) + "~" + txValue.getCurrency();
+		return SignatureHelper.MD5_ALGORITHM.equals(algorithm) ? DigestUtils.md5Hex(message)
+				: DigestUtils.shaHex(message);
+	}
+
+	/**
+	 * @return an order with the given value and reference
+	 */
+	private static Order order(BigDecimal value, String reference) {
+
+		AdditionalValue txValue = new AdditionalValue();
+		txValue.setName(SignatureHelper.TX_VALUE);
+		txValue.setValue(value);
+		txValue.setCurrency(Currency.COP);
+		Map<String, AdditionalValue> values = new HashMap<String, AdditionalValue>();
+		values.put(SignatureHelper.TX_VALUE, txValue);
+
+		Order order = new Order();
+		order.setReferenceCode(reference);
+		order.setAdditionalValues(values);
+		return order;
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.helper;
+
+import javax.net.ssl.SSLContext;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.ConnectionException;
+
+/**
+ * Tests the shared SSL contexts and socket factories.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class SslSocketFactoriesTest {
+
+	@Test
+	public void socketFactoriesAreShared() throws ConnectionException {
+
+		Assert.assertSame(SslSocketFactories.getSocketFactory(false),
+				SslSocketFactories.getSocketFactory(false));
+		Assert.assertSame(SslSocketFactories.getSocketFactory(true),
+				SslSocketFactories.getSocketFactory(true));
+		Assert.assertNotSame(SslSocketFactories.getSocketFactory(true),
+				SslSocketFactories.getSocketFactory(false));
+	}
+
+	@Test
+	public void sessionResumptionIsEnabled() throws ConnectionException {
+
+		SSLContext context = SslSocketFactories.getTrustAllContext();
+
+		Assert.assertSame(SslSocketFactories.getTrustAllContext(), context);
+		Assert.assertTrue(context.getClientSessionContext().getSessionTimeout() > 0);
+		Assert.assertTrue(context.getClientSessionContext().getSessionCacheSize() > 0);
+	}
+}
@@ -0,0 +1,316 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.notification;
+
+import java.io.ByteArrayInputStream;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.notification.NotificationIngestor.Result;
+
+/**
+ * Tests the parsing, verification and dispatch of the confirmation
+ * notifications.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class NotificationIngestorTest {
+
+	private static final String API_KEY = "4Vj8eK4rloUd272L48hsrarnUA";
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	@Test
+	public void parsesTheFormFields() throws Exception {
+
+		Map<String, String> fields = NotificationParser.parse(
+				"merchant_id=508029&description=Pago+de+prueba%20%C3%B1&empty=&flag&custom_field=a%26b&sign=x&sign=y"
+						.getBytes(UTF_8));
+
+		Assert.assertEquals(fields.get("merchant_id"), "508029");
+		Assert.assertEquals(fields.get("description"), "Pago de prueba ñ");
+		Assert.assertEquals(fields.get("empty"), "");
+		Assert.assertEquals(fields.get("flag"), "");
+		Assert.assertEquals(fields.get("custom_field"), "a&b");
+		Assert.assertEquals(fields.get("sign"), "y");
+
+		Assert.assertEquals(NotificationParser.parse(new ByteArrayInputStream(
+				"value=150.00".getBytes(UTF_8))), Collections.singletonMap("value", "150.00"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void rejectsInvalidEscapes() {
+
+		NotificationParser.parse("value=%4".getBytes(UTF_8));
+	}
+
+	@Test
+	public void signatureValueKeepsTheSecondDecimalOnlyIfNotZero() {
+
+		Assert.assertEquals(NotificationVerifier.getSignatureValue("150.00"), "150.0");
+		Assert.assertEquals(NotificationVerifier.getSignatureValue("150.26"), "150.26");
+		Assert.assertEquals(NotificationVerifier.getSignatureValue("150.20"), "150.2");
+		Assert.assertEquals(NotificationVerifier.getSignatureValue("150"), "150.0");
+		Assert.assertEquals(NotificationVerifier.getSignatureValue("150.255"), "150.26");
+	}
+
+	@Test
+	public void verifiesEveryAlgorithm() throws Exception {
+
+		String message = API_KEY + "~508029~order tx-1~150.0~COP~4";
+		NotificationVerifier verifier = new NotificationVerifier(API_KEY);
+
+		for (String sign : new String[] { DigestUtils.md5Hex(message), DigestUtils.shaHex(message),
+				DigestUtils.sha256Hex(message), DigestUtils.md5Hex(message).toUpperCase() }) {
+			Assert.assertTrue(verifier.verify(notification("tx-1", "4", "150.00", sign)), sign);
+		}
+		Assert.assertFalse(verifier.verify(notification("tx-1", "6", "150.00",
+				DigestUtils.md5Hex(message))));
+		Assert.assertFalse(verifier.verify(notification("tx-1", "4", "150.00", "abc")));
+	}
+
+	@Test
+	public void dispatchesVerifiedNotificationsOnce() throws Exception {
+
+		final List<ConfirmationNotification> handled = new CopyOnWriteArrayList<ConfirmationNotification>();
+		final CountDownLatch done = new CountDownLatch(2);
+		NotificationIngestor ingestor = NotificationIngestor.builder().apiKey(API_KEY)
+				.handler(new NotificationHandler() {
+
+					@Override
+					public void onNotification(ConfirmationNotification notification) {
+
+						handled.add(notification);
+						done.countDown();
+					}
+				}).build();
+		try {
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "7"))), Result.ACCEPTED);
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "7"))), Result.DUPLICATE);
+			// A new state of the same transaction is not a retry
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.ACCEPTED);
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-2", "4").replace("sign=", "sign=0"))),
+					Result.INVALID_SIGNATURE);
+			Assert.assertEquals(ingestor.ingest(bytes("value=%zz")), Result.MALFORMED);
+
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(handled.size(), 2);
+			Assert.assertEquals(handled.get(0).getTransactionId(), "tx-1");
+			Assert.assertEquals(handled.get(0).getReferenceSale(), "order tx-1");
+			Assert.assertEquals(ingestor.getReceived(), 5);
+			Assert.assertEquals(ingestor.getCount(Result.ACCEPTED), 2);
+		} finally {
+			ingestor.close();
+		}
+	}
+
+	@Test
+	public void rejectsWhenTheQueueIsFull() throws Exception {
+
+		final CountDownLatch taken = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		NotificationIngestor ingestor = NotificationIngestor.builder().apiKey(API_KEY)
+				.queueCapacity(1).handler(new NotificationHandler() {
+
+					@Override
+					public void onNotification(ConfirmationNotification notification)
+							throws Exception {
+
+						taken.countDown();
+						release.await(5, TimeUnit.SECONDS);
+					}
+				}).build();
+		try {
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.ACCEPTED);
+			Assert.assertTrue(taken.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-2", "4"))), Result.ACCEPTED);
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-3", "4"))), Result.REJECTED);
+
+			release.countDown();
+			long deadline = System.currentTimeMillis() + 5000;
+			while (ingestor.getQueued() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			// The retry of the rejected notification goes through
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-3", "4"))), Result.ACCEPTED);
+		} finally {
+			release.countDown();
+			ingestor.close();
+		}
+		Assert.assertEquals(ingestor.ingest(bytes(body("tx-4", "4"))), Result.REJECTED);
+	}
+
+	@Test
+	public void letsTheRetryThroughWhenTheHandlerFails() throws Exception {
+
+		final AtomicInteger calls = new AtomicInteger();
+		NotificationIngestor ingestor = NotificationIngestor.builder().apiKey(API_KEY)
+				.handler(new NotificationHandler() {
+
+					@Override
+					public void onNotification(ConfirmationNotification notification) {
+
+						if (calls.incrementAndGet() == 1) {
+							throw new IllegalStateException("Database down");
+						}
+					}
+				}).build();
+		try {
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.ACCEPTED);
+			long deadline = System.currentTimeMillis() + 5000;
+			while (ingestor.getHandlerErrors() == 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Assert.assertEquals(ingestor.getHandlerErrors(), 1);
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.ACCEPTED);
+		} finally {
+			ingestor.close();
+		}
+		Assert.assertEquals(calls.get(), 2);
+	}
+
+	@Test
+	public void handlesSynchronously() throws Exception {
+
+		final AtomicInteger calls = new AtomicInteger();
+		NotificationIngestor ingestor = NotificationIngestor.builder().apiKey(API_KEY)
+				.synchronous().handler(new NotificationHandler() {
+
+					@Override
+					public void onNotification(ConfirmationNotification notification) {
+
+						if (calls.incrementAndGet() == 1) {
+							throw new IllegalStateException("Database down");
+						}
+					}
+				}).build();
+		try {
+			Result result = ingestor.ingest(bytes(body("tx-1", "4")));
+			Assert.assertEquals(result, Result.FAILED);
+			Assert.assertTrue(result.isRetried());
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.ACCEPTED);
+			Assert.assertEquals(calls.get(), 2, "Handled before answering");
+			Assert.assertEquals(ingestor.ingest(bytes(body("tx-1", "4"))), Result.DUPLICATE);
+			Assert.assertEquals(ingestor.getQueued(), 0);
+		} finally {
+			ingestor.close();
+		}
+	}
+
+	@Test
+	public void handlesEveryAcceptedNotificationOnceClosed() throws Exception {
+
+		for (int round = 0; round < 20; round++) {
+			final AtomicInteger handled = new AtomicInteger();
+			final NotificationIngestor ingestor = NotificationIngestor.builder().apiKey(API_KEY)
+					.workers(2).handler(new NotificationHandler() {
+
+						@Override
+						public void onNotification(ConfirmationNotification notification) {
+
+							handled.incrementAndGet();
+						}
+					}).build();
+
+			Thread[] senders = new Thread[4];
+			for (int i = 0; i < senders.length; i++) {
+				final int sender = i;
+				senders[i] = new Thread() {
+
+					@Override
+					public void run() {
+
+						try {
+							for (int n = 0; n < 200; n++) {
+								ingestor.ingest(bytes(body("tx-" + sender + "-" + n, "4")));
+							}
+						} catch (Exception e) {
+							throw new IllegalStateException(e);
+						}
+					}
+				};
+				senders[i].start();
+			}
+			Thread.sleep(1);
+			ingestor.close();
+			for (Thread sender : senders) {
+				sender.join();
+			}
+			Assert.assertEquals(handled.get(), ingestor.getCount(Result.ACCEPTED));
+		}
+	}
+
+	/**
+	 * @return a signed notification
+	 */
+	private static ConfirmationNotification notification(String transactionId, String state,
+			String value, String sign) throws Exception {
+
+		return new ConfirmationNotification(NotificationParser.parse(
+				body(transactionId, state, value, sign).getBytes(UTF_8)));
+	}
+
+	/**
+	 * @return the body of a signed notification
+	 */
+	private static String body(String transactionId, String state) throws Exception {
+
+		String reference = "order " + transactionId;
+		String sign = DigestUtils.md5Hex(API_KEY + "~508029~" + reference + "~150.0~COP~" + state);
+		return body(transactionId, state, "150.00", sign);
+	}
+
+	/**
+	 * @return the body of a notification
+	 */
+	private static String body(String transactionId, String state, String value, String sign)
+			throws Exception {
+
+		return "merchant_id=508029&state_pol=" + state + "&response_code_pol=1"
+				+ "&reference_sale=" + URLEncoder.encode("order " + transactionId, "UTF-8")
+				+ "&reference_pol=844122487&transaction_id=" + transactionId
+				+ "&value=" + value + "&currency=COP&test=1&sign=" + sign;
+	}
+
+	/**
+	 * @return the bytes of a body
+	 */
+	private static byte[] bytes(String body) {
+
+		return body.getBytes(UTF_8);
+	}
+}
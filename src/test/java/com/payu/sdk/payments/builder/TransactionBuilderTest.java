@@ -0,0 +1,324 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUPayments;
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.LoopbackTransport;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.DocumentType;
+import com.payu.sdk.model.ExtraParemeterNames;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodType;
+import com.payu.sdk.model.PersonType;
+import com.payu.sdk.model.TransactionType;
+import com.payu.sdk.model.request.Command;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.utils.JaxbUtil;
+import com.payu.sdk.utils.PaymentValidationSchemas;
+import com.payu.sdk.utils.RequestUtil;
+
+/**
+ * Tests the typed transaction builders against the parameters map path.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class TransactionBuilderTest {
+
+	private PayUTransport previous;
+
+	@BeforeMethod
+	public void before() {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+		previous = HttpClientHelper.getTransport();
+		PayUPayments.clearPaymentMethodAvailabilityCache();
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		HttpClientHelper.setTransport(previous);
+		PayUPayments.clearPaymentMethodAvailabilityCache();
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+	}
+
+	@Test
+	public void creditCardRequestMatchesTheMapPath() throws Exception {
+
+		answerAvailability("VISA", PaymentMethodType.CREDIT_CARD);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.ACCOUNT_ID, "512321");
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "order-1");
+		parameters.put(PayU.PARAMETERS.DESCRIPTION, "Test payment");
+		parameters.put(PayU.PARAMETERS.VALUE, "20000.50");
+		parameters.put(PayU.PARAMETERS.TAX_VALUE, "3193");
+		parameters.put(PayU.PARAMETERS.TAX_RETURN_BASE, "16806");
+		parameters.put(PayU.PARAMETERS.CURRENCY, Currency.COP.name());
+		parameters.put(PayU.PARAMETERS.BUYER_EMAIL, "buyer_test@test.com");
+		parameters.put(PayU.PARAMETERS.BUYER_NAME, "Buyer");
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.PAYER_EMAIL, "payer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_DNI, "5415668464654");
+		parameters.put(PayU.PARAMETERS.PAYER_CITY, "Bogota");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_NUMBER, "4097440000000004");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE, "2030/02");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, "321");
+		parameters.put(PayU.PARAMETERS.PAYMENT_METHOD, "VISA");
+		parameters.put(PayU.PARAMETERS.INSTALLMENTS_NUMBER, "3");
+		parameters.put(PayU.PARAMETERS.COUNTRY, PaymentCountry.CO.name());
+		parameters.put(PayU.PARAMETERS.DEVICE_SESSION_ID, "vghs6tvkcle931686k1900o6e1");
+		parameters.put(PayU.PARAMETERS.IP_ADDRESS, "127.0.0.1");
+		parameters.put(PayU.PARAMETERS.COOKIE, "pt1t38347bs6jc9ruv2ecpv7o2");
+		parameters.put(PayU.PARAMETERS.USER_AGENT, "Mozilla/5.0");
+		parameters.put(PayU.PARAMETERS.SHIPPING_CITY, "Medellin");
+		parameters.put(PayU.PARAMETERS.EXTRA1, "extra");
+		PaymentValidationSchemas.forPaymentMethod("VISA", PaymentMethodType.CREDIT_CARD)
+				.validate(parameters);
+
+		PaymentRequest request = TransactionBuilder.authorizationAndCapture().accountId(512321)
+				.order("order-1", "Test payment")
+				.value(Currency.COP, new BigDecimal("20000.50"))
+				.tax(new BigDecimal("3193"), new BigDecimal("16806"))
+				.paymentCountry(PaymentCountry.CO).paymentMethod("VISA").installments(3)
+				.device("vghs6tvkcle931686k1900o6e1", "127.0.0.1", "pt1t38347bs6jc9ruv2ecpv7o2",
+						"Mozilla/5.0")
+				.buyer(new BuyerBuilder().fullName("Buyer").emailAddress("buyer_test@test.com"))
+				.payer(new PayerBuilder().fullName("APPROVED")
+						.emailAddress("payer_test@test.com").dni(null, "5415668464654")
+						.location("Bogota", null, null, null))
+				.creditCard(new CreditCardBuilder().number("4097440000000004")
+						.expirationDate(2030, 2).securityCode("321"))
+				.shippingAddress(new ShippingAddressBuilder().location("Medellin", null, null,
+						null))
+				.extraParameter(ExtraParemeterNames.EXTRA1, "extra").buildRequest();
+
+		Assert.assertEquals(toXml(request), toXml(RequestUtil.buildPaymentRequest(parameters,
+				TransactionType.AUTHORIZATION_AND_CAPTURE)));
+		Assert.assertEquals(request.getTransaction().getCreditCard().getName(), "APPROVED");
+		Assert.assertNotNull(request.getTransaction().getOrder().getSignature());
+	}
+
+	@Test
+	public void pseTransactionMatchesTheMapPath() throws Exception {
+
+		answerAvailability("PSE", PaymentMethodType.PSE);
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "order-2");
+		parameters.put(PayU.PARAMETERS.DESCRIPTION, "PSE payment");
+		parameters.put(PayU.PARAMETERS.VALUE, "10000");
+		parameters.put(PayU.PARAMETERS.CURRENCY, Currency.COP.name());
+		parameters.put(PayU.PARAMETERS.PAYMENT_METHOD, "PSE");
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.PAYER_EMAIL, "payer_test@test.com");
+		parameters.put(PayU.PARAMETERS.PAYER_CONTACT_PHONE, "7563126");
+		parameters.put(PayU.PARAMETERS.PAYER_DNI, "123456789");
+		parameters.put(PayU.PARAMETERS.PAYER_DOCUMENT_TYPE, DocumentType.CC.name());
+		parameters.put(PayU.PARAMETERS.PAYER_PERSON_TYPE, PersonType.NATURAL.name());
+		parameters.put(PayU.PARAMETERS.PSE_FINANCIAL_INSTITUTION_CODE, "1022");
+		parameters.put(PayU.PARAMETERS.IP_ADDRESS, "127.0.0.1");
+		parameters.put(PayU.PARAMETERS.COOKIE, "cookie");
+		parameters.put(PayU.PARAMETERS.USER_AGENT, "Mozilla/5.0");
+		parameters.put(PayU.PARAMETERS.RESPONSE_URL, "http://www.test.com/response");
+
+		TransactionBuilder builder = TransactionBuilder.authorizationAndCapture()
+				.order("order-2", "PSE payment").value(Currency.COP, new BigDecimal("10000"))
+				.paymentMethod("PSE").device(null, "127.0.0.1", "cookie", "Mozilla/5.0")
+				.pseFinancialInstitution("1022", null)
+				.responseUrl("http://www.test.com/response")
+				.payer(new PayerBuilder().fullName("APPROVED").emailAddress("payer_test@test.com")
+						.contactPhone("7563126").dni(null, "123456789")
+						.documentType(DocumentType.CC).personType(PersonType.NATURAL));
+
+		Assert.assertEquals(toXml(builder.build()), toXml(RequestUtil.buildTransaction(
+				parameters, TransactionType.AUTHORIZATION_AND_CAPTURE)));
+
+		builder.payer(new PayerBuilder().fullName("APPROVED"));
+		Map<String, String> incomplete = new HashMap<String, String>(parameters);
+		incomplete.remove(PayU.PARAMETERS.PAYER_EMAIL);
+		incomplete.remove(PayU.PARAMETERS.PAYER_CONTACT_PHONE);
+		incomplete.remove(PayU.PARAMETERS.PAYER_DNI);
+		incomplete.remove(PayU.PARAMETERS.PAYER_DOCUMENT_TYPE);
+		incomplete.remove(PayU.PARAMETERS.PAYER_PERSON_TYPE);
+		Assert.assertEquals(message(builder), message(incomplete, PaymentMethodType.PSE));
+	}
+
+	@Test
+	public void validatesLikeTheMapPath() throws Exception {
+
+		LoopbackTransport transport = answerAvailability("VISA", PaymentMethodType.CREDIT_CARD);
+
+		TransactionBuilder builder = TransactionBuilder.authorization().order("order-3", " ")
+				.value(Currency.COP, BigDecimal.TEN).paymentMethod("VISA")
+				.payer(new PayerBuilder().fullName("APPROVED"))
+				.creditCard(new CreditCardBuilder().number("4097440000000004"));
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "order-3");
+		parameters.put(PayU.PARAMETERS.DESCRIPTION, " ");
+		parameters.put(PayU.PARAMETERS.VALUE, "10");
+		parameters.put(PayU.PARAMETERS.CURRENCY, "COP");
+		parameters.put(PayU.PARAMETERS.PAYMENT_METHOD, "VISA");
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_NUMBER, "4097440000000004");
+
+		String expected = message(parameters, PaymentMethodType.CREDIT_CARD);
+		Assert.assertEquals(message(builder), expected);
+		Assert.assertEquals(expected, "Parameter [" + PayU.PARAMETERS.DESCRIPTION
+				+ "] is required." + Constants.LINE_SEPARATOR + "Parameter ["
+				+ PayU.PARAMETERS.INSTALLMENTS_NUMBER + "] is required."
+				+ Constants.LINE_SEPARATOR + "Parameter ["
+				+ PayU.PARAMETERS.CREDIT_CARD_EXPIRATION_DATE + "] is required."
+				+ Constants.LINE_SEPARATOR + "Parameter ["
+				+ PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE + "] is required."
+				+ Constants.LINE_SEPARATOR);
+
+		builder.order("order-3", "Test").installments(1).creditCard(new CreditCardBuilder()
+				.number("4097440000000004").expirationDate("2030/12").processWithoutCvv2(true));
+		Assert.assertTrue(builder.build().getCreditCard().getProcessWithoutCvv2());
+		Assert.assertEquals(transport.getRequests(), 1L, "The type is looked up once");
+
+		// A token payment needs no payment method
+		Assert.assertEquals(TransactionBuilder.authorization().order("order-4", "Token")
+				.value(Currency.COP, BigDecimal.TEN).installments(1).tokenId("token-id").build()
+				.getCreditCardTokenId(), "token-id");
+	}
+
+	@Test
+	public void rejectsUnsupportedPayments() throws Exception {
+
+		Assert.assertEquals(unsupported(TransactionBuilder.authorization().order("order-5", "Debit")
+				.value(Currency.COP, BigDecimal.TEN).paymentMethod("DEBIT", PaymentMethodType.DEBIT_CARD)),
+				"Unsupported payment method");
+
+		// The API does not know the payment method
+		HttpClientHelper.setTransport(new LoopbackTransport(Collections.singletonMap(
+				Command.GET_PAYMENT_METHOD_AVAILABILITY,
+				"<paymentMethodAvailable><code>SUCCESS</code></paymentMethodAvailable>"), null));
+		Assert.assertEquals(unsupported(TransactionBuilder.authorization().order("order-6", "Unknown")
+				.value(Currency.COP, BigDecimal.TEN).paymentMethod("UNKNOWN")),
+				"Unsupported payment method");
+
+		try {
+			new TransactionBuilder(TransactionType.VOID);
+			Assert.fail("A void is not built from its values");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * @return the XML of a request
+	 */
+	private static String toXml(Serializable request) {
+
+		return JaxbUtil.convertJavaToXml(request, false);
+	}
+
+	/**
+	 * Answers the payment method availability requests of the default client
+	 *
+	 * @param name the payment method name
+	 * @param type the payment method type
+	 * @return the transport
+	 */
+	private static LoopbackTransport answerAvailability(String name, PaymentMethodType type) {
+
+		LoopbackTransport transport = new LoopbackTransport(Collections.singletonMap(
+				Command.GET_PAYMENT_METHOD_AVAILABILITY,
+				"<paymentMethodAvailable><code>SUCCESS</code><paymentMethod><name>" + name
+						+ "</name><type>" + type.name() + "</type></paymentMethod>"
+						+ "</paymentMethodAvailable>"), null);
+		HttpClientHelper.setTransport(transport);
+		return transport;
+	}
+
+	/**
+	 * @return the message of the unsupported payment method error of the
+	 *         builder
+	 */
+	private static String unsupported(TransactionBuilder builder) throws Exception {
+
+		try {
+			builder.build();
+			Assert.fail("The payment method is supported");
+			return null;
+		} catch (PayUException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * @return the validation error of the builder, null if valid
+	 */
+	private static String message(TransactionBuilder builder) throws Exception {
+
+		try {
+			builder.build();
+			return null;
+		} catch (InvalidParametersException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * @return the validation error of the map path, null if valid
+	 */
+	private static String message(Map<String, String> parameters, PaymentMethodType type) {
+
+		try {
+			PaymentValidationSchemas.forPaymentMethod(
+					parameters.get(PayU.PARAMETERS.PAYMENT_METHOD), type).validate(parameters);
+			return null;
+		} catch (InvalidParametersException e) {
+			return e.getMessage();
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.payments.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUPayments;
+import com.payu.sdk.constants.Resources.RequestMethod;
+import com.payu.sdk.exceptions.InvalidParametersException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.LoopbackTransport;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.TransportRequest;
+import com.payu.sdk.model.Currency;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodType;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionState;
+import com.payu.sdk.payments.model.PaymentRequest;
+
+/**
+ * Tests the {@link TransactionTemplate}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class TransactionTemplateTest {
+
+	@BeforeMethod
+	public void before() {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+	}
+
+	@Test
+	public void tokenPaymentWritesTheMarshalledRequest() throws Exception {
+
+		TransactionTemplate template = tokenTransaction().tokenId("any").template();
+		Assert.assertTrue(template.isTokenized());
+
+		for (String reference : new String[] { "order-1", "order & <2> \"ñ\"" }) {
+			for (BigDecimal value : new BigDecimal[] { new BigDecimal("20000"),
+					new BigDecimal("1234.50"), new BigDecimal("1E+3") }) {
+
+				PaymentRequest expected = tokenTransaction().order(reference, "Monthly charge")
+						.value(Currency.COP, value).tokenId("token-" + reference).buildRequest();
+				PaymentRequest request = template.newRequest(reference, value,
+						"token-" + reference);
+
+				Assert.assertEquals(body(request), body(expected));
+				Assert.assertEquals(request.toXml(), new String(body(expected), "UTF-8"));
+			}
+		}
+	}
+
+	@Test
+	public void signatureCanBeGiven() throws Exception {
+
+		TransactionTemplate template = tokenTransaction().tokenId("any").template();
+
+		PaymentRequest expected = tokenTransaction().order("order-1", "Monthly charge")
+				.value(Currency.COP, BigDecimal.TEN).tokenId("token").signature("signature")
+				.buildRequest();
+		Assert.assertEquals(body(template.newRequest("order-1", BigDecimal.TEN, "token",
+				"signature")), body(expected));
+	}
+
+	@Test
+	public void requiresThePaymentValues() throws Exception {
+
+		TransactionTemplate template = tokenTransaction().tokenId("any").template();
+		try {
+			template.newRequest(" ", null, null);
+			Assert.fail("The values are required");
+		} catch (InvalidParametersException e) {
+			Assert.assertTrue(e.getMessage().contains("[referenceCode]"), e.getMessage());
+			Assert.assertTrue(e.getMessage().contains("[value]"), e.getMessage());
+			Assert.assertTrue(e.getMessage().contains("[tokenId]"), e.getMessage());
+		}
+
+		TransactionTemplate cashTemplate = TransactionBuilder.authorizationAndCapture()
+				.accountId(512321).order(null, "Cash payment").currency(Currency.COP)
+				.paymentMethod("EFECTY", PaymentMethodType.CASH).payer(new PayerBuilder().fullName("APPROVED"))
+				.template();
+		Assert.assertFalse(cashTemplate.isTokenized());
+		cashTemplate.newRequest("order-1", BigDecimal.TEN, null);
+		try {
+			cashTemplate.newRequest("order-1", BigDecimal.TEN, "token");
+			Assert.fail("The template is not tokenized");
+		} catch (InvalidParametersException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void templateRequestIsSent() throws Exception {
+
+		PayUTransport previous = HttpClientHelper.getTransport();
+		LoopbackTransport transport = new LoopbackTransport(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+						+ "<paymentResponse><code>SUCCESS</code><transactionResponse>"
+						+ "<orderId>1</orderId><state>APPROVED</state>"
+						+ "</transactionResponse></paymentResponse>");
+		HttpClientHelper.setTransport(transport);
+		try {
+			TransactionResponse response = PayUPayments.submitTransaction(tokenTransaction()
+					.tokenId("any").template().newRequest("order-1", BigDecimal.TEN, "token"),
+					1000);
+			Assert.assertEquals(response.getState(), TransactionState.APPROVED);
+			Assert.assertEquals(transport.getRequests(), 1L);
+		} finally {
+			HttpClientHelper.setTransport(previous);
+		}
+	}
+
+	/**
+	 * @return a token transaction with its constant values
+	 */
+	private static TransactionBuilder tokenTransaction() {
+
+		return TransactionBuilder.authorizationAndCapture().accountId(512321)
+				.order(null, "Monthly charge").currency(Currency.COP).installments(1)
+				.paymentCountry(PaymentCountry.CO).paymentMethod("VISA")
+				.notifyUrl("http://www.test.com/confirmation")
+				.device("vghs6tvkcle931686k1900o6e1", "127.0.0.1", "cookie", "Mozilla/5.0")
+				.buyer(new BuyerBuilder().fullName("Buyer").emailAddress("buyer@test.com"))
+				.payer(new PayerBuilder().fullName("APPROVED").emailAddress("payer@test.com"));
+	}
+
+	/**
+	 * @return the body the transports send for the request
+	 */
+	private static byte[] body(PaymentRequest request) throws Exception {
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		new TransportRequest(request, RequestMethod.POST, "http://localhost",
+				Collections.<String, String> emptyMap(), 1000).writeBody(outputStream);
+		return outputStream.toByteArray();
+	}
+}
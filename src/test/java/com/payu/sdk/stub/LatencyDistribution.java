@@ -0,0 +1,159 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.util.Random;
+
+/**
+ * The latency the {@link PayUStubServer} adds before answering a request
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public abstract class LatencyDistribution {
+
+	/** No latency */
+	public static final LatencyDistribution NONE = fixed(0);
+
+	/**
+	 * Gets the next latency
+	 *
+	 * @param random
+	 *            The random source of the server
+	 * @return the latency in ms, never negative
+	 */
+	public abstract long nextMillis(Random random);
+
+	/**
+	 * @param millis the latency in ms
+	 * @return the same latency on every request
+	 */
+	public static LatencyDistribution fixed(final long millis) {
+
+		checkNotNegative(millis);
+		return new LatencyDistribution() {
+
+			@Override
+			public long nextMillis(Random random) {
+
+				return millis;
+			}
+
+			@Override
+			public String toString() {
+
+				return "fixed(" + millis + "ms)";
+			}
+		};
+	}
+
+	/**
+	 * @param minMillis the min latency in ms
+	 * @param maxMillis the max latency in ms
+	 * @return a latency uniformly distributed between the min and the max
+	 */
+	public static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+
+		checkNotNegative(minMillis);
+		if (maxMillis < minMillis) {
+			throw new IllegalArgumentException("The max latency may not be lower than the min");
+		}
+		return new LatencyDistribution() {
+
+			@Override
+			public long nextMillis(Random random) {
+
+				return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+			}
+
+			@Override
+			public String toString() {
+
+				return "uniform(" + minMillis + "ms, " + maxMillis + "ms)";
+			}
+		};
+	}
+
+	/**
+	 * @param meanMillis the mean latency in ms
+	 * @return an exponentially distributed latency, as the service times of a
+	 *         busy server
+	 */
+	public static LatencyDistribution exponential(final double meanMillis) {
+
+		checkNotNegative(meanMillis);
+		return new LatencyDistribution() {
+
+			@Override
+			public long nextMillis(Random random) {
+
+				return Math.round(-meanMillis * Math.log(1 - random.nextDouble()));
+			}
+
+			@Override
+			public String toString() {
+
+				return "exponential(" + meanMillis + "ms)";
+			}
+		};
+	}
+
+	/**
+	 * @param medianMillis the median latency in ms
+	 * @param sigma the standard deviation of the latency logarithm, the
+	 *            greater the longer the tail
+	 * @return a log-normally distributed latency, as the one of a remote API
+	 *         with a long tail
+	 */
+	public static LatencyDistribution logNormal(final double medianMillis, final double sigma) {
+
+		checkNotNegative(medianMillis);
+		checkNotNegative(sigma);
+		return new LatencyDistribution() {
+
+			@Override
+			public long nextMillis(Random random) {
+
+				return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+			}
+
+			@Override
+			public String toString() {
+
+				return "logNormal(" + medianMillis + "ms, " + sigma + ")";
+			}
+		};
+	}
+
+	/**
+	 * @param value the value to check
+	 */
+	private static void checkNotNegative(double value) {
+
+		if (value < 0) {
+			throw new IllegalArgumentException("The latency parameters may not be negative");
+		}
+	}
+}
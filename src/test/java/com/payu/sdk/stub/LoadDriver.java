@@ -0,0 +1,302 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.payu.sdk.PayUClient;
+
+/**
+ * Runs a workload against the SDK and reports its throughput and latency.
+ * <ul>
+ * <li>Closed loop: a fixed number of callers, each one sends its next
+ * operation once the previous one is answered, as a pool of request
+ * threads.</li>
+ * <li>Open loop: the operations arrive at a fixed rate whatever the
+ * latency, as independent users. The latency is measured from the intended
+ * start, so the time queued behind slow operations counts.</li>
+ * </ul>
+ * From the command line it loads the {@link PayUStubServer} with payments
+ * pings:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.payu.sdk.stub.LoadDriver \
+ *     -Dexec.args="closed|open &lt;callers|rate&gt; &lt;seconds&gt; [median latency ms]"
+ * </pre>
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class LoadDriver {
+
+	/** The time the open loop waits for the operations in flight, in s */
+	private static final long DRAIN_TIMEOUT = 60;
+
+	/**
+	 * Default private empty constructor
+	 */
+	private LoadDriver() {
+	}
+
+	/**
+	 * Runs a closed loop workload
+	 *
+	 * @param operation the operation, failed if it throws
+	 * @param callers the number of concurrent callers
+	 * @param duration the duration of the run
+	 * @param unit the duration unit
+	 * @return the report of the run
+	 * @throws InterruptedException
+	 */
+	public static LoadReport closedLoop(final Callable<?> operation, int callers,
+			long duration, TimeUnit unit) throws InterruptedException {
+
+		if (callers <= 0) {
+			throw new IllegalArgumentException("The number of callers must be positive");
+		}
+
+		final Recorder recorder = new Recorder();
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(callers);
+		final long durationNanos = unit.toNanos(duration);
+		final AtomicLong deadline = new AtomicLong();
+
+		for (int i = 0; i < callers; i++) {
+			Thread caller = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					try {
+						start.await();
+						while (System.nanoTime() < deadline.get()) {
+							long begin = System.nanoTime();
+							recorder.record(begin, call(operation));
+						}
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					finally {
+						done.countDown();
+					}
+				}
+			}, "load-closed-" + i);
+			caller.setDaemon(true);
+			caller.start();
+		}
+
+		long begin = System.nanoTime();
+		deadline.set(begin + durationNanos);
+		start.countDown();
+		done.await();
+
+		return recorder.report("closed loop, " + callers + " callers", System.nanoTime() - begin,
+				true);
+	}
+
+	/**
+	 * Runs an open loop workload
+	 *
+	 * @param operation the operation, failed if it throws
+	 * @param rate the operations started per second
+	 * @param maxInFlight the max number of operations in flight, the others
+	 *            wait for a thread
+	 * @param duration the duration of the run
+	 * @param unit the duration unit
+	 * @return the report of the run
+	 * @throws InterruptedException
+	 */
+	public static LoadReport openLoop(final Callable<?> operation, double rate,
+			int maxInFlight, long duration, TimeUnit unit) throws InterruptedException {
+
+		if (rate <= 0 || maxInFlight <= 0) {
+			throw new IllegalArgumentException("The rate and the max in flight must be positive");
+		}
+
+		final Recorder recorder = new Recorder();
+		ExecutorService workers = Executors.newFixedThreadPool(maxInFlight);
+		double interval = 1e9 / rate;
+		long begin = System.nanoTime();
+		long end = begin + unit.toNanos(duration);
+
+		try {
+			for (long i = 0;; i++) {
+				final long intended = begin + (long) (i * interval);
+				if (intended >= end) {
+					break;
+				}
+				// Parks again after a spurious wake up
+				for (long wait = intended - System.nanoTime(); wait > 0; wait = intended
+						- System.nanoTime()) {
+					LockSupport.parkNanos(wait);
+				}
+				workers.execute(new Runnable() {
+
+					@Override
+					public void run() {
+
+						recorder.record(intended, call(operation));
+					}
+				});
+			}
+		}
+		finally {
+			workers.shutdown();
+		}
+		boolean drained = workers.awaitTermination(DRAIN_TIMEOUT, TimeUnit.SECONDS);
+		if (!drained) {
+			workers.shutdownNow();
+		}
+
+		return recorder.report(String.format("open loop, %.0f ops/s", rate),
+				System.nanoTime() - begin, drained);
+	}
+
+	/**
+	 * @param operation the operation
+	 * @return true if the operation succeeded
+	 */
+	private static boolean call(Callable<?> operation) {
+
+		try {
+			operation.call();
+			return true;
+		}
+		catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Loads a stub server with payments pings
+	 *
+	 * @param args closed or open, the callers or the rate, the duration in
+	 *            seconds and optionally the median latency of the server in
+	 *            ms
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+
+		if (args.length < 3) {
+			System.err.println("Usage: LoadDriver closed|open <callers|rate> <seconds> [median latency ms]");
+			return;
+		}
+
+		LatencyDistribution latency = args.length > 3
+				? LatencyDistribution.logNormal(Double.parseDouble(args[3]), 0.5)
+				: LatencyDistribution.NONE;
+
+		PayUStubServer server = PayUStubServer.builder().recordedFixtures()
+				.latency(latency).threads(256).start();
+		final PayUClient client = PayUClient.builder().apiKey("apiKey")
+				.apiLogin("apiLogin").merchantId("500238")
+				.paymentsUrl(server.getPaymentsUrl()).reportsUrl(server.getReportsUrl())
+				.build();
+
+		Callable<Boolean> ping = new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+
+				return client.payments().doPing();
+			}
+		};
+
+		try {
+			long seconds = Long.parseLong(args[2]);
+			LoadReport report;
+			if ("open".equals(args[0])) {
+				report = openLoop(ping, Double.parseDouble(args[1]), 256, seconds, TimeUnit.SECONDS);
+			}
+			else {
+				report = closedLoop(ping, Integer.parseInt(args[1]), seconds, TimeUnit.SECONDS);
+			}
+			System.out.println("Server latency " + latency);
+			System.out.println(report);
+		}
+		finally {
+			client.close();
+			server.close();
+		}
+	}
+
+	/**
+	 * Collects the latencies of a run
+	 */
+	private static final class Recorder {
+
+		/** The latencies in ns */
+		private long[] latencies = new long[1024];
+
+		/** The number of latencies */
+		private int size;
+
+		/** The number of failed operations */
+		private long errors;
+
+		/** Whether the report was taken, the later operations are left out */
+		private boolean reported;
+
+		/**
+		 * @param begin the start of the operation, from {@link System#nanoTime()}
+		 * @param success whether the operation succeeded
+		 */
+		synchronized void record(long begin, boolean success) {
+
+			if (reported) {
+				return;
+			}
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+			}
+			latencies[size++] = System.nanoTime() - begin;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		/**
+		 * @param name the workload name
+		 * @param elapsedNanos the duration of the run in ns
+		 * @param complete whether every operation ended
+		 * @return the report of the run
+		 */
+		synchronized LoadReport report(String name, long elapsedNanos, boolean complete) {
+
+			reported = true;
+			return new LoadReport(name, Arrays.copyOf(latencies, size), errors, elapsedNanos,
+					complete);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayUClient;
+
+/**
+ * Tests the {@link LoadDriver} workloads against the {@link PayUStubServer}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class LoadDriverTest {
+
+	private PayUStubServer server;
+
+	private PayUClient client;
+
+	private Callable<Boolean> ping;
+
+	@BeforeClass
+	public void start() throws Exception {
+
+		server = PayUStubServer.builder().recordedFixtures()
+				.latency(LatencyDistribution.uniform(1, 5)).errors(0.1, 500).seed(1).start();
+		client = PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl(server.getPaymentsUrl())
+				.reportsUrl(server.getReportsUrl()).build();
+		ping = new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+
+				return client.payments().doPing();
+			}
+		};
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void stop() {
+
+		client.close();
+		server.close();
+	}
+
+	@Test
+	public void closedLoopReportsEveryOperation() throws Exception {
+
+		long before = server.getRequests();
+		LoadReport report = LoadDriver.closedLoop(ping, 4, 500, TimeUnit.MILLISECONDS);
+
+		Assert.assertTrue(report.getOperations() > 0);
+		Assert.assertEquals(report.getOperations(), server.getRequests() - before);
+		Assert.assertTrue(report.getErrors() > 0, report.toString());
+		Assert.assertTrue(report.getErrors() < report.getOperations(), report.toString());
+		Assert.assertTrue(report.getP50() >= 1, report.toString());
+		Assert.assertTrue(report.getP50() <= report.getP99());
+		Assert.assertTrue(report.getP99() <= report.getP999());
+		Assert.assertTrue(report.getP999() <= report.getMax());
+	}
+
+	@Test
+	public void openLoopKeepsTheRate() throws Exception {
+
+		LoadReport report = LoadDriver.openLoop(ping, 200, 16, 500, TimeUnit.MILLISECONDS);
+
+		Assert.assertTrue(report.isComplete());
+		Assert.assertEquals(report.getOperations(), 100);
+		Assert.assertTrue(report.getThroughput() > 100, report.toString());
+	}
+
+	@Test
+	public void percentilesUseTheNearestRank() throws Exception {
+
+		long[] latencies = new long[1000];
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = (i + 1) * 1000000L;
+		}
+		LoadReport report = new LoadReport("ranks", latencies, 0, TimeUnit.SECONDS.toNanos(1));
+
+		Assert.assertEquals(report.getP50(), 500d);
+		Assert.assertEquals(report.getP99(), 990d);
+		Assert.assertEquals(report.getP999(), 999d);
+		Assert.assertEquals(report.getMax(), 1000d);
+		Assert.assertEquals(report.getThroughput(), 1000d);
+	}
+
+	@Test
+	public void latencyDistributionsAreNotNegative() {
+
+		Random random = new Random(1);
+		LatencyDistribution[] distributions = { LatencyDistribution.uniform(2, 4),
+				LatencyDistribution.exponential(3), LatencyDistribution.logNormal(3, 1) };
+		for (LatencyDistribution distribution : distributions) {
+			for (int i = 0; i < 1000; i++) {
+				long latency = distribution.nextMillis(random);
+				Assert.assertTrue(latency >= 0, distribution.toString());
+			}
+		}
+		final AtomicInteger outOfRange = new AtomicInteger();
+		for (int i = 0; i < 1000; i++) {
+			long latency = distributions[0].nextMillis(random);
+			if (latency < 2 || latency > 4) {
+				outOfRange.incrementAndGet();
+			}
+		}
+		Assert.assertEquals(outOfRange.get(), 0);
+	}
+}
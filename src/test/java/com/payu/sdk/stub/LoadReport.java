@@ -0,0 +1,186 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.util.Arrays;
+
+/**
+ * The result of a {@link LoadDriver} run: throughput, errors and latency
+ * percentiles
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class LoadReport {
+
+	/** Nanoseconds per millisecond */
+	private static final double NANOS_PER_MILLI = 1000000d;
+
+	/** The workload name */
+	private final String name;
+
+	/** The latencies of the operations in ns, sorted */
+	private final long[] latencies;
+
+	/** The number of failed operations */
+	private final long errors;
+
+	/** The duration of the run in ns */
+	private final long elapsedNanos;
+
+	/** Whether every operation ended before the report */
+	private final boolean complete;
+
+	/**
+	 * Creates the report of a complete run
+	 *
+	 * @param name the workload name
+	 * @param latencies the latencies of the operations in ns
+	 * @param errors the number of failed operations
+	 * @param elapsedNanos the duration of the run in ns
+	 */
+	LoadReport(String name, long[] latencies, long errors, long elapsedNanos) {
+
+		this(name, latencies, errors, elapsedNanos, true);
+	}
+
+	/**
+	 * Creates a report
+	 *
+	 * @param name the workload name
+	 * @param latencies the latencies of the operations in ns
+	 * @param errors the number of failed operations
+	 * @param elapsedNanos the duration of the run in ns
+	 * @param complete whether every operation ended before the report
+	 */
+	LoadReport(String name, long[] latencies, long errors, long elapsedNanos,
+			boolean complete) {
+
+		this.name = name;
+		this.latencies = latencies.clone();
+		Arrays.sort(this.latencies);
+		this.errors = errors;
+		this.elapsedNanos = elapsedNanos;
+		this.complete = complete;
+	}
+
+	/**
+	 * @return whether every operation ended before the report, otherwise the
+	 *         ones still running are left out
+	 */
+	public boolean isComplete() {
+
+		return complete;
+	}
+
+	/**
+	 * @return the number of operations, failed or not
+	 */
+	public long getOperations() {
+
+		return latencies.length;
+	}
+
+	/**
+	 * @return the number of failed operations
+	 */
+	public long getErrors() {
+
+		return errors;
+	}
+
+	/**
+	 * @return the operations per second
+	 */
+	public double getThroughput() {
+
+		return elapsedNanos > 0 ? latencies.length * 1e9 / elapsedNanos : 0;
+	}
+
+	/**
+	 * Gets a latency percentile, nearest rank
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the latency in ms, 0 if there are no operations
+	 */
+	public double getPercentile(double percentile) {
+
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100");
+		}
+		if (latencies.length == 0) {
+			return 0;
+		}
+		// The epsilon keeps the rounding errors from moving to the next rank
+		int rank = (int) Math.ceil(percentile * latencies.length / 100 - 1e-9);
+		return latencies[Math.max(rank - 1, 0)] / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * @return the median latency in ms
+	 */
+	public double getP50() {
+
+		return getPercentile(50);
+	}
+
+	/**
+	 * @return the 99th percentile latency in ms
+	 */
+	public double getP99() {
+
+		return getPercentile(99);
+	}
+
+	/**
+	 * @return the 99.9th percentile latency in ms
+	 */
+	public double getP999() {
+
+		return getPercentile(99.9);
+	}
+
+	/**
+	 * @return the max latency in ms
+	 */
+	public double getMax() {
+
+		return getPercentile(100);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("%s: %d ops, %d errors, %.1f ops/s, "
+				+ "p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%s", name,
+				getOperations(), errors, getThroughput(), getP50(), getP99(),
+				getP999(), getMax(), complete ? "" : " (incomplete)");
+	}
+}
@@ -0,0 +1,639 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local PayU API that replays recorded responses, so the SDK can be load
+ * tested offline. It answers the <code>service.cgi</code> command endpoint of
+ * the payments and reports APIs, keyed by command, and the
+ * <code>rest/v4.9</code> payment plan endpoints, keyed by method and resource,
+ * e.g. <code>GET plans</code>. The requests without a fixture get a 404.
+ * <p>
+ * The list fixtures, e.g. <code>GET subscriptions</code>, are paged: each
+ * request gets the records of its <code>limit</code> and <code>offset</code>
+ * query parameters, so the list crawlers can be load tested too.
+ * <p>
+ * The latency, the error rate and a slow drip of the response bodies are
+ * configurable, to see how the SDK behaves with a slow or failing API.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public final class PayUStubServer implements Closeable {
+
+	/** The index of the recorded fixtures */
+	private static final String FIXTURES_INDEX = "/stub/fixtures.properties";
+
+	/** The prefix of the paged fixtures in the index */
+	private static final String PAGED = "paged:";
+
+	/** The command of a service.cgi request body */
+	private static final Pattern COMMAND = Pattern.compile("<command>\\s*(\\w+)\\s*</command>");
+
+	/** The resource of a rest request path */
+	private static final Pattern REST_RESOURCE = Pattern.compile("/rest/[^/]+/([^/?]+)");
+
+	/** The server */
+	private final HttpServer server;
+
+	/** The server threads */
+	private final ExecutorService executor;
+
+	/** The response bodies, by request key */
+	private final Map<String, byte[]> fixtures;
+
+	/** The paged list responses, by request key */
+	private final Map<String, PagedFixture> pagedFixtures;
+
+	/** The latency added before answering */
+	private final LatencyDistribution latency;
+
+	/** The rate of requests answered with an error */
+	private final double errorRate;
+
+	/** The status of the injected errors */
+	private final int errorStatus;
+
+	/** The size of the body chunks, 0 to send the body at once */
+	private final int dripChunkSize;
+
+	/** The delay between the body chunks in ms */
+	private final long dripDelay;
+
+	/** The random source */
+	private final Random random;
+
+	/** The number of received requests */
+	private final AtomicLong requests = new AtomicLong();
+
+	/** The number of injected errors */
+	private final AtomicLong injectedErrors = new AtomicLong();
+
+	/**
+	 * Starts a server from its builder
+	 *
+	 * @param builder the builder
+	 * @throws IOException
+	 */
+	private PayUStubServer(Builder builder) throws IOException {
+
+		fixtures = new HashMap<String, byte[]>(builder.fixtures);
+		pagedFixtures = new HashMap<String, PagedFixture>(builder.pagedFixtures);
+		latency = builder.latency;
+		errorRate = builder.errorRate;
+		errorStatus = builder.errorStatus;
+		dripChunkSize = builder.dripChunkSize;
+		dripDelay = builder.dripDelay;
+		random = builder.seed != null ? new Random(builder.seed) : new Random();
+
+		// Without it the small responses wait for the delayed ACK of the client
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), builder.backlog);
+		server.createContext("/", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+
+				try {
+					answer(exchange);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					exchange.close();
+				}
+			}
+		});
+		executor = Executors.newFixedThreadPool(builder.threads);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * @return a new builder without fixtures
+	 */
+	public static Builder builder() {
+
+		return new Builder();
+	}
+
+	/**
+	 * @return the base url of the server, e.g. http://localhost:12345
+	 */
+	public String getBaseUrl() {
+
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * @return the payments API url of the server
+	 */
+	public String getPaymentsUrl() {
+
+		return getBaseUrl() + "/payments-api/";
+	}
+
+	/**
+	 * @return the reports API url of the server
+	 */
+	public String getReportsUrl() {
+
+		return getBaseUrl() + "/reports-api/";
+	}
+
+	/**
+	 * @return the number of received requests
+	 */
+	public long getRequests() {
+
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of requests answered with an injected error
+	 */
+	public long getInjectedErrors() {
+
+		return injectedErrors.get();
+	}
+
+	/**
+	 * Stops the server
+	 */
+	@Override
+	public void close() {
+
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Answers a request
+	 *
+	 * @param exchange the request exchange
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private void answer(HttpExchange exchange) throws IOException, InterruptedException {
+
+		requests.incrementAndGet();
+
+		String body = readBody(exchange.getRequestBody());
+		String key = getKey(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), body);
+
+		long delay = latency.nextMillis(random);
+		if (delay > 0) {
+			Thread.sleep(delay);
+		}
+
+		if (errorRate > 0 && random.nextDouble() < errorRate) {
+			injectedErrors.incrementAndGet();
+			exchange.sendResponseHeaders(errorStatus, -1);
+			return;
+		}
+
+		byte[] response = null;
+		if (key != null) {
+			PagedFixture paged = pagedFixtures.get(key);
+			response = paged != null ? paged.page(exchange.getRequestURI().getRawQuery())
+					: fixtures.get(key);
+		}
+		if (response == null) {
+			exchange.sendResponseHeaders(404, -1);
+			return;
+		}
+
+		exchange.getResponseHeaders().add("Content-Type", "application/xml; charset=utf-8");
+		OutputStream out = exchange.getResponseBody();
+		if (dripChunkSize > 0) {
+			exchange.sendResponseHeaders(200, 0);
+			for (int offset = 0; offset < response.length; offset += dripChunkSize) {
+				out.write(response, offset, Math.min(dripChunkSize, response.length - offset));
+				out.flush();
+				Thread.sleep(dripDelay);
+			}
+		}
+		else {
+			exchange.sendResponseHeaders(200, response.length);
+			out.write(response);
+		}
+		out.close();
+	}
+
+	/**
+	 * Gets the fixture key of a request
+	 *
+	 * @param method the request method
+	 * @param path the request path
+	 * @param body the request body
+	 * @return the command of the service.cgi requests, the method and
+	 *         resource of the rest ones, null otherwise
+	 */
+	static String getKey(String method, String path, String body) {
+
+		if (path.endsWith("service.cgi")) {
+			Matcher matcher = COMMAND.matcher(body);
+			return matcher.find() ? matcher.group(1) : null;
+		}
+
+		Matcher matcher = REST_RESOURCE.matcher(path);
+		return matcher.find() ? method + " " + matcher.group(1) : null;
+	}
+
+	/**
+	 * @param in the request body stream
+	 * @return the request body
+	 * @throws IOException
+	 */
+	private static String readBody(InputStream in) throws IOException {
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			body.write(buffer, 0, read);
+		}
+		return body.toString("UTF-8");
+	}
+
+	/**
+	 * A list response whose records are sent by pages
+	 */
+	static final class PagedFixture {
+
+		/** The response up to the records */
+		private final String head;
+
+		/** The response after the records */
+		private final String tail;
+
+		/** The records */
+		private final List<String> records = new ArrayList<String>();
+
+		/**
+		 * @param xml the list response, its records are the children of the
+		 *            first child of the root, e.g.
+		 *            <code>subscriptionsListResponse/subscriptions</code>
+		 * @throws IOException if the response is not a list
+		 */
+		PagedFixture(String xml) throws IOException {
+
+			try {
+				DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+				Document document = factory.newDocumentBuilder().parse(
+						new InputSource(new StringReader(xml)));
+
+				Node list = document.getDocumentElement().getFirstChild();
+				while (list != null && !(list instanceof Element)) {
+					list = list.getNextSibling();
+				}
+				if (list == null) {
+					throw new IOException("The fixture is not a list " + xml);
+				}
+
+				Transformer transformer = TransformerFactory.newInstance().newTransformer();
+				transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+				while (list.getFirstChild() != null) {
+					Node record = list.removeChild(list.getFirstChild());
+					if (record instanceof Element) {
+						records.add(toXml(transformer, record));
+					}
+				}
+
+				// Marks where the records go
+				list.appendChild(document.createComment("records"));
+				String envelope = toXml(transformer, document);
+				int mark = envelope.indexOf("<!--records-->");
+				head = envelope.substring(0, mark);
+				tail = envelope.substring(mark + "<!--records-->".length());
+			}
+			catch (IOException e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new IOException("The fixture can not be parsed " + e.getMessage(), e);
+			}
+		}
+
+		/**
+		 * @param query the raw query of the request, may be null
+		 * @return the response with the records of the limit and offset of
+		 *         the query, all of them without limit
+		 * @throws IOException
+		 */
+		byte[] page(String query) throws IOException {
+
+			int limit = records.size();
+			int offset = 0;
+			if (query != null) {
+				for (String parameter : query.split("&")) {
+					int equals = parameter.indexOf('=');
+					if (equals < 0) {
+						continue;
+					}
+					String name = URLDecoder.decode(parameter.substring(0, equals), "UTF-8");
+					String value = URLDecoder.decode(parameter.substring(equals + 1), "UTF-8");
+					if ("limit".equals(name)) {
+						limit = Integer.parseInt(value);
+					} else if ("offset".equals(name)) {
+						offset = Integer.parseInt(value);
+					}
+				}
+			}
+
+			StringBuilder xml = new StringBuilder(head);
+			for (int i = offset; i < Math.min(records.size(), offset + limit); i++) {
+				xml.append(records.get(i));
+			}
+			return xml.append(tail).toString().getBytes("UTF-8");
+		}
+
+		/**
+		 * @param transformer the transformer
+		 * @param node the node to write
+		 * @return the XML of the node
+		 * @throws Exception
+		 */
+		private static String toXml(Transformer transformer, Node node) throws Exception {
+
+			StringWriter writer = new StringWriter();
+			transformer.transform(new DOMSource(node), new StreamResult(writer));
+			return writer.toString();
+		}
+	}
+
+	/**
+	 * Builds and starts a {@link PayUStubServer}
+	 */
+	public static final class Builder {
+
+		/** The response bodies, by request key */
+		private final Map<String, byte[]> fixtures = new HashMap<String, byte[]>();
+
+		/** The paged list responses, by request key */
+		private final Map<String, PagedFixture> pagedFixtures = new HashMap<String, PagedFixture>();
+
+		/** The latency added before answering */
+		private LatencyDistribution latency = LatencyDistribution.NONE;
+
+		/** The rate of requests answered with an error */
+		private double errorRate;
+
+		/** The status of the injected errors */
+		private int errorStatus = 500;
+
+		/** The size of the body chunks, 0 to send the body at once */
+		private int dripChunkSize;
+
+		/** The delay between the body chunks in ms */
+		private long dripDelay;
+
+		/** The number of server threads */
+		private int threads = 64;
+
+		/** The accept backlog, 0 for the system default */
+		private int backlog;
+
+		/** The random seed, null for a random one */
+		private Long seed;
+
+		/**
+		 * Default private constructor
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * Adds the recorded fixtures listed in
+		 * <code>/stub/fixtures.properties</code>
+		 *
+		 * @return this builder
+		 * @throws IOException if a fixture can not be read
+		 */
+		public Builder recordedFixtures() throws IOException {
+
+			Properties index = new Properties();
+			InputStream in = getResource(FIXTURES_INDEX);
+			try {
+				index.load(in);
+			}
+			finally {
+				in.close();
+			}
+
+			for (String key : index.stringPropertyNames()) {
+				String name = index.getProperty(key);
+				boolean paged = name.startsWith(PAGED);
+				InputStream fixture = getResource("/stub/"
+						+ (paged ? name.substring(PAGED.length()) : name));
+				try {
+					if (paged) {
+						pagedFixture(key, readBody(fixture));
+					} else {
+						fixture(key, readBody(fixture));
+					}
+				}
+				finally {
+					fixture.close();
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * @param key the request key: a command, e.g. <code>PING</code>, or a
+		 *            method and rest resource, e.g. <code>GET plans</code>
+		 * @param xml the response body
+		 * @return this builder
+		 * @throws IOException
+		 */
+		public Builder fixture(String key, String xml) throws IOException {
+
+			pagedFixtures.remove(key);
+			fixtures.put(key, xml.getBytes("UTF-8"));
+			return this;
+		}
+
+		/**
+		 * @param key the request key of a list, e.g.
+		 *            <code>GET subscriptions</code>
+		 * @param xml the list response with every record, sent by the pages
+		 *            of the limit and offset of the requests
+		 * @return this builder
+		 * @throws IOException if the response is not a list
+		 */
+		public Builder pagedFixture(String key, String xml) throws IOException {
+
+			fixtures.remove(key);
+			pagedFixtures.put(key, new PagedFixture(xml));
+			return this;
+		}
+
+		/**
+		 * @param latency the latency added before answering
+		 * @return this builder
+		 */
+		public Builder latency(LatencyDistribution latency) {
+
+			if (latency == null) {
+				throw new IllegalArgumentException("The latency may not be null");
+			}
+			this.latency = latency;
+			return this;
+		}
+
+		/**
+		 * @param errorRate the rate of requests answered with an error,
+		 *            between 0 and 1
+		 * @param errorStatus the status of the errors
+		 * @return this builder
+		 */
+		public Builder errors(double errorRate, int errorStatus) {
+
+			if (errorRate < 0 || errorRate > 1) {
+				throw new IllegalArgumentException("The error rate must be between 0 and 1");
+			}
+			this.errorRate = errorRate;
+			this.errorStatus = errorStatus;
+			return this;
+		}
+
+		/**
+		 * Sends the response bodies in chunks, waiting between them
+		 *
+		 * @param chunkSize the size of the chunks in bytes
+		 * @param delayMillis the delay between the chunks in ms
+		 * @return this builder
+		 */
+		public Builder slowDrip(int chunkSize, long delayMillis) {
+
+			if (chunkSize <= 0 || delayMillis < 0) {
+				throw new IllegalArgumentException("Invalid slow drip settings");
+			}
+			this.dripChunkSize = chunkSize;
+			this.dripDelay = delayMillis;
+			return this;
+		}
+
+		/**
+		 * @param threads the number of server threads, the requests in
+		 *            flight beyond it wait
+		 * @return this builder
+		 */
+		public Builder threads(int threads) {
+
+			if (threads <= 0) {
+				throw new IllegalArgumentException("The number of threads must be positive");
+			}
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * @param backlog the accept backlog, 0 for the system default
+		 * @return this builder
+		 */
+		public Builder backlog(int backlog) {
+
+			this.backlog = backlog;
+			return this;
+		}
+
+		/**
+		 * @param seed the seed of the latencies and errors, for repeatable
+		 *            runs
+		 * @return this builder
+		 */
+		public Builder seed(long seed) {
+
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * Starts the server in a random port
+		 *
+		 * @return the started server
+		 * @throws IOException if the server can not be started
+		 */
+		public PayUStubServer start() throws IOException {
+
+			return new PayUStubServer(this);
+		}
+
+		/**
+		 * @param name the resource name
+		 * @return the resource stream
+		 * @throws IOException if the resource does not exist
+		 */
+		private static InputStream getResource(String name) throws IOException {
+
+			InputStream in = PayUStubServer.class.getResourceAsStream(name);
+			if (in == null) {
+				throw new IOException("Missing stub resource " + name);
+			}
+			return in;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.stub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.PayUClient;
+import com.payu.sdk.PayUCustomers;
+import com.payu.sdk.PayURecurringBill;
+import com.payu.sdk.PayURecurringBillItem;
+import com.payu.sdk.PayUSubscription;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.model.Bank;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionState;
+import com.payu.sdk.paymentplan.model.Customer;
+import com.payu.sdk.paymentplan.model.RecurringBill;
+import com.payu.sdk.paymentplan.model.RecurringBillItem;
+import com.payu.sdk.paymentplan.model.Subscription;
+import com.payu.sdk.paymentplan.model.SubscriptionPlan;
+
+/**
+ * Tests the {@link PayUStubServer} through the SDK.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PayUStubServerTest {
+
+	/** The void parameters */
+	private static final Map<String, String> VOID_PARAMETERS = new HashMap<String, String>();
+
+	static {
+		VOID_PARAMETERS.put(PayU.PARAMETERS.ORDER_ID, "844122487");
+		VOID_PARAMETERS.put(PayU.PARAMETERS.TRANSACTION_ID, "3e16d3a5-4cdd-4a3c-8d0e-4c7e0e2b7c11");
+	}
+
+	private PayUStubServer server;
+
+	private PayUClient client;
+
+	@AfterMethod(alwaysRun = true)
+	public void stop() {
+
+		if (client != null) {
+			client.close();
+		}
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	@Test
+	public void replaysTheRecordedFixtures() throws Exception {
+
+		start(PayUStubServer.builder().recordedFixtures());
+
+		Assert.assertTrue(client.payments().doPing());
+
+		TransactionResponse response = client.payments().doVoid(VOID_PARAMETERS);
+		Assert.assertEquals(response.getState(), TransactionState.APPROVED);
+
+		Map<String, String> bankParameters = new HashMap<String, String>();
+		bankParameters.put(PayU.PARAMETERS.COUNTRY, "CO");
+		List<Bank> banks = client.payments().getPSEBanks(bankParameters);
+		Assert.assertEquals(banks.size(), 3);
+
+		Map<String, String> planParameters = new HashMap<String, String>();
+		planParameters.put(PayU.PARAMETERS.PLAN_CODE, "stub-plan");
+		SubscriptionPlan plan = client.plans().find(planParameters);
+		Assert.assertEquals(plan.getPlanCode(), "stub-plan");
+
+		Assert.assertEquals(server.getRequests(), 4);
+	}
+
+	@Test
+	public void pagesTheRecordedLists() throws Exception {
+
+		start(PayUStubServer.builder().recordedFixtures());
+
+		String paymentsUrl = PayU.paymentsUrl;
+		PayU.paymentsUrl = server.getPaymentsUrl();
+		PayU.apiKey = "apiKey";
+		PayU.apiLogin = "apiLogin";
+		PayU.merchantId = "500238";
+		PayU.language = Language.es;
+		try {
+			Map<String, String> parameters = new HashMap<String, String>();
+			parameters.put(PayU.PARAMETERS.LIMIT, "10");
+
+			List<String> ids = new ArrayList<String>();
+			for (Subscription subscription : PayUSubscription.iterate(parameters)) {
+				ids.add(subscription.getId());
+			}
+			Assert.assertEquals(ids.size(), 25);
+			Assert.assertEquals(ids.get(0), "stub-subscription-01");
+			Assert.assertEquals(ids.get(24), "stub-subscription-25");
+			Assert.assertEquals(server.getRequests(), 3, "Two full pages and the last one");
+
+			ids.clear();
+			for (Customer customer : PayUCustomers.iterate(parameters)) {
+				ids.add(customer.getId());
+			}
+			for (RecurringBill bill : PayURecurringBill.iterate(parameters)) {
+				ids.add(bill.getId());
+			}
+			for (RecurringBillItem item : PayURecurringBillItem.iterate(parameters)) {
+				ids.add(item.getId());
+			}
+			Assert.assertEquals(ids.size(), 75);
+			Assert.assertEquals(ids.get(25), "stub-bill-01");
+			Assert.assertEquals(ids.get(74), "stub-item-25");
+		} finally {
+			PayU.paymentsUrl = paymentsUrl;
+			PayU.apiKey = null;
+			PayU.apiLogin = null;
+			PayU.merchantId = null;
+		}
+	}
+
+	@Test
+	public void pagesByLimitAndOffset() throws Exception {
+
+		PayUStubServer.PagedFixture fixture = new PayUStubServer.PagedFixture(
+				"<listResponse><items><item>1</item><item>2</item><item>3</item></items></listResponse>");
+
+		Assert.assertEquals(new String(fixture.page("limit=1&offset=1"), "UTF-8"),
+				"<listResponse><items><item>2</item></items></listResponse>");
+		Assert.assertEquals(new String(fixture.page("offset=2&limit=5"), "UTF-8"),
+				"<listResponse><items><item>3</item></items></listResponse>");
+		Assert.assertEquals(new String(fixture.page(null), "UTF-8"),
+				"<listResponse><items><item>1</item><item>2</item><item>3</item></items></listResponse>");
+	}
+
+	@Test
+	public void missingFixtureIsNotFound() throws Exception {
+
+		start(PayUStubServer.builder().fixture("PING", "<paymentResponse><code>SUCCESS</code></paymentResponse>"));
+
+		try {
+			client.payments().doVoid(VOID_PARAMETERS);
+			Assert.fail("The request without a fixture was answered");
+		} catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.NO_RESULTS_FOUND);
+		}
+	}
+
+	@Test
+	public void injectsErrors() throws Exception {
+
+		start(PayUStubServer.builder().recordedFixtures().errors(1, 503));
+
+		try {
+			client.payments().doPing();
+			Assert.fail("The injected error was not seen");
+		} catch (ConnectionException e) {
+			Assert.assertEquals(server.getInjectedErrors(), 1);
+		}
+	}
+
+	@Test
+	public void injectsLatency() throws Exception {
+
+		start(PayUStubServer.builder().recordedFixtures().latency(LatencyDistribution.fixed(100)));
+
+		long begin = System.currentTimeMillis();
+		Assert.assertTrue(client.payments().doPing());
+		Assert.assertTrue(System.currentTimeMillis() - begin >= 100);
+	}
+
+	@Test
+	public void dripsTheBody() throws Exception {
+
+		start(PayUStubServer.builder().recordedFixtures().slowDrip(256, 20));
+
+		long begin = System.currentTimeMillis();
+		TransactionResponse response = client.payments().doVoid(VOID_PARAMETERS);
+		Assert.assertEquals(response.getState(), TransactionState.APPROVED);
+		// The recorded response takes several chunks
+		Assert.assertTrue(System.currentTimeMillis() - begin >= 60);
+	}
+
+	@Test
+	public void keysTheRequests() {
+
+		Assert.assertEquals(PayUStubServer.getKey("POST", "/payments-api/4.0/service.cgi",
+				"<request><command>PING</command></request>"), "PING");
+		Assert.assertEquals(PayUStubServer.getKey("GET",
+				"/payments-api/rest/v4.9/plans/stub-plan", ""), "GET plans");
+		Assert.assertNull(PayUStubServer.getKey("GET", "/other", ""));
+	}
+
+	/**
+	 * Starts the server and a client of it
+	 */
+	private void start(PayUStubServer.Builder builder) throws Exception {
+
+		server = builder.seed(1).start();
+		client = PayUClient.builder().apiKey("apiKey").apiLogin("apiLogin")
+				.merchantId("500238").paymentsUrl(server.getPaymentsUrl())
+				.reportsUrl(server.getReportsUrl()).build();
+	}
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.exceptions.ConnectionException;
+import com.payu.sdk.helper.HttpClientHelper;
+import com.payu.sdk.helper.PayUTransport;
+import com.payu.sdk.helper.TransportRequest;
+import com.payu.sdk.helper.TransportResponse;
+import com.payu.sdk.model.Language;
+import com.payu.sdk.paymentplan.model.RecurringBill;
+
+/**
+ * Tests the {@link RecurringBillSync}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class RecurringBillSyncTest {
+
+	private PayUTransport previous;
+
+	private File checkpoint;
+
+	private BillsTransport transport;
+
+	private final List<String> deltas = Collections.synchronizedList(new ArrayList<String>());
+
+	@BeforeMethod
+	public void before() throws IOException {
+
+		PayU.apiKey = "4Vj8eK4rloUd272L48hsrarnUA";
+		PayU.apiLogin = "pRRXKOl8ikMmt9u";
+		PayU.merchantId = "508029";
+		PayU.language = Language.es;
+		previous = HttpClientHelper.getTransport();
+		checkpoint = File.createTempFile("bills", ".sync");
+		checkpoint.delete();
+		transport = new BillsTransport();
+		HttpClientHelper.setTransport(transport);
+		deltas.clear();
+
+		// Three bills a day in September
+		for (int day = 1; day <= 30; day++) {
+			for (int i = 0; i < 3; i++) {
+				transport.bills.put(String.format("bill-09-%02d-%d", day, i),
+						String.format("2026-09-%02d", day) + "|PENDING");
+			}
+		}
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void after() {
+
+		HttpClientHelper.setTransport(previous);
+		PayU.apiKey = null;
+		PayU.apiLogin = null;
+		PayU.merchantId = null;
+		checkpoint.delete();
+	}
+
+	@Test
+	public void syncsOnlyTheDeltas() throws Exception {
+
+		RecurringBillSync sync = sync();
+
+		Assert.assertEquals(sync.sync(date("2026-09-30")), 90L);
+		Assert.assertEquals(deltas.size(), 90);
+		Assert.assertTrue(deltas.contains("bill-09-01-0 added"));
+		Assert.assertEquals(checkpoint().getProperty("highWaterMark"), "2026-09-30");
+		Assert.assertEquals(transport.begins.peek(), "2026-09-01");
+
+		// A change in the overlap, a change before it and a new bill
+		transport.bills.put("bill-09-29-1", "2026-09-29|PAID");
+		transport.bills.put("bill-09-10-1", "2026-09-10|PAID");
+		transport.bills.put("bill-10-02-0", "2026-10-02|PENDING");
+		transport.begins.clear();
+		deltas.clear();
+
+		Assert.assertEquals(sync.sync(date("2026-10-05")), 2L);
+		Assert.assertEquals(new TreeSet<String>(deltas), new TreeSet<String>(Arrays.asList(
+				"bill-09-29-1 changed", "bill-10-02-0 added")));
+		Assert.assertEquals(transport.begins.peek(), "2026-09-28",
+				"Only the overlap is queried again");
+		Assert.assertEquals(checkpoint().getProperty("highWaterMark"), "2026-10-05");
+
+		deltas.clear();
+		Assert.assertEquals(sync.sync(date("2026-10-05")), 0L, "Nothing changed");
+	}
+
+	@Test
+	public void goesOnFromTheLastCompleteWindow() throws Exception {
+
+		transport.failAt = "2026-09-22";
+		RecurringBillSync sync = sync();
+
+		try {
+			sync.sync(date("2026-09-30"));
+			Assert.fail("The fourth window fails");
+		} catch (ConnectionException e) {
+			// Expected
+		}
+		Assert.assertEquals(checkpoint().getProperty("highWaterMark"), "2026-09-21");
+
+		Assert.assertEquals(checkpoint().getProperty("bill.bill-09-19-0"),
+				"2026-09-19|" + date("2026-09-19T10:00:00").getTime()
+						+ "|PENDING|10000|COP|null|null",
+				"The overlap of the high-water mark is kept");
+
+		transport.failAt = null;
+		transport.begins.clear();
+		deltas.clear();
+		Assert.assertEquals(sync.sync(date("2026-09-30")), 27L,
+				"The bills of the overlap are not given again");
+		Assert.assertEquals(checkpoint().getProperty("highWaterMark"), "2026-09-30");
+		Assert.assertEquals(transport.begins.peek(), "2026-09-19");
+		Assert.assertTrue(deltas.contains("bill-09-30-2 added"));
+		Assert.assertFalse(deltas.contains("bill-09-20-0 added"));
+	}
+
+	@Test
+	public void keepsTheBillsWithoutChargeDayAsTheyAreSeen() throws Exception {
+
+		transport.bills.put("bill-undated", "-|PENDING");
+		RecurringBillSync sync = sync();
+
+		Assert.assertEquals(sync.sync(date("2026-09-30")), 91L);
+		Assert.assertEquals(Collections.frequency(deltas, "bill-undated added"), 1);
+		Assert.assertTrue(checkpoint().getProperty("bill.bill-undated").startsWith(
+				"2026-09-30|"), "Kept by the last window it is seen in");
+
+		transport.bills.remove("bill-undated");
+		sync.sync(date("2026-10-10"));
+		Assert.assertNull(checkpoint().getProperty("bill.bill-undated"),
+				"Pruned once out of the overlap");
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void requiresTheCheckpoint() throws Exception {
+
+		RecurringBillSync.builder().start(date("2026-09-01")).handler(handler()).build();
+	}
+
+	private RecurringBillSync sync() throws Exception {
+
+		return RecurringBillSync.builder().checkpoint(checkpoint).start(date("2026-09-01"))
+				.windowDays(7).overlapDays(2).parallelism(3).pageSize(2).handler(handler())
+				.build();
+	}
+
+	private RecurringBillDeltaHandler handler() {
+
+		return new RecurringBillDeltaHandler() {
+
+			@Override
+			public void onDelta(RecurringBill bill, boolean added) {
+				deltas.add(bill.getId() + (added ? " added" : " changed"));
+			}
+		};
+	}
+
+	private Properties checkpoint() throws IOException {
+
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(checkpoint);
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+
+	private static Date date(String day) throws Exception {
+
+		return new SimpleDateFormat(day.length() > 10 ? "yyyy-MM-dd'T'HH:mm:ss" : "yyyy-MM-dd")
+				.parse(day);
+	}
+
+	/**
+	 * Filters the bills by the charge day and pages them
+	 */
+	private static final class BillsTransport implements PayUTransport {
+
+		/** The bills, their value is the charge day, - if none, and state */
+		private final Map<String, String> bills = new ConcurrentHashMap<String, String>();
+
+		/** The first day of each query, in order */
+		private final Queue<String> begins = new PriorityBlockingQueue<String>();
+
+		private volatile String failAt;
+
+		@Override
+		public TransportResponse execute(TransportRequest request) throws IOException {
+
+			String url = request.getUrl();
+			String begin = parameter("dateBegin", url);
+			String end = parameter("dateFinal", url);
+			int limit = Integer.parseInt(parameter("limit", url));
+			int offset = Integer.parseInt(parameter("offset", url));
+			begins.add(begin);
+			if (begin.equals(failAt)) {
+				throw new IOException("Connection reset");
+			}
+
+			List<String> ids = new ArrayList<String>();
+			for (Map.Entry<String, String> bill : bills.entrySet()) {
+				String day = bill.getValue().split("\\|")[0];
+				if (day.equals("-") || day.compareTo(begin) >= 0 && day.compareTo(end) <= 0) {
+					ids.add(bill.getKey());
+				}
+			}
+			Collections.sort(ids);
+
+			StringBuilder xml = new StringBuilder("<recurringBillListResponse><recurringBills>");
+			for (int i = offset; i < Math.min(ids.size(), offset + limit); i++) {
+				String[] bill = bills.get(ids.get(i)).split("\\|");
+				xml.append("<recurringBill><id>").append(ids.get(i)).append("</id><state>")
+						.append(bill[1]).append("</state><amount>10000</amount>")
+						.append("<currency>COP</currency>");
+				if (!bill[0].equals("-")) {
+					xml.append("<dateCharge>").append(bill[0]).append("T10:00:00</dateCharge>");
+				}
+				xml.append("</recurringBill>");
+			}
+			final byte[] body = xml.append("</recurringBills></recurringBillListResponse>")
+					.toString().getBytes("UTF-8");
+
+			return new TransportResponse() {
+
+				@Override
+				public int getStatusCode() {
+					return 200;
+				}
+
+				@Override
+				public String getReasonPhrase() {
+					return "OK";
+				}
+
+				@Override
+				public InputStream getBody() {
+					return new ByteArrayInputStream(body);
+				}
+
+				@Override
+				public void close() {
+				}
+			};
+		}
+
+		private static String parameter(String name, String url) {
+
+			Matcher matcher = Pattern.compile("[?&]" + name + "=([^&]+)").matcher(url);
+			Assert.assertTrue(matcher.find(), url);
+			return matcher.group(1);
+		}
+	}
+}
@@ -30,6 +30,7 @@ import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.http.client.HttpClient;
@@ -55,6 +56,7 @@ import com.payu.sdk.exceptions.PayUException;
 import com.payu.sdk.exceptions.SDKException;
 import com.payu.sdk.helper.HttpClientHelper;
 import com.payu.sdk.helper.SignatureHelper;
+import com.payu.sdk.helper.SslSocketFactories;
 import com.payu.sdk.helper.WebClientDevWrapper;
 import com.payu.sdk.model.AdditionalValue;
 import com.payu.sdk.model.Address;
@@ -63,11 +65,15 @@ import com.payu.sdk.model.BcashRequest;
 import com.payu.sdk.model.Currency;
 import com.payu.sdk.model.Order;
 import com.payu.sdk.model.Transaction;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.model.TransactionState;
 import com.payu.sdk.model.TransactionType;
 import com.payu.sdk.model.request.Command;
 import com.payu.sdk.paymentplan.model.SubscriptionPlan;
 import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.reporting.model.ReportingResponse;
 import com.payu.sdk.utils.CommonRequestUtil;
+import com.payu.sdk.utils.JaxbContextRegistry;
 import com.payu.sdk.utils.JaxbUtil;
 import com.payu.sdk.utils.LoggerUtil;
 import com.payu.sdk.utils.PaymentPlanRequestUtil;
@@ -430,6 +436,35 @@ public class UtilTest {
 		Assert.assertNull(el);
 	}
 
+	/**
+	 * The payload adapter reads each kind of payload from its DOM node
+	 */
+	@Test
+	public void payloadAdapterUnmarshalTest() throws PayUException {
+
+		String transaction = "<reportingResponse><code>SUCCESS</code><result>"
+				+ "<payload class=\"transactionResponse\"><orderId>5</orderId>"
+				+ "<state>APPROVED</state></payload></result></reportingResponse>";
+		TransactionResponse transactionResponse = (TransactionResponse) ReportingResponse
+				.fromXml(transaction).getResult().getPayload();
+		Assert.assertEquals(transactionResponse.getOrderId(), Integer.valueOf(5));
+		Assert.assertEquals(transactionResponse.getState(), TransactionState.APPROVED);
+
+		String order = "<reportingResponse><code>SUCCESS</code><result>"
+				+ "<payload class=\"order\"><id>7</id><referenceCode>r1</referenceCode>"
+				+ "</payload></result></reportingResponse>";
+		Order orderPayload = (Order) ReportingResponse.fromXml(order).getResult().getPayload();
+		Assert.assertEquals(orderPayload.getId(), Integer.valueOf(7));
+		Assert.assertEquals(orderPayload.getReferenceCode(), "r1");
+
+		String list = "<reportingResponse><code>SUCCESS</code><result>"
+				+ "<payload class=\"list\"><payload><order><id>7</id></order>"
+				+ "<order><id>8</id></order></payload></payload></result></reportingResponse>";
+		List<?> orders = (List<?>) ReportingResponse.fromXml(list).getResult().getPayload();
+		Assert.assertEquals(orders.size(), 2);
+		Assert.assertEquals(((Order) orders.get(1)).getId(), Integer.valueOf(8));
+	}
+
 	/**
 	 * The xml formatter test
 	 */
@@ -446,6 +481,44 @@ public class UtilTest {
 
 	}
 
+	/**
+	 * The xml formatter test with a valid xml
+	 */
+	@Test
+	public void xmlFormatterIndentsTest() throws PayUException {
+
+		String formatted = XmlFormatter.prettyFormat(
+				"<paymentResponse><code>SUCCESS</code><error/></paymentResponse>");
+
+		Assert.assertTrue(formatted.contains("\n  <code>SUCCESS</code>"), formatted);
+		Assert.assertTrue(formatted.contains("\n  <error/>"), formatted);
+	}
+
+	/**
+	 * The xml indenter test
+	 */
+	@Test
+	public void xmlIndenterTest() {
+
+		String xml = "<?xml version=\"1.0\"?><paymentResponse><code>SUCCESS</code>"
+				+ "<transactionResponse><state><![CDATA[<APPROVED>]]></state><error/>"
+				+ "</transactionResponse></paymentResponse>";
+
+		String expected = "<?xml version=\"1.0\"?>\n"
+				+ "<paymentResponse>\n"
+				+ "  <code>SUCCESS</code>\n"
+				+ "  <transactionResponse>\n"
+				+ "    <state><![CDATA[<APPROVED>]]></state>\n"
+				+ "    <error/>\n"
+				+ "  </transactionResponse>\n"
+				+ "</paymentResponse>";
+
+		Assert.assertEquals(XmlFormatter.indent(xml), expected);
+		Assert.assertEquals(XmlFormatter.indent(expected), expected);
+		Assert.assertNull(XmlFormatter.indent(null));
+		Assert.assertEquals(XmlFormatter.indent("<open><unclosed"), "<open>\n  <unclosed");
+	}
+
 	/* OTHER TESTS */
 
 	/**
@@ -548,8 +621,9 @@ public class UtilTest {
 				PayURecurringBillItem.class, PayUReports.class,
 				PayUSubscription.class, PayUTokens.class,
 				HttpClientHelper.class, SignatureHelper.class,
+				SslSocketFactories.class,
 				WebClientDevWrapper.class, CommonRequestUtil.class,
-				JaxbUtil.class, LoggerUtil.class, PaymentPlanRequestUtil.class,
+				JaxbContextRegistry.class, JaxbUtil.class, LoggerUtil.class, PaymentPlanRequestUtil.class,
 				RequestUtil.class, XmlFormatter.class };
 
 		for (Class clasz : classes) {
@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.payments.model.PaymentRequest;
+import com.payu.sdk.payments.model.PaymentResponse;
+
+/**
+ * Tests the {@link JaxbContextRegistry} and its use from {@link JaxbUtil}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class JaxbContextRegistryTest {
+
+	private final AtomicInteger counter = new AtomicInteger();
+
+	@Test
+	public void contextIsCreatedOnce() throws JAXBException {
+
+		Assert.assertSame(JaxbContextRegistry.getContext(PaymentResponse.class),
+				JaxbContextRegistry.getContext(PaymentResponse.class));
+		Assert.assertNotSame(JaxbContextRegistry.getContext(PaymentResponse.class),
+				JaxbContextRegistry.getContext(TransactionResponse.class));
+	}
+
+	@Test
+	public void marshallersAreReused() throws JAXBException {
+
+		Marshaller marshaller = JaxbContextRegistry.acquireMarshaller(Sample.class, true);
+		JaxbContextRegistry.releaseMarshaller(Sample.class, marshaller);
+
+		Marshaller reused = JaxbContextRegistry.acquireMarshaller(Sample.class, false);
+		try {
+			Assert.assertSame(reused, marshaller);
+			Assert.assertEquals(reused.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT), Boolean.FALSE);
+		}
+		finally {
+			JaxbContextRegistry.releaseMarshaller(Sample.class, reused);
+		}
+	}
+
+	@Test(threadPoolSize = 16, invocationCount = 400)
+	public void concurrentConversions() throws Exception {
+
+		String id = "tx-" + counter.incrementAndGet();
+
+		PaymentResponse response = JaxbUtil.convertXmlToJava(PaymentResponse.class,
+				"<paymentResponse><code>SUCCESS</code><transactionResponse>"
+						+ "<transactionId>" + id + "</transactionId>"
+						+ "</transactionResponse></paymentResponse>");
+
+		Assert.assertEquals(response.getTransactionResponse().getTransactionId(), id);
+
+		PaymentRequest request = RequestUtil.buildPaymentsPingRequest();
+		request.setApiLogin(id);
+
+		String xml = JaxbUtil.convertJavaToXml(request, false);
+
+		Assert.assertTrue(xml.contains("<apiLogin>" + id + "</apiLogin>"), xml);
+	}
+
+	/**
+	 * A class only bound by this test, so its pool is not shared
+	 */
+	@XmlRootElement(name = "sample")
+	public static class Sample implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -0,0 +1,344 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+
+/**
+ * Tests the {@link LoadingCache}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class LoadingCacheTest {
+
+	private final FakeTicker ticker = new FakeTicker();
+
+	@Test
+	public void coldKeyIsLoadedOnce() throws Exception {
+
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingLoader loader = new CountingLoader() {
+
+			@Override
+			public String load(String key) throws SDKException {
+				super.load(key);
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return key + "-value";
+			}
+		};
+		final LoadingCache<String, String> cache = cache(loader, 1000, 1000, 10);
+
+		int threads = 32;
+		final CountDownLatch started = new CountDownLatch(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(new Callable<String>() {
+
+					@Override
+					public String call() throws Exception {
+						started.countDown();
+						return cache.get("VISA");
+					}
+				}));
+			}
+
+			started.await(5, TimeUnit.SECONDS);
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<String> result : results) {
+				Assert.assertEquals(result.get(5, TimeUnit.SECONDS), "VISA-value");
+			}
+			Assert.assertEquals(loader.calls.get(), 1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void valuesExpire() throws SDKException {
+
+		CountingLoader loader = new CountingLoader();
+		LoadingCache<String, String> cache = cache(loader, 1000, 1000, 10);
+
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(999);
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(1);
+		Assert.assertNull(cache.getIfPresent("VISA"));
+		Assert.assertEquals(cache.get("VISA"), "VISA-2");
+		Assert.assertEquals(loader.calls.get(), 2);
+	}
+
+	@Test
+	public void valuesAreRefreshedAhead() throws Exception {
+
+		final CountDownLatch refreshing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		CountingLoader loader = new CountingLoader() {
+
+			@Override
+			public String load(String key) throws SDKException {
+				String value = super.load(key);
+				if (calls.get() == 2) {
+					refreshing.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return value;
+			}
+		};
+		final LoadingCache<String, String> cache = cache(loader, 1000, 500, 10);
+
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(600);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> refresher = executor.submit(new Callable<String>() {
+
+				@Override
+				public String call() throws Exception {
+					return cache.get("VISA");
+				}
+			});
+
+			Assert.assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+			// The other readers are not blocked by the refresh
+			Assert.assertEquals(cache.get("VISA"), "VISA-1");
+			release.countDown();
+
+			Assert.assertEquals(refresher.get(5, TimeUnit.SECONDS), "VISA-2");
+			Assert.assertEquals(cache.get("VISA"), "VISA-2");
+			Assert.assertEquals(loader.calls.get(), 2);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void failedRefreshKeepsTheValue() throws SDKException {
+
+		CountingLoader loader = new CountingLoader() {
+
+			@Override
+			public String load(String key) throws SDKException {
+				String value = super.load(key);
+				if (calls.get() == 2) {
+					throw new PayUException(ErrorCode.API_ERROR, "unavailable");
+				}
+				return value;
+			}
+		};
+		LoadingCache<String, String> cache = cache(loader, 1000, 500, 10);
+
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(600);
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		Assert.assertEquals(cache.get("VISA"), "VISA-3");
+		Assert.assertEquals(loader.calls.get(), 3);
+	}
+
+	@Test
+	public void leastRecentlyReadValuesAreEvicted() throws SDKException {
+
+		LoadingCache<String, String> cache = cache(new CountingLoader(), 1000, 1000, 2);
+
+		cache.get("VISA");
+		ticker.advance(1);
+		cache.get("MASTERCARD");
+		ticker.advance(1);
+		cache.get("VISA");
+		ticker.advance(1);
+		cache.get("AMEX");
+
+		Assert.assertEquals(cache.size(), 2);
+		Assert.assertNull(cache.getIfPresent("MASTERCARD"));
+		Assert.assertNotNull(cache.getIfPresent("VISA"));
+		Assert.assertNotNull(cache.getIfPresent("AMEX"));
+	}
+
+	@Test
+	public void nullsAndErrorsAreNotCached() throws SDKException {
+
+		CountingLoader loader = new CountingLoader() {
+
+			@Override
+			public String load(String key) throws SDKException {
+				super.load(key);
+				if (calls.get() == 1) {
+					throw new PayUException(ErrorCode.API_ERROR, "unavailable");
+				}
+				return null;
+			}
+		};
+		LoadingCache<String, String> cache = cache(loader, 1000, 1000, 10);
+
+		try {
+			cache.get("VISA");
+			Assert.fail("The load error was not thrown");
+		} catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.API_ERROR);
+		}
+		Assert.assertNull(cache.get("VISA"));
+		Assert.assertNull(cache.get("VISA"));
+		Assert.assertEquals(loader.calls.get(), 3);
+		Assert.assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void invalidatedValuesAreReloaded() throws SDKException {
+
+		CountingLoader loader = new CountingLoader();
+		LoadingCache<String, String> cache = cache(loader, 1000, 1000, 10);
+
+		cache.get("VISA");
+		cache.invalidate("VISA");
+		Assert.assertEquals(cache.get("VISA"), "VISA-2");
+		cache.invalidateAll();
+		Assert.assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void valuesAreRefreshedOnTheExecutor() throws SDKException {
+
+		final List<Runnable> refreshes = new ArrayList<Runnable>();
+		CountingLoader loader = new CountingLoader();
+		LoadingCache<String, String> cache = new LoadingCache<String, String>(loader, 1000,
+				800, 10, new Executor() {
+
+					@Override
+					public void execute(Runnable command) {
+						refreshes.add(command);
+					}
+				}, ticker);
+
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(800);
+
+		// The reading thread does not wait for the reload
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		Assert.assertEquals(refreshes.size(), 1);
+		Assert.assertEquals(loader.calls.get(), 1);
+
+		refreshes.get(0).run();
+		Assert.assertEquals(cache.get("VISA"), "VISA-2");
+		Assert.assertEquals(loader.calls.get(), 2);
+	}
+
+	@Test
+	public void rejectedRefreshIsRetried() throws SDKException {
+
+		final AtomicInteger submitted = new AtomicInteger();
+		CountingLoader loader = new CountingLoader();
+		LoadingCache<String, String> cache = new LoadingCache<String, String>(loader, 1000,
+				800, 10, new Executor() {
+
+					@Override
+					public void execute(Runnable command) {
+						submitted.incrementAndGet();
+						throw new RejectedExecutionException();
+					}
+				}, ticker);
+
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		ticker.advance(800);
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		Assert.assertEquals(cache.get("VISA"), "VISA-1");
+		Assert.assertEquals(submitted.get(), 2);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidSize() {
+
+		new LoadingCache<String, String>(new CountingLoader(), 1000, 1000, 0);
+	}
+
+	private LoadingCache<String, String> cache(CountingLoader loader, long timeToLive,
+			long refreshAfter, int maximumSize) {
+
+		return new LoadingCache<String, String>(loader, timeToLive, refreshAfter, maximumSize,
+				null, ticker);
+	}
+
+	/**
+	 * Loads the key followed by the number of loads
+	 */
+	private static class CountingLoader implements LoadingCache.Loader<String, String> {
+
+		protected final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public String load(String key) throws SDKException {
+			return key + "-" + calls.incrementAndGet();
+		}
+	}
+
+	/**
+	 * A time source moved by the tests
+	 */
+	private static class FakeTicker implements LoadingCache.Ticker {
+
+		private final AtomicLong nanos = new AtomicLong();
+
+		@Override
+		public long read() {
+			return nanos.get();
+		}
+
+		void advance(long millis) {
+			nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+	}
+}
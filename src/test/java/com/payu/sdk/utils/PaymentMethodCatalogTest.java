@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.model.PaymentCountry;
+import com.payu.sdk.model.PaymentMethodApi;
+import com.payu.sdk.model.PaymentMethodComplete;
+import com.payu.sdk.model.PaymentMethodType;
+
+/**
+ * Tests the {@link PaymentMethodCatalog}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PaymentMethodCatalogTest {
+
+	private final PaymentMethodCatalog catalog = new PaymentMethodCatalog(Arrays.asList(
+			new PaymentMethodComplete("35", "VISA", "CO"),
+			new PaymentMethodComplete("36", "VISA", "PA"),
+			new PaymentMethodComplete("25", "PSE", "CO"),
+			new PaymentMethodComplete("140", "OXXO", "MX"),
+			new PaymentMethodComplete("900", "NEW_WALLET", "co"),
+			new PaymentMethodComplete("901", "GIFT_CARD", "XX"),
+			new PaymentMethodComplete("902", null, "CO")), Arrays.asList(
+			available("VISA", PaymentMethodType.CREDIT_CARD),
+			available("PSE", PaymentMethodType.PSE),
+			available("OXXO", PaymentMethodType.CASH),
+			available("GIFT_CARD", null),
+			available("AMEX", PaymentMethodType.CREDIT_CARD),
+			null));
+
+	@Test
+	public void paymentMethodsByName() {
+
+		PaymentMethodApi visa = catalog.getPaymentMethod("VISA");
+
+		Assert.assertEquals(visa.getName(), "VISA");
+		Assert.assertEquals(visa.getType(), PaymentMethodType.CREDIT_CARD);
+		Assert.assertEquals(catalog.getPaymentMethod("OXXO").getType(), PaymentMethodType.CASH);
+
+		// Not listed, without availability or without type
+		Assert.assertNull(catalog.getPaymentMethod("AMEX"));
+		Assert.assertNull(catalog.getPaymentMethod("NEW_WALLET"));
+		Assert.assertNull(catalog.getPaymentMethod("GIFT_CARD"));
+		Assert.assertNull(catalog.getPaymentMethod(null));
+	}
+
+	@Test
+	public void paymentMethodsByType() {
+
+		List<PaymentMethodApi> creditCards = catalog.getPaymentMethods(PaymentMethodType.CREDIT_CARD);
+
+		Assert.assertEquals(creditCards.size(), 1);
+		Assert.assertEquals(creditCards.get(0).getName(), "VISA");
+		Assert.assertTrue(catalog.getPaymentMethods(PaymentMethodType.REFERENCED).isEmpty());
+		Assert.assertEquals(catalog.getPaymentMethods().size(), 3);
+	}
+
+	@Test
+	public void paymentMethodsByCountry() {
+
+		List<PaymentMethodComplete> colombia = catalog.getPaymentMethods(PaymentCountry.CO);
+
+		Assert.assertEquals(colombia.size(), 3);
+		Assert.assertEquals(colombia.get(0).getId(), "35");
+		Assert.assertEquals(colombia.get(2).getDescription(), "NEW_WALLET");
+		Assert.assertEquals(catalog.getPaymentMethods(PaymentCountry.PA).size(), 1);
+		Assert.assertTrue(catalog.getPaymentMethods(PaymentCountry.BR).isEmpty());
+	}
+
+	@Test
+	public void emptyCatalog() {
+
+		Assert.assertTrue(PaymentMethodCatalog.EMPTY.isEmpty());
+		Assert.assertTrue(new PaymentMethodCatalog(null, null).isEmpty());
+		Assert.assertEquals(catalog.size(), 6);
+		Assert.assertNull(PaymentMethodCatalog.EMPTY.getPaymentMethod("VISA"));
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void indexesAreUnmodifiable() {
+
+		catalog.getPaymentMethods(PaymentMethodType.CREDIT_CARD).clear();
+	}
+
+	/**
+	 * @return the availability of a payment method as returned by the API
+	 */
+	private static PaymentMethodApi available(String name, PaymentMethodType type) {
+
+		PaymentMethodApi paymentMethodApi = new PaymentMethodApi();
+		paymentMethodApi.setName(name);
+		paymentMethodApi.setType(type);
+		return paymentMethodApi;
+	}
+}
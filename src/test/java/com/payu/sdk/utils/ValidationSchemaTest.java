@@ -0,0 +1,207 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.PayU;
+import com.payu.sdk.constants.Constants;
+import com.payu.sdk.exceptions.InvalidParametersException;
+
+/**
+ * Tests the {@link ValidationSchema}.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class ValidationSchemaTest {
+
+	private static final ValidationSchema CREDIT_CARD = ValidationSchema.builder()
+			.required(PayU.PARAMETERS.REFERENCE_CODE, PayU.PARAMETERS.VALUE,
+					PayU.PARAMETERS.CREDIT_CARD_NUMBER)
+			.requiredUnless(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE,
+					PayU.PARAMETERS.PROCESS_WITHOUT_CVV2)
+			.notAllowed(PayU.PARAMETERS.TOKEN_ID).build();
+
+	@Test
+	public void acceptsCompleteParameters() throws Exception {
+
+		CREDIT_CARD.validate(creditCard());
+
+		Map<String, String> parameters = creditCard();
+		parameters.put("unknown", "");
+		CREDIT_CARD.validate(parameters);
+	}
+
+	@Test
+	public void reportsMissingParametersLikeTheRequestUtil() throws Exception {
+
+		Map<String, String> parameters = creditCard();
+		parameters.put(PayU.PARAMETERS.VALUE, "  ");
+		parameters.remove(PayU.PARAMETERS.REFERENCE_CODE);
+
+		String expected = message(parameters, PayU.PARAMETERS.REFERENCE_CODE,
+				PayU.PARAMETERS.VALUE, PayU.PARAMETERS.CREDIT_CARD_NUMBER);
+		Assert.assertEquals(message(CREDIT_CARD, parameters), expected);
+		Assert.assertEquals(expected, "Parameter [" + PayU.PARAMETERS.REFERENCE_CODE
+				+ "] is required." + Constants.LINE_SEPARATOR + "Parameter ["
+				+ PayU.PARAMETERS.VALUE + "] is required." + Constants.LINE_SEPARATOR);
+	}
+
+	@Test
+	public void conditionalParameterIsWaivedByItsFlag() throws Exception {
+
+		Map<String, String> parameters = creditCard();
+		parameters.remove(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE);
+		Assert.assertEquals(message(CREDIT_CARD, parameters), "Parameter ["
+				+ PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE + "] is required."
+				+ Constants.LINE_SEPARATOR);
+
+		parameters.put(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2, "false");
+		Assert.assertNotNull(message(CREDIT_CARD, parameters));
+
+		parameters.put(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2, "TRUE");
+		CREDIT_CARD.validate(parameters);
+	}
+
+	@Test
+	public void reportsNotAllowedParameters() throws Exception {
+
+		Map<String, String> parameters = creditCard();
+		parameters.put(PayU.PARAMETERS.TOKEN_ID, null);
+		parameters.remove(PayU.PARAMETERS.VALUE);
+
+		String expected = "Parameter [" + PayU.PARAMETERS.VALUE + "] is required."
+				+ Constants.LINE_SEPARATOR + "Parameter [" + PayU.PARAMETERS.TOKEN_ID
+				+ "] is not allowed." + Constants.LINE_SEPARATOR;
+		Assert.assertEquals(message(CREDIT_CARD, parameters), expected);
+
+		// A map bigger than the schema is looked up by parameter
+		for (int i = 0; i < 10; i++) {
+			parameters.put("extra" + i, "value");
+		}
+		Assert.assertEquals(message(CREDIT_CARD, parameters), expected);
+		parameters.put(PayU.PARAMETERS.VALUE, "100");
+		parameters.remove(PayU.PARAMETERS.TOKEN_ID);
+		parameters.put(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2, "true");
+		parameters.remove(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE);
+		CREDIT_CARD.validate(parameters);
+	}
+
+	@Test
+	public void includesTheRulesOfAnotherSchema() throws Exception {
+
+		ValidationSchema schema = ValidationSchema.builder().include(CREDIT_CARD)
+				.required(PayU.PARAMETERS.PAYER_NAME, PayU.PARAMETERS.VALUE).build();
+
+		Assert.assertEquals(schema.getRequired(), Arrays.asList(PayU.PARAMETERS.REFERENCE_CODE,
+				PayU.PARAMETERS.VALUE, PayU.PARAMETERS.CREDIT_CARD_NUMBER,
+				PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, PayU.PARAMETERS.PAYER_NAME));
+
+		Map<String, String> parameters = creditCard();
+		parameters.put(PayU.PARAMETERS.PAYER_NAME, "APPROVED");
+		parameters.put(PayU.PARAMETERS.PROCESS_WITHOUT_CVV2, "true");
+		parameters.remove(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE);
+		schema.validate(parameters);
+
+		parameters.put(PayU.PARAMETERS.TOKEN_ID, "token");
+		Assert.assertNotNull(message(schema, parameters));
+	}
+
+	@Test
+	public void rejectsEmptyParameters() {
+
+		Assert.assertEquals(message(CREDIT_CARD, Collections.<String, String> emptyMap()),
+				"Parameters can not be null or empty.");
+		Assert.assertEquals(message(CREDIT_CARD, null), "Parameters can not be null or empty.");
+	}
+
+	@Test
+	public void rejectsInvalidSchemas() {
+
+		try {
+			ValidationSchema.builder().required("a").notAllowed("a").build();
+			Assert.fail("A required parameter can not be not allowed");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+
+		ValidationSchema.Builder builder = ValidationSchema.builder();
+		for (int i = 0; i < ValidationSchema.MAX_PARAMETERS; i++) {
+			builder.required("parameter" + i);
+		}
+		try {
+			builder.required("one more");
+			Assert.fail("The schema has too many parameters");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * @return the parameters of a valid credit card payment
+	 */
+	private static Map<String, String> creditCard() {
+
+		Map<String, String> parameters = new HashMap<String, String>();
+		parameters.put(PayU.PARAMETERS.REFERENCE_CODE, "order-1");
+		parameters.put(PayU.PARAMETERS.VALUE, "100");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_NUMBER, "4097440000000004");
+		parameters.put(PayU.PARAMETERS.CREDIT_CARD_SECURITY_CODE, "321");
+		return parameters;
+	}
+
+	/**
+	 * @return the validation error of the schema, null if valid
+	 */
+	private static String message(ValidationSchema schema, Map<String, String> parameters) {
+
+		try {
+			schema.validate(parameters);
+			return null;
+		} catch (InvalidParametersException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * @return the validation error of the request utility, null if valid
+	 */
+	private static String message(Map<String, String> parameters, String... required) {
+
+		try {
+			CommonRequestUtil.validateParameters(parameters, required);
+			return null;
+		} catch (InvalidParametersException e) {
+			return e.getMessage();
+		}
+	}
+}
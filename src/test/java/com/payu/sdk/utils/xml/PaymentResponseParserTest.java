@@ -0,0 +1,205 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 developers-payu-latam
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.payu.sdk.utils.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.payu.sdk.exceptions.PayUException;
+import com.payu.sdk.exceptions.SDKException.ErrorCode;
+import com.payu.sdk.model.TransactionResponse;
+import com.payu.sdk.payments.model.PaymentResponse;
+import com.payu.sdk.utils.JaxbUtil;
+import com.payu.sdk.utils.xml.PaymentResponseParser.UnsupportedContentException;
+
+/**
+ * Differential tests of the {@link PaymentResponseParser} against the JAXB
+ * unmarshaller, over the responses of the <code>payment-responses</code>
+ * corpus.
+ *
+ * @author PayU Latam
+ * @since 1.3.6
+ * @version 1.3.6, 18/10/2026
+ */
+public class PaymentResponseParserTest {
+
+	/** The corpus location in the test classpath */
+	private static final String CORPUS = "/payment-responses/";
+
+	@DataProvider(name = "streamed")
+	public Object[][] streamed() {
+
+		return new Object[][] { { "approved.xml" }, { "declined.xml" },
+				{ "pending-cash.xml" }, { "api-error.xml" },
+				{ "pretty-printed.xml" }, { "empty-elements.xml" },
+				{ "entry-shapes.xml" }, { "entities-and-utf8.xml" } };
+	}
+
+	@DataProvider(name = "fallback")
+	public Object[][] fallback() {
+
+		return new Object[][] { { "fallback-unknown-element.xml" },
+				{ "fallback-unknown-enum.xml" }, { "fallback-date-entry.xml" },
+				{ "fallback-attribute.xml" }, { "fallback-response-root.xml" } };
+	}
+
+	@Test(dataProvider = "streamed")
+	public void streamingParserMatchesJaxb(String name) throws Exception {
+
+		byte[] xml = read(name);
+
+		assertSameResponse(PaymentResponseParser.parseWithoutFallback(xml), unmarshal(xml));
+		assertSameResponse(PaymentResponseParser.parse(new ByteArrayInputStream(xml)),
+				unmarshal(xml));
+	}
+
+	@Test(dataProvider = "fallback")
+	public void unsupportedContentFallsBackToJaxb(String name) throws Exception {
+
+		byte[] xml = read(name);
+
+		try {
+			PaymentResponseParser.parseWithoutFallback(xml);
+			Assert.fail("The streaming parser read " + name);
+		} catch (UnsupportedContentException e) {
+			// Left to JAXB
+		}
+
+		assertSameResponse(PaymentResponseParser.parse(new ByteArrayInputStream(xml)),
+				unmarshal(xml));
+	}
+
+	@Test
+	public void emptyStream() throws PayUException {
+
+		Assert.assertNull(PaymentResponseParser.parse(new ByteArrayInputStream(new byte[0])));
+	}
+
+	@Test
+	public void malformedStream() throws Exception {
+
+		String xml = "<paymentResponse><code>SUCCESS</code><transactionResponse>";
+
+		try {
+			PaymentResponseParser.parse(new ByteArrayInputStream(xml.getBytes("UTF-8")));
+			Assert.fail("The malformed response was accepted");
+		} catch (PayUException e) {
+			Assert.assertEquals(e.getErrorCode(), ErrorCode.XML_DESERIALIZATION_ERROR);
+			Assert.assertTrue(e.getMessage().contains(xml), e.getMessage());
+		}
+	}
+
+	/**
+	 * Checks both responses have the same values
+	 *
+	 * @param actual the response read by the parser
+	 * @param expected the response read by JAXB
+	 */
+	private static void assertSameResponse(PaymentResponse actual, PaymentResponse expected) {
+
+		Assert.assertEquals(actual.getCode(), expected.getCode());
+		Assert.assertEquals(actual.getError(), expected.getError());
+
+		TransactionResponse actualTransaction = actual.getTransactionResponse();
+		TransactionResponse expectedTransaction = expected.getTransactionResponse();
+		if (expectedTransaction == null) {
+			Assert.assertNull(actualTransaction);
+			return;
+		}
+
+		Assert.assertEquals(actualTransaction.getOrderId(), expectedTransaction.getOrderId());
+		Assert.assertEquals(actualTransaction.getOrderReferenceCode(),
+				expectedTransaction.getOrderReferenceCode());
+		Assert.assertEquals(actualTransaction.getTransactionId(),
+				expectedTransaction.getTransactionId());
+		Assert.assertEquals(actualTransaction.getState(), expectedTransaction.getState());
+		Assert.assertEquals(actualTransaction.getPaymentNetworkResponseCode(),
+				expectedTransaction.getPaymentNetworkResponseCode());
+		Assert.assertEquals(actualTransaction.getPaymentNetworkResponseErrorMessage(),
+				expectedTransaction.getPaymentNetworkResponseErrorMessage());
+		Assert.assertEquals(actualTransaction.getTrazabilityCode(),
+				expectedTransaction.getTrazabilityCode());
+		Assert.assertEquals(actualTransaction.getAuthorizationCode(),
+				expectedTransaction.getAuthorizationCode());
+		Assert.assertEquals(actualTransaction.getPendingReason(),
+				expectedTransaction.getPendingReason());
+		Assert.assertEquals(actualTransaction.getResponseCode(),
+				expectedTransaction.getResponseCode());
+		Assert.assertEquals(actualTransaction.getErrorCode(), expectedTransaction.getErrorCode());
+		Assert.assertEquals(actualTransaction.getResponseMessage(),
+				expectedTransaction.getResponseMessage());
+		Assert.assertEquals(actualTransaction.getTransactionDate(),
+				expectedTransaction.getTransactionDate());
+		Assert.assertEquals(actualTransaction.getTransactionTime(),
+				expectedTransaction.getTransactionTime());
+		Assert.assertEquals(actualTransaction.getOperationDate(),
+				expectedTransaction.getOperationDate());
+		Assert.assertEquals(actualTransaction.getExtraParameters(),
+				expectedTransaction.getExtraParameters());
+		Assert.assertEquals(actualTransaction.getAdditionalInfo(),
+				expectedTransaction.getAdditionalInfo());
+	}
+
+	/**
+	 * Unmarshals the response with JAXB
+	 *
+	 * @param xml the response
+	 * @return the payment response
+	 * @throws PayUException
+	 */
+	private static PaymentResponse unmarshal(byte[] xml) throws PayUException {
+
+		return JaxbUtil.convertXmlToJava(PaymentResponse.class, new ByteArrayInputStream(xml));
+	}
+
+	/**
+	 * Reads a response of the corpus
+	 *
+	 * @param name the file name
+	 * @return the response
+	 * @throws IOException
+	 */
+	private static byte[] read(String name) throws IOException {
+
+		InputStream in = PaymentResponseParserTest.class.getResourceAsStream(CORPUS + name);
+		Assert.assertNotNull(in, name);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+}